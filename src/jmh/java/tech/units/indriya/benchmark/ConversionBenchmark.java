@@ -0,0 +1,124 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.benchmark;
+
+import static javax.measure.MetricPrefix.KILO;
+import static javax.measure.MetricPrefix.MILLI;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Speed;
+import javax.measure.quantity.Temperature;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tech.units.indriya.quantity.Quantities;
+import tech.units.indriya.unit.Units;
+
+/**
+ * Benchmarks {@link Quantity#to(Unit)}, converter lookup and {@link UnitConverter#concatenate(UnitConverter)}.
+ *
+ * @since 2.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversionBenchmark {
+
+    private Quantity<Length> kilometres;
+    private Quantity<Temperature> celsius;
+    private Quantity<Speed> kilometresPerHour;
+    private Unit<Length> millimetre;
+    private UnitConverter kmToM;
+    private UnitConverter mToMm;
+    private UnitConverter celsiusToKelvin;
+
+    @Setup
+    public void setUp() {
+        kilometres = Quantities.getQuantity(12.5, KILO(Units.METRE));
+        celsius = Quantities.getQuantity(21.5, Units.CELSIUS);
+        kilometresPerHour = Quantities.getQuantity(90, Units.KILOMETRE_PER_HOUR);
+        millimetre = MILLI(Units.METRE);
+        kmToM = KILO(Units.METRE).getConverterTo(Units.METRE);
+        mToMm = Units.METRE.getConverterTo(millimetre);
+        celsiusToKelvin = Units.CELSIUS.getConverterTo(Units.KELVIN);
+    }
+
+    @Benchmark
+    public Quantity<Length> toPrefixedUnit() {
+        return kilometres.to(millimetre);
+    }
+
+    @Benchmark
+    public Quantity<Temperature> toShiftedUnit() {
+        return celsius.to(Units.KELVIN);
+    }
+
+    @Benchmark
+    public Quantity<Speed> toProductUnit() {
+        return kilometresPerHour.to(Units.METRE_PER_SECOND);
+    }
+
+    @Benchmark
+    public UnitConverter getConverterTo() {
+        return KILO(Units.METRE).getConverterTo(millimetre);
+    }
+
+    @Benchmark
+    public UnitConverter concatenateLinear() {
+        return mToMm.concatenate(kmToM);
+    }
+
+    @Benchmark
+    public UnitConverter concatenateAffine() {
+        return celsiusToKelvin.concatenate(kmToM);
+    }
+
+    @Benchmark
+    public Number convert() {
+        return kmToM.convert(12.5);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.benchmark;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tech.units.indriya.function.RationalNumber;
+import tech.units.indriya.quantity.Quantities;
+import tech.units.indriya.unit.Units;
+
+/**
+ * Benchmarks {@code NumberQuantity} addition and multiplication across the supported number types.
+ *
+ * @since 2.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuantityArithmeticBenchmark {
+
+    @Param({ "int", "long", "double", "BigInteger", "BigDecimal", "RationalNumber" })
+    public String numberType;
+
+    private Quantity<Length> left;
+    private Quantity<Length> right;
+    private Number factor;
+
+    @Setup
+    public void setUp() {
+        left = Quantities.getQuantity(number(5), Units.METRE);
+        right = Quantities.getQuantity(number(52), Units.METRE);
+        factor = number(3);
+    }
+
+    private Number number(int value) {
+        switch (numberType) {
+        case "int":
+            return value;
+        case "long":
+            return (long) value;
+        case "double":
+            return value / 10.;
+        case "BigInteger":
+            return BigInteger.valueOf(value);
+        case "BigDecimal":
+            return BigDecimal.valueOf(value, 1);
+        case "RationalNumber":
+            return RationalNumber.of(value, 10);
+        default:
+            throw new IllegalArgumentException(numberType);
+        }
+    }
+
+    @Benchmark
+    public Quantity<Length> add() {
+        return left.add(right);
+    }
+
+    @Benchmark
+    public Quantity<Length> subtract() {
+        return left.subtract(right);
+    }
+
+    @Benchmark
+    public Quantity<Length> multiplyByNumber() {
+        return left.multiply(factor);
+    }
+
+    @Benchmark
+    public Quantity<?> multiplyByQuantity() {
+        return left.multiply(right);
+    }
+
+    @Benchmark
+    public Quantity<?> divideByQuantity() {
+        return left.divide(right);
+    }
+}
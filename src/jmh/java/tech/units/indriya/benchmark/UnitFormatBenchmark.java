@@ -0,0 +1,100 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.measure.Unit;
+import javax.measure.format.UnitFormat;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tech.units.indriya.format.EBNFUnitFormat;
+import tech.units.indriya.format.SimpleUnitFormat;
+
+/**
+ * Benchmarks parsing and formatting of units by {@link SimpleUnitFormat} and {@link EBNFUnitFormat}.
+ *
+ * @since 2.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UnitFormatBenchmark {
+
+    @Param({ "m", "km", "km/h", "kg·m/s²", "µmol/l" })
+    public String symbol;
+
+    private UnitFormat simpleFormat;
+    private UnitFormat ebnfFormat;
+    private String ebnfSymbol;
+    private Unit<?> unit;
+
+    @Setup
+    public void setUp() {
+        simpleFormat = SimpleUnitFormat.getInstance();
+        ebnfFormat = EBNFUnitFormat.getInstance();
+        unit = simpleFormat.parse(symbol);
+        ebnfSymbol = ebnfFormat.format(unit);
+    }
+
+    @Benchmark
+    public Unit<?> simpleParse() {
+        return simpleFormat.parse(symbol);
+    }
+
+    @Benchmark
+    public String simpleFormat() {
+        return simpleFormat.format(unit);
+    }
+
+    @Benchmark
+    public Unit<?> ebnfParse() {
+        return ebnfFormat.parse(ebnfSymbol);
+    }
+
+    @Benchmark
+    public String ebnfFormat() {
+        return ebnfFormat.format(unit);
+    }
+}
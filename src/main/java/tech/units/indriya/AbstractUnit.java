@@ -50,6 +50,7 @@ import tech.units.indriya.format.SimpleUnitFormat;
 import tech.units.indriya.function.AbstractConverter;
 import tech.units.indriya.function.AddConverter;
 import tech.units.indriya.function.Calculus;
+import tech.units.indriya.function.ConverterCache;
 import tech.units.indriya.function.MultiplyConverter;
 import tech.units.indriya.function.RationalNumber;
 import tech.units.indriya.internal.function.Calculator;
@@ -314,9 +315,18 @@ public abstract class AbstractUnit<Q extends Quantity<Q>>
 		return internalGetConverterTo(that, true);
 	}
 
-	@SuppressWarnings("rawtypes")
 	@Override
 	public final UnitConverter getConverterToAny(Unit<?> that) throws IncommensurableException, UnconvertibleException {
+		final ConverterCache cache = ConverterCache.current();
+		final UnitConverter converter = cache.get(this, that);
+		if (converter != null)
+			return converter;
+		return internalGetConverterToAny(that, cache);
+	}
+
+	@SuppressWarnings("rawtypes")
+	private UnitConverter internalGetConverterToAny(Unit<?> that, ConverterCache cache)
+			throws IncommensurableException, UnconvertibleException {
 		if (!isCompatible(that))
 			throw new IncommensurableException(this + " is not compatible with " + that);
 		AbstractUnit thatAbstr = (AbstractUnit) that; // Since both units are
@@ -328,7 +338,9 @@ public abstract class AbstractUnit<Q extends Quantity<Q>>
 		Unit thatSystemUnit = thatAbstr.getSystemUnit();
 		UnitConverter thatToDimension = model.getDimensionalTransform(thatSystemUnit.getDimension())
 				.concatenate(thatAbstr.getSystemConverter());
-		return thatToDimension.inverse().concatenate(thisToDimension);
+		final UnitConverter converter = thatToDimension.inverse().concatenate(thisToDimension);
+		cache.put(this, that, converter);
+		return converter;
 	}
 
 	@Override
@@ -410,17 +422,23 @@ public abstract class AbstractUnit<Q extends Quantity<Q>>
 			if (this == that)
 				return AbstractConverter.IDENTITY;
 		}
+		final ConverterCache cache = ConverterCache.current();
+		UnitConverter converter = cache.get(this, that);
+		if (converter != null)
+			return converter;
 		Unit<Q> thisSystemUnit = this.getSystemUnit();
 		Unit<Q> thatSystemUnit = that.getSystemUnit();
 		if (!thisSystemUnit.equals(thatSystemUnit))
 			try {
-				return getConverterToAny(that);
+				return internalGetConverterToAny(that, cache);
 			} catch (IncommensurableException e) {
 				throw new UnconvertibleException(e);
 			}
 		UnitConverter thisToSI = this.getSystemConverter();
 		UnitConverter thatToSI = that.getConverterTo(thatSystemUnit);
-		return thatToSI.inverse().concatenate(thisToSI);
+		converter = thatToSI.inverse().concatenate(thisToSI);
+		cache.put(this, that, converter);
+		return converter;
 	}
 
 	/**
@@ -40,6 +40,8 @@ import javax.measure.Unit;
 import javax.measure.format.MeasurementParseException;
 import javax.measure.format.QuantityFormat;
 import tech.units.indriya.ComparableQuantity;
+import tech.units.indriya.internal.format.CharSlice;
+import tech.units.indriya.internal.format.DecimalWriter;
 import tech.units.indriya.quantity.CompoundQuantity;
 import tech.units.indriya.quantity.MixedQuantity;
 import tech.uom.lib.common.function.Parser;
@@ -121,6 +123,75 @@ public abstract class AbstractQuantityFormat extends Format implements QuantityF
      */
     protected abstract Quantity<?> parse(CharSequence csq, int index) throws IllegalArgumentException, MeasurementParseException;
 
+    /**
+     * Parses the characters {@code start} (inclusive) to {@code end} (exclusive) of the specified <code>CharSequence</code> to produce a
+     * quantity, without copying them. Any <code>CharSequence</code> such as a {@link java.nio.CharBuffer} can also be passed to
+     * {@link #parse(CharSequence)} directly.
+     *
+     * @param csq
+     *            the <code>CharSequence</code> to parse.
+     * @param start
+     *            the index of the first character of the quantity.
+     * @param end
+     *            the index after the last character of the quantity.
+     * @return the quantity parsed from the specified character sub-sequence.
+     * @throws IndexOutOfBoundsException
+     *             if the range is not within {@code csq}.
+     * @throws IllegalArgumentException
+     *             if any problem occurs while parsing the specified character sequence (e.g. illegal syntax).
+     * @since 2.2
+     */
+    public Quantity<?> parse(CharSequence csq, int start, int end) throws IllegalArgumentException, MeasurementParseException {
+        return parse(CharSlice.of(csq, start, end));
+    }
+
+    /**
+     * Parses {@code length} ASCII (or ISO-8859-1) encoded characters of the specified array, starting at {@code offset}, to produce a
+     * quantity, without decoding them into a <code>String</code> first. This suits lines read from files or network buffers.
+     *
+     * @param ascii
+     *            the characters to parse, one byte per character.
+     * @param offset
+     *            the index of the first character of the quantity.
+     * @param length
+     *            the number of characters of the quantity.
+     * @return the quantity parsed from the specified characters.
+     * @throws IndexOutOfBoundsException
+     *             if the range is not within {@code ascii}.
+     * @throws IllegalArgumentException
+     *             if any problem occurs while parsing the specified characters (e.g. illegal syntax).
+     * @since 2.2
+     */
+    public Quantity<?> parse(byte[] ascii, int offset, int length) throws IllegalArgumentException, MeasurementParseException {
+        return parse(CharSlice.ofAscii(ascii, offset, length));
+    }
+
+    /**
+     * Formats the specified quantity UTF-8 encoded into the specified array, starting at {@code offset}. The text is the same as
+     * {@link #format(Quantity)}, which is plain ASCII unless the unit has a symbol like {@code µ} or {@code Ω}. This suits
+     * text written to files or network buffers.
+     *
+     * @param quantity
+     *            the quantity to format.
+     * @param dest
+     *            the destination array.
+     * @param offset
+     *            the index of the first byte to write.
+     * @return the index after the last byte written.
+     * @throws IndexOutOfBoundsException
+     *             if the array is too small, in which case a part of the quantity might have been written.
+     * @since 2.2
+     */
+    public int format(Quantity<?> quantity, byte[] dest, int offset) {
+        final StringBuilder text = new StringBuilder();
+        try {
+            format(quantity, text);
+        } catch (IOException ex) {
+            throw new MeasurementException(ex); // Should never happen.
+        }
+        return DecimalWriter.write(dest, offset, text);
+    }
+
     @Override
     public final StringBuffer format(Object obj, final StringBuffer toAppendTo, FieldPosition pos) {
     	if (obj instanceof MixedQuantity<?>) {
@@ -154,10 +225,8 @@ public abstract class AbstractQuantityFormat extends Format implements QuantityF
      * @return Formatted string.
      */
     public final String format(Quantity<?> quantity) {
-      if (quantity instanceof ComparableQuantity) return format((ComparableQuantity<?>) quantity, new StringBuffer()).toString();
-
       try {
-        return (this.format(quantity, new StringBuffer())).toString();
+        return (this.format(quantity, new StringBuilder())).toString();
       } catch (IOException ex) {
         throw new MeasurementException(ex); // Should never happen.
       }
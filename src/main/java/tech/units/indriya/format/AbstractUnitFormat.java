@@ -31,12 +31,15 @@ package tech.units.indriya.format;
 
 import java.io.IOException;
 import java.text.ParsePosition;
+import java.util.function.Function;
 
 import javax.measure.MeasurementException;
 import javax.measure.Unit;
 import javax.measure.format.UnitFormat;
 
 import tech.units.indriya.AbstractUnit;
+import tech.units.indriya.internal.format.CharSlice;
+import tech.units.indriya.internal.format.SymbolsCache;
 
 /**
  * <p>
@@ -59,6 +62,11 @@ import tech.units.indriya.AbstractUnit;
  */
 public abstract class AbstractUnitFormat implements UnitFormat {
 
+  /**
+   * The cache of units parsed by {@link #parse(CharSequence)}, or <code>null</code> if disabled.
+   */
+  private volatile SymbolsCache<String, Unit<?>> parseCache;
+
   /**
    * Returns the {@link SymbolMap} for this unit format.
    *
@@ -134,6 +142,107 @@ public abstract class AbstractUnitFormat implements UnitFormat {
    */
   protected abstract Unit<?> parse(CharSequence csq, int index) throws IllegalArgumentException;
 
+  /**
+   * Parses the characters {@code start} (inclusive) to {@code end} (exclusive) of the specified <code>CharSequence</code> to produce a unit,
+   * without copying them. Any <code>CharSequence</code> such as a {@link java.nio.CharBuffer} can also be passed to
+   * {@link #parse(CharSequence)} directly.
+   *
+   * @param csq
+   *          the <code>CharSequence</code> to parse.
+   * @param start
+   *          the index of the first character of the unit.
+   * @param end
+   *          the index after the last character of the unit.
+   * @return the unit parsed from the specified character sub-sequence.
+   * @throws IndexOutOfBoundsException
+   *           if the range is not within {@code csq}.
+   * @throws javax.measure.format.MeasurementParseException
+   *           if any problem occurs while parsing the specified character sequence (e.g. illegal syntax).
+   * @since 2.2
+   */
+  public Unit<?> parse(CharSequence csq, int start, int end) {
+    return parse(CharSlice.of(csq, start, end));
+  }
+
+  /**
+   * Parses {@code length} ASCII (or ISO-8859-1) encoded characters of the specified array, starting at {@code offset}, to produce a unit,
+   * without decoding them into a <code>String</code> first.
+   *
+   * @param ascii
+   *          the characters to parse, one byte per character.
+   * @param offset
+   *          the index of the first character of the unit.
+   * @param length
+   *          the number of characters of the unit.
+   * @return the unit parsed from the specified characters.
+   * @throws IndexOutOfBoundsException
+   *           if the range is not within {@code ascii}.
+   * @throws javax.measure.format.MeasurementParseException
+   *           if any problem occurs while parsing the specified characters (e.g. illegal syntax).
+   * @since 2.2
+   */
+  public Unit<?> parse(byte[] ascii, int offset, int length) {
+    return parse(CharSlice.ofAscii(ascii, offset, length));
+  }
+
+  /**
+   * Enables a cache of the units parsed by {@link #parse(CharSequence)}, holding up to the given number of distinct strings, or disables
+   * it. The cache is cleared whenever labels, aliases or symbols of this format change. It pays off if a small vocabulary of unit strings
+   * is parsed repeatedly, turning most parsing into a single lookup. Caching is disabled by default.
+   *
+   * @param maxSize
+   *          the maximum number of cached units, or <code>0</code> to disable caching.
+   * @throws IllegalArgumentException
+   *           if {@code maxSize} is negative.
+   * @since 2.2
+   */
+  public void setParseCacheSize(int maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("Invalid cache size: " + maxSize);
+    }
+    parseCache = maxSize > 0 ? new SymbolsCache<>(maxSize) : null;
+  }
+
+  /**
+   * Returns the maximum number of units cached by {@link #parse(CharSequence)}.
+   *
+   * @return the maximum size of the parse cache, <code>0</code> if caching is disabled.
+   * @since 2.2
+   */
+  public int getParseCacheSize() {
+    final SymbolsCache<String, Unit<?>> cache = parseCache;
+    return cache != null ? cache.getMaxSize() : 0;
+  }
+
+  SymbolsCache<String, Unit<?>> getParseCache() {
+    return parseCache;
+  }
+
+  /**
+   * Returns the version of the labels, aliases and symbols this format parses with, which changes whenever they do.
+   */
+  int getSymbolsVersion() {
+    return 0;
+  }
+
+  /**
+   * Returns the unit cached for the given text if the parse cache is enabled, or parses it with the given parser.
+   */
+  final Unit<?> parseCached(CharSequence csq, Function<CharSequence, Unit<?>> parser) {
+    final SymbolsCache<String, Unit<?>> cache = parseCache;
+    if (cache == null) {
+      return parser.apply(csq);
+    }
+    final int stamp = cache.stamp(getSymbolsVersion());
+    final String source = csq.toString();
+    Unit<?> unit = cache.get(source);
+    if (unit == null) {
+      unit = parser.apply(source);
+      cache.put(source, unit, stamp);
+    }
+    return unit;
+  }
+
   /**
    * Convenience method equivalent to {@link #format(AbstractUnit, Appendable)} except it does not raise an IOException.
    *
@@ -0,0 +1,708 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.format;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.format.MeasurementParseException;
+import javax.measure.format.QuantityFormat;
+import javax.measure.format.UnitFormat;
+
+import tech.units.indriya.AbstractUnit;
+import tech.units.indriya.internal.format.CharSlice;
+import tech.units.indriya.internal.function.CachedConverters;
+import tech.units.indriya.quantity.QuantityArray;
+
+/**
+ * Reads quantities from delimited text, such as CSV or TSV, into primitive columns.
+ * <p>
+ * Each configured column holds quantities like <code>12.5 km/h</code>, a number optionally followed by whitespace and a unit. Values are
+ * normalized to the target unit of their column and collected in {@link Batch batches} of <code>double</code> arrays. Fields may be enclosed
+ * in double quotes, which are removed; quoted delimiters or escaped quotes are not supported. Blank lines are skipped.
+ * </p>
+ * <p>
+ * By default numbers are parsed directly and units with {@link SimpleUnitFormat}; the parsed unit and its converter are reused as long as
+ * the unit text of a column repeats. Alternatively, any {@link QuantityFormat} can parse the whole field.
+ * </p>
+ * <p>
+ * Files can be read in parallel with {@link #read(FileChannel)}, which splits them into chunks on line boundaries. The configured formats
+ * must then be safe for concurrent parsing, as <code>SimpleUnitFormat</code> and <code>SimpleQuantityFormat</code> are.
+ * </p>
+ * <p>
+ * For example: <code>
+ * DelimitedQuantityReader.builder().setSkipHeader(true).addColumn(2, Units.KILOMETRE_PER_HOUR).build().read(Paths.get("speeds.csv"))</code>
+ * </p>
+ *
+ * @since 2.2
+ */
+public final class DelimitedQuantityReader {
+
+    private final char delimiter;
+    private final boolean skipHeader;
+    private final UnitFormat unitFormat;
+    private final QuantityFormat quantityFormat;
+    private final Unit<?>[] targetUnits;
+    /** the column slot of each field index, or -1 */
+    private final int[] slotOfField;
+    private final int batchSize;
+    private final int chunkSize;
+    private final Charset charset;
+
+    private DelimitedQuantityReader(Builder builder) {
+        this.delimiter = builder.delimiter;
+        this.skipHeader = builder.skipHeader;
+        this.unitFormat = builder.unitFormat;
+        this.quantityFormat = builder.quantityFormat;
+        this.targetUnits = builder.targetUnits.toArray(new Unit<?>[0]);
+        final int maxField = builder.fields.stream().mapToInt(Integer::intValue).max().orElse(-1);
+        this.slotOfField = new int[maxField + 1];
+        Arrays.fill(slotOfField, -1);
+        for (int i = 0; i < builder.fields.size(); i++) {
+            slotOfField[builder.fields.get(i)] = i;
+        }
+        this.batchSize = builder.batchSize;
+        this.chunkSize = builder.chunkSize;
+        this.charset = builder.charset;
+    }
+
+    /**
+     * Returns a new instance of {@link Builder}.
+     *
+     * @return a new {@link Builder}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * A fluent Builder to create new instances of <code>DelimitedQuantityReader</code>.
+     */
+    public static final class Builder {
+
+        private char delimiter = ',';
+        private boolean skipHeader;
+        private UnitFormat unitFormat = SimpleUnitFormat.getInstance();
+        private QuantityFormat quantityFormat;
+        private final List<Integer> fields = new ArrayList<>();
+        private final List<Unit<?>> targetUnits = new ArrayList<>();
+        private int batchSize = 4096;
+        private int chunkSize = 4 << 20;
+        private Charset charset = StandardCharsets.UTF_8;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the delimiter between fields, <code>','</code> by default, e.g. <code>'\t'</code> for TSV.
+         * @param delimiter the delimiter
+         * @return this {@code DelimitedQuantityReader.Builder}
+         */
+        public Builder setDelimiter(char delimiter) {
+            if (delimiter == '\n' || delimiter == '\r' || delimiter == '"') {
+                throw new IllegalArgumentException("Invalid delimiter: " + delimiter);
+            }
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        /**
+         * Sets whether the first line is a header to skip.
+         * @param skipHeader whether to skip the first line
+         * @return this {@code DelimitedQuantityReader.Builder}
+         */
+        public Builder setSkipHeader(boolean skipHeader) {
+            this.skipHeader = skipHeader;
+            return this;
+        }
+
+        /**
+         * Sets the format of the units following the numbers, {@link SimpleUnitFormat} by default.
+         * @param unitFormat the {@link UnitFormat}
+         * @throws NullPointerException if {@code unitFormat} is {@code null}
+         * @return this {@code DelimitedQuantityReader.Builder}
+         */
+        public Builder setUnitFormat(UnitFormat unitFormat) {
+            this.unitFormat = Objects.requireNonNull(unitFormat);
+            return this;
+        }
+
+        /**
+         * Sets a format to parse entire fields with, instead of parsing the numbers directly and the units with the unit format.
+         * @param quantityFormat the {@link QuantityFormat}
+         * @throws NullPointerException if {@code quantityFormat} is {@code null}
+         * @return this {@code DelimitedQuantityReader.Builder}
+         */
+        public Builder setQuantityFormat(QuantityFormat quantityFormat) {
+            this.quantityFormat = Objects.requireNonNull(quantityFormat);
+            return this;
+        }
+
+        /**
+         * Adds a column of quantities to read. The columns of each {@link Batch} are in the order they were added.
+         * @param field the index of the field in each line, starting at 0
+         * @param targetUnit the unit to convert the quantities of the column to
+         * @throws IllegalArgumentException if {@code field} is negative or was already added
+         * @throws NullPointerException if {@code targetUnit} is {@code null}
+         * @return this {@code DelimitedQuantityReader.Builder}
+         */
+        public Builder addColumn(int field, Unit<?> targetUnit) {
+            if (field < 0 || fields.contains(field)) {
+                throw new IllegalArgumentException("Invalid or duplicate field: " + field);
+            }
+            fields.add(field);
+            targetUnits.add(Objects.requireNonNull(targetUnit));
+            return this;
+        }
+
+        /**
+         * Sets the number of lines of the batches passed on by {@link DelimitedQuantityReader#read(Reader, Consumer)}, 4096 by default.
+         * @param batchSize the number of lines per batch
+         * @return this {@code DelimitedQuantityReader.Builder}
+         */
+        public Builder setBatchSize(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("Invalid batch size: " + batchSize);
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets the approximate number of bytes of the chunks read in parallel by {@link DelimitedQuantityReader#read(FileChannel)}, 4 MiB by
+         * default.
+         * @param chunkSize the number of bytes per chunk
+         * @return this {@code DelimitedQuantityReader.Builder}
+         */
+        public Builder setChunkSize(int chunkSize) {
+            if (chunkSize < 1) {
+                throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+            }
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Sets the encoding of files read by {@link DelimitedQuantityReader#read(FileChannel)}, UTF-8 by default. It must encode line feeds
+         * as the single byte <code>'\n'</code>, as UTF-8, ISO-8859-1 and US-ASCII do.
+         * @param charset the {@link Charset}
+         * @throws NullPointerException if {@code charset} is {@code null}
+         * @return this {@code DelimitedQuantityReader.Builder}
+         */
+        public Builder setCharset(Charset charset) {
+            this.charset = Objects.requireNonNull(charset);
+            return this;
+        }
+
+        public DelimitedQuantityReader build() {
+            if (fields.isEmpty()) {
+                throw new IllegalStateException("No columns added");
+            }
+            return new DelimitedQuantityReader(this);
+        }
+    }
+
+    /**
+     * Reads all lines of the given reader, passing on batches of up to the configured batch size as they are filled.
+     *
+     * @param reader the source, not closed by this method
+     * @param consumer the consumer of the batches
+     * @throws IOException if reading fails
+     * @throws MeasurementParseException if a field can't be parsed, or a line lacks a column
+     * @throws javax.measure.UnconvertibleException if a quantity can't be converted to the target unit of its column
+     */
+    public void read(Reader reader, Consumer<? super Batch> consumer) throws IOException {
+        final LineParser parser = new LineParser();
+        Batch batch = new Batch(targetUnits, batchSize);
+        char[] buffer = new char[8192];
+        int length = 0;
+        long lineNumber = 0;
+        boolean eof = false;
+        while (!eof) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            final int read = reader.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                eof = true;
+            } else {
+                length += read;
+            }
+            final CharBuffer chars = CharBuffer.wrap(buffer, 0, length);
+            int start = 0;
+            while (start < length) {
+                int end = indexOfLineFeed(buffer, start, length);
+                if (end < 0) {
+                    if (!eof) {
+                        break;
+                    }
+                    end = length;
+                }
+                if (++lineNumber > 1 || !skipHeader) {
+                    parser.parseLine(chars, start, end, batch, lineNumber);
+                    if (batch.size() == batchSize) {
+                        consumer.accept(batch);
+                        batch = new Batch(targetUnits, batchSize);
+                    }
+                }
+                start = end + 1;
+            }
+            // keeps the incomplete line
+            length -= Math.min(start, length);
+            System.arraycopy(buffer, Math.min(start, buffer.length), buffer, 0, length);
+        }
+        if (batch.size() > 0) {
+            consumer.accept(batch.trim());
+        }
+    }
+
+    /**
+     * Reads all lines of the given file into a single batch.
+     *
+     * @param path the file
+     * @return the batch holding all lines
+     * @throws IOException if reading fails
+     * @throws MeasurementParseException if a field can't be parsed, or a line lacks a column
+     * @throws javax.measure.UnconvertibleException if a quantity can't be converted to the target unit of its column
+     * @see #read(FileChannel)
+     */
+    public Batch read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel);
+        }
+    }
+
+    /**
+     * Reads all lines from the current position to the end of the given channel into a single batch. The content is split into chunks on
+     * line boundaries, which are parsed in parallel. The position of the channel is not changed.
+     *
+     * @param channel the source, not closed by this method
+     * @return the batch holding all lines, in order
+     * @throws IOException if reading fails, including malformed input of the configured charset
+     * @throws MeasurementParseException if a field can't be parsed, or a line lacks a column
+     * @throws javax.measure.UnconvertibleException if a quantity can't be converted to the target unit of its column
+     */
+    public Batch read(FileChannel channel) throws IOException {
+        final long[] bounds = chunkBounds(channel);
+        try {
+            final List<Batch> batches = IntStream.range(0, bounds.length - 1).parallel()
+                    .mapToObj(i -> readChunk(channel, bounds[i], bounds[i + 1], i == 0 && skipHeader))
+                    .collect(Collectors.toList());
+            return Batch.concat(targetUnits, batches);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long[] chunkBounds(FileChannel channel) throws IOException {
+        final long size = channel.size();
+        final List<Long> bounds = new ArrayList<>();
+        final ByteBuffer probe = ByteBuffer.allocate(256);
+        long position = channel.position();
+        bounds.add(position);
+        while (size - position > chunkSize) {
+            // moves the end of the chunk behind the next line feed
+            long end = position + chunkSize;
+            SEARCH: while (end < size) {
+                probe.clear();
+                final int read = channel.read(probe, end);
+                if (read <= 0) {
+                    end = size;
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (probe.get(i) == '\n') {
+                        end += i + 1;
+                        break SEARCH;
+                    }
+                }
+                end += read;
+            }
+            position = Math.min(end, size);
+            bounds.add(position);
+        }
+        if (position < size) {
+            bounds.add(size);
+        }
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private Batch readChunk(FileChannel channel, long start, long end, boolean skipFirstLine) {
+        try {
+            final ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            final CharBuffer chars = charset.newDecoder().onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT).decode(bytes);
+            final LineParser parser = new LineParser();
+            final Batch batch = new Batch(targetUnits, Math.max(16, chars.length() / 32));
+            final int length = chars.length();
+            int lineStart = 0;
+            boolean skip = skipFirstLine;
+            while (lineStart < length) {
+                int lineEnd = lineStart;
+                while (lineEnd < length && chars.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                if (skip) {
+                    skip = false;
+                } else {
+                    // chunks don't know their line numbers, hence the negative byte offset of the chunk
+                    parser.parseLine(chars, lineStart, lineEnd, batch, -start);
+                }
+                lineStart = lineEnd + 1;
+            }
+            return batch.trim();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int indexOfLineFeed(char[] buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses lines with the state of a single thread, the last unit and converter of each column.
+     */
+    private final class LineParser {
+        private final String[] lastUnitText = new String[targetUnits.length];
+        private final DoubleUnaryOperator[] lastConverter = new DoubleUnaryOperator[targetUnits.length];
+        private final CachedConverters<?>[] converters = new CachedConverters<?>[targetUnits.length];
+        private final double[] row = new double[targetUnits.length];
+
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        LineParser() {
+            for (int i = 0; i < converters.length; i++) {
+                converters[i] = new CachedConverters(targetUnits[i]);
+            }
+        }
+
+        void parseLine(CharSequence csq, int start, int end, Batch batch, long line) {
+            if (end > start && csq.charAt(end - 1) == '\r') {
+                end--;
+            }
+            if (isBlank(csq, start, end)) {
+                return;
+            }
+            int found = 0;
+            int field = 0;
+            int fieldStart = start;
+            while (field < slotOfField.length && fieldStart <= end) {
+                // whitespace is trimmed within the field only, as the delimiter might be whitespace itself
+                int valueStart = fieldStart;
+                while (valueStart < end && csq.charAt(valueStart) != delimiter && Character.isWhitespace(csq.charAt(valueStart))) {
+                    valueStart++;
+                }
+                int fieldEnd = valueStart;
+                final int valueEnd;
+                if (valueStart < end && csq.charAt(valueStart) == '"') {
+                    valueStart++;
+                    fieldEnd = valueStart;
+                    while (fieldEnd < end && csq.charAt(fieldEnd) != '"') {
+                        fieldEnd++;
+                    }
+                    valueEnd = fieldEnd;
+                    while (fieldEnd < end && csq.charAt(fieldEnd) != delimiter) {
+                        fieldEnd++;
+                    }
+                } else {
+                    while (fieldEnd < end && csq.charAt(fieldEnd) != delimiter) {
+                        fieldEnd++;
+                    }
+                    valueEnd = fieldEnd;
+                }
+                final int slot = slotOfField[field];
+                if (slot >= 0) {
+                    row[slot] = parseValue(csq, valueStart, valueEnd, slot, line, field);
+                    found++;
+                }
+                field++;
+                fieldStart = fieldEnd + 1;
+            }
+            if (found < row.length) {
+                throw new MeasurementParseException(location(line, field) + " is missing", csq.subSequence(start, end), end - start);
+            }
+            batch.add(row);
+        }
+
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        private double parseValue(CharSequence csq, int start, int end, int slot, long line, int field) {
+            while (end > start && Character.isWhitespace(csq.charAt(end - 1))) {
+                end--;
+            }
+            try {
+                if (quantityFormat != null) {
+                    final Quantity quantity = quantityFormat.parse(CharSlice.of(csq, start, end));
+                    return converters[slot].operatorFrom(quantity.getUnit()).applyAsDouble(quantity.getValue().doubleValue());
+                }
+                final int numberEnd = scanNumber(csq, start, end);
+                if (numberEnd == start) {
+                    throw new MeasurementParseException("No number found", csq.subSequence(start, end), 0);
+                }
+                final double value = parseDouble(csq, start, numberEnd);
+                return converterFor(csq, skipWhitespace(csq, numberEnd, end), end, slot).applyAsDouble(value);
+            } catch (MeasurementParseException | IllegalArgumentException e) {
+                final MeasurementParseException exception = new MeasurementParseException(
+                        location(line, field) + " can't be parsed: " + e.getMessage(), csq.subSequence(start, end), 0);
+                exception.initCause(e);
+                throw exception;
+            }
+        }
+
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        private DoubleUnaryOperator converterFor(CharSequence csq, int start, int end, int slot) {
+            final String last = lastUnitText[slot];
+            if (last != null && regionEquals(last, csq, start, end)) {
+                return lastConverter[slot];
+            }
+            final Unit unit = start == end ? AbstractUnit.ONE : unitFormat.parse(CharSlice.of(csq, start, end));
+            final DoubleUnaryOperator converter = converters[slot].operatorFrom(unit);
+            lastUnitText[slot] = csq.subSequence(start, end).toString();
+            lastConverter[slot] = converter;
+            return converter;
+        }
+    }
+
+    private String location(long line, int field) {
+        return (line > 0 ? "Line " + line : "A line in the chunk at byte " + -line) + ", field " + field;
+    }
+
+    private static boolean isBlank(CharSequence csq, int start, int end) {
+        return skipWhitespace(csq, start, end) == end;
+    }
+
+    private static int skipWhitespace(CharSequence csq, int start, int end) {
+        while (start < end && Character.isWhitespace(csq.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static boolean regionEquals(String s, CharSequence csq, int start, int end) {
+        if (s.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) != csq.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the end of the decimal number starting at {@code start}, or {@code start} if there is none
+     */
+    private static int scanNumber(CharSequence csq, int start, int end) {
+        int i = start;
+        if (i < end && (csq.charAt(i) == '-' || csq.charAt(i) == '+')) {
+            i++;
+        }
+        boolean digits = false;
+        while (i < end && (isDigit(csq.charAt(i)) || (csq.charAt(i) == '.'))) {
+            digits |= isDigit(csq.charAt(i));
+            i++;
+        }
+        if (!digits) {
+            return start;
+        }
+        if (i < end && (csq.charAt(i) == 'e' || csq.charAt(i) == 'E')) {
+            // an exponent, unless the unit starts with an 'e'
+            int j = i + 1;
+            if (j < end && (csq.charAt(j) == '-' || csq.charAt(j) == '+')) {
+                j++;
+            }
+            if (j < end && isDigit(csq.charAt(j))) {
+                while (j < end && isDigit(csq.charAt(j))) {
+                    j++;
+                }
+                i = j;
+            }
+        }
+        return i;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15,
+            1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    /**
+     * Parses numbers of up to 15 digits without exponent directly, as exact quotients of two doubles, others with
+     * {@link Double#parseDouble(String)}.
+     */
+    private static double parseDouble(CharSequence csq, int start, int end) {
+        int i = start;
+        final boolean negative = csq.charAt(i) == '-';
+        if (negative || csq.charAt(i) == '+') {
+            i++;
+        }
+        long unscaled = 0;
+        int scale = -1;
+        for (; i < end; i++) {
+            final char c = csq.charAt(i);
+            if (isDigit(c)) {
+                unscaled = unscaled * 10 + (c - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+                if (unscaled >= 1L << 53) {
+                    break;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                break;
+            }
+        }
+        if (i == end && scale < POWERS_OF_TEN.length) {
+            final double value = scale > 0 ? unscaled / POWERS_OF_TEN[scale] : unscaled;
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(csq.subSequence(start, end).toString());
+    }
+
+    /**
+     * A batch of lines, holding the values of each column as <code>double</code>s in the target unit of the column.
+     */
+    public static final class Batch {
+        private final Unit<?>[] units;
+        private double[][] columns;
+        private int size;
+
+        private Batch(Unit<?>[] units, int capacity) {
+            this.units = units;
+            this.columns = new double[units.length][capacity];
+        }
+
+        private void add(double[] row) {
+            if (size == columns[0].length) {
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = Arrays.copyOf(columns[i], size * 2);
+                }
+            }
+            for (int i = 0; i < row.length; i++) {
+                columns[i][size] = row[i];
+            }
+            size++;
+        }
+
+        private Batch trim() {
+            if (size < columns[0].length) {
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = Arrays.copyOf(columns[i], size);
+                }
+            }
+            return this;
+        }
+
+        private static Batch concat(Unit<?>[] units, List<Batch> batches) {
+            if (batches.size() == 1) {
+                return batches.get(0);
+            }
+            final Batch result = new Batch(units, batches.stream().mapToInt(Batch::size).sum());
+            for (Batch batch : batches) {
+                for (int i = 0; i < units.length; i++) {
+                    System.arraycopy(batch.columns[i], 0, result.columns[i], result.size, batch.size);
+                }
+                result.size += batch.size;
+            }
+            return result;
+        }
+
+        /**
+         * @return the number of lines of this batch
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return the number of columns of this batch
+         */
+        public int getColumnCount() {
+            return units.length;
+        }
+
+        /**
+         * @param column the index of the column, in the order the columns were added
+         * @return the target unit of the column
+         */
+        public Unit<?> getUnit(int column) {
+            return units[column];
+        }
+
+        /**
+         * Returns the values of a column, in its target unit. The array is owned by the batch, so it is not copied.
+         *
+         * @param column the index of the column, in the order the columns were added
+         * @return the values, one per line of this batch
+         */
+        public double[] getValues(int column) {
+            return size == columns[column].length ? columns[column] : Arrays.copyOf(columns[column], size);
+        }
+
+        /**
+         * Returns the quantities of a column, in its target unit.
+         *
+         * @param column the index of the column, in the order the columns were added
+         * @return the quantities, one per line of this batch
+         */
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        public QuantityArray<?> getQuantities(int column) {
+            return QuantityArray.of(getValues(column), (Unit) units[column]);
+        }
+    }
+}
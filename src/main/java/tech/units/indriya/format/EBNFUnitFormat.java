@@ -34,14 +34,14 @@ import javax.measure.Unit;
 import javax.measure.format.MeasurementParseException;
 
 import tech.units.indriya.AbstractUnit;
-import tech.units.indriya.internal.format.UnitFormatParser;
+import tech.units.indriya.internal.format.UnitExpressionParser;
 import tech.units.indriya.unit.AnnotatedUnit;
 
 import java.io.IOException;
-import java.io.StringReader;
 import java.text.ParsePosition;
 import java.util.Locale;
 import java.util.ResourceBundle;
+import java.util.function.Function;
 
 /**
  * <p>
@@ -187,6 +187,13 @@ public class EBNFUnitFormat extends AbstractUnitFormat {
    */
   private final transient SymbolMap symbolMap;
 
+  private final transient Function<CharSequence, Unit<?>> uncachedParser = csq -> parse(csq, 0);
+
+  /**
+   * The parser of each thread using this instance, reused across calls.
+   */
+  private final transient ThreadLocal<UnitExpressionParser> parsers = ThreadLocal.withInitial(() -> new UnitExpressionParser(getSymbols()));
+
   // ////////////////
   // Constructors //
   // ////////////////
@@ -252,13 +259,11 @@ public class EBNFUnitFormat extends AbstractUnitFormat {
     if (end <= start) {
       return AbstractUnit.ONE;
     }
-    String source = csq.subSequence(start, end).toString().trim();
-    if (source.length() == 0) {
+    if (UnitExpressionParser.isBlank(csq, start, end)) {
       return AbstractUnit.ONE;
     }
     try {
-      UnitFormatParser parser = new UnitFormatParser(symbolMap, new StringReader(source));
-      Unit<?> result = parser.parseUnit();
+      Unit<?> result = parsers.get().parse(csq, start, end);
       if (cursor != null)
         cursor.setIndex(end);
       return result;
@@ -282,6 +287,11 @@ public class EBNFUnitFormat extends AbstractUnitFormat {
 
   @Override
   public Unit<?> parse(CharSequence csq) throws MeasurementParseException {
-    return parse(csq, 0);
+    return parseCached(csq, uncachedParser);
+  }
+
+  @Override
+  int getSymbolsVersion() {
+    return symbolMap.getVersion();
   }
 }
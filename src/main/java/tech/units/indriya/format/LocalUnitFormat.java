@@ -37,7 +37,7 @@ import javax.measure.Unit;
 import javax.measure.UnitConverter;
 import javax.measure.format.MeasurementParseException;
 import tech.units.indriya.AbstractUnit;
-import tech.units.indriya.internal.format.UnitFormatParser;
+import tech.units.indriya.internal.format.UnitExpressionParser;
 import tech.units.indriya.unit.AlternateUnit;
 import tech.units.indriya.unit.AnnotatedUnit;
 import tech.units.indriya.unit.BaseUnit;
@@ -50,11 +50,11 @@ import static tech.units.indriya.unit.Units.KILOGRAM;
 import static tech.units.indriya.unit.Units.LITRE;
 
 import java.io.IOException;
-import java.io.StringReader;
 import java.text.ParsePosition;
 import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.function.Function;
 
 /**
  * <p>
@@ -202,6 +202,13 @@ public class LocalUnitFormat extends AbstractUnitFormat {
    */
   private final transient SymbolMap symbolMap;
 
+  private final transient Function<CharSequence, Unit<?>> uncachedParser = csq -> parse(csq, new ParsePosition(0));
+
+  /**
+   * The parser of each thread using this instance, reused across calls.
+   */
+  private final transient ThreadLocal<UnitExpressionParser> parsers = ThreadLocal.withInitial(() -> new UnitExpressionParser(getSymbols()));
+
   // ////////////////
   // Constructors //
   // ////////////////
@@ -261,13 +268,11 @@ public class LocalUnitFormat extends AbstractUnitFormat {
     if (end <= start) {
       return AbstractUnit.ONE;
     }
-    String source = csq.subSequence(start, end).toString().trim();
-    if (source.length() == 0) {
+    if (UnitExpressionParser.isBlank(csq, start, end)) {
       return AbstractUnit.ONE;
     }
     try {
-      UnitFormatParser parser = new UnitFormatParser(symbolMap, new StringReader(source));
-      Unit<?> result = parser.parseUnit();
+      Unit<?> result = parsers.get().parse(csq, start, end);
       cursor.setIndex(end);
       return result;
     } catch (TokenException e) {
@@ -285,9 +290,15 @@ public class LocalUnitFormat extends AbstractUnitFormat {
     }
   }
 
+  @SuppressWarnings("unchecked")
   @Override
   public Unit<? extends Quantity<?>> parse(CharSequence csq) throws MeasurementParseException {
-    return parse(csq, new ParsePosition(0));
+    return (Unit<? extends Quantity<?>>) parseCached(csq, uncachedParser);
+  }
+
+  @Override
+  int getSymbolsVersion() {
+    return symbolMap.getVersion();
   }
 
   /**
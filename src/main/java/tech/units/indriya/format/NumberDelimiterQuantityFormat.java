@@ -34,6 +34,8 @@ import static tech.units.indriya.format.CommonFormatter.parseMixedAsLeading;
 import static tech.units.indriya.format.CommonFormatter.parseMixedAsPrimary;
 
 import java.io.IOException;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
 import java.text.ParsePosition;
 import java.util.Locale;
@@ -45,6 +47,8 @@ import javax.measure.format.MeasurementParseException;
 import javax.measure.format.UnitFormat;
 
 import tech.units.indriya.AbstractUnit;
+import tech.units.indriya.internal.format.CharSlice;
+import tech.units.indriya.internal.format.DecimalWriter;
 import tech.units.indriya.quantity.CompoundQuantity;
 import tech.units.indriya.quantity.MixedQuantity;
 import tech.units.indriya.quantity.Quantities;
@@ -87,6 +91,10 @@ public class NumberDelimiterQuantityFormat extends AbstractQuantityFormat {
     private String delimiter;
     private String mixDelimiter;
     private boolean localeSensitive;
+    /** whether numbers are written in their shortest locale-neutral representation rather than by the number format */
+    private boolean neutralNumbers;
+    /** whether plain decimal numbers followed by the delimiter can be parsed without the number format */
+    private transient boolean plainNumbers;
 
     /** private constructor */
     private NumberDelimiterQuantityFormat() { }
@@ -102,6 +110,7 @@ public class NumberDelimiterQuantityFormat extends AbstractQuantityFormat {
         private transient String delimiter = DEFAULT_DELIMITER;
         private transient String mixedRadixDelimiter;
         private boolean localeSensitive;
+        private FormatBehavior numberBehavior = FormatBehavior.LOCALE_SENSITIVE;
 
         /**
          * Sets the numberFormat parameter to the given {@code NumberFormat}.
@@ -175,14 +184,40 @@ public class NumberDelimiterQuantityFormat extends AbstractQuantityFormat {
             return this;
         }
 
+        /**
+         * Sets how numbers are formatted. With {@link FormatBehavior#LOCALE_SENSITIVE LOCALE_SENSITIVE}, the default, numbers are formatted by
+         * the {@code NumberFormat}. With {@link FormatBehavior#LOCALE_NEUTRAL LOCALE_NEUTRAL}, numbers are written without the
+         * {@code NumberFormat}, like their <code>toString()</code> method does, but a {@code double} in its shortest representation that parses
+         * back to the same value, for example {@code 0.1}, {@code 100.0} or {@code 1.0E-5}. The {@code NumberFormat} is then only used for
+         * parsing, and defaults to the one for {@link Locale#ROOT}.
+         * <p>
+         * Locale-neutral numbers are written into a {@link StringBuilder} or byte array without intermediate <code>String</code> objects,
+         * which suits serializing large numbers of quantities.
+         *
+         * @param behavior the {@link FormatBehavior} of numbers
+         * @throws NullPointerException if {@code behavior} is {@code null}
+         * @return this {@code NumberDelimiterQuantityFormat.Builder}
+         * @since 2.2
+         */
+        public Builder setNumberBehavior(FormatBehavior behavior) {
+            Objects.requireNonNull(behavior);
+            this.numberBehavior = behavior;
+            return this;
+        }
+
         public NumberDelimiterQuantityFormat build() {
             NumberDelimiterQuantityFormat quantityFormat = new NumberDelimiterQuantityFormat();
+            if (this.numberFormat == null && this.numberBehavior == LOCALE_NEUTRAL) {
+                this.numberFormat = NumberFormat.getInstance(Locale.ROOT);
+            }
             quantityFormat.numberFormat = this.numberFormat;
             quantityFormat.unitFormat = this.unitFormat;
             quantityFormat.primaryUnit = this.primaryUnit;
             quantityFormat.delimiter = this.delimiter;
             quantityFormat.mixDelimiter = this.mixedRadixDelimiter;
             quantityFormat.localeSensitive = this.localeSensitive;
+            quantityFormat.neutralNumbers = this.numberBehavior == LOCALE_NEUTRAL;
+            quantityFormat.plainNumbers = isPlain(this.numberFormat, this.delimiter);
             return quantityFormat;
         }
     }
@@ -276,13 +311,21 @@ public class NumberDelimiterQuantityFormat extends AbstractQuantityFormat {
             }
         } else {
         */
-            if (quantity != null && quantity.getValue() != null) {
-                fract = getFractionDigitsCount(quantity.getValue().doubleValue());
-            }
-            if (fract > 1) {
-                numberFormat.setMaximumFractionDigits(fract + 1);
+            if (neutralNumbers) {
+                if (dest instanceof StringBuilder) {
+                    DecimalWriter.append((StringBuilder) dest, quantity.getValue());
+                } else {
+                    dest.append(DecimalWriter.append(new StringBuilder(), quantity.getValue()));
+                }
+            } else {
+                if (quantity != null && quantity.getValue() != null) {
+                    fract = getFractionDigitsCount(quantity.getValue().doubleValue());
+                }
+                if (fract > 1) {
+                    numberFormat.setMaximumFractionDigits(fract + 1);
+                }
+                dest.append(numberFormat.format(quantity.getValue()));
             }
-            dest.append(numberFormat.format(quantity.getValue()));
             if (quantity.getUnit().equals(AbstractUnit.ONE))
                 return dest;
             dest.append(delimiter);
@@ -290,8 +333,35 @@ public class NumberDelimiterQuantityFormat extends AbstractQuantityFormat {
         //}
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * With {@link Builder#setNumberBehavior(FormatBehavior) locale-neutral numbers}, the number and unit are written directly into the
+     * array, without intermediate <code>String</code> objects for {@code double} or integer values and units cached by a
+     * {@link SimpleUnitFormat}.
+     */
+    @Override
+    public int format(Quantity<?> quantity, byte[] dest, int offset) {
+        if (!neutralNumbers) {
+            return super.format(quantity, dest, offset);
+        }
+        int pos = DecimalWriter.write(dest, offset, quantity.getValue());
+        if (quantity.getUnit().equals(AbstractUnit.ONE))
+            return pos;
+        pos = DecimalWriter.write(dest, pos, delimiter);
+        final Unit<?> unit = quantity.getUnit();
+        return DecimalWriter.write(dest, pos,
+                unitFormat instanceof SimpleUnitFormat ? ((SimpleUnitFormat) unitFormat).formatToString(unit) : unitFormat.format(unit));
+    }
+
     @Override
     public Quantity<?> parse(CharSequence csq, ParsePosition cursor) throws IllegalArgumentException, MeasurementParseException {
+        if (plainNumbers && mixDelimiter == null) {
+            final Quantity<?> quantity = parsePlain(csq, cursor);
+            if (quantity != null) {
+                return quantity;
+            }
+        }
         final String str = csq.toString();
         final int index = cursor.getIndex();
         if (mixDelimiter != null && !mixDelimiter.equals(delimiter)) {
@@ -318,6 +388,107 @@ public class NumberDelimiterQuantityFormat extends AbstractQuantityFormat {
         return Quantities.getQuantity(number, unit);
     }
 
+    /**
+     * Parses a plain decimal number, followed by the delimiter and the unit, like {@link #parse(CharSequence, ParsePosition)} but without
+     * creating intermediate Strings. Returns <code>null</code> for anything else (grouping, exponents, more than 18 digits, ...), which is
+     * then left to the {@link NumberFormat}.
+     */
+    private Quantity<?> parsePlain(CharSequence csq, ParsePosition cursor) {
+        final int length = csq.length();
+        int i = cursor.getIndex();
+        final boolean negative = i < length && csq.charAt(i) == '-';
+        if (negative) {
+            i++;
+        }
+        final int integerStart = i;
+        int integerEnd = -1;
+        long unscaled = 0;
+        int digits = 0;
+        int scale = 0;
+        for (; i < length; i++) {
+            final char c = csq.charAt(i);
+            if (c >= '0' && c <= '9') {
+                unscaled = unscaled * 10 + (c - '0');
+                if (integerEnd >= 0) {
+                    scale++;
+                }
+                if (unscaled != 0 && ++digits > 18) {
+                    return null;
+                }
+            } else if (c == '.' && integerEnd < 0) {
+                integerEnd = i;
+            } else {
+                break;
+            }
+        }
+        if (i == integerStart || integerEnd == integerStart || integerEnd == i - 1 || !regionMatches(csq, i, delimiter)) {
+            return null;
+        }
+        final int unitStart = i + delimiter.length();
+        int unitEnd = unitStart;
+        while (unitEnd < length && !regionMatches(csq, unitEnd, delimiter)) {
+            unitEnd++;
+        }
+        if (unitEnd == unitStart) {
+            return null;
+        }
+        while (scale > 0 && unscaled % 10 == 0) {
+            unscaled /= 10;
+            scale--;
+        }
+        final Number number;
+        if (scale == 0) {
+            // like DecimalFormat, which only returns a Double for -0 here
+            number = negative && unscaled == 0 ? (Number) (-0.0d) : (Number) (negative ? -unscaled : unscaled);
+        } else if (scale < POWERS_OF_TEN.length && unscaled < 1L << 53) {
+            // both operands are exact, so the quotient is rounded correctly, like Double.parseDouble does
+            final double value = unscaled / POWERS_OF_TEN[scale];
+            number = negative ? -value : value;
+        } else {
+            return null;
+        }
+        final Unit unit = unitFormat.parse(CharSlice.of(csq, unitStart, unitEnd));
+        cursor.setIndex(i);
+        return Quantities.getQuantity(number, unit);
+    }
+
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15,
+            1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    private static boolean regionMatches(CharSequence csq, int index, String s) {
+        if (index + s.length() > csq.length()) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (csq.charAt(index + i) != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the given number format parses plain decimal numbers (like {@code -12.5}) the standard way, and the delimiter can
+     * neither be mistaken as part of a number nor as a regular expression.
+     */
+    private static boolean isPlain(NumberFormat numberFormat, String delimiter) {
+        if (!(numberFormat instanceof DecimalFormat) || delimiter == null || delimiter.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < delimiter.length(); i++) {
+            final char c = delimiter.charAt(i);
+            if (Character.isLetterOrDigit(c) || "\\^$.|?*+-()[]{},".indexOf(c) >= 0) {
+                return false;
+            }
+        }
+        final DecimalFormat decimalFormat = (DecimalFormat) numberFormat;
+        final DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+        return symbols.getDecimalSeparator() == '.' && symbols.getMinusSign() == '-' && decimalFormat.getMultiplier() == 1
+                && !decimalFormat.isParseBigDecimal() && !decimalFormat.isParseIntegerOnly() && decimalFormat.getPositivePrefix().isEmpty()
+                && decimalFormat.getPositiveSuffix().isEmpty() && "-".equals(decimalFormat.getNegativePrefix())
+                && decimalFormat.getNegativeSuffix().isEmpty();
+    }
+
     @Override
     protected Quantity<?> parse(CharSequence csq, int index) throws IllegalArgumentException, MeasurementParseException {
         return parse(csq, new ParsePosition(index));
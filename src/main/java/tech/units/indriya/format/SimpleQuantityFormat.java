@@ -40,6 +40,7 @@ import javax.measure.Unit;
 import javax.measure.format.MeasurementParseException;
 
 import tech.units.indriya.AbstractUnit;
+import tech.units.indriya.internal.format.DecimalWriter;
 import tech.units.indriya.internal.format.RationalNumberScanner;
 import tech.units.indriya.quantity.CompoundQuantity;
 import tech.units.indriya.quantity.MixedQuantity;
@@ -186,7 +187,12 @@ public class SimpleQuantityFormat extends AbstractQuantityFormat {
                 throw new MeasurementException("The quantity is not a mixed quantity");
             }
         } else { */
-    		dest.append(quantity.getValue().toString());
+    		// like toString(), but doubles in their shortest representation, and without an intermediate String if possible
+    		if (dest instanceof StringBuilder) {
+    			DecimalWriter.append((StringBuilder) dest, quantity.getValue());
+    		} else {
+    			dest.append(DecimalWriter.append(new StringBuilder(), quantity.getValue()));
+    		}
     		if (quantity.getUnit().equals(AbstractUnit.ONE))
     			return dest;
     		dest.append(delimiter);
@@ -194,19 +200,35 @@ public class SimpleQuantityFormat extends AbstractQuantityFormat {
         //}
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The number and unit are written directly into the array, without intermediate <code>String</code> objects for cached units and
+	 * {@code double} or integer values.
+	 */
+	@Override
+	public int format(Quantity<?> quantity, byte[] dest, int offset) {
+		int pos = DecimalWriter.write(dest, offset, quantity.getValue());
+		if (quantity.getUnit().equals(AbstractUnit.ONE))
+			return pos;
+		pos = DecimalWriter.write(dest, pos, delimiter);
+		return DecimalWriter.write(dest, pos, SimpleUnitFormat.getInstance().formatToString(quantity.getUnit()));
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public Quantity<?> parse(CharSequence csq, ParsePosition cursor) throws MeasurementParseException {
 	    
-	    final NumberFormat numberFormat = NumberFormat.getInstance();
 	    final SimpleUnitFormat simpleUnitFormat = SimpleUnitFormat.getInstance();
 	    
         if (mixDelimiter != null && !mixDelimiter.equals(delimiter)) {
-            return parseMixedAsLeading(csq.toString(), numberFormat, simpleUnitFormat, delimiter, mixDelimiter, cursor.getIndex());
+            return parseMixedAsLeading(csq.toString(), NumberFormat.getInstance(), simpleUnitFormat, delimiter, mixDelimiter, cursor.getIndex());
         } else if (mixDelimiter != null && mixDelimiter.equals(delimiter)) {
-            return parseMixedAsLeading(csq.toString(), numberFormat, simpleUnitFormat, delimiter, cursor.getIndex());
+            return parseMixedAsLeading(csq.toString(), NumberFormat.getInstance(), simpleUnitFormat, delimiter, cursor.getIndex());
         }
         
+        // the number and unit are read from csq directly, without creating Strings
+        
         final RationalNumberScanner scanner = new RationalNumberScanner(csq, cursor, null /*TODO should'nt this be numberFormat as well*/);
         final Number number = scanner.getNumber();
 		
@@ -34,11 +34,14 @@ import java.text.FieldPosition;
 import java.text.ParsePosition;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.measure.BinaryPrefix;
 import javax.measure.MeasurementError;
+import javax.measure.MeasurementException;
 import javax.measure.MetricPrefix;
 import javax.measure.Prefix;
 import javax.measure.Quantity;
@@ -53,6 +56,8 @@ import tech.units.indriya.AbstractUnit;
 import tech.units.indriya.function.AddConverter;
 import tech.units.indriya.function.MultiplyConverter;
 import tech.units.indriya.function.RationalNumber;
+import tech.units.indriya.internal.format.SymbolsCache;
+import tech.units.indriya.internal.format.UnitSymbolTrie;
 import tech.units.indriya.unit.AlternateUnit;
 import tech.units.indriya.unit.AnnotatedUnit;
 import tech.units.indriya.unit.BaseUnit;
@@ -102,6 +107,11 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 
     private static final String MU = "\u03bc";
 
+    /**
+     * The default maximum number of units whose text is cached by {@link #format(Unit, Appendable)}.
+     */
+    private static final int DEFAULT_FORMAT_CACHE_SIZE = 256;
+
     /**
      * Holds the standard unit format.
      */
@@ -164,12 +174,57 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
         }
     }
 
+    /**
+     * The cache of formatted units, or <code>null</code> if disabled.
+     */
+    private volatile SymbolsCache<Unit<?>, FormattedUnit> formatCache = new SymbolsCache<>(DEFAULT_FORMAT_CACHE_SIZE);
+
     /**
      * Base constructor.
      */
     protected SimpleUnitFormat() {
     }
 
+    /**
+     * Sets the maximum number of distinct units whose text is cached by {@link #format(Unit, Appendable)}, or disables the cache. The cache is
+     * cleared whenever labels or aliases change, so that formatting a unit again mostly amounts to appending its cached text. Caching is enabled
+     * by default.
+     *
+     * @param maxSize
+     *          the maximum number of cached units, or <code>0</code> to disable caching.
+     * @throws IllegalArgumentException
+     *           if {@code maxSize} is negative.
+     * @since 2.2
+     */
+    public void setFormatCacheSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Invalid cache size: " + maxSize);
+        }
+        formatCache = maxSize > 0 ? new SymbolsCache<>(maxSize) : null;
+    }
+
+    /**
+     * Returns the maximum number of units whose text is cached by {@link #format(Unit, Appendable)}.
+     *
+     * @return the maximum size of the format cache, <code>0</code> if caching is disabled.
+     * @since 2.2
+     */
+    public int getFormatCacheSize() {
+        final SymbolsCache<Unit<?>, FormattedUnit> cache = formatCache;
+        return cache != null ? cache.getMaxSize() : 0;
+    }
+
+    SymbolsCache<Unit<?>, FormattedUnit> getFormatCache() {
+        return formatCache;
+    }
+
+    /**
+     * Returns the same as {@link #format(Unit)}, but without copying the text of cached units.
+     */
+    String formatToString(Unit<?> unit) {
+        return format(unit);
+    }
+
     /**
      * Formats the specified unit.
      *
@@ -316,6 +371,70 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
         return parseProductUnit(source, pos);
     }
 
+    /**
+     * A unit with its formatted text.
+     */
+    private static final class FormattedUnit {
+        final Unit<?> unit;
+        final String text;
+
+        FormattedUnit(Unit<?> unit, String text) {
+            this.unit = unit;
+            this.text = text;
+        }
+
+        // Returns whether the text is that of the given unit, which is equal to this unit.
+        boolean isTextOf(Unit<?> other) {
+            return isFormattedAlike(unit, other);
+        }
+
+        // Equality does not imply the same text: products are equal in any order of their elements, transformed units regardless of
+        // their symbols, and converters regardless of the type of their factors.
+        private static boolean isFormattedAlike(Unit<?> a, Unit<?> b) {
+            if (a == b) {
+                return true;
+            }
+            if (a.getClass() != b.getClass() || !a.equals(b)) {
+                return false;
+            }
+            if (a instanceof ProductUnit) {
+                final ProductUnit<?> p = (ProductUnit<?>) a;
+                final ProductUnit<?> q = (ProductUnit<?>) b;
+                if (p.getUnitCount() != q.getUnitCount()) {
+                    return false;
+                }
+                for (int i = 0; i < p.getUnitCount(); i++) {
+                    if (p.getUnitPow(i) != q.getUnitPow(i) || p.getUnitRoot(i) != q.getUnitRoot(i)
+                            || !isFormattedAlike(p.getUnit(i), q.getUnit(i))) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            if (a instanceof TransformedUnit) {
+                final TransformedUnit<?> t = (TransformedUnit<?>) a;
+                final TransformedUnit<?> u = (TransformedUnit<?>) b;
+                return Objects.equals(t.getSymbol(), u.getSymbol()) && isFormattedAlike(t.getParentUnit(), u.getParentUnit())
+                        && isFormattedAlike(t.getConverter(), u.getConverter());
+            }
+            if (a instanceof AnnotatedUnit) {
+                return isFormattedAlike(((AnnotatedUnit<?>) a).getActualUnit(), ((AnnotatedUnit<?>) b).getActualUnit());
+            }
+            // these include their symbol in equality
+            return a instanceof BaseUnit || a instanceof AlternateUnit;
+        }
+
+        private static boolean isFormattedAlike(UnitConverter c, UnitConverter d) {
+            if (c instanceof MultiplyConverter) {
+                return d instanceof MultiplyConverter && Objects.equals(((MultiplyConverter) c).getFactor(), ((MultiplyConverter) d).getFactor());
+            }
+            if (c instanceof AddConverter) {
+                return d instanceof AddConverter && Objects.equals(((AddConverter) c).getOffset(), ((AddConverter) d).getOffset());
+            }
+            return true;
+        }
+    }
+
     /**
      * This class represents an exponent with both a power (numerator) and a root (denominator).
      */
@@ -371,6 +490,18 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
          */
         private final Map<String, Unit<?>> symbolToUnit = new HashMap<>();
 
+        /**
+         * Holds the identifiers used for parsing, rebuilt on demand after a label or alias has changed.
+         */
+        private volatile UnitSymbolTrie identifiers;
+
+        /**
+         * Counts the changes of labels and aliases, which invalidate the parse cache.
+         */
+        private volatile int version;
+
+        private final Function<CharSequence, Unit<?>> uncachedParser = csq -> parse(csq, 0);
+
         private static enum Token { EOF, IDENTIFIER, OPEN_PAREN, CLOSE_PAREN, EXPONENT, MULTIPLY, DIVIDE,
             PLUS, INTEGER, FLOAT };
 
@@ -487,6 +618,8 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
             synchronized (this) {
                 nameToUnit.put(label, unit);
                 unitToName.put(unit, label);
+                identifiers = null;
+                version++;
             }
         }
 
@@ -496,19 +629,29 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
                 throw new IllegalArgumentException("Alias: " + alias + " is not a valid identifier.");
             synchronized (this) {
                 nameToUnit.put(alias, unit);
+                identifiers = null;
+                version++;
             }
         }
 
 		@Override
 		public void removeAlias(Unit<?> unit) {
-			String label = unitToName.get(unit);
-			nameToUnit.entrySet().removeIf(e -> e.getValue().equals(unit) && !e.getKey().equals(label));
+			synchronized (this) {
+				String label = unitToName.get(unit);
+				nameToUnit.entrySet().removeIf(e -> e.getValue().equals(unit) && !e.getKey().equals(label));
+				identifiers = null;
+				version++;
+			}
 		}
 
 		@Override
 		public void removeLabel(Unit<?> unit) {
-			unitToName.remove(unit);
-			nameToUnit.entrySet().removeIf(e -> e.getValue().equals(unit));
+			synchronized (this) {
+				unitToName.remove(unit);
+				nameToUnit.entrySet().removeIf(e -> e.getValue().equals(unit));
+				identifiers = null;
+				version++;
+			}
 		}
 
         @Override
@@ -625,14 +768,39 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
             return unit;
         }
 
+        /**
+         * Returns the unit for the name made up by the characters {@code start} (inclusive) to {@code end} (exclusive) of the given
+         * sequence, like {@link #unitFor(String)}, but without creating a String for the name.
+         */
+        protected Unit<?> unitFor(CharSequence csq, int start, int end) {
+            UnitSymbolTrie table = identifiers;
+            if (table == null) {
+                synchronized (this) {
+                    table = identifiers;
+                    if (table == null) {
+                        identifiers = table = createIdentifiers();
+                    }
+                }
+            }
+            return table.get(csq, start, end);
+        }
+
+        // Returns the identifiers for parsing, names take precedence over symbols. Built in addition to the maps, which keep
+        // every prefixed symbol for formatting and unitFor(String).
+        UnitSymbolTrie createIdentifiers() {
+            return UnitSymbolTrie.of(symbolToUnit, nameToUnit);
+        }
+
         // //////////////////////////
         // Parsing.
         @SuppressWarnings({ "rawtypes", "unchecked" })
         public Unit<? extends Quantity> parseSingleUnit(CharSequence csq, ParsePosition pos) throws MeasurementParseException {
             int startIndex = pos.getIndex();
-            String name = readIdentifier(csq, pos);
-            Unit unit = unitFor(name);
-            check(unit != null, name + " not recognized", csq, startIndex);
+            int endIndex = readIdentifier(csq, pos);
+            Unit unit = unitFor(csq, startIndex, endIndex);
+            if (unit == null) {
+                check(false, csq.subSequence(startIndex, endIndex) + " not recognized", csq, startIndex);
+            }
             return unit;
         }
 
@@ -643,7 +811,7 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
         	if (csq == null) {
             	throw new MeasurementParseException("Cannot parse null", csq, pos.getIndex());
             } else {
-            	result = unitFor(csq.toString());
+            	result = unitFor(csq, 0, csq.length());
             	if (result != null)
             		return result;
             }
@@ -864,14 +1032,15 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
             return Double.parseDouble(csq.subSequence(start, end).toString());
         }
 
-        private static String readIdentifier(CharSequence csq, ParsePosition pos) {
+        // Moves the cursor behind the identifier starting at its index, and returns the end index of the identifier.
+        private static int readIdentifier(CharSequence csq, ParsePosition pos) {
             final int length = csq.length();
             int start = pos.getIndex();
             int i = start;
             while ((++i < length) && isUnitIdentifierPart(csq.charAt(i))) {
             }
             pos.setIndex(i);
-            return csq.subSequence(start, i).toString();
+            return i;
         }
 
         // //////////////////////////
@@ -879,6 +1048,42 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 
         @Override
         public Appendable format(Unit<?> unit, Appendable appendable) throws IOException {
+            final SymbolsCache<Unit<?>, FormattedUnit> cache = getFormatCache();
+            if (cache == null || unit == null) {
+                return formatUncached(unit, appendable);
+            }
+            return appendable.append(formatCached(unit, cache));
+        }
+
+        @Override
+        String formatToString(Unit<?> unit) {
+            final SymbolsCache<Unit<?>, FormattedUnit> cache = getFormatCache();
+            if (cache == null || unit == null) {
+                return format(unit);
+            }
+            try {
+                return formatCached(unit, cache);
+            } catch (IOException ex) {
+                throw new MeasurementException(ex); // Should never happen.
+            }
+        }
+
+        private String formatCached(Unit<?> unit, SymbolsCache<Unit<?>, FormattedUnit> cache) throws IOException {
+            final int stamp = cache.stamp(getFormatVersion());
+            FormattedUnit formatted = cache.get(unit);
+            if (formatted == null || !formatted.isTextOf(unit)) {
+                formatted = new FormattedUnit(unit, formatUncached(unit, new StringBuilder()).toString());
+                cache.put(unit, formatted, stamp);
+            }
+            return formatted.text;
+        }
+
+        // Returns the version of the labels used for formatting, the names of transformed units depend on the default format as well.
+        int getFormatVersion() {
+            return this == DEFAULT || DEFAULT == null ? version : version + DEFAULT.version;
+        }
+
+        Appendable formatUncached(Unit<?> unit, Appendable appendable) throws IOException {
             String name = nameFor(unit);
             if (name != null) {
                 return appendable.append(name);
@@ -971,7 +1176,12 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 
         @Override
         public Unit<?> parse(CharSequence csq) throws MeasurementParseException {
-            return parse(csq, 0);
+            return parseCached(csq, uncachedParser);
+        }
+
+        @Override
+        int getSymbolsVersion() {
+            return version;
         }
 
         protected Unit<?> parse(CharSequence csq, int index) throws IllegalArgumentException {
@@ -980,7 +1190,7 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 
         @Override
         public Unit<?> parse(CharSequence csq, ParsePosition cursor) throws IllegalArgumentException {
-            return parseObject(csq.toString(), cursor);
+            return parseProductUnit(csq, cursor);
         }
     }
 
@@ -1084,13 +1294,34 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
             return DEFAULT.unitFor(name);
         }
 
+        @Override
+        protected Unit<?> unitFor(CharSequence csq, int start, int end) {
+            // First search if specific ASCII name.
+            Unit<?> unit = super.unitFor(csq, start, end);
+            if (unit != null)
+                return unit;
+            // Else returns default mapping.
+            return DEFAULT.unitFor(csq, start, end);
+        }
+
+        @Override
+        UnitSymbolTrie createIdentifiers() {
+            return UnitSymbolTrie.of(nameToUnit);
+        }
+
+        @Override
+        int getSymbolsVersion() {
+            // parsing falls back to the default format
+            return super.getSymbolsVersion() + DEFAULT.getSymbolsVersion();
+        }
+
         @Override
         public String toString() {
             return "SimpleUnitFormat - ASCII";
         }
 
         @Override
-        public Appendable format(Unit<?> unit, Appendable appendable) throws IOException {
+        Appendable formatUncached(Unit<?> unit, Appendable appendable) throws IOException {
             String name = nameFor(unit);
             if (name != null)
                 return appendable.append(name);
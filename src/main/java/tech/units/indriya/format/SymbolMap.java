@@ -36,6 +36,7 @@ import javax.measure.UnitConverter;
 import tech.units.indriya.AbstractUnit;
 import tech.units.indriya.function.AbstractConverter;
 import tech.units.indriya.function.MultiplyConverter;
+import tech.units.indriya.internal.format.PrecompiledSymbols;
 
 import java.lang.reflect.Field;
 import java.util.Collections;
@@ -65,6 +66,11 @@ import java.util.stream.Collectors;
  * whereas labels map in both directions. A given unit may have any number of aliases, but may have only one label.
  * </p>
  *
+ * <p>
+ * Fields of {@link tech.units.indriya.unit.Units Units}, {@link javax.measure.MetricPrefix MetricPrefix} and {@link javax.measure.BinaryPrefix
+ * BinaryPrefix} are resolved from a precompiled table, other fields by reflection.
+ * </p>
+ *
  * @author <a href="mailto:eric-r@northwestern.edu">Eric Russell</a>
  * @author <a href="mailto:werner@units.tech">Werner Keil</a>
  * @version 2.1, November 21, 2020
@@ -78,6 +84,7 @@ public final class SymbolMap {
   private final Map<String, Object> symbolToPrefix;
   private final Map<Object, String> prefixToSymbol;
   private final Map<UnitConverter, Prefix> converterToPrefix;
+  private volatile int version;
 
   /**
    * Creates an empty mapping.
@@ -113,9 +120,12 @@ public final class SymbolMap {
         fieldName = fqn.substring(lastDot + 1, fqn.length());
       }
       try {
-        Class<?> c = Class.forName(className);
-        Field field = c.getField(fieldName);
-        Object value = field.get(null);
+        Object value = PrecompiledSymbols.resolve(className, fieldName);
+        if (value == null) {
+          Class<?> c = Class.forName(className);
+          Field field = c.getField(fieldName);
+          value = field.get(null);
+        }
         if (value instanceof Unit<?>) {
           if (isAlias) {
             alias((Unit) value, symbol);
@@ -156,6 +166,7 @@ public final class SymbolMap {
   public void label(Unit<?> unit, String symbol) {
     symbolToUnit.put(symbol, unit);
     unitToSymbol.put(unit, symbol);
+    version++;
   }
 
   /**
@@ -170,6 +181,7 @@ public final class SymbolMap {
    */
   public void alias(Unit<?> unit, String symbol) {
     symbolToUnit.put(symbol, unit);
+    version++;
   }
 
   /**
@@ -182,6 +194,15 @@ public final class SymbolMap {
     symbolToPrefix.put(symbol, prefix);
     prefixToSymbol.put(prefix, symbol);
     converterToPrefix.put(MultiplyConverter.ofPrefix(prefix), prefix);
+    version++;
+  }
+
+  /**
+   * Returns the number of changes made by {@link #label(Unit, String)}, {@link #alias(Unit, String)} and {@link #label(Prefix, String)},
+   * which invalidate the results of parsing with this map.
+   */
+  int getVersion() {
+    return version;
   }
 
   /**
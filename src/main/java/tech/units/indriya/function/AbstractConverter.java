@@ -36,11 +36,13 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.DoubleUnaryOperator;
 import java.util.stream.Collectors;
 
 import javax.measure.UnitConverter;
 
 import tech.units.indriya.internal.function.Calculator;
+import tech.units.indriya.spi.NumberSystem;
 import tech.uom.lib.common.function.Converter;
 import tech.uom.lib.common.util.UnitComparator;
 
@@ -82,6 +84,11 @@ public abstract class AbstractConverter
      */
     protected List<? extends UnitConverter> conversionSteps; 
 
+    /**
+     * memorization for compileToDouble, along with the number system it was compiled with
+     */
+    private transient Compiled compiledToDouble;
+
     /**
      * DefaultQuantityFactory constructor.
      */
@@ -238,6 +245,141 @@ public abstract class AbstractConverter
         return convertWhenNotIdentity(value);
     }
     
+    /**
+     * Returns a primitive {@code double} operator, that is equivalent to {@link #convert(double)}, but 
+     * does not box the value nor create any intermediate {@link Number} objects on application.
+     * <p>
+     * The {@link #getConversionSteps() conversion steps} are flattened once, such that consecutive 
+     * linear steps (multiplication by a factor, addition of an offset) are fused into a single 
+     * {@code x -> a * x + b} transformation. As {@code a} and {@code b} are rounded to {@code double}, 
+     * results may differ from {@link #convert(double)} in the last few digits.
+     * <p>
+     * The returned operator is immutable and thread-safe; it is memoized by this converter, until the 
+     * {@link Calculus#currentNumberSystem() current number system} changes.
+     * 
+     * @return a {@link DoubleUnaryOperator} applying this conversion on {@code double} values
+     * @since 2.2
+     */
+    public final DoubleUnaryOperator compileToDouble() {
+        // racy single-check, Compiled is immutable
+        // the fused factors are computed with the current number system, hence depend on it
+        final NumberSystem system = Calculus.currentNumberSystem();
+        Compiled compiled = compiledToDouble;
+        if(compiled == null || compiled.system != system) {
+            compiledToDouble = compiled = new Compiled(system, CompiledDoubleConverter.of(this));
+        }
+        return compiled.converter;
+    }
+    
+    /**
+     * Converts {@code len} values of {@code src}, starting at index {@code srcOff}, and stores the 
+     * results into {@code dst}, starting at index {@code dstOff}.
+     * <p>
+     * This is equivalent to applying {@link #compileToDouble()} to each element, hence results may 
+     * differ from {@link #convert(double)} in the last few digits. The conversion is done with one 
+     * tight loop per (fused) conversion step, without any boxing. {@code src} and {@code dst} may be 
+     * the same array, also with overlapping ranges.
+     * 
+     * @param src the values to convert
+     * @param srcOff the index of the first value to convert
+     * @param dst the array to store the converted values into
+     * @param dstOff the index to store the first converted value at
+     * @param len the number of values to convert
+     * @throws NullPointerException if {@code src} or {@code dst} is {@code null}
+     * @throws IndexOutOfBoundsException if a range is not within the bounds of its array
+     * @since 2.2
+     */
+    public final void convert(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+        checkRange(src.length, srcOff, len);
+        checkRange(dst.length, dstOff, len);
+        if(src == dst && srcOff != dstOff && Math.abs(srcOff - dstOff) < len) {
+            // overlapping ranges, move the values first, then convert in place
+            System.arraycopy(src, srcOff, dst, dstOff, len);
+            srcOff = dstOff;
+        }
+        ((CompiledDoubleConverter) compileToDouble()).applyTo(src, srcOff, dst, dstOff, len);
+    }
+    
+    /**
+     * Converts {@code len} values of {@code src}, starting at index {@code srcOff}, and stores the 
+     * results into {@code dst}, starting at index {@code dstOff}.
+     * <p>
+     * This is equivalent to applying {@link #compileToDouble()} to each element, after it was 
+     * widened to {@code double}.
+     * 
+     * @param src the values to convert
+     * @param srcOff the index of the first value to convert
+     * @param dst the array to store the converted values into
+     * @param dstOff the index to store the first converted value at
+     * @param len the number of values to convert
+     * @throws NullPointerException if {@code src} or {@code dst} is {@code null}
+     * @throws IndexOutOfBoundsException if a range is not within the bounds of its array
+     * @since 2.2
+     */
+    public final void convert(long[] src, int srcOff, double[] dst, int dstOff, int len) {
+        checkRange(src.length, srcOff, len);
+        checkRange(dst.length, dstOff, len);
+        ((CompiledDoubleConverter) compileToDouble()).applyTo(src, srcOff, dst, dstOff, len);
+    }
+    
+    /**
+     * Converts {@code len} values of {@code src}, starting at index {@code srcOff}, and stores the 
+     * results into {@code dst}, starting at index {@code dstOff}.
+     * <p>
+     * Each value is converted the same way as by {@link #convert(Number)}, hence with the precision of 
+     * the current {@link tech.units.indriya.spi.NumberSystem NumberSystem}.
+     * 
+     * @param src the values to convert
+     * @param srcOff the index of the first value to convert
+     * @param dst the array to store the converted values into
+     * @param dstOff the index to store the first converted value at
+     * @param len the number of values to convert
+     * @throws NullPointerException if {@code src} or {@code dst} is {@code null}
+     * @throws IndexOutOfBoundsException if a range is not within the bounds of its array
+     * @throws IllegalArgumentException if one of the values to convert is {@code null}
+     * @since 2.2
+     */
+    public final void convert(Number[] src, int srcOff, Number[] dst, int dstOff, int len) {
+        checkRange(src.length, srcOff, len);
+        checkRange(dst.length, dstOff, len);
+        if(isIdentity()) {
+            System.arraycopy(src, srcOff, dst, dstOff, len);
+            return;
+        }
+        if(src == dst && srcOff < dstOff && dstOff < srcOff + len) {
+            // overlapping ranges, move the values first, then convert in place
+            System.arraycopy(src, srcOff, dst, dstOff, len);
+            srcOff = dstOff;
+        }
+        for(int i = 0; i < len; i++) {
+            final Number value = src[srcOff + i];
+            if (value == null) {
+                throw new IllegalArgumentException("Value cannot be null");
+            }
+            dst[dstOff + i] = convertWhenNotIdentity(value);
+        }
+    }
+    
+    private static void checkRange(int arrayLength, int offset, int len) {
+        if(offset < 0 || len < 0 || offset > arrayLength - len) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Range [%d, %d + %d) out of bounds for length %d", offset, offset, len, arrayLength));
+        }
+    }
+
+    /**
+     * A compiled converter, along with the number system it was compiled with.
+     */
+    private static final class Compiled {
+        final NumberSystem system;
+        final CompiledDoubleConverter converter;
+
+        Compiled(NumberSystem system, CompiledDoubleConverter converter) {
+            this.system = system;
+            this.converter = converter;
+        }
+    }
+    
     /**
      * Even though transformations may be composed of addition and multiplication, the first
      * derivative might just be a linear function. This is strictly required for Quantities that 
@@ -102,6 +102,7 @@ public final class Calculus {
      */
     public static void setCurrentNumberSystem(NumberSystem system) {
     	currentSystem = system;
+    	ConverterCache.current().clear(); // cached converters depend on the number system
     }
 
     /**
@@ -0,0 +1,437 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.function;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.function.DoubleUnaryOperator;
+
+import javax.measure.UnitConverter;
+
+import tech.units.indriya.internal.function.Calculator;
+
+/**
+ * A {@link UnitConverter} flattened into a fixed sequence of primitive {@code double} operations.
+ * <p>
+ * Consecutive linear steps ({@link MultiplyConverter} and {@link AddConverter}) are fused into a 
+ * single affine transformation {@code x -> a * x + b}, where {@code a} and {@code b} are calculated 
+ * once (with the precision of the current {@link tech.units.indriya.spi.NumberSystem NumberSystem}) 
+ * and only then rounded to {@code double}. Non-linear steps ({@link LogConverter}, {@link ExpConverter}) 
+ * and foreign {@link UnitConverter}s are kept as separate steps.
+ * <p>
+ * Instances are immutable and thread-safe. Applying them does not allocate. Bulk application 
+ * on arrays is done by one simple loop per step, which is eligible for auto-vectorization by the JIT.
+ * 
+ * @since 2.2
+ * @see AbstractConverter#compileToDouble()
+ */
+abstract class CompiledDoubleConverter implements DoubleUnaryOperator {
+    
+    static final CompiledDoubleConverter IDENTITY = new Identity();
+
+    /**
+     * Compiles the given {@code converter} by walking its {@link UnitConverter#getConversionSteps() conversion steps}.
+     * @param converter
+     * @return a (not necessarily new) {@code CompiledDoubleConverter} equivalent to {@code converter} 
+     */
+    static CompiledDoubleConverter of(UnitConverter converter) {
+        if(converter.isIdentity()) {
+            return IDENTITY;
+        }
+        
+        final List<? extends UnitConverter> steps = converter.getConversionSteps();
+        final List<CompiledDoubleConverter> compiled = new ArrayList<>(steps.size());
+        
+        // the affine transformation x -> a * x + b accumulated so far
+        Number a = 1;
+        Number b = 0;
+        boolean affinePending = false;
+        
+        // conversion steps are in matrix notation, the right-most step is applied first
+        for(int i = steps.size() - 1; i >= 0; i--) {
+            final UnitConverter step = steps.get(i);
+            if(step.isIdentity()) {
+                continue;
+            }
+            if(step instanceof MultiplyConverter) {
+                final Number factor = ((MultiplyConverter) step).getFactor();
+                a = Calculator.of(a).multiply(factor).peek();
+                b = Calculator.of(b).multiply(factor).peek();
+                affinePending = true;
+                continue;
+            } 
+            if(step instanceof AddConverter) {
+                b = Calculator.of(b).add(((AddConverter) step).getOffset()).peek();
+                affinePending = true;
+                continue;
+            }
+            
+            // non-linear step
+            if(affinePending) {
+                compiled.add(affine(a, b));
+                a = 1;
+                b = 0;
+                affinePending = false;
+            }
+            if(step instanceof LogConverter) {
+                compiled.add(new Log(((LogConverter) step).getBase()));
+            } else if(step instanceof ExpConverter) {
+                compiled.add(new Exp(((ExpConverter) step).getBase()));
+            } else {
+                compiled.add(new Foreign(step));
+            }
+        }
+        if(affinePending) {
+            compiled.add(affine(a, b));
+        }
+        
+        switch (compiled.size()) {
+        case 0:
+            return IDENTITY;
+        case 1:
+            return compiled.get(0);
+        default:
+            return new Sequence(compiled.toArray(new CompiledDoubleConverter[compiled.size()]));
+        }
+    }
+    
+    /**
+     * Applies this transformation to {@code len} values of {@code src} starting at {@code srcOff} and 
+     * stores the results into {@code dst} starting at {@code dstOff}. Bounds are expected to be checked 
+     * by the caller. The arrays may be the same, if {@code srcOff == dstOff}.
+     */
+    void applyTo(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+        for(int i = 0; i < len; i++) {
+            dst[dstOff + i] = applyAsDouble(src[srcOff + i]);
+        }
+    }
+    
+    /**
+     * Applies this transformation to {@code len} values of {@code src} starting at {@code srcOff} and 
+     * stores the results into {@code dst} starting at {@code dstOff}. Bounds are expected to be checked 
+     * by the caller.
+     */
+    void applyTo(long[] src, int srcOff, double[] dst, int dstOff, int len) {
+        for(int i = 0; i < len; i++) {
+            dst[dstOff + i] = applyAsDouble(src[srcOff + i]);
+        }
+    }
+    
+    /**
+     * @return whether this is the affine transformation {@code x -> a * x + b}
+     */
+    boolean isAffine() {
+        return false;
+    }
+    
+    /**
+     * @return the linear factor {@code a}, empty unless {@link #isAffine()}
+     */
+    OptionalDouble factor() {
+        return OptionalDouble.empty();
+    }
+    
+    /**
+     * @return the offset {@code b}, empty unless {@link #isAffine()}
+     */
+    OptionalDouble offset() {
+        return OptionalDouble.empty();
+    }
+    
+    // -- HELPER
+    
+    private static CompiledDoubleConverter affine(Number a, Number b) {
+        final double factor = a.doubleValue();
+        final double offset = b.doubleValue();
+        if(offset == 0.) {
+            return factor == 1. 
+                    ? IDENTITY 
+                            : new Multiply(factor);
+        }
+        return new Affine(factor, offset);
+    }
+    
+    // -- IMPLEMENTATIONS
+    
+    private static final class Identity extends CompiledDoubleConverter {
+        
+        @Override
+        public double applyAsDouble(double x) {
+            return x;
+        }
+        
+        @Override
+        boolean isAffine() {
+            return true;
+        }
+        
+        @Override
+        OptionalDouble factor() {
+            return OptionalDouble.of(1.);
+        }
+        
+        @Override
+        OptionalDouble offset() {
+            return OptionalDouble.of(0.);
+        }
+        
+        @Override
+        void applyTo(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+            System.arraycopy(src, srcOff, dst, dstOff, len);
+        }
+        
+        @Override
+        void applyTo(long[] src, int srcOff, double[] dst, int dstOff, int len) {
+            for(int i = 0; i < len; i++) {
+                dst[dstOff + i] = src[srcOff + i];
+            }
+        }
+        
+        @Override
+        public String toString() {
+            return "x -> x";
+        }
+    }
+
+    private static final class Multiply extends CompiledDoubleConverter {
+        
+        private final double a;
+        
+        private Multiply(double a) {
+            this.a = a;
+        }
+        
+        @Override
+        public double applyAsDouble(double x) {
+            return a * x;
+        }
+        
+        @Override
+        void applyTo(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+            final double a = this.a;
+            for(int i = 0; i < len; i++) {
+                dst[dstOff + i] = a * src[srcOff + i];
+            }
+        }
+        
+        @Override
+        void applyTo(long[] src, int srcOff, double[] dst, int dstOff, int len) {
+            final double a = this.a;
+            for(int i = 0; i < len; i++) {
+                dst[dstOff + i] = a * src[srcOff + i];
+            }
+        }
+        
+        @Override
+        boolean isAffine() {
+            return true;
+        }
+        
+        @Override
+        OptionalDouble factor() {
+            return OptionalDouble.of(a);
+        }
+        
+        @Override
+        OptionalDouble offset() {
+            return OptionalDouble.of(0.);
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("x -> %s * x", a);
+        }
+    }
+
+    private static final class Affine extends CompiledDoubleConverter {
+        
+        private final double a;
+        private final double b;
+        
+        private Affine(double a, double b) {
+            this.a = a;
+            this.b = b;
+        }
+        
+        @Override
+        public double applyAsDouble(double x) {
+            return a * x + b;
+        }
+        
+        @Override
+        void applyTo(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+            final double a = this.a;
+            final double b = this.b;
+            for(int i = 0; i < len; i++) {
+                dst[dstOff + i] = a * src[srcOff + i] + b;
+            }
+        }
+        
+        @Override
+        void applyTo(long[] src, int srcOff, double[] dst, int dstOff, int len) {
+            final double a = this.a;
+            final double b = this.b;
+            for(int i = 0; i < len; i++) {
+                dst[dstOff + i] = a * src[srcOff + i] + b;
+            }
+        }
+        
+        @Override
+        boolean isAffine() {
+            return true;
+        }
+        
+        @Override
+        OptionalDouble factor() {
+            return OptionalDouble.of(a);
+        }
+        
+        @Override
+        OptionalDouble offset() {
+            return OptionalDouble.of(b);
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("x -> %s * x + %s", a, b);
+        }
+    }
+    
+    private static final class Log extends CompiledDoubleConverter {
+        
+        private final double base;
+        private final double logOfBase;
+        
+        private Log(double base) {
+            this.base = base;
+            this.logOfBase = Math.log(base);
+        }
+        
+        @Override
+        public double applyAsDouble(double x) {
+            return Math.log(x) / logOfBase;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("x -> log(base=%s, x)", base);
+        }
+    }
+    
+    private static final class Exp extends CompiledDoubleConverter {
+        
+        private final double base;
+        private final double logOfBase;
+        
+        private Exp(double base) {
+            this.base = base;
+            this.logOfBase = Math.log(base);
+        }
+        
+        @Override
+        public double applyAsDouble(double x) {
+            return Math.exp(logOfBase * x);
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("x -> %s^x", base);
+        }
+    }
+    
+    private static final class Foreign extends CompiledDoubleConverter {
+        
+        private final UnitConverter converter;
+        
+        private Foreign(UnitConverter converter) {
+            this.converter = converter;
+        }
+        
+        @Override
+        public double applyAsDouble(double x) {
+            return converter.convert(x);
+        }
+        
+        @Override
+        public String toString() {
+            return converter.toString();
+        }
+    }
+    
+    private static final class Sequence extends CompiledDoubleConverter {
+        
+        // in order of application
+        private final CompiledDoubleConverter[] steps;
+        
+        private Sequence(CompiledDoubleConverter[] steps) {
+            this.steps = steps;
+        }
+        
+        @Override
+        public double applyAsDouble(double x) {
+            double value = x;
+            for(CompiledDoubleConverter step : steps) {
+                value = step.applyAsDouble(value);
+            }
+            return value;
+        }
+        
+        @Override
+        void applyTo(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+            // one pass per step, the first one reads from src, all others work in place on dst
+            steps[0].applyTo(src, srcOff, dst, dstOff, len);
+            for(int k = 1; k < steps.length; k++) {
+                steps[k].applyTo(dst, dstOff, dst, dstOff, len);
+            }
+        }
+        
+        @Override
+        void applyTo(long[] src, int srcOff, double[] dst, int dstOff, int len) {
+            steps[0].applyTo(src, srcOff, dst, dstOff, len);
+            for(int k = 1; k < steps.length; k++) {
+                steps[k].applyTo(dst, dstOff, dst, dstOff, len);
+            }
+        }
+        
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder();
+            for(CompiledDoubleConverter step : steps) {
+                if(sb.length() > 0) {
+                    sb.append(" then ");
+                }
+                sb.append(step);
+            }
+            return sb.toString();
+        }
+    }
+    
+}
@@ -0,0 +1,312 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.function;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tech.units.indriya.internal.function.SecondChanceCache;
+
+/**
+ * Bounded, lock-free cache of {@link UnitConverter unit converters} keyed by
+ * their (source unit, target unit) pair.
+ * <p>
+ * The {@link #current() current} cache is consulted by
+ * {@link Unit#getConverterTo(Unit)} and {@link Unit#getConverterToAny(Unit)},
+ * so that repeated conversions between the same units do not re-compose the
+ * system converters each time.
+ * </p>
+ * <p>
+ * Lookups never block. Once the cache holds more than {@link #getMaximumSize()}
+ * entries, those not looked up recently are evicted (see
+ * {@link SecondChanceCache}). With weak keys enabled, entries whose
+ * source or target unit has been garbage collected are expunged as well, which
+ * suits applications creating many ad-hoc units (e.g. parsed from user input).
+ * </p>
+ *
+ * @since 2.2
+ */
+public final class ConverterCache {
+
+	/**
+	 * The maximum number of entries of the default cache.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+	private static volatile ConverterCache current = new ConverterCache(DEFAULT_MAXIMUM_SIZE, false);
+
+	private final SecondChanceCache<Key, UnitConverter> map;
+	private final ReferenceQueue<Unit<?>> queue;
+	private final int maximumSize;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param maximumSize
+	 *          the maximum number of entries, <code>0</code> disables caching.
+	 * @param weakKeys
+	 *          whether the source and target units are only weakly referenced.
+	 * @throws IllegalArgumentException
+	 *           if <code>maximumSize</code> is negative.
+	 */
+	public ConverterCache(int maximumSize, boolean weakKeys) {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("maximumSize must not be negative: " + maximumSize);
+		}
+		this.maximumSize = maximumSize;
+		this.map = new SecondChanceCache<>(maximumSize);
+		this.queue = weakKeys ? new ReferenceQueue<>() : null;
+	}
+
+	/**
+	 * Returns the cache used by {@link Unit#getConverterTo(Unit)} and
+	 * {@link Unit#getConverterToAny(Unit)}.
+	 *
+	 * @return the current cache.
+	 */
+	public static ConverterCache current() {
+		return current;
+	}
+
+	/**
+	 * Sets the cache used by {@link Unit#getConverterTo(Unit)} and
+	 * {@link Unit#getConverterToAny(Unit)}.
+	 *
+	 * @param cache
+	 *          the new current cache.
+	 * @see #current
+	 */
+	public static void setCurrent(ConverterCache cache) {
+		current = Objects.requireNonNull(cache);
+	}
+
+	/**
+	 * Returns the cached converter from the source to the target unit and
+	 * records a hit or a miss.
+	 *
+	 * @param source
+	 *          the source unit.
+	 * @param target
+	 *          the target unit.
+	 * @return the cached converter or <code>null</code> if none.
+	 */
+	public UnitConverter get(Unit<?> source, Unit<?> target) {
+		if (maximumSize == 0) {
+			misses.increment();
+			return null;
+		}
+		expungeStaleEntries();
+		final UnitConverter converter = map.get(new StrongKey(source, target));
+		if (converter == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return converter;
+	}
+
+	/**
+	 * Caches the converter from the source to the target unit, evicting
+	 * entries not looked up recently if the maximum size is exceeded.
+	 *
+	 * @param source
+	 *          the source unit.
+	 * @param target
+	 *          the target unit.
+	 * @param converter
+	 *          the converter from <code>source</code> to <code>target</code>.
+	 */
+	public void put(Unit<?> source, Unit<?> target, UnitConverter converter) {
+		Objects.requireNonNull(converter);
+		if (maximumSize == 0) {
+			return;
+		}
+		final Key key = queue == null ? new StrongKey(source, target) : new WeakKey(source, target, queue);
+		map.putIfAbsent(key, converter);
+	}
+
+	/**
+	 * Removes all entries, hit and miss counts are retained.
+	 */
+	public void clear() {
+		map.clear();
+	}
+
+	/**
+	 * @return the current number of entries.
+	 */
+	public int size() {
+		expungeStaleEntries();
+		return map.size();
+	}
+
+	/**
+	 * @return the maximum number of entries.
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * @return whether source and target units are weakly referenced.
+	 */
+	public boolean isWeakKeys() {
+		return queue != null;
+	}
+
+	/**
+	 * @return the number of lookups that found a cached converter.
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of lookups that found no cached converter.
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "ConverterCache[size=" + map.size() + ", maximumSize=" + maximumSize + ", hits=" + getHitCount()
+				+ ", misses=" + getMissCount() + "]";
+	}
+
+	private void expungeStaleEntries() {
+		if (queue == null) {
+			return;
+		}
+		for (Object ref; (ref = queue.poll()) != null;) {
+			map.remove(((UnitReference) ref).key);
+		}
+	}
+
+	// -- KEYS
+
+	private static abstract class Key {
+
+		final int hash;
+
+		Key(Unit<?> source, Unit<?> target) {
+			this.hash = 31 * source.hashCode() + target.hashCode();
+		}
+
+		abstract Unit<?> source();
+
+		abstract Unit<?> target();
+
+		@Override
+		public final int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public final boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			if (hash != other.hash) {
+				return false;
+			}
+			final Unit<?> source = source();
+			final Unit<?> target = target();
+			// a cleared weak key only equals itself
+			return source != null && target != null && source.equals(other.source())
+					&& target.equals(other.target());
+		}
+	}
+
+	private static final class StrongKey extends Key {
+
+		private final Unit<?> source;
+		private final Unit<?> target;
+
+		StrongKey(Unit<?> source, Unit<?> target) {
+			super(source, target);
+			this.source = source;
+			this.target = target;
+		}
+
+		@Override
+		Unit<?> source() {
+			return source;
+		}
+
+		@Override
+		Unit<?> target() {
+			return target;
+		}
+	}
+
+	private static final class WeakKey extends Key {
+
+		private final UnitReference source;
+		private final UnitReference target;
+
+		WeakKey(Unit<?> source, Unit<?> target, ReferenceQueue<Unit<?>> queue) {
+			super(source, target);
+			this.source = new UnitReference(source, this, queue);
+			this.target = new UnitReference(target, this, queue);
+		}
+
+		@Override
+		Unit<?> source() {
+			return source.get();
+		}
+
+		@Override
+		Unit<?> target() {
+			return target.get();
+		}
+	}
+
+	private static final class UnitReference extends WeakReference<Unit<?>> {
+
+		private final Key key;
+
+		UnitReference(Unit<?> unit, Key key, ReferenceQueue<Unit<?>> queue) {
+			super(unit, queue);
+			this.key = key;
+		}
+	}
+}
@@ -35,6 +35,8 @@ import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BinaryOperator;
+import java.util.function.ToIntBiFunction;
 import java.util.function.UnaryOperator;
 
 import tech.units.indriya.spi.NumberSystem;
@@ -42,6 +44,10 @@ import tech.units.indriya.spi.NumberSystem;
 /**
  * {@link NumberSystem} implementation to support Java's built-in {@link Number}s and the
  * {@link RationalNumber} type.   
+ * <p>
+ * Operand types are resolved by class (cached per class) and binary operations are dispatched 
+ * via a table indexed by the operand kinds of both arguments, so the cost of dispatch does not 
+ * depend on the operand types or their order.
  * 
  * @author Andi Huber
  * @author Werner Keil
@@ -49,38 +55,53 @@ import tech.units.indriya.spi.NumberSystem;
  */
 public class DefaultNumberSystem implements NumberSystem {
     
+    /**
+     *  Kinds of operands, in order of increasing 'widening', as far as arithmetic is concerned.
+     */
+    private enum Kind {
+        /** {@link Byte}, {@link Short}, {@link Integer}, {@link AtomicInteger}, {@link Long}, {@link AtomicLong} */
+        LONG,
+        BIG_INTEGER,
+        RATIONAL,
+        /** {@link Float}, {@link Double} */
+        DOUBLE,
+        BIG_DECIMAL,
+    }
+    
     /**
      *  In order of increasing number type 'widening'.
      */
     private enum NumberType {
         
         // integer types
-        BYTE_BOXED(true, Byte.class, (byte)1, (byte)0),
-        SHORT_BOXED(true, Short.class, (short)1, (short)0),
-        INTEGER_BOXED(true, Integer.class, 1, 0),
-        INTEGER_ATOMIC(true, AtomicInteger.class, 1, 0),
-        LONG_BOXED(true, Long.class, 1L, 0L),
-        LONG_ATOMIC(true, AtomicLong.class, 1L, 0),
-        BIG_INTEGER(true, BigInteger.class, BigInteger.ONE, BigInteger.ZERO),
+        BYTE_BOXED(true, Kind.LONG, Byte.class, (byte)1, (byte)0),
+        SHORT_BOXED(true, Kind.LONG, Short.class, (short)1, (short)0),
+        INTEGER_BOXED(true, Kind.LONG, Integer.class, 1, 0),
+        INTEGER_ATOMIC(true, Kind.LONG, AtomicInteger.class, 1, 0),
+        LONG_BOXED(true, Kind.LONG, Long.class, 1L, 0L),
+        LONG_ATOMIC(true, Kind.LONG, AtomicLong.class, 1L, 0),
+        BIG_INTEGER(true, Kind.BIG_INTEGER, BigInteger.class, BigInteger.ONE, BigInteger.ZERO),
         
         // rational types
-        RATIONAL(false, RationalNumber.class, RationalNumber.ONE, RationalNumber.ZERO),
+        RATIONAL(false, Kind.RATIONAL, RationalNumber.class, RationalNumber.ONE, RationalNumber.ZERO),
         
         // fractional types
-        FLOAT_BOXED(false, Float.class, 1.f, 0.f),
-        DOUBLE_BOXED(false, Double.class, 1.d, 0.d),
-        BIG_DECIMAL(false, BigDecimal.class, BigDecimal.ONE, BigDecimal.ZERO),
+        FLOAT_BOXED(false, Kind.DOUBLE, Float.class, 1.f, 0.f),
+        DOUBLE_BOXED(false, Kind.DOUBLE, Double.class, 1.d, 0.d),
+        BIG_DECIMAL(false, Kind.BIG_DECIMAL, BigDecimal.class, BigDecimal.ONE, BigDecimal.ZERO),
         
         ;
         private final boolean integerOnly;
+        private final Kind kind;
         private final Class<? extends Number> type;
         private final Number one;
         private final Number zero;
         
-        private NumberType(boolean integerOnly, Class<? extends Number> type, 
+        private NumberType(boolean integerOnly, Kind kind, Class<? extends Number> type, 
                 Number one, Number zero) {
             
             this.integerOnly = integerOnly;
+            this.kind = kind;
             this.type = type;
             this.one = one;
             this.zero = zero;
@@ -90,64 +111,44 @@ public class DefaultNumberSystem implements NumberSystem {
             return integerOnly;
         }
         
-        @SuppressWarnings("unused")
         public Class<? extends Number> getType() {
             return type;
         }
+        
+        // resolves (and caches) the number type of any class, including sub-classes, null if unsupported
+        private static final ClassValue<NumberType> BY_CLASS = new ClassValue<NumberType>() {
+            @Override
+            protected NumberType computeValue(Class<?> numberClass) {
+                for (NumberType numberType : NumberType.values()) {
+                    if (numberType.getType().isAssignableFrom(numberClass)) {
+                        return numberType;
+                    }
+                }
+                return null;
+            }
+        };
 
-        // 'hardcoded' for performance reasons
         static NumberType valueOf(Number number) {
-            if(number instanceof Long) {
-                return LONG_BOXED; 
-            }
-            if(number instanceof AtomicLong) {
-                return LONG_ATOMIC; 
-            }
-            if(number instanceof Integer) {
-                return INTEGER_BOXED;
-            }
-            if(number instanceof AtomicInteger) {
-                return INTEGER_ATOMIC;
-            }
-            if(number instanceof Double) {
-                return DOUBLE_BOXED;
-            }
-            if(number instanceof Short) {
-                return SHORT_BOXED;
+            final NumberType numberType = BY_CLASS.get(number.getClass());
+            if(numberType == null) {
+                final String msg = String.format("Unsupported number type '%s'",
+                        number.getClass().getName());
+                throw new IllegalArgumentException(msg);
             }
-            if(number instanceof Byte) {
-                return BYTE_BOXED;
-            }
-            if(number instanceof Float) {
-                return FLOAT_BOXED;
-            }
-            if(number instanceof BigDecimal) {
-                return BIG_DECIMAL;
-            }
-            if(number instanceof BigInteger) {
-                return BIG_INTEGER;
-            }
-            if(number instanceof RationalNumber) {
-                return RATIONAL;
-            }
-            final String msg = String.format("Unsupported number type '%s'",
-                    number.getClass().getName());
-            throw new IllegalArgumentException(msg);
+            return numberType;
         }
         
     }
+    
+    // -- DISPATCH TABLES, indexed by [Kind of x][Kind of y]
+    
+    private static final BinaryOperator<Number>[][] ADDITION = additionTable();
+    private static final BinaryOperator<Number>[][] MULTIPLICATION = binaryTable(DefaultNumberSystem::multiplyWideAndNarrow);
+    private static final ToIntBiFunction<Number, Number>[][] COMPARISON = comparisonTable();
 
     @Override
     public Number add(Number x, Number y) {
-        
-        final NumberType type_x = NumberType.valueOf(x);
-        final NumberType type_y = NumberType.valueOf(y);
-        
-        final boolean reorder_args = type_y.ordinal()>type_x.ordinal();
-        
-        return reorder_args
-                ? addWideAndNarrow(type_y, y, type_x, x)
-                        : addWideAndNarrow(type_x, x, type_y, y);
+        return ADDITION[kindOf(x)][kindOf(y)].apply(x, y);
     }
 
     @Override
@@ -157,15 +158,7 @@ public class DefaultNumberSystem implements NumberSystem {
 
     @Override
     public Number multiply(Number x, Number y) {
-        
-        final NumberType type_x = NumberType.valueOf(x);
-        final NumberType type_y = NumberType.valueOf(y);
-        
-        final boolean reorder_args = type_y.ordinal()>type_x.ordinal();
-        
-        return reorder_args
-                ? multiplyWideAndNarrow(type_y, y, type_x, x)
-                        : multiplyWideAndNarrow(type_x, x, type_y, y);
+        return MULTIPLICATION[kindOf(x)][kindOf(y)].apply(x, y);
     }
 
     @Override
@@ -238,136 +231,118 @@ public class DefaultNumberSystem implements NumberSystem {
 
     @Override
     public Number reciprocal(Number number) {
-        if(isIntegerOnly(number)) {
+        switch (NumberType.valueOf(number).kind) {
+        case LONG:
+        case BIG_INTEGER:
             return RationalNumber.of(BigInteger.ONE, integerToBigInteger(number));
-        }
-        if(number instanceof BigDecimal) {
+        case BIG_DECIMAL:
             return RationalNumber.of((BigDecimal) number).reciprocal();
-        }
-        if(number instanceof RationalNumber) {
+        case RATIONAL:
             return ((RationalNumber) number).reciprocal();
-        }
-        if(number instanceof Double) {
-            return RationalNumber.of((double)number).reciprocal();
-        }
-        if(number instanceof Float) {
+        default: // Double, Float
             return RationalNumber.of(number.doubleValue()).reciprocal();
         }
-        throw unsupportedNumberType(number);
     }
 
     @Override
     public int signum(Number number) {
-        if(number instanceof BigInteger) {
+        switch (NumberType.valueOf(number)) {
+        case BIG_INTEGER:
             return ((BigInteger) number).signum();
-        }
-        if(number instanceof BigDecimal) {
+        case BIG_DECIMAL:
             return ((BigDecimal) number).signum();
-        }
-        if(number instanceof RationalNumber) {
+        case RATIONAL:
             return ((RationalNumber) number).signum();
-        }
-        if(number instanceof Double) {
+        case DOUBLE_BOXED:
             return (int)Math.signum((double)number);
-        }
-        if(number instanceof Float) {
+        case FLOAT_BOXED:
             return (int)Math.signum((float)number);
+        case LONG_BOXED:
+        case LONG_ATOMIC:
+            return Long.signum(number.longValue());
+        default: // (Atomic)Integer, Short, Byte
+            return Integer.signum(number.intValue());
         }
-        if(number instanceof Long || number instanceof AtomicLong) {
-            final long longValue = number.longValue();
-            return Long.signum(longValue);
-        }
-        if(number instanceof Integer || number instanceof AtomicInteger ||
-                number instanceof Short || number instanceof Byte) {
-            final int intValue = number.intValue();
-            return Integer.signum(intValue);
-        }
-        throw unsupportedNumberType(number);    
     }
     
     @Override
     public Number abs(Number number) {
-        if(number instanceof BigInteger) {
+        switch (NumberType.valueOf(number)) {
+        case BIG_INTEGER:
             return ((BigInteger) number).abs();
-        }
-        if(number instanceof BigDecimal) {
+        case BIG_DECIMAL:
             return ((BigDecimal) number).abs();
-        }
-        if(number instanceof RationalNumber) {
+        case RATIONAL:
             return ((RationalNumber) number).abs();
-        }
-        if(number instanceof Double) {
+        case DOUBLE_BOXED:
             return Math.abs((double)number);
-        }
-        if(number instanceof Float) {
+        case FLOAT_BOXED:
             return Math.abs((float)number);
-        }
-        if(number instanceof Long || number instanceof AtomicLong) {
+        case LONG_BOXED:
+        case LONG_ATOMIC: {
             final long longValue = number.longValue();
             if(longValue == Long.MIN_VALUE) {
                 return BigInteger.valueOf(longValue).abs(); // widen to BigInteger
             }
             return Math.abs(longValue);
         }
-        if(number instanceof Integer || number instanceof AtomicInteger) {
+        case INTEGER_BOXED:
+        case INTEGER_ATOMIC: {
             final int intValue = number.intValue();
             if(intValue == Integer.MIN_VALUE) {
                 return Math.abs(number.longValue()); // widen to long
             }
             return Math.abs(intValue);
         }
-        if(number instanceof Short || number instanceof Byte) {
-            Math.abs(number.intValue()); // widen to int
+        default: // Short, Byte
+            return Math.abs(number.intValue()); // widen to int
         }
-        throw unsupportedNumberType(number);    
     }
     
     @Override
     public Number negate(Number number) {
-        if(number instanceof BigInteger) {
+        switch (NumberType.valueOf(number)) {
+        case BIG_INTEGER:
             return ((BigInteger) number).negate();
-        }
-        if(number instanceof BigDecimal) {
+        case BIG_DECIMAL:
             return ((BigDecimal) number).negate();
-        }
-        if(number instanceof RationalNumber) {
+        case RATIONAL:
             return ((RationalNumber) number).negate();
-        }
-        if(number instanceof Double) {
+        case DOUBLE_BOXED:
             return -((double)number);
-        }
-        if(number instanceof Float) {
+        case FLOAT_BOXED:
             return -((float)number);
-        }
-        if(number instanceof Long || number instanceof AtomicLong) {
+        case LONG_BOXED:
+        case LONG_ATOMIC: {
             final long longValue = number.longValue();
             if(longValue == Long.MIN_VALUE) {
                 return BigInteger.valueOf(longValue).negate(); // widen to BigInteger
             }
             return -longValue;
         }
-        if(number instanceof Integer || number instanceof AtomicInteger) {
+        case INTEGER_BOXED:
+        case INTEGER_ATOMIC: {
             final int intValue = number.intValue();
             if(intValue == Integer.MIN_VALUE) {
                 return -number.longValue(); // widen to long
             }
             return -intValue;
         }
-        if(number instanceof Short) {
+        case SHORT_BOXED: {
             final short shortValue = (short)number;
             if(shortValue == Short.MIN_VALUE) {
                 return -number.intValue(); // widen to int
             }
             return -shortValue;
         }
-        if(number instanceof Byte) {
+        default: { // Byte
             final short byteValue = (byte)number;
             if(byteValue == Byte.MIN_VALUE) {
                 return -number.intValue(); // widen to int
             }
             return -byteValue;
         }
-        throw unsupportedNumberType(number);
+        }
     }
     
     @Override
@@ -381,27 +356,22 @@ public class DefaultNumberSystem implements NumberSystem {
         if(exponent==1) {
             return number; // x^1 == x, for any x
         }
-        if(number instanceof BigInteger ||
-                number instanceof Long || number instanceof AtomicLong ||
-                number instanceof Integer || number instanceof AtomicInteger ||
-                number instanceof Short || number instanceof Byte) {
+        switch (NumberType.valueOf(number).kind) {
+        case LONG:
+        case BIG_INTEGER: {
             final BigInteger bigInt = integerToBigInteger(number);
             if(exponent>0) {
                 return bigInt.pow(exponent);    
             }
             return RationalNumber.ofInteger(bigInt).pow(exponent);
-            
         }
-        if(number instanceof BigDecimal) {
+        case BIG_DECIMAL:
             return ((BigDecimal) number).pow(exponent, Calculus.MATH_CONTEXT);
-        }
-        if(number instanceof RationalNumber) {
-            ((RationalNumber) number).pow(exponent);
-        }
-        if(number instanceof Double || number instanceof Float) {
+        case RATIONAL:
+            return ((RationalNumber) number).pow(exponent);
+        default: // Double, Float
             return toBigDecimal(number).pow(exponent, Calculus.MATH_CONTEXT);
         }
-        throw unsupportedNumberType(number);
     }
     
     @Override
@@ -421,12 +391,17 @@ public class DefaultNumberSystem implements NumberSystem {
         
         //Implementation Note: for performance we stop narrowing down at 'double' or 'integer' level
         
-        if(number instanceof Integer || number instanceof AtomicInteger ||
-                number instanceof Short || number instanceof Byte) {
-            return number;
-        }
+        final NumberType numberType = NumberType.valueOf(number);
         
-        if(number instanceof Double || number instanceof Float) {
+        switch (numberType) {
+        case INTEGER_BOXED:
+        case INTEGER_ATOMIC:
+        case SHORT_BOXED:
+        case BYTE_BOXED:
+            return number;
+            
+        case DOUBLE_BOXED:
+        case FLOAT_BOXED: {
             final double doubleValue = number.doubleValue();
             if(!Double.isFinite(doubleValue)) {
                 throw unsupportedNumberValue(doubleValue);
@@ -438,9 +413,9 @@ public class DefaultNumberSystem implements NumberSystem {
             return number;
         }
         
-        if(isIntegerOnly(number)) {
-            
-            // number is one of {BigInteger, Long}
+        case LONG_BOXED:
+        case LONG_ATOMIC:
+        case BIG_INTEGER: {
             
             final int total_bits_required = bitLengthOfInteger(number);
             
@@ -458,7 +433,7 @@ public class DefaultNumberSystem implements NumberSystem {
             
         }
 
-        if(number instanceof BigDecimal) {
+        case BIG_DECIMAL: {
             
             final BigDecimal decimal = ((BigDecimal) number);
             try {
@@ -469,7 +444,7 @@ public class DefaultNumberSystem implements NumberSystem {
             }
         }
         
-        if(number instanceof RationalNumber) {
+        default: { // RationalNumber
             
             final RationalNumber rational = ((RationalNumber) number);
             
@@ -477,22 +452,12 @@ public class DefaultNumberSystem implements NumberSystem {
                     ? narrow(rational.getDividend()) // divisor is ONE
                             : number; // cannot narrow to integer;
         }
-
-        // for any other number type just do nothing
-        return number;
+        }
     }
     
     @Override
     public int compare(Number x, Number y) {
-        
-        final NumberType type_x = NumberType.valueOf(x);
-        final NumberType type_y = NumberType.valueOf(y);
-        
-        final boolean reorder_args = type_y.ordinal()>type_x.ordinal();
-        
-        return reorder_args
-                ? -compareWideVsNarrow(type_y, y, type_x, x)
-                        : compareWideVsNarrow(type_x, x, type_y, y);
+        return COMPARISON[kindOf(x)][kindOf(y)].applyAsInt(x, y);
     }
     
     @Override
@@ -531,34 +496,19 @@ public class DefaultNumberSystem implements NumberSystem {
         return new IllegalArgumentException(msg);
     }
     
-    private IllegalArgumentException unsupportedNumberType(Number number) {
-        final String msg = String.format("Unsupported number type '%s' in number system '%s'",
-                number.getClass().getName(),
-                this.getClass().getName());
-        
-        return new IllegalArgumentException(msg);
-    }
-    
     private IllegalStateException unexpectedCodeReach() {
         final String msg = String.format("Implementation Error: Code was reached that is expected unreachable");
         return new IllegalStateException(msg);
     }
     
-    private boolean isIntegerOnly(Number number) {
-        return NumberType.valueOf(number).isIntegerOnly();
-    }
-    
     private boolean isInteger(NumberType numberType, Number number) {
-        if(numberType.isIntegerOnly()) {
+        switch (numberType.kind) {
+        case LONG:
+        case BIG_INTEGER:
             return true; // numberType only allows integer
-        }
-        if(number instanceof RationalNumber) {
+        case RATIONAL:
             return ((RationalNumber)number).isInteger();
-        }
-        
-        // remaining types to check: Double, Float, BigDecimal ...
-        
-        if(number instanceof BigDecimal) {
+        case BIG_DECIMAL: {
             final BigDecimal decimal = (BigDecimal)number; 
             // see https://stackoverflow.com/questions/1078953/check-if-bigdecimal-is-integer-value
             if(decimal.scale()<=0) {
@@ -571,16 +521,16 @@ public class DefaultNumberSystem implements NumberSystem {
                 return false;
             }
         }
-        if(number instanceof Double || number instanceof Float) {
+        default: { // Double, Float
             double doubleValue = number.doubleValue();
             // see https://stackoverflow.com/questions/15963895/how-to-check-if-a-double-value-has-no-decimal-part
             if (isZero(number)) return false;
             return doubleValue % 1 == 0; 
         }
-        throw unsupportedNumberType(number);
+        }
     }
     
-    private int bitLengthOfInteger(Number number) {
+    private static int bitLengthOfInteger(Number number) {
         if(number instanceof BigInteger) {
             return ((BigInteger) number).bitLength();
         }
@@ -594,7 +544,7 @@ public class DefaultNumberSystem implements NumberSystem {
         }
     }
     
-    private BigInteger integerToBigInteger(Number number) {
+    private static BigInteger integerToBigInteger(Number number) {
         if(number instanceof BigInteger) {
             return (BigInteger) number;
         }
@@ -602,49 +552,98 @@ public class DefaultNumberSystem implements NumberSystem {
     }
     
     private BigDecimal toBigDecimal(Number number) {
-        if(number instanceof BigDecimal) {
+        final Kind kind = NumberType.valueOf(number).kind;
+        switch (kind) {
+        case BIG_DECIMAL:
             return (BigDecimal) number;
-        }
-        if(number instanceof BigInteger) {
-            return new BigDecimal((BigInteger) number);
-        }
-        if(number instanceof Long || 
-                number instanceof AtomicLong ||
-                number instanceof Integer || 
-                number instanceof AtomicInteger ||
-                number instanceof Short || 
-                number instanceof Byte) {
-            return BigDecimal.valueOf(number.longValue());
-        }
-        if(number instanceof Double || number instanceof Float) {
+        case BIG_INTEGER:
+        case LONG:
+            return integerToBigDecimal(kind, number);
+        case DOUBLE:
             return BigDecimal.valueOf(number.doubleValue());
-        }
-        if(number instanceof RationalNumber) {
+        default: // RationalNumber
             throw unexpectedCodeReach();
             //Note: don't do that (potential precision loss)
             //return ((RationalNumber) number).bigDecimalValue(); 
         }
-        throw unsupportedNumberType(number);
     }
 
-    private Number addWideAndNarrow(
-            NumberType wideType, Number wide, 
-            NumberType narrowType, Number narrow) {
-        
-    	// avoid type-check or widening if one of the arguments is zero 
-    	// https://github.com/unitsofmeasurement/indriya/issues/384
-    	if (isZero(wide)) {
-    		return narrow;
-    	} else if (isZero(narrow)) {
-    		return wide;
-    	}
-    	
-        if(wideType.isIntegerOnly()) {
-            // at this point we know, that narrow must also be an integer-only type
-            if(wide instanceof BigInteger) {
-                return ((BigInteger) wide).add(integerToBigInteger(narrow));
+    private static int kindOf(Number number) {
+        return NumberType.valueOf(number).kind.ordinal();
+    }
+    
+    @FunctionalInterface
+    private interface WideAndNarrowOperation<R> {
+        R apply(Kind wideKind, Number wide, Kind narrowKind, Number narrow);
+    }
+    
+    // builds a table of binary operations, that are commutative with respect to the argument order
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static BinaryOperator<Number>[][] binaryTable(WideAndNarrowOperation<Number> operation) {
+        final Kind[] kinds = Kind.values();
+        final BinaryOperator<Number>[][] table = new BinaryOperator[kinds.length][kinds.length];
+        for (Kind kind_x : kinds) {
+            for (Kind kind_y : kinds) {
+                table[kind_x.ordinal()][kind_y.ordinal()] = kind_y.ordinal() > kind_x.ordinal()
+                        ? (x, y) -> operation.apply(kind_y, y, kind_x, x)
+                        : (x, y) -> operation.apply(kind_x, x, kind_y, y);
             }
-            
+        }
+        return table;
+    }
+    
+    // builds the table of additions, returning the other argument if one of them is zero
+    private static BinaryOperator<Number>[][] additionTable() {
+        final Kind[] kinds = Kind.values();
+        final BinaryOperator<Number>[][] table = binaryTable(DefaultNumberSystem::addWideAndNarrow);
+        for (Kind kind_x : kinds) {
+            for (Kind kind_y : kinds) {
+                final BinaryOperator<Number> addition = table[kind_x.ordinal()][kind_y.ordinal()];
+                // avoid widening if one of the arguments is zero
+                // https://github.com/unitsofmeasurement/indriya/issues/384
+                table[kind_x.ordinal()][kind_y.ordinal()] = (x, y) -> isZero(kind_x, x) ? y
+                        : isZero(kind_y, y) ? x : addition.apply(x, y);
+            }
+        }
+        return table;
+    }
+
+    // same as isZero(Number), for a number of the given kind
+    private static boolean isZero(Kind kind, Number number) {
+        switch (kind) {
+        case LONG:
+            return number.longValue() == 0L;
+        case BIG_INTEGER:
+            return ((BigInteger) number).signum() == 0;
+        case RATIONAL:
+            return ((RationalNumber) number).signum() == 0;
+        case BIG_DECIMAL:
+            return ((BigDecimal) number).signum() == 0;
+        default: // DOUBLE, where -0 and NaN are not zero
+            return Double.compare(number.doubleValue(), 0.d) == 0;
+        }
+    }
+    
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static ToIntBiFunction<Number, Number>[][] comparisonTable() {
+        final Kind[] kinds = Kind.values();
+        final ToIntBiFunction<Number, Number>[][] table = new ToIntBiFunction[kinds.length][kinds.length];
+        for (Kind kind_x : kinds) {
+            for (Kind kind_y : kinds) {
+                table[kind_x.ordinal()][kind_y.ordinal()] = kind_y.ordinal() > kind_x.ordinal()
+                        ? (x, y) -> -compareWideVsNarrow(kind_y, y, kind_x, x)
+                        : (x, y) -> compareWideVsNarrow(kind_x, x, kind_y, y);
+            }
+        }
+        return table;
+    }
+
+    private static Number addWideAndNarrow(
+            Kind wideKind, Number wide, 
+            Kind narrowKind, Number narrow) {
+        
+        switch (wideKind) {
+        case LONG: {
             // at this point we know, that 'wide' and 'narrow' are one of {(Atomic)Long, (Atomic)Integer, Short, Byte}
             
             // +1 carry, not including sign
@@ -657,75 +656,53 @@ public class DefaultNumberSystem implements NumberSystem {
             
             return integerToBigInteger(wide).add(integerToBigInteger(narrow));
         }
-        
-        if(wide instanceof RationalNumber) {
+        case BIG_INTEGER:
+            // at this point we know, that narrow must also be an integer-only type
+            return ((BigInteger) wide).add(integerToBigInteger(narrow));
             
+        case RATIONAL:
             // at this point we know, that narrow must either be rational or an integer-only type
-            if(narrow instanceof RationalNumber) {
+            if(narrowKind == Kind.RATIONAL) {
                 return ((RationalNumber) wide).add((RationalNumber) narrow);
             }
+            return ((RationalNumber) wide).add(toRational(narrowKind, narrow));
             
-            return ((RationalNumber) wide).add(
-                    RationalNumber.ofInteger(integerToBigInteger(narrow)));
-        }
-        
-        // at this point we know, that wide is one of {BigDecimal, Double, Float}
-        
-        if(wide instanceof BigDecimal) {
-            
-            if(narrow instanceof BigDecimal) {
+        case BIG_DECIMAL:
+            switch (narrowKind) {
+            case BIG_DECIMAL:
                 return ((BigDecimal) wide).add((BigDecimal) narrow, Calculus.MATH_CONTEXT);
-            }
-            
-            if(narrow instanceof Double || narrow instanceof Float) {
+            case DOUBLE:
                 return ((BigDecimal) wide).add(BigDecimal.valueOf(narrow.doubleValue()), Calculus.MATH_CONTEXT);
-            }
-            
-            if(narrow instanceof RationalNumber) {
+            case RATIONAL:
                 //TODO[220] can we do better than that, eg. by converting BigDecimal to RationalNumber 
                 return ((BigDecimal) wide).add(((RationalNumber) narrow).bigDecimalValue());
+            default: 
+                return ((BigDecimal) wide).add(integerToBigDecimal(narrowKind, narrow));
             }
             
-            // at this point we know, that 'narrow' is one of {(Atomic)Long, (Atomic)Integer, Short, Byte}
-            return ((BigDecimal) wide).add(BigDecimal.valueOf(narrow.longValue()));
-            
-        }
-        
-        // at this point we know, that wide is one of {Double, Float}
-        
-        if(narrow instanceof Double || narrow instanceof Float) {
-            //converting to BigDecimal, because especially fractional addition is sensitive to precision loss
-            return BigDecimal.valueOf(wide.doubleValue())
-                .add(BigDecimal.valueOf(narrow.doubleValue()));
-        }
-        
-        if(narrow instanceof RationalNumber) {
-            //TODO[220] can we do better than that, eg. by converting BigDecimal to RationalNumber
-            return BigDecimal.valueOf(wide.doubleValue())
-                    .add(((RationalNumber) narrow).bigDecimalValue());
-        }
-        
-        if(narrow instanceof BigInteger) {
-            return BigDecimal.valueOf(wide.doubleValue())
-                    .add(new BigDecimal((BigInteger) narrow));
+        default: // DOUBLE
+            switch (narrowKind) {
+            case DOUBLE:
+                //converting to BigDecimal, because especially fractional addition is sensitive to precision loss
+                return BigDecimal.valueOf(wide.doubleValue())
+                    .add(BigDecimal.valueOf(narrow.doubleValue()));
+            case RATIONAL:
+                //TODO[220] can we do better than that, eg. by converting BigDecimal to RationalNumber
+                return BigDecimal.valueOf(wide.doubleValue())
+                        .add(((RationalNumber) narrow).bigDecimalValue());
+            default:
+                return BigDecimal.valueOf(wide.doubleValue())
+                        .add(integerToBigDecimal(narrowKind, narrow));
+            }
         }
-        
-        // at this point we know, that 'narrow' is one of {(Atomic)Long, (Atomic)Integer, Short, Byte}
-        return BigDecimal.valueOf(wide.doubleValue())
-                .add(BigDecimal.valueOf(narrow.longValue()));
-        
     }
     
-    private Number multiplyWideAndNarrow(
-            NumberType wideType, Number wide, 
-            NumberType narrowType, Number narrow) {
+    private static Number multiplyWideAndNarrow(
+            Kind wideKind, Number wide, 
+            Kind narrowKind, Number narrow) {
         
-        if(wideType.isIntegerOnly()) {
-            // at this point we know, that narrow must also be an integer-only type
-            if(wide instanceof BigInteger) {
-                return ((BigInteger) wide).multiply(integerToBigInteger(narrow));
-            }
-            
+        switch (wideKind) {
+        case LONG: {
             // at this point we know, that 'wide' and 'narrow' are one of {(Atomic)Long, (Atomic)Integer, Short, Byte}
             
             int total_bits_required = bitLengthOfInteger(wide) + bitLengthOfInteger(narrow); // not including sign
@@ -737,143 +714,108 @@ public class DefaultNumberSystem implements NumberSystem {
             
             return integerToBigInteger(wide).multiply(integerToBigInteger(narrow));
         }
-        
-        if(wide instanceof RationalNumber) {
+        case BIG_INTEGER:
+            // at this point we know, that narrow must also be an integer-only type
+            return ((BigInteger) wide).multiply(integerToBigInteger(narrow));
             
+        case RATIONAL:
             // at this point we know, that narrow must either be rational or an integer-only type
-            if(narrow instanceof RationalNumber) {
+            if(narrowKind == Kind.RATIONAL) {
                 return ((RationalNumber) wide).multiply((RationalNumber) narrow);
             }
+            return ((RationalNumber) wide).multiply(toRational(narrowKind, narrow));
             
-            return ((RationalNumber) wide).multiply(
-                    RationalNumber.ofInteger(integerToBigInteger(narrow)));
-        }
-        
-        // at this point we know, that wide is one of {BigDecimal, Double, Float}
-        
-        if(wide instanceof BigDecimal) {
-            
-            if(narrow instanceof BigDecimal) {
+        case BIG_DECIMAL:
+            switch (narrowKind) {
+            case BIG_DECIMAL:
                 return ((BigDecimal) wide).multiply((BigDecimal) narrow, Calculus.MATH_CONTEXT);
-            }
-            
-            if(narrow instanceof BigInteger) {
+            case BIG_INTEGER:
                 return ((BigDecimal) wide).multiply(new BigDecimal((BigInteger)narrow), Calculus.MATH_CONTEXT);
-            }
-            
-            if(narrow instanceof Double || narrow instanceof Float) {
+            case DOUBLE:
                 return ((BigDecimal) wide).multiply(BigDecimal.valueOf(narrow.doubleValue()), Calculus.MATH_CONTEXT);
-            }
-            
-            if(narrow instanceof RationalNumber) {
+            case RATIONAL:
                 //TODO[220] can we do better than that, eg. by converting BigDecimal to RationalNumber 
                 return ((BigDecimal) wide).multiply(((RationalNumber) narrow).bigDecimalValue());
+            default: // LONG
+                return ((BigDecimal) wide).multiply(BigDecimal.valueOf(narrow.longValue()));
             }
             
-            // at this point we know, that 'narrow' is one of {(Atomic)Long, (Atomic)Integer, Short, Byte}
-            return ((BigDecimal) wide).multiply(BigDecimal.valueOf(narrow.longValue()));
-            
-        }
-        
-        // at this point we know, that wide is one of {Double, Float}
-        
-        if(narrow instanceof Double || narrow instanceof Float) {
-            // not converting to BigDecimal, because fractional multiplication is not sensitive to precision loss
-            return wide.doubleValue() * narrow.doubleValue();
-        }
-        
-        if(narrow instanceof RationalNumber) {
-            //TODO[220] can we do better than that, eg. by converting BigDecimal to RationalNumber
-            return BigDecimal.valueOf(wide.doubleValue())
-                    .multiply(((RationalNumber) narrow).bigDecimalValue());
-        }
-        
-        if(narrow instanceof BigInteger) {
-            return BigDecimal.valueOf(wide.doubleValue())
-                    .multiply(new BigDecimal((BigInteger) narrow));
+        default: // DOUBLE
+            switch (narrowKind) {
+            case DOUBLE:
+                // not converting to BigDecimal, because fractional multiplication is not sensitive to precision loss
+                return wide.doubleValue() * narrow.doubleValue();
+            case RATIONAL:
+                //TODO[220] can we do better than that, eg. by converting BigDecimal to RationalNumber
+                return BigDecimal.valueOf(wide.doubleValue())
+                        .multiply(((RationalNumber) narrow).bigDecimalValue());
+            default:
+                return BigDecimal.valueOf(wide.doubleValue())
+                        .multiply(integerToBigDecimal(narrowKind, narrow));
+            }
         }
-        
-        // at this point we know, that 'narrow' is one of {(Atomic)Long, (Atomic)Integer, Short, Byte}
-        return BigDecimal.valueOf(wide.doubleValue())
-                .multiply(BigDecimal.valueOf(narrow.longValue()));              
-     
     }
     
-    
-    private int compareWideVsNarrow(
-            NumberType wideType, Number wide, 
-            NumberType narrowType, Number narrow) {
-        
+    private static int compareWideVsNarrow(
+            Kind wideKind, Number wide, 
+            Kind narrowKind, Number narrow) {
         
-        if(wideType.isIntegerOnly()) {
-            // at this point we know, that narrow must also be an integer-only type
-            if(wide instanceof BigInteger) {
-                return ((BigInteger) wide).compareTo(integerToBigInteger(narrow));
-            }
-            
+        switch (wideKind) {
+        case LONG:
             // at this point we know, that 'wide' and 'narrow' are one of {(Atomic)Long, (Atomic)Integer, Short, Byte}
             return Long.compare(wide.longValue(), narrow.longValue());
-        }
-        
-        if(wide instanceof RationalNumber) {
             
+        case BIG_INTEGER:
+            // at this point we know, that narrow must also be an integer-only type
+            return ((BigInteger) wide).compareTo(integerToBigInteger(narrow));
+            
+        case RATIONAL:
             // at this point we know, that narrow must either be rational or an integer-only type
-            if(narrow instanceof RationalNumber) {
+            if(narrowKind == Kind.RATIONAL) {
                 return ((RationalNumber) wide).compareTo((RationalNumber) narrow);
             }
+            return ((RationalNumber) wide).compareTo(toRational(narrowKind, narrow));
             
-            return ((RationalNumber) wide).compareTo(
-                    RationalNumber.ofInteger(integerToBigInteger(narrow)));
-        }
-        
-        // at this point we know, that wide is one of {BigDecimal, Double, Float}
-        
-        if(wide instanceof BigDecimal) {
-            
-            if(narrow instanceof BigDecimal) {
+        case BIG_DECIMAL:
+            switch (narrowKind) {
+            case BIG_DECIMAL:
                 return ((BigDecimal) wide).compareTo((BigDecimal) narrow);
-            }
-            
-            if(narrow instanceof Double || narrow instanceof Float) {
+            case DOUBLE:
                 return ((BigDecimal) wide).compareTo(BigDecimal.valueOf(narrow.doubleValue()));
-            }
-            
-            if(narrow instanceof RationalNumber) {
+            case RATIONAL:
                 //TODO[220] can we do better than that, eg. by converting BigDecimal to RationalNumber
                 return ((BigDecimal) wide).compareTo(((RationalNumber) narrow).bigDecimalValue());
+            default:
+                return ((BigDecimal) wide).compareTo(integerToBigDecimal(narrowKind, narrow));
             }
             
-            if (narrow instanceof BigInteger) {
-                //TODO for optimization, can this be done without instantiating a new BigDecimal?
-                return ((BigDecimal) wide).compareTo(new BigDecimal((BigInteger) narrow));
+        default: // DOUBLE
+            switch (narrowKind) {
+            case DOUBLE:
+                return Double.compare(wide.doubleValue(), narrow.doubleValue());
+            case RATIONAL:
+                //TODO[220] can we do better than that, eg. by converting BigDecimal to RationalNumber
+                return BigDecimal.valueOf(wide.doubleValue())
+                        .compareTo(((RationalNumber) narrow).bigDecimalValue());
+            default:
+                return BigDecimal.valueOf(wide.doubleValue())
+                        .compareTo(integerToBigDecimal(narrowKind, narrow));
             }
-            
-            // at this point we know, that 'narrow' is one of {(Atomic)Long, (Atomic)Integer, Short, Byte}
-            return ((BigDecimal) wide).compareTo(BigDecimal.valueOf(narrow.longValue()));
-            
         }
-        
-        // at this point we know, that wide is one of {Double, Float}
-        
-        if(narrow instanceof Double || narrow instanceof Float) {
-            return Double.compare(wide.doubleValue(), narrow.doubleValue());
-        }
-        
-        if(narrow instanceof RationalNumber) {
-            //TODO[220] can we do better than that, eg. by converting BigDecimal to RationalNumber
-            return BigDecimal.valueOf(wide.doubleValue())
-                    .compareTo(((RationalNumber) narrow).bigDecimalValue());
-        }
-        
-        if(narrow instanceof BigInteger) {
-            return BigDecimal.valueOf(wide.doubleValue())
-                    .compareTo(new BigDecimal((BigInteger) narrow));
-        }
-        
-        // at this point we know, that 'narrow' is one of {(Atomic)Long, (Atomic)Integer, Short, Byte}
-        return BigDecimal.valueOf(wide.doubleValue())
-                .compareTo(BigDecimal.valueOf(narrow.longValue()));
-        
+    }
+    
+    // for integer kinds only
+    private static RationalNumber toRational(Kind integerKind, Number integer) {
+        return integerKind == Kind.BIG_INTEGER
+                ? RationalNumber.ofInteger((BigInteger) integer)
+                        : RationalNumber.ofInteger(integer.longValue());
+    }
+    
+    // for integer kinds only
+    private static BigDecimal integerToBigDecimal(Kind integerKind, Number integer) {
+        return integerKind == Kind.BIG_INTEGER
+                ? new BigDecimal((BigInteger) integer)
+                        : BigDecimal.valueOf(integer.longValue());
     }
 
     // only for non-zero sign
@@ -0,0 +1,331 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.function;
+
+import tech.units.indriya.spi.NumberSystem;
+
+/**
+ * {@link NumberSystem} implementation that favors primitive {@code double} (and {@code long})
+ * arithmetic over exact arithmetic.
+ * <p>
+ * As long as both operands are one of {@link Double}, {@link Float}, {@link Long}, {@link Integer},
+ * {@link Short} or {@link Byte}, calculations are done on primitives, without any intermediate
+ * {@link java.math.BigDecimal BigDecimal} or {@link RationalNumber} being created:
+ * <ul>
+ * <li>integer operands stay integers, as long as the result fits into a {@code long}</li>
+ * <li>everything else (including integer division that does not yield a whole number) is calculated
+ * with {@code double} precision</li>
+ * </ul>
+ * Once a {@link Double} or {@link Float} is involved, the result is a {@link Double}, even if the other
+ * operand is exact (eg. the {@link RationalNumber} factor of a unit conversion), since a {@code double}
+ * operand can't yield a more precise result anyway. Only if none of the operands is a {@code double} and
+ * one is a {@link java.math.BigInteger BigInteger}, a {@link java.math.BigDecimal BigDecimal} or a
+ * {@link RationalNumber} (or when a {@code long} calculation would overflow), the operation is widened
+ * and handled the same way as by the {@link DefaultNumberSystem}.
+ * <p>
+ * This trades exactness for speed, hence it must be explicitly selected, eg. via
+ * {@code Calculus.setCurrentNumberSystem(Calculus.getNumberSystem("tech.units.indriya.function.DoubleNumberSystem"))}.
+ *
+ * @since 2.2
+ * @see Calculus#setCurrentNumberSystem(NumberSystem)
+ */
+public class DoubleNumberSystem extends DefaultNumberSystem {
+
+    @Override
+    public Number add(Number x, Number y) {
+        if(isLong(x) && isLong(y)) {
+            final long a = x.longValue();
+            final long b = y.longValue();
+            final long r = a + b;
+            // overflow iff both arguments have the opposite sign of the result
+            if(((a ^ r) & (b ^ r)) < 0) {
+                return super.add(x, y); // widen to BigInteger
+            }
+            return r;
+        }
+        if(isDouble(x) || isDouble(y)) {
+            return x.doubleValue() + y.doubleValue();
+        }
+        return super.add(x, y);
+    }
+
+    @Override
+    public Number subtract(Number x, Number y) {
+        if(isLong(x) && isLong(y)) {
+            final long a = x.longValue();
+            final long b = y.longValue();
+            final long r = a - b;
+            // overflow iff the arguments have different signs and the sign of the result differs from x
+            if(((a ^ b) & (a ^ r)) < 0) {
+                return super.subtract(x, y); // widen to BigInteger
+            }
+            return r;
+        }
+        if(isDouble(x) || isDouble(y)) {
+            return x.doubleValue() - y.doubleValue();
+        }
+        return super.subtract(x, y);
+    }
+
+    @Override
+    public Number multiply(Number x, Number y) {
+        if(isLong(x) && isLong(y)) {
+            final long a = x.longValue();
+            final long b = y.longValue();
+            final long r = a * b;
+            if(overflowsOnMultiply(a, b, r)) {
+                return super.multiply(x, y); // widen to BigInteger
+            }
+            return r;
+        }
+        if(isDouble(x) || isDouble(y)) {
+            return x.doubleValue() * y.doubleValue();
+        }
+        return super.multiply(x, y);
+    }
+
+    @Override
+    public Number divide(Number x, Number y) {
+        if(isLong(x) && isLong(y)) {
+            final long a = x.longValue();
+            final long b = y.longValue();
+            if(b == 0L) {
+                throw new ArithmeticException("division by zero");
+            }
+            if(a % b == 0L && !(a == Long.MIN_VALUE && b == -1L)) {
+                return a / b; // whole number result
+            }
+            return (double) a / (double) b;
+        }
+        if(isDouble(x) || isDouble(y)) {
+            final double b = y.doubleValue();
+            if(b == 0.) {
+                throw new ArithmeticException("division by zero");
+            }
+            return x.doubleValue() / b;
+        }
+        return super.divide(x, y);
+    }
+
+    @Override
+    public Number reciprocal(Number number) {
+        if(isLong(number)) {
+            final long a = number.longValue();
+            if(a == 0L) {
+                throw new ArithmeticException("division by zero");
+            }
+            if(a == 1L || a == -1L) {
+                return a;
+            }
+            return 1. / a;
+        }
+        if(isDouble(number)) {
+            final double a = number.doubleValue();
+            if(a == 0.) {
+                throw new ArithmeticException("division by zero");
+            }
+            return 1. / a;
+        }
+        return super.reciprocal(number);
+    }
+
+    @Override
+    public Number power(Number number, int exponent) {
+        if(exponent == 0 || exponent == 1) {
+            return super.power(number, exponent);
+        }
+        if(isLong(number) && exponent > 0) {
+            final long base = number.longValue();
+            if(base == 0L || base == 1L) {
+                return base;
+            }
+            if(base == -1L) {
+                return (exponent & 1) == 0 ? 1L : -1L;
+            }
+            // |base| > 1, so this either terminates or overflows within 63 iterations
+            long result = 1L;
+            for(int i = 0; i < exponent; i++) {
+                final long r = result * base;
+                if(overflowsOnMultiply(result, base, r)) {
+                    return super.power(number, exponent); // widen to BigInteger
+                }
+                result = r;
+            }
+            return result;
+        }
+        if(isPrimitive(number)) {
+            return Math.pow(number.doubleValue(), exponent);
+        }
+        return super.power(number, exponent);
+    }
+
+    @Override
+    public Number negate(Number number) {
+        if(isLong(number)) {
+            final long a = number.longValue();
+            if(a == Long.MIN_VALUE) {
+                return super.negate(number); // widen to BigInteger
+            }
+            return -a;
+        }
+        if(isDouble(number)) {
+            return -number.doubleValue();
+        }
+        return super.negate(number);
+    }
+
+    @Override
+    public Number abs(Number number) {
+        if(isLong(number)) {
+            final long a = number.longValue();
+            if(a == Long.MIN_VALUE) {
+                return super.abs(number); // widen to BigInteger
+            }
+            return Math.abs(a);
+        }
+        if(isDouble(number)) {
+            return Math.abs(number.doubleValue());
+        }
+        return super.abs(number);
+    }
+
+    @Override
+    public int signum(Number number) {
+        if(isLong(number)) {
+            return Long.signum(number.longValue());
+        }
+        if(isDouble(number)) {
+            return (int) Math.signum(number.doubleValue());
+        }
+        return super.signum(number);
+    }
+
+    @Override
+    public Number narrow(Number number) {
+        
+        //Implementation Note: primitive wrappers are never narrowed (nor widened), as opposed to 
+        //the DefaultNumberSystem, which tries to convert whole doubles to integers
+        
+        if(isLong(number)) {
+            return number;
+        }
+        if(isDouble(number)) {
+            if(!Double.isFinite(number.doubleValue())) {
+                return super.narrow(number); // throws
+            }
+            return number;
+        }
+        return super.narrow(number);
+    }
+
+    @Override
+    public int compare(Number x, Number y) {
+        if(isLong(x) && isLong(y)) {
+            return Long.compare(x.longValue(), y.longValue());
+        }
+        if(isPrimitive(x) && isPrimitive(y)) {
+            return Double.compare(x.doubleValue(), y.doubleValue());
+        }
+        return super.compare(x, y);
+    }
+
+    @Override
+    public boolean isZero(Number number) {
+        if(isLong(number)) {
+            return number.longValue() == 0L;
+        }
+        if(isDouble(number)) {
+            return number.doubleValue() == 0.;
+        }
+        return super.isZero(number);
+    }
+
+    @Override
+    public boolean isOne(Number number) {
+        if(isLong(number)) {
+            return number.longValue() == 1L;
+        }
+        if(isDouble(number)) {
+            return number.doubleValue() == 1.;
+        }
+        return super.isOne(number);
+    }
+
+    @Override
+    public boolean isLessThanOne(Number number) {
+        if(isLong(number)) {
+            return number.longValue() < 1L;
+        }
+        if(isDouble(number)) {
+            return number.doubleValue() < 1.;
+        }
+        return super.isLessThanOne(number);
+    }
+
+    @Override
+    public boolean isInteger(Number number) {
+        if(isLong(number)) {
+            return true;
+        }
+        return super.isInteger(number);
+    }
+
+    // -- HELPER
+
+    /**
+     * @return whether {@code number} is one of {Long, Integer, Short, Byte}
+     */
+    private static boolean isLong(Number number) {
+        return number instanceof Long || number instanceof Integer ||
+                number instanceof Short || number instanceof Byte;
+    }
+
+    /**
+     * @return whether {@code number} is one of {Double, Float}
+     */
+    private static boolean isDouble(Number number) {
+        return number instanceof Double || number instanceof Float;
+    }
+
+    private static boolean isPrimitive(Number number) {
+        return isDouble(number) || isLong(number);
+    }
+
+    // same overflow check as done by Math.multiplyExact, just without throwing
+    private static boolean overflowsOnMultiply(long x, long y, long r) {
+        final long ax = Math.abs(x);
+        final long ay = Math.abs(y);
+        if(((ax | ay) >>> 31 != 0)) {
+            return ((y != 0) && (r / y != x)) || (x == Long.MIN_VALUE && y == -1);
+        }
+        return false;
+    }
+
+}
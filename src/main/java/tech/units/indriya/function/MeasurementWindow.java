@@ -0,0 +1,495 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.function;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.quantity.Frequency;
+import javax.measure.quantity.Time;
+
+import tech.units.indriya.internal.function.CachedConverters;
+import tech.units.indriya.internal.function.CompensatedSum;
+import tech.units.indriya.quantity.Quantities;
+import tech.units.indriya.spi.Measurement;
+import tech.units.indriya.unit.Units;
+
+/**
+ * Incremental aggregation (count, sum, min, max, mean and rates) of {@link Measurement}s over a
+ * time window.
+ * <p>
+ * Measurements must be {@link #accept accepted} in timestamp order. Their quantities are
+ * converted to the target unit (with one cached converter per source unit) and only their values
+ * and timestamps are retained, in primitive ring buffers. Updates and evictions take amortized
+ * constant time.
+ * </p>
+ * <ul>
+ * <li>A {@link #sliding sliding} window covers the given duration up to the latest timestamp seen,
+ * evicting older measurements as time advances.</li>
+ * <li>A {@link #tumbling tumbling} window covers consecutive, non-overlapping intervals of the given
+ * duration (aligned to the epoch), passing a {@link Snapshot} of each completed interval to a
+ * consumer.</li>
+ * </ul>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @since 2.2
+ * @param <Q>
+ */
+public abstract class MeasurementWindow<Q extends Quantity<Q>> {
+
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  final Unit<Q> unit;
+
+  final long lengthNanos;
+
+  private final CachedConverters<Q> converters;
+
+  /** the latest timestamp seen, in nanoseconds since the epoch */
+  long now = Long.MIN_VALUE;
+
+  private MeasurementWindow(Unit<Q> unit, Duration length) {
+    this.unit = Objects.requireNonNull(unit);
+    if (length.isNegative() || length.isZero()) {
+      throw new IllegalArgumentException("window length must be positive: " + length);
+    }
+    this.lengthNanos = length.toNanos();
+    this.converters = new CachedConverters<>(unit);
+  }
+
+  /**
+   * Creates a sliding window, aggregating the measurements within the given duration up to the
+   * latest timestamp.
+   * 
+   * @param unit
+   *          the unit of the aggregates, not null.
+   * @param length
+   *          the length of the window, positive.
+   * @return a new sliding window
+   */
+  public static <Q extends Quantity<Q>> MeasurementWindow<Q> sliding(Unit<Q> unit, Duration length) {
+    return new Sliding<>(unit, length);
+  }
+
+  /**
+   * Creates a tumbling window, aggregating the measurements within consecutive intervals of the
+   * given duration.
+   * 
+   * @param unit
+   *          the unit of the aggregates, not null.
+   * @param length
+   *          the length of each interval, positive.
+   * @param consumer
+   *          receives the aggregates of each completed, non-empty interval, not null.
+   * @return a new tumbling window
+   */
+  public static <Q extends Quantity<Q>> MeasurementWindow<Q> tumbling(Unit<Q> unit, Duration length,
+      Consumer<? super Snapshot<Q>> consumer) {
+    return new Tumbling<>(unit, length, consumer);
+  }
+
+  /**
+   * Records another measurement.
+   * 
+   * @param measurement
+   *          the measurement, not null, not older than any measurement recorded before.
+   * @throws IllegalArgumentException
+   *           if the measurement is out of order or its value is not a number.
+   */
+  public void accept(Measurement<Q> measurement) {
+    Objects.requireNonNull(measurement);
+    final Quantity<Q> quantity = measurement.getQuantity();
+    final double value = converters.toDouble(quantity);
+    if (Double.isNaN(value)) {
+      throw new IllegalArgumentException("value is not a number");
+    }
+    final long timestamp = toNanos(measurement.getInstant());
+    if (timestamp < now) {
+      throw new IllegalArgumentException("measurement out of order: " + measurement.getInstant());
+    }
+    advance(timestamp);
+    add(timestamp, value);
+  }
+
+  /**
+   * Advances the window to the given time, without recording a measurement. Has no effect if the
+   * window is already at or past the given time.
+   * 
+   * @param instant
+   *          the current time, not null.
+   */
+  public void advanceTo(Instant instant) {
+    final long timestamp = toNanos(instant);
+    if (timestamp > now) {
+      advance(timestamp);
+    }
+  }
+
+  /**
+   * @return the number of measurements in the current window
+   */
+  public abstract long getCount();
+
+  /**
+   * @return the aggregates of the current window
+   */
+  public abstract Snapshot<Q> snapshot();
+
+  abstract void advance(long timestamp);
+
+  abstract void add(long timestamp, double value);
+
+  private static long toNanos(Instant instant) {
+    return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+  }
+
+  private static Instant toInstant(long nanos) {
+    return Instant.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND), Math.floorMod(nanos, NANOS_PER_SECOND));
+  }
+
+  /**
+   * The aggregates of a window at some point in time. Immutable.
+   *
+   * @param <Q>
+   */
+  public static final class Snapshot<Q extends Quantity<Q>> {
+
+    private final Unit<Q> unit;
+
+    private final long start;
+
+    private final long end;
+
+    private final long count;
+
+    private final double sum;
+
+    private final double min;
+
+    private final double max;
+
+    private Snapshot(Unit<Q> unit, long start, long end, long count, double sum, double min, double max) {
+      this.unit = unit;
+      this.start = start;
+      this.end = end;
+      this.count = count;
+      this.sum = sum;
+      this.min = min;
+      this.max = max;
+    }
+
+    /**
+     * @return the (exclusive) start of the window
+     */
+    public Instant getStart() {
+      return toInstant(start);
+    }
+
+    /**
+     * @return the (inclusive) end of the window
+     */
+    public Instant getEnd() {
+      return toInstant(end);
+    }
+
+    /**
+     * @return the number of measurements within the window
+     */
+    public long getCount() {
+      return count;
+    }
+
+    /**
+     * @return the sum of the measured quantities, zero if empty
+     */
+    public Quantity<Q> getSum() {
+      return Quantities.getQuantity(sum, unit);
+    }
+
+    /**
+     * @return the minimal measured quantity, or {@code null} if empty
+     */
+    public Quantity<Q> getMin() {
+      return count == 0 ? null : Quantities.getQuantity(min, unit);
+    }
+
+    /**
+     * @return the maximal measured quantity, or {@code null} if empty
+     */
+    public Quantity<Q> getMax() {
+      return count == 0 ? null : Quantities.getQuantity(max, unit);
+    }
+
+    /**
+     * @return the average of the measured quantities, or {@code null} if empty
+     */
+    public Quantity<Q> getMean() {
+      return count == 0 ? null : Quantities.getQuantity(sum / count, unit);
+    }
+
+    /**
+     * Get the sum of the measured quantities per time unit, over the length of the window.
+     * 
+     * @param timeUnit
+     *          the time unit, e.g. {@link Units#SECOND}
+     * @return the rate, e.g. in litres per second for measurements in litres
+     */
+    public Quantity<?> getRate(Unit<Time> timeUnit) {
+      return Quantities.getQuantity(sum / length(timeUnit), unit.divide(timeUnit));
+    }
+
+    /**
+     * Get the number of measurements per time unit, over the length of the window.
+     * 
+     * @param timeUnit
+     *          the time unit, e.g. {@link Units#SECOND}
+     * @return the frequency of measurements
+     */
+    public Quantity<Frequency> getEventRate(Unit<Time> timeUnit) {
+      return Quantities.getQuantity(count / length(timeUnit), timeUnit.inverse().asType(Frequency.class));
+    }
+
+    private double length(Unit<Time> timeUnit) {
+      return Units.SECOND.getConverterTo(timeUnit).convert((end - start) / (double) NANOS_PER_SECOND);
+    }
+
+    @Override
+    public String toString() {
+      final StringBuilder sb = new StringBuilder();
+      sb.append("[start: ").append(getStart()).append(",");
+      sb.append("end:").append(getEnd()).append(",");
+      sb.append("count:").append(count).append(",");
+      sb.append("min:").append(getMin()).append(",");
+      sb.append("max:").append(getMax()).append(",");
+      sb.append("sum:").append(getSum()).append(",");
+      sb.append("mean:").append(getMean()).append("]");
+      return sb.toString();
+    }
+  }
+
+  // -- IMPLEMENTATIONS
+
+  private static final class Sliding<Q extends Quantity<Q>> extends MeasurementWindow<Q> {
+
+    private final LongRing timestamps = new LongRing();
+
+    /** raw bits of the values, parallel to timestamps */
+    private final LongRing values = new LongRing();
+
+    /** sequence numbers of increasing values, candidates for the minimum */
+    private final LongRing minCandidates = new LongRing();
+
+    /** sequence numbers of decreasing values, candidates for the maximum */
+    private final LongRing maxCandidates = new LongRing();
+
+    /** the sequence number of the oldest element */
+    private long firstSequence;
+
+    private final CompensatedSum sum = new CompensatedSum();
+
+    private Sliding(Unit<Q> unit, Duration length) {
+      super(unit, length);
+    }
+
+    @Override
+    public long getCount() {
+      return timestamps.size;
+    }
+
+    @Override
+    public Snapshot<Q> snapshot() {
+      if (now == Long.MIN_VALUE) {
+        // nothing recorded yet, the same as a tumbling window before its first interval
+        return new Snapshot<>(unit, Long.MIN_VALUE, Long.MIN_VALUE + lengthNanos, 0, 0, Double.NaN, Double.NaN);
+      }
+      final double min = minCandidates.size == 0 ? Double.NaN : valueAt(minCandidates.first());
+      final double max = maxCandidates.size == 0 ? Double.NaN : valueAt(maxCandidates.first());
+      return new Snapshot<>(unit, now - lengthNanos, now, timestamps.size, sum.getSum(), min, max);
+    }
+
+    @Override
+    void advance(long timestamp) {
+      now = timestamp;
+      final long threshold = timestamp - lengthNanos;
+      while (timestamps.size > 0 && timestamps.first() <= threshold) {
+        timestamps.pollFirst();
+        final double value = Double.longBitsToDouble(values.pollFirst());
+        if (minCandidates.first() == firstSequence) {
+          minCandidates.pollFirst();
+        }
+        if (maxCandidates.first() == firstSequence) {
+          maxCandidates.pollFirst();
+        }
+        firstSequence++;
+        if (timestamps.size == 0) {
+          // start over, discarding accumulated rounding errors
+          sum.reset();
+        } else {
+          sum.add(-value);
+        }
+      }
+    }
+
+    @Override
+    void add(long timestamp, double value) {
+      final long sequence = firstSequence + timestamps.size;
+      timestamps.addLast(timestamp);
+      values.addLast(Double.doubleToRawLongBits(value));
+      while (minCandidates.size > 0 && valueAt(minCandidates.last()) >= value) {
+        minCandidates.pollLast();
+      }
+      minCandidates.addLast(sequence);
+      while (maxCandidates.size > 0 && valueAt(maxCandidates.last()) <= value) {
+        maxCandidates.pollLast();
+      }
+      maxCandidates.addLast(sequence);
+      sum.add(value);
+    }
+
+    private double valueAt(long sequence) {
+      return Double.longBitsToDouble(values.get((int) (sequence - firstSequence)));
+    }
+  }
+
+  private static final class Tumbling<Q extends Quantity<Q>> extends MeasurementWindow<Q> {
+
+    private final Consumer<? super Snapshot<Q>> consumer;
+
+    /** the start of the current interval, exclusive */
+    private long start = Long.MIN_VALUE;
+
+    private long count;
+
+    private final CompensatedSum sum = new CompensatedSum();
+
+    private double min;
+
+    private double max;
+
+    private Tumbling(Unit<Q> unit, Duration length, Consumer<? super Snapshot<Q>> consumer) {
+      super(unit, length);
+      this.consumer = Objects.requireNonNull(consumer);
+    }
+
+    @Override
+    public long getCount() {
+      return count;
+    }
+
+    @Override
+    public Snapshot<Q> snapshot() {
+      return new Snapshot<>(unit, start, start + lengthNanos, count, sum.getSum(), min, max);
+    }
+
+    @Override
+    void advance(long timestamp) {
+      now = timestamp;
+      if (start != Long.MIN_VALUE && timestamp <= start + lengthNanos) {
+        return;
+      }
+      if (count > 0) {
+        consumer.accept(snapshot());
+      }
+      // intervals are aligned to the epoch, (start, start + length]
+      start = Math.floorDiv(timestamp - 1, lengthNanos) * lengthNanos;
+      count = 0;
+      sum.reset();
+    }
+
+    @Override
+    void add(long timestamp, double value) {
+      if (count == 0) {
+        min = value;
+        max = value;
+      } else {
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+      }
+      count++;
+      sum.add(value);
+    }
+  }
+
+  /**
+   * Growable ring buffer of primitive longs.
+   */
+  private static final class LongRing {
+
+    private long[] elements = new long[16];
+
+    private int head;
+
+    private int size;
+
+    long get(int index) {
+      return elements[(head + index) & (elements.length - 1)];
+    }
+
+    long first() {
+      return elements[head];
+    }
+
+    long last() {
+      return get(size - 1);
+    }
+
+    void addLast(long element) {
+      if (size == elements.length) {
+        final long[] grown = new long[elements.length << 1];
+        final int headLength = elements.length - head;
+        System.arraycopy(elements, head, grown, 0, headLength);
+        System.arraycopy(elements, 0, grown, headLength, head);
+        elements = grown;
+        head = 0;
+      }
+      elements[(head + size) & (elements.length - 1)] = element;
+      size++;
+    }
+
+    long pollFirst() {
+      final long element = elements[head];
+      head = (head + 1) & (elements.length - 1);
+      size--;
+      return element;
+    }
+
+    long pollLast() {
+      final long element = last();
+      size--;
+      return element;
+    }
+  }
+}
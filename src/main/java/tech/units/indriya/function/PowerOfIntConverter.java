@@ -32,6 +32,8 @@ package tech.units.indriya.function;
 import java.math.BigInteger;
 import java.util.Objects;
 
+import javax.measure.BinaryPrefix;
+import javax.measure.MetricPrefix;
 import javax.measure.Prefix;
 import javax.measure.UnitConverter;
 
@@ -56,6 +58,11 @@ public final class PowerOfIntConverter extends AbstractConverter
 	private final int hashCode;
 	private final RationalNumber rationalFactor;
 
+	// interned converters of the MetricPrefix and BinaryPrefix constants, indexed by ordinal,
+	// lazily populated; racy publication is safe, since instances are immutable
+	private static final PowerOfIntConverter[] METRIC_PREFIX_CONVERTERS = new PowerOfIntConverter[MetricPrefix.values().length];
+	private static final PowerOfIntConverter[] BINARY_PREFIX_CONVERTERS = new PowerOfIntConverter[BinaryPrefix.values().length];
+
 	/**
 	 * Creates a converter with the specified Prefix.
 	 * 
@@ -63,9 +70,23 @@ public final class PowerOfIntConverter extends AbstractConverter
 	 *            the prefix for the factor.
 	 */
 	static PowerOfIntConverter of(Prefix prefix) {
+		if (prefix instanceof MetricPrefix) {
+			return interned(METRIC_PREFIX_CONVERTERS, ((MetricPrefix) prefix).ordinal(), prefix);
+		}
+		if (prefix instanceof BinaryPrefix) {
+			return interned(BINARY_PREFIX_CONVERTERS, ((BinaryPrefix) prefix).ordinal(), prefix);
+		}
 		return of(prefix.getValue(), prefix.getExponent());
 	}
 
+	private static PowerOfIntConverter interned(PowerOfIntConverter[] converters, int index, Prefix prefix) {
+		PowerOfIntConverter converter = converters[index];
+		if (converter == null) {
+			converters[index] = converter = of(prefix.getValue(), prefix.getExponent());
+		}
+		return converter;
+	}
+
 	/**
 	 * Creates a converter with a factor represented by specified base^exponent.
 	 * 
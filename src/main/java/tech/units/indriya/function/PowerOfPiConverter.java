@@ -48,11 +48,9 @@ import tech.uom.lib.common.function.IntExponentSupplier;
 final class PowerOfPiConverter extends AbstractConverter 
  implements MultiplyConverter, IntExponentSupplier {
 	private static final long serialVersionUID = 5000593326722785126L;
-	private final Object $lock1 = new Object[0]; // serializable lock for 'scaleFactor'
-	
 	private final int exponent;
 	private final int hashCode;
-	private transient Number scaleFactor;
+	private transient volatile Number scaleFactor; // lazily computed, racy single-check
 
 	/**
      * A converter by Pi to the power of 1.
@@ -115,22 +113,21 @@ final class PowerOfPiConverter extends AbstractConverter
 	@Override
     public Number getValue() {
 	    
-	    synchronized ($lock1) {
-	       if(scaleFactor==null) {
-	           
-	           int nbrDigits = Calculus.MATH_CONTEXT.getPrecision();
-	           if (nbrDigits == 0) {
-	               throw new ArithmeticException("Pi multiplication with unlimited precision");
-	           }
-	           BigDecimal pi = Calculus.Pi.ofNumDigits(nbrDigits);
-	           
-	           scaleFactor = Calculator.of(pi)
-	                   .power(exponent)
-	                   .peek();
-	       }
-        }
-
-        return scaleFactor;
+	    Number result = scaleFactor;
+	    if(result==null) {
+	        
+	        int nbrDigits = Calculus.MATH_CONTEXT.getPrecision();
+	        if (nbrDigits == 0) {
+	            throw new ArithmeticException("Pi multiplication with unlimited precision");
+	        }
+	        BigDecimal pi = Calculus.Pi.ofNumDigits(nbrDigits);
+	        
+	        scaleFactor = result = Calculator.of(pi)
+	                .power(exponent)
+	                .peek();
+	    }
+
+        return result;
     }
 
 	@Override
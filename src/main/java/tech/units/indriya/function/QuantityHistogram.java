@@ -0,0 +1,463 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.function;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+
+import tech.units.indriya.internal.function.CachedConverters;
+import tech.units.indriya.quantity.Quantities;
+
+/**
+ * Mergeable histogram of quantities with logarithmically sized buckets, providing percentile
+ * estimates in a single pass.
+ * <p>
+ * Incoming quantities are converted to the target unit (with one cached converter per source
+ * unit) and counted in buckets whose bounds grow geometrically, so that any percentile is
+ * estimated within the configured {@link #getRelativeAccuracy() relative accuracy}, independent of
+ * the number of values and of their range. Counts are kept in primitive arrays; the memory
+ * footprint only depends on the ratio between the largest and the smallest recorded magnitude.
+ * Values whose magnitude is below {@link Double#MIN_NORMAL} are counted as zero.
+ * </p>
+ * <p>
+ * This class is not thread-safe, but is designed for use with {@link java.util.stream.Collector}s
+ * where each thread accumulates into its own instance, to be {@link #combine combined} afterwards.
+ * </p>
+ *
+ * @since 2.2
+ * @see QuantityStreams#histogram(Unit)
+ * @see QuantityStreams#percentile(Unit, double)
+ * @param <Q>
+ */
+public class QuantityHistogram<Q extends Quantity<Q>> {
+
+  /**
+   * The relative accuracy of histograms, unless specified otherwise.
+   */
+  public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+  private final Unit<Q> unit;
+
+  private final double relativeAccuracy;
+
+  /** the ratio between the upper and the lower bound of each bucket */
+  private final double gamma;
+
+  private final double multiplier;
+
+  private final CachedConverters<Q> converters;
+
+  /** counts of positive values, by bucket index */
+  private final Buckets positive = new Buckets();
+
+  /** counts of negative values, by bucket index of their magnitude */
+  private final Buckets negative = new Buckets();
+
+  private long zeroCount;
+
+  private long count;
+
+  private double min = Double.POSITIVE_INFINITY;
+
+  private double max = Double.NEGATIVE_INFINITY;
+
+  /**
+   * Creates a new instance, targeting the given {@link javax.measure.Unit}.
+   * 
+   * @param unit
+   *          the target unit, not null.
+   * @param relativeAccuracy
+   *          the relative accuracy of percentile estimates, strictly between 0 and 1.
+   * @throws IllegalArgumentException
+   *           if the relative accuracy is out of range.
+   */
+  QuantityHistogram(Unit<Q> unit, double relativeAccuracy) {
+    this.unit = Objects.requireNonNull(unit);
+    this.relativeAccuracy = requireValidAccuracy(relativeAccuracy);
+    this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+    this.multiplier = 1 / Math.log(gamma);
+    this.converters = new CachedConverters<>(unit);
+  }
+
+  static double requireValidAccuracy(double relativeAccuracy) {
+    if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+      throw new IllegalArgumentException("relative accuracy must be between 0 and 1 (exclusive): " + relativeAccuracy);
+    }
+    return relativeAccuracy;
+  }
+
+  /**
+   * Records another value into the histogram.
+   * 
+   * @param quantity
+   *          the input quantity value to be added, not null.
+   * @throws IllegalArgumentException
+   *           if the value is not a finite number, once converted to the unit of this histogram.
+   */
+  public void accept(Quantity<Q> quantity) {
+    Objects.requireNonNull(quantity);
+    accept(converters.toDouble(quantity), 1);
+  }
+
+  private void accept(double value, long times) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      throw new IllegalArgumentException("value is not a finite number: " + value);
+    }
+    if (value >= Double.MIN_NORMAL) {
+      positive.add(index(value), times);
+    } else if (value <= -Double.MIN_NORMAL) {
+      negative.add(index(-value), times);
+    } else {
+      zeroCount += times;
+    }
+    count += times;
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+  }
+
+  /**
+   * Combines the state of another {@code QuantityHistogram} into this one.
+   * <p>
+   * If the other histogram targets a different unit or accuracy, its buckets are re-recorded at
+   * their estimated values, which adds the other's relative error to that of this histogram.
+   * </p>
+   * 
+   * @param histogram
+   *          another {@code QuantityHistogram}, not null.
+   */
+  public QuantityHistogram<Q> combine(QuantityHistogram<Q> histogram) {
+    Objects.requireNonNull(histogram);
+    if (histogram.count == 0) {
+      return this;
+    }
+    if (unit.equals(histogram.unit) && relativeAccuracy == histogram.relativeAccuracy) {
+      positive.addAll(histogram.positive);
+      negative.addAll(histogram.negative);
+      zeroCount += histogram.zeroCount;
+      count += histogram.count;
+      min = Math.min(min, histogram.min);
+      max = Math.max(max, histogram.max);
+      return this;
+    }
+    final DoubleUnaryOperator converter = CachedConverters.toOperator(histogram.unit.getConverterTo(unit));
+    final double otherMin = converter.applyAsDouble(histogram.min);
+    final double otherMax = converter.applyAsDouble(histogram.max);
+    final double thisMin = min;
+    final double thisMax = max;
+    for (int i = histogram.positive.minIndex; i <= histogram.positive.maxIndex; i++) {
+      final long times = histogram.positive.get(i);
+      if (times > 0) {
+        accept(converter.applyAsDouble(histogram.value(i)), times);
+      }
+    }
+    for (int i = histogram.negative.minIndex; i <= histogram.negative.maxIndex; i++) {
+      final long times = histogram.negative.get(i);
+      if (times > 0) {
+        accept(converter.applyAsDouble(-histogram.value(i)), times);
+      }
+    }
+    if (histogram.zeroCount > 0) {
+      accept(converter.applyAsDouble(0.), histogram.zeroCount);
+    }
+    // the extremes are known exactly, rather than estimated by bucket
+    min = Math.min(thisMin, Math.min(otherMin, otherMax));
+    max = Math.max(thisMax, Math.max(otherMin, otherMax));
+    return this;
+  }
+
+  private int index(double magnitude) {
+    return (int) Math.ceil(Math.log(magnitude) * multiplier);
+  }
+
+  /** the upper bound of the bucket with the given index */
+  private double upperBound(int index) {
+    return Math.pow(gamma, index);
+  }
+
+  /** the value of the bucket with the given index, with the least relative error for its whole range */
+  private double value(int index) {
+    return 2 * upperBound(index) / (gamma + 1);
+  }
+
+  /**
+   * Get the number of items added to this histogram.
+   * 
+   * @return the number of recorded items, >= 0.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * @return the target unit of this histogram
+   */
+  public Unit<Q> getUnit() {
+    return unit;
+  }
+
+  /**
+   * @return the relative accuracy of percentile estimates
+   */
+  public double getRelativeAccuracy() {
+    return relativeAccuracy;
+  }
+
+  /**
+   * Get the exact minimal quantity recorded.
+   * 
+   * @return the minimal quantity, or {@code null} if empty
+   */
+  public Quantity<Q> getMin() {
+    return count == 0 ? null : Quantities.getQuantity(min, unit);
+  }
+
+  /**
+   * Get the exact maximal quantity recorded.
+   * 
+   * @return the maximal quantity, or {@code null} if empty
+   */
+  public Quantity<Q> getMax() {
+    return count == 0 ? null : Quantities.getQuantity(max, unit);
+  }
+
+  /**
+   * Estimates the quantity below which the given fraction of the recorded quantities falls.
+   * 
+   * @param quantile
+   *          the fraction, between 0 and 1 (inclusive), e.g. {@code 0.99} for the 99th percentile.
+   * @return the estimated quantity, or {@code null} if empty
+   * @throws IllegalArgumentException
+   *           if the quantile is out of range.
+   */
+  public Quantity<Q> getQuantile(double quantile) {
+    if (!(quantile >= 0 && quantile <= 1)) {
+      throw new IllegalArgumentException("quantile must be between 0 and 1: " + quantile);
+    }
+    return count == 0 ? null : Quantities.getQuantity(quantileValue(quantile), unit);
+  }
+
+  /**
+   * Estimates the given percentile of the recorded quantities.
+   * 
+   * @param percentile
+   *          the percentile, between 0 and 100 (inclusive), e.g. {@code 99} for the 99th percentile.
+   * @return the estimated quantity, or {@code null} if empty
+   * @throws IllegalArgumentException
+   *           if the percentile is out of range.
+   */
+  public Quantity<Q> getPercentile(double percentile) {
+    return getQuantile(percentile / 100);
+  }
+
+  private double quantileValue(double quantile) {
+    final long rank = (long) (quantile * (count - 1));
+    if (rank == 0) {
+      return min;
+    }
+    if (rank == count - 1) {
+      return max;
+    }
+    long seen = 0;
+    double value = 0;
+    search: {
+      for (int i = negative.maxIndex; i >= negative.minIndex; i--) {
+        seen += negative.get(i);
+        if (seen > rank) {
+          value = -value(i);
+          break search;
+        }
+      }
+      seen += zeroCount;
+      if (seen > rank) {
+        value = 0;
+        break search;
+      }
+      for (int i = positive.minIndex; i <= positive.maxIndex; i++) {
+        seen += positive.get(i);
+        if (seen > rank) {
+          value = value(i);
+          break search;
+        }
+      }
+    }
+    // the estimate of an extreme bucket may lie beyond the recorded range
+    return Math.max(min, Math.min(max, value));
+  }
+
+  /**
+   * Get the non-empty buckets of this histogram, in ascending order.
+   * 
+   * @return an unmodifiable list of buckets
+   */
+  public List<Bucket<Q>> getBuckets() {
+    final List<Bucket<Q>> buckets = new ArrayList<>();
+    for (int i = negative.maxIndex; i >= negative.minIndex; i--) {
+      final long times = negative.get(i);
+      if (times > 0) {
+        buckets.add(new Bucket<>(Quantities.getQuantity(-upperBound(i), unit),
+            Quantities.getQuantity(-upperBound(i - 1), unit), times));
+      }
+    }
+    if (zeroCount > 0) {
+      buckets.add(new Bucket<>(Quantities.getQuantity(-Double.MIN_NORMAL, unit),
+          Quantities.getQuantity(Double.MIN_NORMAL, unit), zeroCount));
+    }
+    for (int i = positive.minIndex; i <= positive.maxIndex; i++) {
+      final long times = positive.get(i);
+      if (times > 0) {
+        buckets.add(new Bucket<>(Quantities.getQuantity(upperBound(i - 1), unit),
+            Quantities.getQuantity(upperBound(i), unit), times));
+      }
+    }
+    return Collections.unmodifiableList(buckets);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder();
+    sb.append("[unit: ").append(unit).append(",");
+    sb.append("count:").append(count).append(",");
+    sb.append("relativeAccuracy:").append(relativeAccuracy).append(",");
+    sb.append("min:").append(getMin()).append(",");
+    sb.append("median:").append(count == 0 ? null : getQuantile(0.5)).append(",");
+    sb.append("max:").append(getMax()).append("]");
+    return sb.toString();
+  }
+
+  /**
+   * A bucket of a {@link QuantityHistogram}, counting the values between its bounds.
+   *
+   * @param <Q>
+   */
+  public static final class Bucket<Q extends Quantity<Q>> {
+
+    private final Quantity<Q> lowerBound;
+
+    private final Quantity<Q> upperBound;
+
+    private final long count;
+
+    private Bucket(Quantity<Q> lowerBound, Quantity<Q> upperBound, long count) {
+      this.lowerBound = lowerBound;
+      this.upperBound = upperBound;
+      this.count = count;
+    }
+
+    /**
+     * @return the (exclusive) lower bound
+     */
+    public Quantity<Q> getLowerBound() {
+      return lowerBound;
+    }
+
+    /**
+     * @return the (inclusive) upper bound
+     */
+    public Quantity<Q> getUpperBound() {
+      return upperBound;
+    }
+
+    /**
+     * @return the number of values within the bounds
+     */
+    public long getCount() {
+      return count;
+    }
+
+    @Override
+    public String toString() {
+      return "(" + lowerBound + ", " + upperBound + "]: " + count;
+    }
+  }
+
+  /**
+   * Counts by bucket index, stored in an array that grows to cover the range of indices used.
+   */
+  private static final class Buckets {
+
+    private static final long[] EMPTY = {};
+
+    private long[] counts = EMPTY;
+
+    /** the index of counts[0] */
+    private int offset;
+
+    /** the range of used indices, empty if minIndex > maxIndex */
+    private int minIndex = Integer.MAX_VALUE;
+
+    private int maxIndex = Integer.MIN_VALUE;
+
+    long get(int index) {
+      return counts[index - offset];
+    }
+
+    void add(int index, long times) {
+      if (index < minIndex || index > maxIndex) {
+        extendTo(index);
+      }
+      counts[index - offset] += times;
+    }
+
+    void addAll(Buckets other) {
+      if (other.minIndex > other.maxIndex) {
+        return;
+      }
+      extendTo(other.minIndex);
+      extendTo(other.maxIndex);
+      for (int i = other.minIndex; i <= other.maxIndex; i++) {
+        counts[i - offset] += other.get(i);
+      }
+    }
+
+    private void extendTo(int index) {
+      final int newMin = Math.min(minIndex, index);
+      final int newMax = Math.max(maxIndex, index);
+      if (newMin < offset || newMax - offset >= counts.length) {
+        // grow with some slack in both directions, to amortize copying
+        final int slack = Math.max(16, (newMax - newMin) / 2);
+        final int newOffset = newMin - slack;
+        final long[] newCounts = new long[newMax - newMin + 1 + 2 * slack];
+        if (minIndex <= maxIndex) {
+          System.arraycopy(counts, minIndex - offset, newCounts, minIndex - newOffset, maxIndex - minIndex + 1);
+        }
+        counts = newCounts;
+        offset = newOffset;
+      }
+      minIndex = newMin;
+      maxIndex = newMax;
+    }
+  }
+}
@@ -29,19 +29,36 @@
  */
 package tech.units.indriya.function;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
+import java.util.stream.Collector.Characteristics;
+import java.util.stream.Collectors;
 
+import javax.measure.Dimension;
 import javax.measure.MeasurementError;
 import javax.measure.Quantity;
 import javax.measure.Unit;
 
+import tech.units.indriya.quantity.QuantityRange;
+
 /**
  * Utility methods for operating on quantities using streams.
+ * <p>
+ * All collectors provided here are safe to use with parallel streams: partial results are
+ * combined correctly regardless of the units of the collected quantities, and of partitions
+ * that happen to be empty. Collectors whose result does not depend on the encounter order are
+ * {@link Characteristics#UNORDERED}, and the grouping collectors are
+ * {@link Characteristics#CONCURRENT}.
  * 
  * @author Otavio
  * @author Werner
- * @version 1.1
+ * @version 2.0
  * @since 2.0
  *
  */
@@ -59,6 +76,203 @@ public final class QuantityStreams {
   public static <Q extends Quantity<Q>> Collector<Quantity<Q>, QuantitySummaryStatistics<Q>, QuantitySummaryStatistics<Q>> summarizeQuantity(
 			Unit<Q> unit) {
 		Supplier<QuantitySummaryStatistics<Q>> supplier = () -> new QuantitySummaryStatistics<>(unit);
-		return Collector.of(supplier, QuantitySummaryStatistics<Q>::accept, QuantitySummaryStatistics<Q>::combine);
+		return Collector.of(supplier, QuantitySummaryStatistics<Q>::accept, QuantitySummaryStatistics<Q>::combine,
+				Characteristics.UNORDERED, Characteristics.IDENTITY_FINISH);
 	}
+
+  /**
+   * Sum of the quantities, expressed in the given unit.
+   * 
+   * @param unit
+   *          the unit of the result, not null.
+   * @return the sum, zero if there are no quantities
+   * @since 2.2
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, ?, Quantity<Q>> summing(Unit<Q> unit) {
+    return summarizing(unit, QuantitySummaryStatistics::getSum);
+  }
+
+  /**
+   * Average of the quantities, expressed in the given unit.
+   * 
+   * @param unit
+   *          the unit of the result, not null.
+   * @return the average, zero if there are no quantities
+   * @since 2.2
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, ?, Quantity<Q>> averaging(Unit<Q> unit) {
+    return summarizing(unit, QuantitySummaryStatistics::getAverage);
+  }
+
+  /**
+   * Minimum of the quantities, expressed in the given unit.
+   * 
+   * @param unit
+   *          the unit of the result, not null.
+   * @return the minimum, empty if there are no quantities
+   * @since 2.2
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, ?, Optional<Quantity<Q>>> minimum(Unit<Q> unit) {
+    return summarizing(unit, summary -> summary.getCount() == 0 ? Optional.empty() : Optional.of(summary.getMin()));
+  }
+
+  /**
+   * Maximum of the quantities, expressed in the given unit.
+   * 
+   * @param unit
+   *          the unit of the result, not null.
+   * @return the maximum, empty if there are no quantities
+   * @since 2.2
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, ?, Optional<Quantity<Q>>> maximum(Unit<Q> unit) {
+    return summarizing(unit, summary -> summary.getCount() == 0 ? Optional.empty() : Optional.of(summary.getMax()));
+  }
+
+  /**
+   * Number of quantities.
+   * 
+   * @return the count
+   * @since 2.2
+   */
+  public static Collector<Quantity<?>, ?, Long> counting() {
+    return Collector.of(() -> new long[1], (count, quantity) -> count[0]++, (left, right) -> {
+      left[0] += right[0];
+      return left;
+    }, count -> count[0], Characteristics.UNORDERED);
+  }
+
+  /**
+   * Histogram of the quantities, expressed in the given unit, with the
+   * {@link QuantityHistogram#DEFAULT_RELATIVE_ACCURACY default relative accuracy}.
+   * 
+   * @param unit
+   *          the unit of the histogram, not null.
+   * @return the histogram
+   * @since 2.2
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, ?, QuantityHistogram<Q>> histogram(Unit<Q> unit) {
+    return histogram(unit, QuantityHistogram.DEFAULT_RELATIVE_ACCURACY);
+  }
+
+  /**
+   * Histogram of the quantities, expressed in the given unit.
+   * 
+   * @param unit
+   *          the unit of the histogram, not null.
+   * @param relativeAccuracy
+   *          the relative accuracy of percentile estimates, strictly between 0 and 1.
+   * @return the histogram
+   * @since 2.2
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, ?, QuantityHistogram<Q>> histogram(Unit<Q> unit,
+      double relativeAccuracy) {
+    Objects.requireNonNull(unit);
+    QuantityHistogram.requireValidAccuracy(relativeAccuracy);
+    return Collector.of(() -> new QuantityHistogram<>(unit, relativeAccuracy), QuantityHistogram<Q>::accept,
+        QuantityHistogram<Q>::combine, Characteristics.UNORDERED, Characteristics.IDENTITY_FINISH);
+  }
+
+  /**
+   * Estimated percentile of the quantities, expressed in the given unit, with the
+   * {@link QuantityHistogram#DEFAULT_RELATIVE_ACCURACY default relative accuracy}.
+   * 
+   * @param unit
+   *          the unit of the result, not null.
+   * @param percentile
+   *          the percentile, between 0 and 100 (inclusive), e.g. {@code 99} for the 99th percentile.
+   * @return the percentile, empty if there are no quantities
+   * @since 2.2
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, ?, Optional<Quantity<Q>>> percentile(Unit<Q> unit,
+      double percentile) {
+    if (!(percentile >= 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+    }
+    return Collectors.collectingAndThen(histogram(unit),
+        histogram -> Optional.ofNullable(histogram.getPercentile(percentile)));
+  }
+
+  /**
+   * Groups the quantities by their unit, reducing each group with the given downstream collector.
+   * 
+   * @param downstream
+   *          the collector applied to each group, not null.
+   * @return a concurrent map from units to the results of the downstream collector
+   * @since 2.2
+   */
+  public static <Q extends Quantity<Q>, A, D> Collector<Quantity<Q>, ?, ConcurrentMap<Unit<Q>, D>> groupingByUnit(
+      Collector<? super Quantity<Q>, A, D> downstream) {
+    return Collectors.groupingByConcurrent(Quantity::getUnit, downstream);
+  }
+
+  /**
+   * Groups the quantities by their unit.
+   * 
+   * @return a concurrent map from units to the quantities of that unit
+   * @since 2.2
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, ?, ConcurrentMap<Unit<Q>, List<Quantity<Q>>>> groupingByUnit() {
+    return groupingByUnit(Collectors.toList());
+  }
+
+  /**
+   * Groups the quantities by the dimension of their unit, reducing each group with the given
+   * downstream collector.
+   * 
+   * @param downstream
+   *          the collector applied to each group, not null.
+   * @return a concurrent map from dimensions to the results of the downstream collector
+   * @since 2.2
+   */
+  public static <A, D> Collector<Quantity<?>, ?, ConcurrentMap<Dimension, D>> groupingByDimension(
+      Collector<? super Quantity<?>, A, D> downstream) {
+    return Collectors.groupingByConcurrent(quantity -> quantity.getUnit().getDimension(), downstream);
+  }
+
+  /**
+   * Groups the quantities by the dimension of their unit.
+   * 
+   * @return a concurrent map from dimensions to the quantities of that dimension
+   * @since 2.2
+   */
+  public static Collector<Quantity<?>, ?, ConcurrentMap<Dimension, List<Quantity<?>>>> groupingByDimension() {
+    return groupingByDimension(Collectors.toList());
+  }
+
+  /**
+   * Partitions the quantities by whether they are contained in the given range, reducing each
+   * partition with the given downstream collector.
+   * 
+   * @param range
+   *          the range, not null.
+   * @param downstream
+   *          the collector applied to each partition, not null.
+   * @return a map from {@code true} (contained) and {@code false} to the results of the downstream collector
+   * @since 2.2
+   */
+  public static <Q extends Quantity<Q>, A, D> Collector<Quantity<Q>, ?, Map<Boolean, D>> partitioningBy(
+      QuantityRange<Q> range, Collector<? super Quantity<Q>, A, D> downstream) {
+    return Collectors.partitioningBy(range::contains, downstream);
+  }
+
+  /**
+   * Partitions the quantities by whether they are contained in the given range.
+   * 
+   * @param range
+   *          the range, not null.
+   * @return a map from {@code true} (contained) and {@code false} to the quantities of that partition
+   * @since 2.2
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, ?, Map<Boolean, List<Quantity<Q>>>> partitioningBy(
+      QuantityRange<Q> range) {
+    return partitioningBy(range, Collectors.toList());
+  }
+
+  // -- HELPER
+
+  private static <Q extends Quantity<Q>, R> Collector<Quantity<Q>, ?, R> summarizing(Unit<Q> unit,
+      Function<QuantitySummaryStatistics<Q>, R> finisher) {
+    return Collector.of(() -> new QuantitySummaryStatistics<>(unit), QuantitySummaryStatistics<Q>::accept,
+        QuantitySummaryStatistics<Q>::combine, finisher, Characteristics.UNORDERED);
+  }
 }
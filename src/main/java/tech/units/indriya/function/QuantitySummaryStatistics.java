@@ -29,40 +29,71 @@
  */
 package tech.units.indriya.function;
 
-import static tech.uom.lib.common.function.QuantityFunctions.*;
-
 import java.util.Objects;
-import java.util.function.BinaryOperator;
+import java.util.function.DoubleUnaryOperator;
 
 import javax.measure.Quantity;
 import javax.measure.Unit;
+import javax.measure.UnitConverter;
 
+import tech.units.indriya.internal.function.CachedConverters;
+import tech.units.indriya.internal.function.CompensatedSum;
 import tech.units.indriya.quantity.Quantities;
+import tech.units.indriya.spi.NumberSystem;
 
 /**
+ * Summary statistics (count, min, max, sum and average) of a sequence of quantities, expressed in
+ * a common target unit.
+ * <p>
+ * Values are accumulated without creating intermediate quantities: each incoming unit is
+ * converted with a converter that is resolved only once per unit, and the values are kept as
+ * plain numbers. When the current {@link NumberSystem} is a {@link DoubleNumberSystem}, the
+ * accumulators are primitive {@code double}s and the sum is compensated (Kahan summation);
+ * otherwise the sum is accumulated exactly, in a {@code long} as long as it does not overflow
+ * and with the {@link NumberSystem} beyond that. The average is only computed when requested.
+ * <p>
+ * This class is not thread-safe, but is designed for use with {@link java.util.stream.Collector}s
+ * where each thread accumulates into its own instance, to be {@link #combine combined} afterwards.
+ * 
  * @author Otavio
  * @author Werner
- * @version 1.2
+ * @version 2.0
  * @since 1.0
  * @param <Q>
  */
 public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
 
-  private final Quantity<Q> empty;
+  private final Unit<Q> unit;
+
+  private final NumberSystem ns;
+
+  /** whether values are accumulated as primitive doubles */
+  private final boolean primitive;
+
+  private final CachedConverters<Q> converters;
 
   private long count;
 
-  private Quantity<Q> min;
+  // -- primitive accumulators
 
-  private Quantity<Q> max;
+  private final CompensatedSum doubleSum = new CompensatedSum();
 
-  private Quantity<Q> sum;
+  private double doubleMin;
 
-  private Quantity<Q> average;
+  private double doubleMax;
+
+  // -- exact accumulators
+
+  private long longSum;
 
-  private final BinaryOperator<Quantity<Q>> minFunctions = min();
+  private Number numberSum = 0;
 
-  private final BinaryOperator<Quantity<Q>> maxFunctions = max();
+  private Number numberMin;
+
+  private Number numberMax;
+
+  /** memoized average, reset on change */
+  private Quantity<Q> average;
 
   /**
    * Creates a new instance, targeting the given {@link javax.measure.Unit}.
@@ -71,8 +102,10 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    *          the target unit, not null.
    */
   QuantitySummaryStatistics(Unit<Q> unit) {
-    empty = Quantities.getQuantity(0, unit);
-    setQuantity(empty);
+    this.unit = Objects.requireNonNull(unit);
+    this.ns = Calculus.currentNumberSystem();
+    this.primitive = ns instanceof DoubleNumberSystem;
+    this.converters = new CachedConverters<>(unit);
   }
 
   /**
@@ -85,16 +118,21 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
 
     Objects.requireNonNull(quantity);
 
-    if (isEmpty()) {
-      setQuantity(quantity.to(empty.getUnit()));
-      count++;
+    if (primitive) {
+      acceptDouble(converters.toDouble(quantity));
     } else {
-      doSummary(quantity.to(empty.getUnit()));
+      acceptNumber(converters.toNumber(quantity));
     }
+    count++;
+    average = null;
   }
 
   /**
    * Combines the state of another {@code QuantitySummaryStatistics} into this one.
+   * <p>
+   * If the other summary targets a different unit, its state is converted to the unit of this
+   * summary first. Combining with an empty summary has no effect, so partial results of a
+   * parallel reduction may be combined in any grouping.
    * 
    * @param quantitySummary
    *          another {@code QuantitySummaryStatistics}, not null.
@@ -102,34 +140,109 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
   public QuantitySummaryStatistics<Q> combine(QuantitySummaryStatistics<Q> quantitySummary) {
     Objects.requireNonNull(quantitySummary);
 
-    if (!equals(quantitySummary)) {
+    if (quantitySummary.isEmpty()) {
       return this;
     }
+    if (!equals(quantitySummary)) {
+      quantitySummary = quantitySummary.to(unit);
+    }
 
-    min = minFunctions.apply(min, quantitySummary.min.to(empty.getUnit()));
-    max = maxFunctions.apply(max, quantitySummary.max.to(empty.getUnit()));
-    sum = sum.add(quantitySummary.sum);
+    if (primitive) {
+      final boolean empty = isEmpty();
+      if (quantitySummary.primitive) {
+        doubleSum.add(quantitySummary.doubleSum);
+      } else {
+        doubleSum.add(quantitySummary.exactSum().doubleValue());
+      }
+      final double otherMin = quantitySummary.minValue().doubleValue();
+      final double otherMax = quantitySummary.maxValue().doubleValue();
+      doubleMin = empty ? otherMin : Math.min(doubleMin, otherMin);
+      doubleMax = empty ? otherMax : Math.max(doubleMax, otherMax);
+    } else {
+      numberSum = ns.add(exactSum(), quantitySummary.exactSum());
+      longSum = 0;
+      updateMinMax(quantitySummary.minValue());
+      updateMinMax(quantitySummary.maxValue());
+    }
     count += quantitySummary.count;
-    average = sum.divide(count);
+    average = null;
     return this;
   }
 
-  private void doSummary(Quantity<Q> moneraty) {
-    min = minFunctions.apply(min, moneraty);
-    max = maxFunctions.apply(max, moneraty);
-    sum = sum.add(moneraty);
-    average = sum.divide(++count);
+  private void acceptDouble(double value) {
+    if (isEmpty()) {
+      doubleMin = value;
+      doubleMax = value;
+    } else {
+      doubleMin = Math.min(doubleMin, value);
+      doubleMax = Math.max(doubleMax, value);
+    }
+    doubleSum.add(value);
+  }
+
+  private void acceptNumber(Number value) {
+    if (isLongValued(value)) {
+      final long longValue = value.longValue();
+      final long result = longSum + longValue;
+      // overflow iff both arguments have the opposite sign of the result
+      if (((longSum ^ result) & (longValue ^ result)) < 0) {
+        numberSum = ns.add(numberSum, longSum);
+        longSum = longValue;
+      } else {
+        longSum = result;
+      }
+    } else {
+      numberSum = ns.add(numberSum, value);
+    }
+    updateMinMax(value);
   }
 
-  private boolean isEmpty() {
-    return count == 0;
+  private void updateMinMax(Number value) {
+    if (numberMin == null) {
+      numberMin = value;
+      numberMax = value;
+    } else if (ns.compare(value, numberMin) < 0) {
+      numberMin = value;
+    } else if (ns.compare(value, numberMax) > 0) {
+      numberMax = value;
+    }
+  }
+
+  private static boolean isLongValued(Number value) {
+    final Class<?> type = value.getClass();
+    return type == Long.class || type == Integer.class || type == Short.class || type == Byte.class;
   }
 
-  private void setQuantity(Quantity<Q> quantity) {
-    min = quantity;
-    max = quantity;
-    sum = quantity;
-    average = quantity;
+  private Number exactSum() {
+    if (primitive) {
+      return doubleSum.getSum();
+    }
+    return longSum == 0 ? numberSum : ns.add(numberSum, longSum);
+  }
+
+  private Number minValue() {
+    if (isEmpty()) {
+      return 0;
+    }
+    return primitive ? doubleMin : numberMin;
+  }
+
+  private Number maxValue() {
+    if (isEmpty()) {
+      return 0;
+    }
+    return primitive ? doubleMax : numberMax;
+  }
+
+  private Number averageValue() {
+    if (isEmpty()) {
+      return 0;
+    }
+    return primitive ? doubleSum.getSum() / count : ns.divide(exactSum(), count);
+  }
+
+  private boolean isEmpty() {
+    return count == 0;
   }
 
   /**
@@ -147,7 +260,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the minimal quantity
    */
   public Quantity<Q> getMin() {
-    return min;
+    return Quantities.getQuantity(minValue(), unit);
   }
 
   /**
@@ -158,7 +271,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the minimal quantity converted to this unit
    */
   public Quantity<Q> getMin(Unit<Q> unit) {
-    return min.to(unit);
+    return getMin().to(unit);
   }
 
   /**
@@ -167,7 +280,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the maximal quantity
    */
   public Quantity<Q> getMax() {
-    return max;
+    return Quantities.getQuantity(maxValue(), unit);
   }
 
   /**
@@ -178,7 +291,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the maximal quantity converted to this unit
    */
   public Quantity<Q> getMax(Unit<Q> unit) {
-    return max.to(unit);
+    return getMax().to(unit);
   }
 
   /**
@@ -187,7 +300,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the total amount
    */
   public Quantity<Q> getSum() {
-    return sum;
+    return Quantities.getQuantity(exactSum(), unit);
   }
 
   /**
@@ -198,16 +311,22 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the total amount converted to this unit
    */
   public Quantity<Q> getSum(Unit<Q> unit) {
-    return sum.to(unit);
+    return getSum().to(unit);
   }
 
   /**
    * Get the quantity average of all amounts added.
+   * <p>
+   * The average is computed on first request, and memoized until further values are recorded.
    * 
    * @return the quantity average quantity
    */
   public Quantity<Q> getAverage() {
-    return average;
+    Quantity<Q> result = average;
+    if (result == null) {
+      average = result = Quantities.getQuantity(averageValue(), unit);
+    }
+    return result;
   }
 
   /**
@@ -218,7 +337,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the average quantity converted to this unit
    */
   public Quantity<Q> getAverage(Unit<Q> unit) {
-    return average.to(unit);
+    return getAverage().to(unit);
   }
 
   /**
@@ -229,12 +348,24 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the summary converted to this unit
    */
   public QuantitySummaryStatistics<Q> to(Unit<Q> unit) {
-    QuantitySummaryStatistics<Q> summary = new QuantitySummaryStatistics<>(unit);
-    summary.average = average.to(unit);
+    final QuantitySummaryStatistics<Q> summary = new QuantitySummaryStatistics<>(unit);
+    if (isEmpty()) {
+      return summary;
+    }
+    final UnitConverter converter = this.unit.getConverterTo(unit);
+    // the converted sum is count times the converted average, which also holds for affine converters 
+    final Number convertedAverage = converter.convert(averageValue());
     summary.count = count;
-    summary.max = max.to(unit);
-    summary.min = min.to(unit);
-    summary.sum = sum.to(unit);
+    if (summary.primitive) {
+      final DoubleUnaryOperator operator = CachedConverters.toOperator(converter);
+      summary.doubleMin = operator.applyAsDouble(minValue().doubleValue());
+      summary.doubleMax = operator.applyAsDouble(maxValue().doubleValue());
+      summary.doubleSum.add(convertedAverage.doubleValue() * count);
+    } else {
+      summary.numberMin = converter.convert(minValue());
+      summary.numberMax = converter.convert(maxValue());
+      summary.numberSum = summary.ns.multiply(convertedAverage, count);
+    }
     return summary;
   }
 
@@ -246,25 +377,25 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
     if (QuantitySummaryStatistics.class.isInstance(obj)) {
       @SuppressWarnings("rawtypes")
       QuantitySummaryStatistics other = QuantitySummaryStatistics.class.cast(obj);
-      return Objects.equals(empty.getUnit(), other.empty.getUnit());
+      return Objects.equals(unit, other.unit);
     }
     return false;
   }
 
   @Override
   public int hashCode() {
-    return empty.getUnit().hashCode();
+    return unit.hashCode();
   }
 
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder();
-    sb.append("[unit: ").append(empty.getUnit()).append(",");
+    sb.append("[unit: ").append(unit).append(",");
     sb.append("count:").append(count).append(",");
-    sb.append("min:").append(min).append(",");
-    sb.append("max:").append(max).append(",");
-    sb.append("sum:").append(sum).append(",");
-    sb.append("average:").append(average).append("]");
+    sb.append("min:").append(getMin()).append(",");
+    sb.append("max:").append(getMax()).append(",");
+    sb.append("sum:").append(getSum()).append(",");
+    sb.append("average:").append(getAverage()).append("]");
     return sb.toString();
   }
 }
@@ -31,6 +31,7 @@ package tech.units.indriya.function;
 
 import java.math.BigInteger;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.DoubleSupplier;
 
 import javax.measure.UnitConverter;
@@ -57,6 +58,11 @@ implements MultiplyConverter {
      */
     private static final long serialVersionUID = -9192231963353351648L;
 
+    /**
+     * Interned converters for small factors, bounded by the interning cache of {@link RationalNumber}.
+     */
+    private static final ConcurrentHashMap<RationalNumber, RationalConverter> INTERNED = new ConcurrentHashMap<>();
+
 	/**
      * Holds the scale factor.
      */
@@ -114,6 +120,9 @@ implements MultiplyConverter {
      *           if factor is {@code null}
      */
     static RationalConverter of(RationalNumber factor) {
+        if (factor.isInterned()) {
+            return INTERNED.computeIfAbsent(factor, RationalConverter::new);
+        }
         return new RationalConverter(factor);
     }
 	
@@ -130,7 +139,7 @@ implements MultiplyConverter {
      *           if dividend is {@code null} or divisor is {@code null}
 	 */
 	static RationalConverter of(BigInteger dividend, BigInteger divisor) {
-		return new RationalConverter(dividend, divisor);
+		return of(RationalNumber.of(dividend, divisor));
 	}
 
 	/**
@@ -144,7 +153,7 @@ implements MultiplyConverter {
 	 *           if <code>divisor = 0</code>
 	 */
 	static RationalConverter of(long dividend, long divisor) {
-		return new RationalConverter(dividend, divisor);
+		return of(RationalNumber.of(dividend, divisor));
 	}
 
 	/**
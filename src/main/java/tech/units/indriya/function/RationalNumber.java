@@ -31,6 +31,7 @@ package tech.units.indriya.function;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.MathContext;
 import java.util.Objects;
 
 /**
@@ -38,28 +39,33 @@ import java.util.Objects;
  * and {@code divisor} being integer numbers.
  * <p>
  * @implSpec
- * This implementation uses {@link BigInteger} to represent 'dividend' and
- * 'divisor'.
+ * This implementation uses {@code long} to represent 'dividend' and 'divisor'
+ * whenever both fit, falling back to {@link BigInteger} otherwise. Arithmetic
+ * on the compact representation uses overflow-checked {@code long} operations
+ * and switches to {@link BigInteger} on overflow.
  * 
  * @author Andi Huber
  * @author Werner Keil
- * @version 1.2, June 21, 2019
+ * @version 1.3, October 18, 2026
  * @since 2.0
  */
 public final class RationalNumber extends Number {
 
 	private static final long serialVersionUID = 1L;
-	private final Object $lock1 = new Object[0]; // serializable lock for 'divisionResult'
-	private final Object $lock2 = new Object[0]; // serializable lock for 'longValue'
 
 	private final int signum;
+	// compact representation, in use if and only if absDividend == null
+	private final long absDividendLong;
+	private final long absDivisorLong;
+	// BigInteger representation, in use only if dividend or divisor do not fit into a long
 	private final BigInteger absDividend;
 	private final BigInteger absDivisor;
 	private final int hashCode;
 	private final boolean isInteger;
 
-	private transient BigDecimal divisionResult;
-	private transient Long longValue;
+	// lazily computed, racy single-check: concurrent recomputation yields equal values
+	private transient volatile Division divisionResult;
+	private transient volatile Long longValue;
 
 	/**
 	 * The default {@code DIVISION_CHARACTER} is ÷ which (on Windows) can by typed
@@ -69,9 +75,20 @@ public final class RationalNumber extends Number {
 	 */
 	public static char DIVISION_CHARACTER = '÷'; // Alt+ 246
 
+	// bounded interning caches of small values, lazily populated; racy publication is safe,
+	// since instances are immutable
+	private static final int INTEGER_CACHE_LOW = -128;
+	private static final int INTEGER_CACHE_HIGH = 1024;
+	private static final int FRACTION_CACHE_LIMIT = 16;
+	private static final RationalNumber[] INTEGER_CACHE = new RationalNumber[INTEGER_CACHE_HIGH - INTEGER_CACHE_LOW + 1];
+	private static final RationalNumber[] FRACTION_CACHE = new RationalNumber[(2 * FRACTION_CACHE_LIMIT + 1) * FRACTION_CACHE_LIMIT];
+
 	public final static RationalNumber ZERO = ofInteger(BigInteger.ZERO);
 	public final static RationalNumber ONE = ofInteger(BigInteger.ONE);
 
+	// largest long, up to which all longs are exactly representable as double
+	private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
 	/**
 	 * Returns a {@code RationalNumber} with divisor <i>ONE</i>. In other words,
 	 * returns a {@code RationalNumber} that represents given integer
@@ -82,7 +99,10 @@ public final class RationalNumber extends Number {
 	 * @throws NullPointerException - if number is {@code null}
 	 */
 	public static RationalNumber ofInteger(long number) {
-		return ofInteger(BigInteger.valueOf(number));
+		if (number == Long.MIN_VALUE) {
+			return ofInteger(BigInteger.valueOf(number));
+		}
+		return compact(Long.signum(number), Math.abs(number), 1L);
 	}
 
 	/**
@@ -96,7 +116,7 @@ public final class RationalNumber extends Number {
 	 */
 	public static RationalNumber ofInteger(BigInteger number) {
 		Objects.requireNonNull(number);
-		return new RationalNumber(number.signum(), number.abs(), BigInteger.ONE);
+		return create(number.signum(), number.abs(), BigInteger.ONE);
 	}
 
 	/**
@@ -109,7 +129,22 @@ public final class RationalNumber extends Number {
 	 * @throws IllegalArgumentException if <code>divisor = 0</code>
 	 */
 	public static RationalNumber of(long dividend, long divisor) {
-		return of(BigInteger.valueOf(dividend), BigInteger.valueOf(divisor));
+		if (dividend == Long.MIN_VALUE || divisor == Long.MIN_VALUE) {
+			return of(BigInteger.valueOf(dividend), BigInteger.valueOf(divisor));
+		}
+		if (divisor == 0L) {
+			throw new IllegalArgumentException("cannot initalize a rational number with divisor equal to ZERO");
+		}
+		final int signum = Long.signum(dividend) * Long.signum(divisor);
+		if (signum == 0) {
+			return ZERO;
+		}
+		final long absDividend = Math.abs(dividend);
+		final long absDivisor = Math.abs(divisor);
+
+		// cancel down
+		final long gcd = gcd(absDividend, absDivisor);
+		return compact(signum, absDividend / gcd, absDivisor / gcd);
 	}
 	
 	/**
@@ -163,6 +198,10 @@ public final class RationalNumber extends Number {
 		Objects.requireNonNull(dividend);
 		Objects.requireNonNull(divisor);
 
+		if (dividend.bitLength() < 63 && divisor.bitLength() < 63) {
+			return of(dividend.longValue(), divisor.longValue());
+		}
+
 		if (BigInteger.ONE.equals(divisor)) {
 			return ofInteger(dividend);
 		}
@@ -184,19 +223,126 @@ public final class RationalNumber extends Number {
 
 		// cancel down
 		final BigInteger gcd = absDividend.gcd(absDivisor);
-		return new RationalNumber(signum, absDividend.divide(gcd), absDivisor.divide(gcd));
+		return create(signum, absDividend.divide(gcd), absDivisor.divide(gcd));
 	}
 
-	// hidden constructor, that expects non-negative dividend and positive divisor,
-	// these already canceled down
+	// hidden factory, that expects non-negative dividend and positive divisor,
+	// these already canceled down; picks the compact representation if possible
+	private static RationalNumber create(int signum, BigInteger absDividend, BigInteger absDivisor) {
+		if (absDividend.bitLength() < 64 && absDivisor.bitLength() < 64) {
+			return compact(signum, absDividend.longValue(), absDivisor.longValue());
+		}
+		return new RationalNumber(signum, absDividend, absDivisor);
+	}
+
+	// hidden factory of the compact representation, that expects non-negative
+	// dividend and positive divisor, these already canceled down; interns small values
+	private static RationalNumber compact(int signum, long absDividend, long absDivisor) {
+		final RationalNumber[] cache;
+		final int index;
+		final long dividend = signum < 0 ? -absDividend : absDividend;
+		if (absDivisor == 1L && dividend >= INTEGER_CACHE_LOW && dividend <= INTEGER_CACHE_HIGH) {
+			cache = INTEGER_CACHE;
+			index = (int) dividend - INTEGER_CACHE_LOW;
+		} else if (absDivisor > 1L && absDivisor <= FRACTION_CACHE_LIMIT && absDividend <= FRACTION_CACHE_LIMIT) {
+			cache = FRACTION_CACHE;
+			index = ((int) dividend + FRACTION_CACHE_LIMIT) * FRACTION_CACHE_LIMIT + (int) absDivisor - 1;
+		} else {
+			return new RationalNumber(signum, absDividend, absDivisor);
+		}
+		RationalNumber interned = cache[index];
+		if (interned == null) {
+			cache[index] = interned = new RationalNumber(signum, absDividend, absDivisor);
+		}
+		return interned;
+	}
+
+	/**
+	 * @return whether this {@code RationalNumber} is a small value, which is interned
+	 */
+	boolean isInterned() {
+		if (!isCompact()) {
+			return false;
+		}
+		if (absDivisorLong == 1L) {
+			final long dividend = signum < 0 ? -absDividendLong : absDividendLong;
+			return dividend >= INTEGER_CACHE_LOW && dividend <= INTEGER_CACHE_HIGH;
+		}
+		return absDivisorLong > 1L && absDivisorLong <= FRACTION_CACHE_LIMIT && absDividendLong <= FRACTION_CACHE_LIMIT;
+	}
+
+	// hidden constructor of the compact representation, that expects non-negative
+	// dividend and positive divisor, these already canceled down
+	private RationalNumber(int signum, long absDividend, long absDivisor) {
+		this.signum = signum;
+		this.absDividendLong = absDividend;
+		this.absDivisorLong = absDivisor;
+		this.absDividend = null;
+		this.absDivisor = null;
+		this.hashCode = 31 * (31 * (31 + signum) + Long.hashCode(absDividend)) + Long.hashCode(absDivisor);
+		this.isInteger = absDivisor == 1L;
+	}
+
+	// hidden constructor of the BigInteger representation, that expects non-negative
+	// dividend and positive divisor, these already canceled down and not both fitting into a long
 	private RationalNumber(int signum, BigInteger absDividend, BigInteger absDivisor) {
 		this.signum = signum;
+		this.absDividendLong = 0L;
+		this.absDivisorLong = 0L;
 		this.absDividend = absDividend;
 		this.absDivisor = absDivisor;
 		this.hashCode = Objects.hash(signum, absDividend, absDivisor);
 		this.isInteger = BigInteger.ONE.equals(absDivisor);
 	}
 
+	// replaces instances of the former serial form by the compact representation, if possible,
+	// and small values by their interned instances
+	private Object readResolve() {
+		return isCompact() ? compact(signum, absDividendLong, absDivisorLong) : create(signum, absDividend, absDivisor);
+	}
+
+	private boolean isCompact() {
+		return absDividend == null;
+	}
+
+	private BigInteger absDividend() {
+		return isCompact() ? BigInteger.valueOf(absDividendLong) : absDividend;
+	}
+
+	private BigInteger absDivisor() {
+		return isCompact() ? BigInteger.valueOf(absDivisorLong) : absDivisor;
+	}
+
+	// greatest common divisor of non-negative a and b
+	private static long gcd(long a, long b) {
+		while (b != 0L) {
+			final long r = a % b;
+			a = b;
+			b = r;
+		}
+		return a;
+	}
+
+	// a^exponent for non-negative a and positive exponent, throws ArithmeticException on overflow
+	private static long powExact(long a, int exponent) {
+		if (a <= 1L) {
+			return a;
+		}
+		// square-and-multiply
+		long result = 1L;
+		long square = a;
+		while (true) {
+			if ((exponent & 1) != 0) {
+				result = Math.multiplyExact(result, square);
+			}
+			exponent >>>= 1;
+			if (exponent == 0) {
+				return result;
+			}
+			square = Math.multiplyExact(square, square);
+		}
+	}
+
 	/**
 	 * For a non-negative rational number, returns a non-negative dividend.
 	 * Otherwise returns a negative <i>dividend</i>. In other words, by convention,
@@ -206,6 +352,9 @@ public final class RationalNumber extends Number {
 	 * @return sign(a/b) * abs(a), (given rational number a/b)
 	 */
 	public BigInteger getDividend() {
+		if (isCompact()) {
+			return BigInteger.valueOf(signum < 0 ? -absDividendLong : absDividendLong);
+		}
 		return signum < 0 ? absDividend.negate() : absDividend;
 	}
 
@@ -215,7 +364,7 @@ public final class RationalNumber extends Number {
 	 * @return abs(b), (given rational number a/b)
 	 */
 	public BigInteger getDivisor() {
-		return absDivisor;
+		return absDivisor();
 	}
 
 	/**
@@ -242,15 +391,30 @@ public final class RationalNumber extends Number {
 	 *         representation 
 	 */
 	public BigDecimal bigDecimalValue() {
-		synchronized ($lock1) {
-			if (divisionResult == null) {
-				divisionResult = new BigDecimal(absDividend).divide(new BigDecimal(absDivisor), Calculus.MATH_CONTEXT);
-				if (signum < 0) {
-					divisionResult = divisionResult.negate();
-				}
+		// instances are shared, hence the result is only reused for the math context it was computed with
+		final MathContext context = Calculus.MATH_CONTEXT;
+		Division division = divisionResult;
+		if (division == null || !division.context.equals(context)) {
+			BigDecimal result = isCompact()
+					? BigDecimal.valueOf(absDividendLong).divide(BigDecimal.valueOf(absDivisorLong), context)
+					: new BigDecimal(absDividend).divide(new BigDecimal(absDivisor), context);
+			if (signum < 0) {
+				result = result.negate();
 			}
+			divisionResult = division = new Division(context, result);
+		}
+		return division.result;
+	}
+
+	// the result of the division with the math context it was computed with
+	private static final class Division {
+		private final MathContext context;
+		private final BigDecimal result;
+
+		private Division(MathContext context, BigDecimal result) {
+			this.context = context;
+			this.result = result;
 		}
-		return divisionResult;
 	}
 
 	/**
@@ -263,10 +427,20 @@ public final class RationalNumber extends Number {
 	public RationalNumber add(RationalNumber that) {
 
 		// a/b + c/d = (ad + bc) / bd
-		BigInteger a = this.absDividend;
-		BigInteger b = this.absDivisor;
-		BigInteger c = that.absDividend;
-		BigInteger d = that.absDivisor;
+		if (this.isCompact() && that.isCompact()) {
+			try {
+				final long ad = Math.multiplyExact(this.signum * this.absDividendLong, that.absDivisorLong);
+				final long bc = Math.multiplyExact(this.absDivisorLong, that.signum * that.absDividendLong);
+				return of(Math.addExact(ad, bc), Math.multiplyExact(this.absDivisorLong, that.absDivisorLong));
+			} catch (ArithmeticException overflow) {
+				// fall back to BigInteger arithmetic
+			}
+		}
+
+		BigInteger a = this.absDividend();
+		BigInteger b = this.absDivisor();
+		BigInteger c = that.absDividend();
+		BigInteger d = that.absDivisor();
 
 		if (this.signum < 0) {
 			a = a.negate();
@@ -306,10 +480,23 @@ public final class RationalNumber extends Number {
 		}
 
 		// a/b * c/d = ac / bd
-		final BigInteger a = this.absDividend;
-		final BigInteger b = this.absDivisor;
-		final BigInteger c = that.absDividend;
-		final BigInteger d = that.absDivisor;
+		if (this.isCompact() && that.isCompact()) {
+			// cancel down crosswise first, so the product is already canceled down
+			final long gcdAD = gcd(this.absDividendLong, that.absDivisorLong);
+			final long gcdCB = gcd(that.absDividendLong, this.absDivisorLong);
+			try {
+				return compact(productSignum,
+						Math.multiplyExact(this.absDividendLong / gcdAD, that.absDividendLong / gcdCB),
+						Math.multiplyExact(this.absDivisorLong / gcdCB, that.absDivisorLong / gcdAD));
+			} catch (ArithmeticException overflow) {
+				// fall back to BigInteger arithmetic
+			}
+		}
+
+		final BigInteger a = this.absDividend();
+		final BigInteger b = this.absDivisor();
+		final BigInteger c = that.absDividend();
+		final BigInteger d = that.absDivisor();
 
 		final BigInteger ac = a.multiply(c);
 		final BigInteger bd = b.multiply(d);
@@ -317,7 +504,7 @@ public final class RationalNumber extends Number {
 		// cancel down
 		final BigInteger gcd = ac.gcd(bd);
 
-		return new RationalNumber(productSignum, ac.divide(gcd), bd.divide(gcd));
+		return create(productSignum, ac.divide(gcd), bd.divide(gcd));
 	}
 
 	/**
@@ -338,7 +525,8 @@ public final class RationalNumber extends Number {
 	 * @return -this
 	 */
 	public RationalNumber negate() {
-		return new RationalNumber(-signum, absDividend, absDivisor);
+		return isCompact() ? compact(-signum, absDividendLong, absDivisorLong)
+				: new RationalNumber(-signum, absDividend, absDivisor);
 	}
 
 	/**
@@ -348,7 +536,8 @@ public final class RationalNumber extends Number {
 	 * @return 1/this
 	 */
 	public RationalNumber reciprocal() {
-		return new RationalNumber(signum, absDivisor, absDividend);
+		return isCompact() ? compact(signum, absDivisorLong, absDividendLong)
+				: new RationalNumber(signum, absDivisor, absDividend);
 	}
 
 	/**
@@ -377,12 +566,25 @@ public final class RationalNumber extends Number {
 			newSignum = 1;
 		}
 
-		if (exponent > 0) {
-			return new RationalNumber(newSignum, absDividend.pow(exponent), absDivisor.pow(exponent));
-		} else {
-			return new RationalNumber(newSignum, absDivisor.pow(exponent), absDividend.pow(exponent));
+		if (exponent == Integer.MIN_VALUE) {
+			throw new ArithmeticException("Exponent out of range: " + exponent);
+		}
+		final int absExponent = Math.abs(exponent);
+		if (isCompact()) {
+			try {
+				final long dividendPow = powExact(absDividendLong, absExponent);
+				final long divisorPow = powExact(absDivisorLong, absExponent);
+				return exponent > 0 ? compact(newSignum, dividendPow, divisorPow)
+						: compact(newSignum, divisorPow, dividendPow);
+			} catch (ArithmeticException overflow) {
+				// fall back to BigInteger arithmetic
+			}
 		}
 
+		final BigInteger dividendPow = absDividend().pow(absExponent);
+		final BigInteger divisorPow = absDivisor().pow(absExponent);
+		return exponent > 0 ? create(newSignum, dividendPow, divisorPow) : create(newSignum, divisorPow, dividendPow);
+
 	}
 
 	/**
@@ -392,7 +594,7 @@ public final class RationalNumber extends Number {
 	 * @return {@code abs(this)}
 	 */
 	public RationalNumber abs() {
-		return signum < 0 ? new RationalNumber(1, absDividend, absDivisor) : this;
+		return signum < 0 ? negate() : this;
 	}
 
 	/**
@@ -417,15 +619,26 @@ public final class RationalNumber extends Number {
 
 		// a/b > c/d <=> ad > bc
 
-		final BigInteger a = this.absDividend;
-		final BigInteger b = this.absDivisor;
-		final BigInteger c = that.absDividend;
-		final BigInteger d = that.absDivisor;
+		int absCompare;
+		if (this.isCompact() && that.isCompact()) {
+			try {
+				absCompare = Long.compare(Math.multiplyExact(this.absDividendLong, that.absDivisorLong),
+						Math.multiplyExact(this.absDivisorLong, that.absDividendLong));
+				return this.signum > 0 ? absCompare : -absCompare;
+			} catch (ArithmeticException overflow) {
+				// fall back to BigInteger arithmetic
+			}
+		}
+
+		final BigInteger a = this.absDividend();
+		final BigInteger b = this.absDivisor();
+		final BigInteger c = that.absDividend();
+		final BigInteger d = that.absDivisor();
 
 		final BigInteger ad = a.multiply(d);
 		final BigInteger bc = b.multiply(c);
 
-		final int absCompare = ad.compareTo(bc);
+		absCompare = ad.compareTo(bc);
 
 		return this.signum > 0 ? absCompare : -absCompare;
 	}
@@ -441,13 +654,17 @@ public final class RationalNumber extends Number {
 	public long longValue() {
 		// performance optimized version, rounding mode is FLOOR
 		// equivalent to 'bigDecimalValue().longValue()';
-		synchronized ($lock2) {
-			if (longValue == null) {
-				longValue = signum() < 0 ? absDividend.negate().divide(absDivisor).longValue()
-						: absDividend.divide(absDivisor).longValue();
-			}
+		if (isCompact()) {
+			final long quotient = absDividendLong / absDivisorLong;
+			return signum < 0 ? -quotient : quotient;
 		}
-		return longValue;
+		Long result = longValue;
+		if (result == null) {
+			result = signum() < 0 ? absDividend.negate().divide(absDivisor).longValue()
+					: absDividend.divide(absDivisor).longValue();
+			longValue = result;
+		}
+		return result;
 	}
 
 	@Override
@@ -457,6 +674,11 @@ public final class RationalNumber extends Number {
 
 	@Override
 	public double doubleValue() {
+		if (isCompact() && absDividendLong <= MAX_EXACT_DOUBLE && absDivisorLong <= MAX_EXACT_DOUBLE) {
+			// both operands are exact doubles, hence the division is correctly rounded
+			final double quotient = (double) absDividendLong / (double) absDivisorLong;
+			return signum < 0 ? -quotient : quotient;
+		}
 		return bigDecimalValue().doubleValue();
 	}
 
@@ -477,7 +699,7 @@ public final class RationalNumber extends Number {
 			return getDividend().toString(); // already includes the sign
 		}
 		if (useFractionalRepresentation) {
-			return getDividend().toString() + divisionCharacter + absDivisor;
+			return getDividend().toString() + divisionCharacter + getDivisor();
 		} else {
 			return String.valueOf(bigDecimalValue());
 		}
@@ -539,6 +761,11 @@ public final class RationalNumber extends Number {
 
         final RationalNumber other = (RationalNumber) x;
         
+        if (this.isCompact() && other.isCompact() && this.signum == other.signum
+                && this.absDividendLong == other.absDividendLong && this.absDivisorLong == other.absDivisorLong) {
+            return true; // same canceled down representation
+        }
+        
 //        // null checks not needed, since the constructor guards against dividend or divisor being null
 //        boolean result = (
 //                this.signum == other.signum &&
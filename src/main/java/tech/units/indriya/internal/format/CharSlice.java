@@ -0,0 +1,160 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.internal.format;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apiguardian.api.API;
+
+/**
+ * A read-only {@link CharSequence} view on a range of characters or of single-byte (ASCII or ISO-8859-1) encoded text, which allows to
+ * parse a slice of a larger buffer without copying it into a {@link String} first.
+ * <p>
+ * The view is backed by its source, so changes to the source are visible through the view.
+ *
+ * @since 2.2
+ */
+@API(status=INTERNAL)
+public abstract class CharSlice implements CharSequence {
+
+    final int offset;
+    final int length;
+
+    private CharSlice(int offset, int length) {
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Returns a view on the characters {@code start} (inclusive) to {@code end} (exclusive) of the given sequence.
+     *
+     * @param csq the characters, not null.
+     * @param start the index of the first character.
+     * @param end the index after the last character.
+     * @return the view, or {@code csq} itself if the range covers all of it.
+     * @throws IndexOutOfBoundsException if the range is not within {@code csq}.
+     */
+    public static CharSequence of(CharSequence csq, int start, int end) {
+        checkRange(start, end, csq.length());
+        if (start == 0 && end == csq.length()) {
+            return csq;
+        }
+        if (csq instanceof Chars) {
+            final Chars chars = (Chars) csq;
+            return new Chars(chars.csq, chars.offset + start, end - start);
+        }
+        return new Chars(csq, start, end - start);
+    }
+
+    /**
+     * Returns a view on {@code length} single-byte encoded characters of the given array, starting at {@code offset}.
+     *
+     * @param bytes the ASCII or ISO-8859-1 encoded characters, not null.
+     * @param offset the index of the first byte.
+     * @param length the number of bytes.
+     * @return the view.
+     * @throws IndexOutOfBoundsException if the range is not within {@code bytes}.
+     */
+    public static CharSequence ofAscii(byte[] bytes, int offset, int length) {
+        checkRange(offset, offset + length, bytes.length);
+        return new Bytes(bytes, offset, length);
+    }
+
+    @Override
+    public final int length() {
+        return length;
+    }
+
+    final void checkIndex(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+    }
+
+    static void checkRange(int start, int end, int length) {
+        if (start < 0 || start > end || end > length) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+        }
+    }
+
+    private static final class Chars extends CharSlice {
+        private final CharSequence csq;
+
+        private Chars(CharSequence csq, int offset, int length) {
+            super(offset, length);
+            this.csq = csq;
+        }
+
+        @Override
+        public char charAt(int index) {
+            checkIndex(index);
+            return csq.charAt(offset + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            checkRange(start, end, length);
+            return new Chars(csq, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return csq.subSequence(offset, offset + length).toString();
+        }
+    }
+
+    private static final class Bytes extends CharSlice {
+        private final byte[] bytes;
+
+        private Bytes(byte[] bytes, int offset, int length) {
+            super(offset, length);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public char charAt(int index) {
+            checkIndex(index);
+            return (char) (bytes[offset + index] & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            checkRange(start, end, length);
+            return new Bytes(bytes, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
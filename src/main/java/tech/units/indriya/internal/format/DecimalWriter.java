@@ -0,0 +1,530 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.internal.format;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.apiguardian.api.API;
+
+import tech.units.indriya.function.RationalNumber;
+
+/**
+ * Writes numbers in a locale-neutral way into a {@link StringBuilder} or a byte array, without intermediate <code>String</code> objects
+ * for {@code double} and integer values.
+ * <p>
+ * A {@code double} is written with the fewest significant digits that parse back to the same value, using the layout of
+ * {@link Double#toString(double)}, for example {@code 0.1}, {@code 100.0} or {@code 1.0E-5}. When there are several such decimals, the
+ * one closest to the value is chosen. This is the Schubfach algorithm by Raffaello Giulietti, which {@link Double#toString(double)} only
+ * uses as of Java 19. All other numbers are written like their {@link Object#toString() toString()} method does.
+ *
+ * @since 2.2
+ */
+@API(status=INTERNAL)
+public final class DecimalWriter {
+
+    /**
+     * The maximum number of characters written for a {@code double}, as in {@code -2.2250738585072014E-308}.
+     */
+    public static final int MAX_DOUBLE_LENGTH = 24;
+
+    /**
+     * The maximum number of characters written for a {@code long}, as in {@code -9223372036854775808}.
+     */
+    public static final int MAX_LONG_LENGTH = 20;
+
+    private static final int P = 53;
+    private static final int Q_MIN = -1074;
+    private static final long C_MIN = 1L << P - 1;
+    private static final long C_TINY = 3;
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    private static final long MASK_63 = (1L << 63) - 1;
+    private static final int BQ_MASK = (1 << 11) - 1;
+    private static final long T_MASK = (1L << P - 1) - 1;
+
+    /** the smallest and largest decimal exponent, which {@link Double#toString(double)} writes without exponent */
+    private static final int PLAIN_MIN_EXP = -3;
+    private static final int PLAIN_MAX_EXP = 7;
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    /**
+     * For each {@code k} from {@link #K_MIN} to {@link #K_MAX}, the high and low 63 bits of {@code g = floor(10^-k 2^-r) + 1}, where
+     * {@code r} is chosen such that {@code 2^125 <= g - 1 < 2^126}.
+     */
+    private static final long[] G = new long[2 * (K_MAX - K_MIN + 1)];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            final int e = -k;
+            final int r = flog2pow10(e) - 125;
+            final BigInteger g;
+            if (e >= 0) {
+                final BigInteger pow = BigInteger.TEN.pow(e);
+                g = r >= 0 ? pow.shiftRight(r) : pow.shiftLeft(-r);
+            } else {
+                g = BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(-e));
+            }
+            final BigInteger g1 = g.add(BigInteger.ONE);
+            G[2 * (k - K_MIN)] = g1.shiftRight(63).longValue();
+            G[2 * (k - K_MIN) + 1] = g1.longValue() & MASK_63;
+        }
+    }
+
+    private DecimalWriter() {
+    }
+
+    // ///////////////////////////////////////
+    // StringBuilder sink.
+
+    /**
+     * Appends the given number to the given <code>StringBuilder</code>.
+     *
+     * @param dest
+     *          the destination.
+     * @param number
+     *          the number to append.
+     * @return the destination.
+     */
+    public static StringBuilder append(StringBuilder dest, Number number) {
+        if (number instanceof Double) {
+            return append(dest, number.doubleValue());
+        }
+        if (isLong(number)) {
+            return dest.append(number.longValue());
+        }
+        if (number instanceof Float) {
+            return dest.append(number.floatValue());
+        }
+        return dest.append(number);
+    }
+
+    /**
+     * Appends the shortest decimal representation of the given value, which parses back to the same value, to the given
+     * <code>StringBuilder</code>.
+     *
+     * @param dest
+     *          the destination.
+     * @param value
+     *          the value to append.
+     * @return the destination.
+     */
+    public static StringBuilder append(StringBuilder dest, double value) {
+        final long bits = Double.doubleToRawLongBits(value);
+        final int bq = (int) (bits >>> P - 1) & BQ_MASK;
+        if (bq == BQ_MASK) {
+            return dest.append(value);
+        }
+        if (bits < 0) {
+            dest.append('-');
+        }
+        long f = significand(bits, bq);
+        if (f == 0) {
+            return dest.append("0.0");
+        }
+        int e = exponent(bits, bq);
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+        final int n = digits(f);
+        final int x = e + n - 1;
+        final int start = dest.length();
+        if (x < PLAIN_MIN_EXP || x >= PLAIN_MAX_EXP) {
+            dest.append(f);
+            if (n > 1) {
+                dest.insert(start + 1, '.');
+            } else {
+                dest.append(".0");
+            }
+            return dest.append('E').append(x);
+        }
+        if (x < 0) {
+            dest.append("0.");
+            for (int i = -1; i > x; i--) {
+                dest.append('0');
+            }
+            return dest.append(f);
+        }
+        dest.append(f);
+        if (n > x + 1) {
+            return dest.insert(start + x + 1, '.');
+        }
+        for (int i = n; i <= x; i++) {
+            dest.append('0');
+        }
+        return dest.append(".0");
+    }
+
+    // ///////////////////////////////////////
+    // Byte array sink.
+
+    /**
+     * Writes the given number as ASCII characters into the given array.
+     *
+     * @param dest
+     *          the destination.
+     * @param offset
+     *          the index of the first character to write.
+     * @param number
+     *          the number to write.
+     * @return the index after the last character written.
+     * @throws IndexOutOfBoundsException
+     *           if the array is too small.
+     */
+    public static int write(byte[] dest, int offset, Number number) {
+        if (number instanceof Double) {
+            return write(dest, offset, number.doubleValue());
+        }
+        if (isLong(number)) {
+            return write(dest, offset, number.longValue());
+        }
+        return write(dest, offset, number.toString());
+    }
+
+    /**
+     * Writes the given value as ASCII characters into the given array.
+     *
+     * @param dest
+     *          the destination.
+     * @param offset
+     *          the index of the first character to write.
+     * @param value
+     *          the value to write.
+     * @return the index after the last character written.
+     * @throws IndexOutOfBoundsException
+     *           if the array is too small.
+     */
+    public static int write(byte[] dest, int offset, long value) {
+        if (value == Long.MIN_VALUE) {
+            return write(dest, offset, "-9223372036854775808");
+        }
+        int pos = offset;
+        if (value < 0) {
+            dest[pos++] = '-';
+            value = -value;
+        }
+        final int end = pos + digits(value);
+        writeDigits(dest, end, value, end - pos);
+        return end;
+    }
+
+    /**
+     * Writes the shortest decimal representation of the given value, which parses back to the same value, as ASCII characters into the
+     * given array.
+     *
+     * @param dest
+     *          the destination.
+     * @param offset
+     *          the index of the first character to write.
+     * @param value
+     *          the value to write.
+     * @return the index after the last character written.
+     * @throws IndexOutOfBoundsException
+     *           if the array is too small.
+     */
+    public static int write(byte[] dest, int offset, double value) {
+        final long bits = Double.doubleToRawLongBits(value);
+        final int bq = (int) (bits >>> P - 1) & BQ_MASK;
+        if (bq == BQ_MASK) {
+            return write(dest, offset, Double.toString(value));
+        }
+        int pos = offset;
+        if (bits < 0) {
+            dest[pos++] = '-';
+        }
+        long f = significand(bits, bq);
+        if (f == 0) {
+            return write(dest, pos, "0.0");
+        }
+        int e = exponent(bits, bq);
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+        final int n = digits(f);
+        final int x = e + n - 1;
+        if (x < PLAIN_MIN_EXP || x >= PLAIN_MAX_EXP) {
+            pos = writePoint(dest, pos, f, n, 1);
+            dest[pos++] = 'E';
+            return write(dest, pos, x);
+        }
+        if (x < 0) {
+            dest[pos++] = '0';
+            dest[pos++] = '.';
+            for (int i = -1; i > x; i--) {
+                dest[pos++] = '0';
+            }
+            pos += n;
+            writeDigits(dest, pos, f, n);
+            return pos;
+        }
+        if (n > x + 1) {
+            return writePoint(dest, pos, f, n, x + 1);
+        }
+        pos += n;
+        writeDigits(dest, pos, f, n);
+        for (int i = n; i <= x; i++) {
+            dest[pos++] = '0';
+        }
+        dest[pos++] = '.';
+        dest[pos++] = '0';
+        return pos;
+    }
+
+    /**
+     * Writes the given text UTF-8 encoded into the given array, which is plain ASCII for numbers and most unit symbols.
+     *
+     * @param dest
+     *          the destination.
+     * @param offset
+     *          the index of the first byte to write.
+     * @param text
+     *          the text to write.
+     * @return the index after the last byte written.
+     * @throws IndexOutOfBoundsException
+     *           if the array is too small.
+     */
+    public static int write(byte[] dest, int offset, CharSequence text) {
+        int pos = offset;
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            if (c < 0x80) {
+                dest[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                dest[pos++] = (byte) (0xc0 | c >> 6);
+                dest[pos++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                final int cp = Character.toCodePoint(c, text.charAt(++i));
+                dest[pos++] = (byte) (0xf0 | cp >> 18);
+                dest[pos++] = (byte) (0x80 | cp >> 12 & 0x3f);
+                dest[pos++] = (byte) (0x80 | cp >> 6 & 0x3f);
+                dest[pos++] = (byte) (0x80 | cp & 0x3f);
+            } else if (Character.isSurrogate(c)) {
+                dest[pos++] = '?';
+            } else {
+                dest[pos++] = (byte) (0xe0 | c >> 12);
+                dest[pos++] = (byte) (0x80 | c >> 6 & 0x3f);
+                dest[pos++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+        return pos;
+    }
+
+    // writes the n digits of f with a decimal point after the first digits, and at least one digit after the point
+    private static int writePoint(byte[] dest, int pos, long f, int n, int digits) {
+        final long pow = POWERS_OF_TEN[n - digits];
+        writeDigits(dest, pos + digits, f / pow, digits);
+        pos += digits;
+        dest[pos++] = '.';
+        if (n == digits) {
+            dest[pos++] = '0';
+            return pos;
+        }
+        writeDigits(dest, pos + n - digits, f % pow, n - digits);
+        return pos + n - digits;
+    }
+
+    // writes count digits of the non-negative value backwards, ending before end, padded with leading zeros
+    private static void writeDigits(byte[] dest, int end, long value, int count) {
+        final int start = end - count;
+        int i = end;
+        // int arithmetic for chunks of 8 digits
+        while (value > Integer.MAX_VALUE) {
+            final long quotient = value / 100_000_000;
+            int chunk = (int) (value - quotient * 100_000_000);
+            for (int j = 0; j < 8; j++) {
+                final int q = chunk / 10;
+                dest[--i] = (byte) ('0' + chunk - q * 10);
+                chunk = q;
+            }
+            value = quotient;
+        }
+        int rest = (int) value;
+        while (i > start) {
+            final int q = rest / 10;
+            dest[--i] = (byte) ('0' + rest - q * 10);
+            rest = q;
+        }
+    }
+
+    // returns the number of digits of the non-negative value
+    private static int digits(long value) {
+        int n = 1;
+        while (n < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[n]) {
+            n++;
+        }
+        return n;
+    }
+
+    // returns whether the number is written like a long
+    private static boolean isLong(Number number) {
+        if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte) {
+            return true;
+        }
+        if (number instanceof BigInteger) {
+            return ((BigInteger) number).bitLength() < 64;
+        }
+        if (number instanceof RationalNumber) {
+            // integers, which fit into a long, are written like one
+            final RationalNumber rational = (RationalNumber) number;
+            return rational.isInteger() && Math.abs(rational.doubleValue()) < 0x1p62;
+        }
+        return false;
+    }
+
+    // ///////////////////////////////////////
+    // Schubfach.
+    //
+    // The shortest decimal of a finite double is f 10^e, with the significand f and the exponent e computed separately.
+
+    // returns the significand of the shortest decimal, 0 for zero
+    private static long significand(long bits, int bq) {
+        final long t = bits & T_MASK;
+        if (bq != 0) {
+            // normal value, c 2^-mq with C_MIN <= c < 2 C_MIN
+            final int mq = -Q_MIN + 1 - bq;
+            final long c = C_MIN | t;
+            if (0 < mq & mq < P) {
+                final long f = c >> mq;
+                if (f << mq == c) {
+                    // an integer
+                    return f;
+                }
+            }
+            return toDecimal(-mq, c, 0);
+        }
+        if (t == 0) {
+            return 0;
+        }
+        // subnormal value, which keeps two digits if tiny, like 4.9E-324
+        return t < C_TINY ? toDecimal(Q_MIN, 10 * t, -1) : toDecimal(Q_MIN, t, 0);
+    }
+
+    // returns the exponent of the shortest decimal, for the significand returned by significand(bits, bq)
+    private static int exponent(long bits, int bq) {
+        final long t = bits & T_MASK;
+        if (bq != 0) {
+            final int mq = -Q_MIN + 1 - bq;
+            final long c = C_MIN | t;
+            if (0 < mq & mq < P && (c >> mq) << mq == c) {
+                return 0;
+            }
+            return c != C_MIN | -mq == Q_MIN ? flog10pow2(-mq) : flog10threeQuartersPow2(-mq);
+        }
+        return t < C_TINY ? flog10pow2(Q_MIN) - 1 : flog10pow2(Q_MIN);
+    }
+
+    // returns the significand for the exponent k + dk
+    private static long toDecimal(int q, long c, int dk) {
+        final int out = (int) c & 1;
+        final long cb = c << 2;
+        final long cbr = cb + 2;
+        final long cbl;
+        final int k;
+        if (c != C_MIN | q == Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        final int h = q + flog2pow10(-k) + 2;
+        final int i = 2 * (k - K_MIN);
+        final long g1 = G[i];
+        final long g0 = G[i + 1];
+        final long vb = rop(g1, g0, cb << h);
+        final long vbl = rop(g1, g0, cbl << h);
+        final long vbr = rop(g1, g0, cbr << h);
+        final long s = vb >> 2;
+        if (s >= 100) {
+            final long sp10 = s / 10 * 10;
+            final long tp10 = sp10 + 10;
+            final boolean upin = vbl + out <= sp10 << 2;
+            final boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                // the exponent is k rather than k + dk
+                return (upin ? sp10 : tp10) * (dk < 0 ? 10 : 1);
+            }
+        }
+        final long t = s + 1;
+        final boolean uin = vbl + out <= s << 2;
+        final boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return uin ? s : t;
+        }
+        final long cmp = vb - (s + t << 1);
+        return cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t;
+    }
+
+    private static long rop(long g1, long g0, long cp) {
+        final long x1 = multiplyHigh(g0, cp);
+        final long y0 = g1 * cp;
+        final long y1 = multiplyHigh(g1, cp);
+        final long z = (y0 >>> 1) + x1;
+        final long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    // the high 64 bits of the product of two non-negative values, like Math.multiplyHigh as of Java 9
+    private static long multiplyHigh(long x, long y) {
+        final long x1 = x >>> 32;
+        final long x2 = x & 0xffffffffL;
+        final long y1 = y >>> 32;
+        final long y2 = y & 0xffffffffL;
+        final long z2 = x2 * y2;
+        final long t = x1 * y2 + (z2 >>> 32);
+        final long z1 = (t & 0xffffffffL) + x2 * y1;
+        return x1 * y1 + (t >>> 32) + (z1 >>> 32);
+    }
+
+    // floor(e log10(2))
+    private static int flog10pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    // floor(e log10(2) + log10(3/4))
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    // floor(e log2(10))
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+}
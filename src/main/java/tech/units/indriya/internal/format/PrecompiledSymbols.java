@@ -0,0 +1,190 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.internal.format;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import javax.measure.BinaryPrefix;
+import javax.measure.MetricPrefix;
+import javax.measure.Prefix;
+import javax.measure.Unit;
+
+import org.apiguardian.api.API;
+
+import tech.units.indriya.format.SymbolMap;
+import tech.units.indriya.unit.Units;
+
+/**
+ * Resolves the keys of the resource bundles read by {@link SymbolMap} to units and prefixes without reflection.
+ * <p>
+ * The keys of the bundles shipped with this implementation name fields of {@link Units}, {@link MetricPrefix} and {@link BinaryPrefix}. These
+ * are looked up in a precompiled table, so that creating the default unit formats loads no field by reflection. Keys naming other classes are
+ * left to the caller, which reads them reflectively as before.
+ * <p>
+ * The table is written by hand, not generated. When a unit is added to {@link Units}, its case must be added here as well; the
+ * {@code PrecompiledSymbolsTest} fails for any field of {@link Units} or key of the shipped bundles that the table does not resolve to the
+ * same value as reflection.
+ *
+ * @since 2.2
+ */
+@API(status=INTERNAL)
+public final class PrecompiledSymbols {
+
+  private PrecompiledSymbols() {
+  }
+
+  /**
+   * Returns the value of the given static field if it is a known unit or prefix.
+   *
+   * @param className
+   *          the fully-qualified name of the class declaring the field.
+   * @param fieldName
+   *          the name of the field.
+   * @return the {@link Unit} or {@link Prefix}, or <code>null</code> if the field is not in the table.
+   */
+  public static Object resolve(String className, String fieldName) {
+    switch (className) {
+      case "tech.units.indriya.unit.Units":
+        return unit(fieldName);
+      case "javax.measure.MetricPrefix":
+        // some bundles name DEKA, which is only a method, not a field; left to the reflective lookup, which fails as before
+        return prefix(MetricPrefix.values(), fieldName);
+      case "javax.measure.BinaryPrefix":
+        return prefix(BinaryPrefix.values(), fieldName);
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Returns the enum constant of the given name, or <code>null</code> if none.
+   */
+  private static <P extends Enum<P> & Prefix> Prefix prefix(P[] values, String name) {
+    for (P prefix : values) {
+      if (prefix.name().equals(name)) {
+        return prefix;
+      }
+    }
+    return null;
+  }
+
+  private static Unit<?> unit(String fieldName) {
+    switch (fieldName) {
+      case "AMPERE":
+        return Units.AMPERE;
+      case "CANDELA":
+        return Units.CANDELA;
+      case "KELVIN":
+        return Units.KELVIN;
+      case "KILOGRAM":
+        return Units.KILOGRAM;
+      case "METRE":
+        return Units.METRE;
+      case "MOLE":
+        return Units.MOLE;
+      case "SECOND":
+        return Units.SECOND;
+      case "GRAM":
+        return Units.GRAM;
+      case "RADIAN":
+        return Units.RADIAN;
+      case "STERADIAN":
+        return Units.STERADIAN;
+      case "HERTZ":
+        return Units.HERTZ;
+      case "NEWTON":
+        return Units.NEWTON;
+      case "PASCAL":
+        return Units.PASCAL;
+      case "JOULE":
+        return Units.JOULE;
+      case "WATT":
+        return Units.WATT;
+      case "COULOMB":
+        return Units.COULOMB;
+      case "VOLT":
+        return Units.VOLT;
+      case "FARAD":
+        return Units.FARAD;
+      case "OHM":
+        return Units.OHM;
+      case "SIEMENS":
+        return Units.SIEMENS;
+      case "WEBER":
+        return Units.WEBER;
+      case "TESLA":
+        return Units.TESLA;
+      case "HENRY":
+        return Units.HENRY;
+      case "CELSIUS":
+        return Units.CELSIUS;
+      case "LUMEN":
+        return Units.LUMEN;
+      case "LUX":
+        return Units.LUX;
+      case "BECQUEREL":
+        return Units.BECQUEREL;
+      case "GRAY":
+        return Units.GRAY;
+      case "SIEVERT":
+        return Units.SIEVERT;
+      case "KATAL":
+        return Units.KATAL;
+      case "METRE_PER_SECOND":
+        return Units.METRE_PER_SECOND;
+      case "METRE_PER_SQUARE_SECOND":
+        return Units.METRE_PER_SQUARE_SECOND;
+      case "SQUARE_METRE":
+        return Units.SQUARE_METRE;
+      case "CUBIC_METRE":
+        return Units.CUBIC_METRE;
+      case "KILOMETRE_PER_HOUR":
+        return Units.KILOMETRE_PER_HOUR;
+      case "PERCENT":
+        return Units.PERCENT;
+      case "MINUTE":
+        return Units.MINUTE;
+      case "HOUR":
+        return Units.HOUR;
+      case "DAY":
+        return Units.DAY;
+      case "WEEK":
+        return Units.WEEK;
+      case "YEAR":
+        return Units.YEAR;
+      case "MONTH":
+        return Units.MONTH;
+      case "LITRE":
+        return Units.LITRE;
+      default:
+        return null;
+    }
+  }
+}
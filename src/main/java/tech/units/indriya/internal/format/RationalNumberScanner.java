@@ -36,7 +36,6 @@ import java.math.BigInteger;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.text.ParsePosition;
-import java.util.Stack;
 
 import javax.measure.format.MeasurementParseException;
 
@@ -99,50 +98,122 @@ public class RationalNumberScanner {
 
     public Number getNumber() {
         
-        Stack<String> numberLiterals = new Stack<>();
-                
-        do {
-            int startDecimal = scanForStart(cursor.getIndex());
-            int endDecimal = scanForEnd(startDecimal+1);
-            
-            String numberLiteral = csq.subSequence(startDecimal, endDecimal).toString();
-            
-            numberLiterals.push(numberLiteral);
-            
-        } while (divisionCharacterDetected);
-        
-        if(numberLiterals.size()==2) {
+        // scans the literals by their index ranges, to not create intermediate Strings
+
+        final int startDecimal = scanForStart(cursor.getIndex());
+        final int endDecimal = scanForEnd(startDecimal+1);
+
+        if(divisionCharacterDetected) {
             // parsing RationalNumber
-            
-            BigInteger divisor = new BigInteger(numberLiterals.pop());
-            BigInteger dividend = new BigInteger(numberLiterals.pop());
+
+            final int startDivisor = scanForStart(cursor.getIndex());
+            final int endDivisor = scanForEnd(startDivisor+1);
+            if(divisionCharacterDetected) {
+                throw new MeasurementParseException("Unexpected number of number-literals in '" + csq + "'");
+            }
+            BigInteger divisor = parseBigInteger(startDivisor, endDivisor);
+            BigInteger dividend = parseBigInteger(startDecimal, endDecimal);
             return RationalNumber.of(dividend, divisor);
         }
 
-        if(numberLiterals.size()==1) {
-            // parsing decimal number
-            
-            String numberLiteral = numberLiterals.pop();
-            
-            if(numberFormat==null) {
-                try {
-                    Number bigDecimal = new BigDecimal(numberLiteral);
-                    return Calculator.of(bigDecimal).peek();
-                } catch (Exception e) {
-                    throw new MeasurementParseException("Failed to parse number-literal '"+numberLiteral+"'.");
-                }
-            } 
-            
+        // parsing decimal number
+
+        if(numberFormat==null) {
             try {
-                return numberFormat.parse(numberLiteral);
-            } catch (ParseException e) {
-                throw new MeasurementParseException(e);
+                Number bigDecimal = parseBigDecimal(startDecimal, endDecimal);
+                return Calculator.of(bigDecimal).peek();
+            } catch (Exception e) {
+                throw new MeasurementParseException("Failed to parse number-literal '"+literal(startDecimal, endDecimal)+"'.");
             }
-            
         }
-        
-        throw new MeasurementParseException("Unexpected number of number-literals in '" + csq + "'");
-        
+
+        try {
+            return numberFormat.parse(literal(startDecimal, endDecimal));
+        } catch (ParseException e) {
+            throw new MeasurementParseException(e);
+        }
+    }
+
+    private String literal(int start, int end) {
+        return csq.subSequence(start, Math.min(end, csq.length())).toString();
+    }
+
+    private BigInteger parseBigInteger(int start, int end) {
+        final long value = parseLong(start, end);
+        return value != NOT_A_LONG ? BigInteger.valueOf(value) : new BigInteger(literal(start, end));
+    }
+
+    /**
+     * Parses decimal literals of up to 18 significant digits without creating a String, longer or unusual ones are left to
+     * {@link BigDecimal#BigDecimal(String)}.
+     */
+    private BigDecimal parseBigDecimal(int start, int end) {
+        end = Math.min(end, csq.length());
+        int i = start;
+        final boolean negative = i < end && csq.charAt(i) == '-';
+        if (i < end && (negative || csq.charAt(i) == '+')) {
+            i++;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean fraction = false;
+        boolean anyDigit = false;
+        for (; i < end; i++) {
+            final char c = csq.charAt(i);
+            if (c >= '0' && c <= '9') {
+                unscaled = unscaled * 10 + (c - '0');
+                anyDigit = true;
+                if (fraction) {
+                    scale++;
+                }
+                if (unscaled != 0 && ++digits > MAX_LONG_DIGITS) {
+                    return new BigDecimal(literal(start, end));
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else if ((c == 'e' || c == 'E') && i < end - 1) {
+                final long exponent = parseLong(i + 1, end);
+                if (exponent == NOT_A_LONG || Math.abs(exponent) > 999_999) {
+                    return new BigDecimal(literal(start, end));
+                }
+                scale -= (int) exponent;
+                break;
+            } else {
+                return new BigDecimal(literal(start, end));
+            }
+        }
+        if (!anyDigit) {
+            return new BigDecimal(literal(start, end));
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+    }
+
+    private static final long NOT_A_LONG = Long.MIN_VALUE;
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /**
+     * @return the value of the integer literal, or {@link #NOT_A_LONG} if it is no (or a too long) integer literal
+     */
+    private long parseLong(int start, int end) {
+        end = Math.min(end, csq.length());
+        int i = start;
+        final boolean negative = i < end && csq.charAt(i) == '-';
+        if (i < end && (negative || csq.charAt(i) == '+')) {
+            i++;
+        }
+        if (i == end || end - i > MAX_LONG_DIGITS) {
+            return NOT_A_LONG;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            final char c = csq.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_A_LONG;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
     }
     
 }
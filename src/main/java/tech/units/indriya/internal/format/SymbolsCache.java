@@ -0,0 +1,127 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.internal.format;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apiguardian.api.API;
+
+import tech.units.indriya.internal.function.SecondChanceCache;
+
+/**
+ * A bounded, concurrent cache of the results of parsing or formatting with the symbols of a format, such as units by their source text.
+ * <p>
+ * Entries depend on the symbols used, which are identified by a version number. Passing a changed version to {@link #stamp(int)} clears the
+ * cache; results computed while it was cleared are discarded by {@link #put(Object, Object, int)}, so no result of outdated symbols is ever
+ * returned after the change.
+ * <p>
+ * When full, entries are evicted with the {@link SecondChanceCache second chance} policy, so the units in use stay cached.
+ *
+ * @param <K> the type of inputs
+ * @param <V> the type of results
+ * @since 2.2
+ */
+@API(status=INTERNAL)
+public final class SymbolsCache<K, V> {
+
+    private final SecondChanceCache<K, V> entries;
+    private final AtomicInteger stamp = new AtomicInteger();
+    private volatile int symbolsVersion;
+
+    /**
+     * @param maxSize the maximum number of entries, at least 1.
+     */
+    public SymbolsCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Invalid cache size: " + maxSize);
+        }
+        this.entries = new SecondChanceCache<>(maxSize);
+    }
+
+    public int getMaxSize() {
+        return entries.getMaxSize();
+    }
+
+    /**
+     * Validates the cache against the current version of the symbols, and returns the stamp to pass to {@link #put(Object, Object, int)} for
+     * a result computed next.
+     *
+     * @param symbolsVersion the current version of the symbols used.
+     * @return the stamp of the entries.
+     */
+    public int stamp(int symbolsVersion) {
+        if (symbolsVersion != this.symbolsVersion) {
+            synchronized (this) {
+                if (symbolsVersion != this.symbolsVersion) {
+                    clear();
+                    this.symbolsVersion = symbolsVersion;
+                }
+            }
+        }
+        return stamp.get();
+    }
+
+    /**
+     * @param input the parsed text or formatted object.
+     * @return the cached result or <code>null</code>
+     */
+    public V get(K input) {
+        return entries.get(input);
+    }
+
+    /**
+     * Caches a result, unless the cache was cleared since the given stamp was obtained.
+     *
+     * @param input the parsed text or formatted object.
+     * @param result the result of parsing or formatting it.
+     * @param stamp the stamp obtained before parsing or formatting.
+     */
+    public void put(K input, V result, int stamp) {
+        entries.put(input, result);
+        if (this.stamp.get() != stamp) {
+            // cleared concurrently, the result may rely on outdated symbols
+            entries.remove(input, result);
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        stamp.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,577 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.internal.format;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import javax.measure.Prefix;
+import javax.measure.Unit;
+
+import org.apiguardian.api.API;
+
+import tech.units.indriya.AbstractUnit;
+import tech.units.indriya.format.SymbolMap;
+import tech.units.indriya.format.Token;
+import tech.units.indriya.format.TokenException;
+import tech.units.indriya.format.TokenMgrError;
+import tech.units.indriya.function.LogConverter;
+import tech.units.indriya.function.MultiplyConverter;
+
+/**
+ * Hand-written recursive-descent parser for the grammar documented in {@link tech.units.indriya.format.EBNFUnitFormat EBNFUnitFormat}.
+ * <p>
+ * Tokens and productions match those of {@link UnitFormatParser}, including the {@link TokenException} thrown for syntax errors, whose
+ * {@link TokenException#currentToken current token} ends at the column of the last token consumed, and the {@link TokenMgrError} thrown for
+ * lexical errors. Unlike the generated parser, it reads the characters directly from the parsed sequence and keeps no state between calls,
+ * so that an instance can be reused by the thread owning it.
+ * <p>
+ * Instances are not thread-safe.
+ *
+ * @since 2.2
+ */
+@API(status=INTERNAL)
+public final class UnitExpressionParser implements UnitTokenConstants {
+
+  private static final int NO_TOKEN = -1;
+
+  private final SymbolMap symbols;
+
+  private CharSequence csq;
+  /** Start of the source; token columns are relative to this index. */
+  private int begin;
+  private int end;
+  /** End of the last token consumed. */
+  private int pos;
+  private int nextKind;
+  private int nextEnd;
+  private int scanEnd;
+
+  public UnitExpressionParser(SymbolMap symbols) {
+    this.symbols = symbols;
+  }
+
+  /**
+   * Returns whether the given range contains whitespace only, in the sense of {@link String#trim()}.
+   */
+  public static boolean isBlank(CharSequence csq, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (csq.charAt(i) > ' ') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Parses the unit expression in the given range. Leading and trailing whitespace is ignored, as if the range was {@link String#trim()
+   * trimmed}, and token columns are relative to the first character that is not whitespace.
+   *
+   * @param csq
+   *          the characters to parse.
+   * @param start
+   *          the index of the first character of the expression.
+   * @param end
+   *          the index after the last character of the expression.
+   * @return the parsed unit.
+   * @throws TokenException
+   *           if the expression is not well-formed or contains an unknown unit.
+   * @throws TokenMgrError
+   *           if the expression contains a character that does not start a token.
+   */
+  public Unit<?> parse(CharSequence csq, int start, int end) throws TokenException {
+    while (start < end && csq.charAt(start) <= ' ') {
+      start++;
+    }
+    while (end > start && csq.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    this.csq = csq;
+    this.begin = start;
+    this.end = end;
+    this.pos = start;
+    this.nextKind = NO_TOKEN;
+    try {
+      Unit<?> result = mixExpr();
+      consume(EOF);
+      return result;
+    } finally {
+      this.csq = null;
+    }
+  }
+
+  //
+  // Productions
+  //
+
+  private Unit<?> mixExpr() throws TokenException {
+    Unit<?> result = addExpr();
+    while (peek() == COLON) {
+      consume(COLON);
+    }
+    return result;
+  }
+
+  private Unit<?> addExpr() throws TokenException {
+    double n1 = 0;
+    boolean hasN1 = false;
+    boolean negative1 = false;
+    int kind = peek();
+    if ((kind == INTEGER || kind == FLOATING_POINT) && isSign(peekSecond())) {
+      n1 = numberExpr();
+      negative1 = sign();
+      hasN1 = true;
+    }
+    Unit<?> result = mulExpr();
+    double n2 = 0;
+    boolean hasN2 = false;
+    boolean negative2 = false;
+    if (isSign(peek())) {
+      negative2 = sign();
+      n2 = numberExpr();
+      hasN2 = true;
+    }
+    if (hasN1) {
+      if (negative1) {
+        result = result.multiply(-1);
+      }
+      result = result.shift(n1);
+    }
+    if (hasN2) {
+      result = result.shift(negative2 ? -n2 : n2);
+    }
+    return result;
+  }
+
+  private Unit<?> mulExpr() throws TokenException {
+    Unit<?> result = exponentExpr();
+    for (;;) {
+      switch (peek()) {
+        case ASTERISK:
+        case MIDDLE_DOT:
+          consume(nextKind);
+          result = result.multiply(exponentExpr());
+          break;
+        case SOLIDUS:
+          consume(SOLIDUS);
+          result = result.divide(exponentExpr());
+          break;
+        default:
+          return result;
+      }
+    }
+  }
+
+  private Unit<?> exponentExpr() throws TokenException {
+    int kind = peek();
+    if ((kind == INTEGER || kind == E) && peekSecond() == CARET) {
+      int baseStart = consume(kind);
+      int baseEnd = pos;
+      consume(CARET);
+      Unit<?> result = atomicExpr();
+      double base = kind == INTEGER ? parseInt(baseStart, baseEnd) : E;
+      return result.transform(new LogConverter(base).inverse());
+    }
+    switch (kind) {
+      case OPEN_PAREN:
+      case INTEGER:
+      case FLOATING_POINT:
+      case UNIT_IDENTIFIER:
+        Unit<?> result = atomicExpr();
+        kind = peek();
+        return kind == CARET || kind == SUPERSCRIPT_INTEGER ? exp(result) : result;
+      case LOG:
+      case NAT_LOG:
+        int baseKind = NO_TOKEN;
+        int baseStart = 0;
+        int baseEnd = 0;
+        if (kind == LOG) {
+          consume(LOG);
+          if (peek() == INTEGER) {
+            baseKind = INTEGER;
+            baseStart = consume(INTEGER);
+            baseEnd = pos;
+          }
+        } else {
+          baseKind = NAT_LOG;
+          consume(NAT_LOG);
+        }
+        consume(OPEN_PAREN);
+        result = addExpr();
+        consume(CLOSE_PAREN);
+        double base = 10;
+        if (baseKind == INTEGER) {
+          base = parseInt(baseStart, baseEnd);
+        } else if (baseKind == NAT_LOG) {
+          base = E;
+        }
+        return result.transform(new LogConverter(base));
+      default:
+        throw parseError();
+    }
+  }
+
+  private Unit<?> atomicExpr() throws TokenException {
+    switch (peek()) {
+      case INTEGER:
+      case FLOATING_POINT:
+        return AbstractUnit.ONE.multiply(numberExpr());
+      case UNIT_IDENTIFIER:
+        String identifier = csq.subSequence(consume(UNIT_IDENTIFIER), pos).toString();
+        Unit<?> unit = symbols.getUnit(identifier);
+        if (unit != null) {
+          return unit;
+        }
+        Prefix prefix = symbols.getPrefix(identifier);
+        if (prefix != null) {
+          unit = symbols.getUnit(identifier.substring(symbols.getSymbol(prefix).length()));
+          if (unit != null) {
+            return unit.transform(MultiplyConverter.ofPrefix(prefix));
+          }
+        }
+        throw new TokenException("Unknown unit: " + identifier);
+      case OPEN_PAREN:
+        consume(OPEN_PAREN);
+        Unit<?> result = addExpr();
+        consume(CLOSE_PAREN);
+        return result;
+      default:
+        throw parseError();
+    }
+  }
+
+  /**
+   * Consumes a sign, returning whether it is a minus.
+   */
+  private boolean sign() throws TokenException {
+    if (!isSign(peek())) {
+      throw parseError();
+    }
+    boolean minus = nextKind == MINUS;
+    consume(nextKind);
+    return minus;
+  }
+
+  private double numberExpr() throws TokenException {
+    switch (peek()) {
+      case INTEGER:
+        int start = consume(INTEGER);
+        return parseLong(start, pos);
+      case FLOATING_POINT:
+        start = consume(FLOATING_POINT);
+        return Double.parseDouble(csq.subSequence(start, pos).toString());
+      default:
+        throw parseError();
+    }
+  }
+
+  private Unit<?> exp(Unit<?> result) throws TokenException {
+    int pow;
+    int root = 1;
+    if (peek() == SUPERSCRIPT_INTEGER) {
+      int start = consume(SUPERSCRIPT_INTEGER);
+      pow = 0;
+      for (int i = start; i < pos; i++) {
+        pow = pow * 10 + superscriptDigit(csq.charAt(i));
+      }
+    } else {
+      consume(CARET);
+      switch (peek()) {
+        case PLUS:
+        case MINUS:
+        case INTEGER:
+          boolean negative = isSign(nextKind) && sign();
+          int start = consume(INTEGER);
+          pow = parseInt(start, pos);
+          if (negative) {
+            pow = -pow;
+          }
+          break;
+        case OPEN_PAREN:
+          consume(OPEN_PAREN);
+          boolean powNegative = isSign(peek()) && sign();
+          int powStart = consume(INTEGER);
+          int powEnd = pos;
+          boolean rootNegative = false;
+          int rootStart = -1;
+          int rootEnd = -1;
+          if (peek() == SOLIDUS) {
+            consume(SOLIDUS);
+            rootNegative = isSign(peek()) && sign();
+            rootStart = consume(INTEGER);
+            rootEnd = pos;
+          }
+          consume(CLOSE_PAREN);
+          pow = parseInt(powStart, powEnd);
+          if (powNegative) {
+            pow = -pow;
+          }
+          if (rootStart >= 0) {
+            root = parseInt(rootStart, rootEnd);
+            if (rootNegative) {
+              root = -root;
+            }
+          }
+          break;
+        default:
+          throw parseError();
+      }
+    }
+    if (pow != 1) {
+      result = result.pow(pow);
+    }
+    if (root != 1) {
+      result = result.root(root);
+    }
+    return result;
+  }
+
+  //
+  // Tokens
+  //
+
+  private int peek() {
+    if (nextKind == NO_TOKEN) {
+      nextKind = scan(pos);
+      nextEnd = scanEnd;
+    }
+    return nextKind;
+  }
+
+  /**
+   * Returns the kind of the token after the next one, as scanned by the syntactic lookahead of the generated parser.
+   */
+  private int peekSecond() {
+    peek();
+    return scan(nextEnd);
+  }
+
+  /**
+   * Consumes the next token, returning its start index.
+   */
+  private int consume(int kind) throws TokenException {
+    if (peek() != kind) {
+      throw parseError();
+    }
+    int start = pos;
+    pos = nextEnd;
+    nextKind = NO_TOKEN;
+    return start;
+  }
+
+  private static boolean isSign(int kind) {
+    return kind == PLUS || kind == MINUS;
+  }
+
+  private TokenException parseError() {
+    final int column = pos - begin;
+    String encountered = nextKind == EOF ? "<EOF>" : "\"" + csq.subSequence(pos, nextEnd) + '"';
+    TokenException e = new TokenException("Encountered " + encountered + " at column " + (column + 1));
+    Token current = new Token();
+    current.beginLine = current.endLine = 1;
+    current.endColumn = column;
+    e.currentToken = current;
+    return e;
+  }
+
+  /**
+   * Scans the token starting at the given index, setting {@link #scanEnd} to its end.
+   */
+  private int scan(int p) {
+    if (p == end) {
+      scanEnd = p;
+      return EOF;
+    }
+    char c = csq.charAt(p);
+    scanEnd = p + 1;
+    switch (c) {
+      case '+':
+        return PLUS;
+      case '-':
+        return MINUS;
+      case '*':
+        return ASTERISK;
+      case '\u00b7':
+        return MIDDLE_DOT;
+      case '/':
+        return SOLIDUS;
+      case '^':
+        return CARET;
+      case ':':
+        return COLON;
+      case '(':
+        return OPEN_PAREN;
+      case ')':
+        return CLOSE_PAREN;
+      case 'e':
+        scanEnd = identifierEnd(p + 1);
+        return scanEnd == p + 1 ? E : UNIT_IDENTIFIER;
+      case 'l':
+        scanEnd = identifierEnd(p + 1);
+        if (scanEnd - p == 3 && csq.charAt(p + 1) == 'o' && csq.charAt(p + 2) == 'g') {
+          return LOG;
+        }
+        if (scanEnd - p == 2 && csq.charAt(p + 1) == 'n') {
+          return NAT_LOG;
+        }
+        return UNIT_IDENTIFIER;
+      default:
+        break;
+    }
+    if (isDigit(c) || c == '.') {
+      return scanNumber(p);
+    }
+    if (superscriptDigit(c) >= 0) {
+      int q = p + 1;
+      while (q < end && superscriptDigit(csq.charAt(q)) >= 0) {
+        q++;
+      }
+      scanEnd = q;
+      return SUPERSCRIPT_INTEGER;
+    }
+    if (isInitialChar(c)) {
+      scanEnd = identifierEnd(p + 1);
+      return UNIT_IDENTIFIER;
+    }
+    throw lexicalError(p, p);
+  }
+
+  /**
+   * Scans an integer {@code digit+} or a floating point number {@code digit* ("." digit+)? (("e" | "E") sign? digit+)?}.
+   */
+  private int scanNumber(int p) {
+    int q = digitsEnd(p);
+    int kind = INTEGER;
+    if (q < end && csq.charAt(q) == '.') {
+      int fractionEnd = digitsEnd(q + 1);
+      if (fractionEnd > q + 1) {
+        q = fractionEnd;
+        kind = FLOATING_POINT;
+      } else if (q == p) {
+        throw lexicalError(p, q + 1);
+      }
+    }
+    if (q < end && (csq.charAt(q) == 'e' || csq.charAt(q) == 'E')) {
+      int exponentStart = q + 1;
+      if (exponentStart < end && (csq.charAt(exponentStart) == '+' || csq.charAt(exponentStart) == '-')) {
+        exponentStart++;
+      }
+      int exponentEnd = digitsEnd(exponentStart);
+      if (exponentEnd > exponentStart) {
+        q = exponentEnd;
+        kind = FLOATING_POINT;
+      }
+    }
+    scanEnd = q;
+    return kind;
+  }
+
+  private int identifierEnd(int p) {
+    while (p < end && isIdentifierChar(csq.charAt(p))) {
+      p++;
+    }
+    return p;
+  }
+
+  private int digitsEnd(int p) {
+    while (p < end && isDigit(csq.charAt(p))) {
+      p++;
+    }
+    return p;
+  }
+
+  private TokenMgrError lexicalError(int tokenStart, int errorIndex) {
+    boolean eofSeen = errorIndex >= end;
+    char c = eofSeen ? csq.charAt(end - 1) : csq.charAt(errorIndex);
+    return new TokenMgrError(eofSeen, 1, errorIndex - begin + 1, csq.subSequence(tokenStart, Math.min(errorIndex, end)).toString(), c,
+        TokenMgrError.LEXICAL_ERROR);
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  /**
+   * Returns the value of a superscript digit, or -1 for other characters.
+   */
+  private static int superscriptDigit(char c) {
+    switch (c) {
+      case '\u2070':
+        return 0;
+      case '\u00b9':
+        return 1;
+      case '\u00b2':
+        return 2;
+      case '\u00b3':
+        return 3;
+      default:
+        return c >= '\u2074' && c <= '\u2079' ? c - '\u2070' : -1;
+    }
+  }
+
+  /**
+   * <code>&lt;initial_char&gt;</code>: anything but ASCII control and whitespace, digits, operators, the caret, the middle dot and superscript
+   * digits.
+   */
+  private static boolean isInitialChar(char c) {
+    if (c < 64) {
+      return (c > ' ' && c < '(') || c == ',' || c > ':';
+    }
+    if (c < 128) {
+      return c != '^';
+    }
+    return c != '\u00b7' && superscriptDigit(c) < 0;
+  }
+
+  private static boolean isIdentifierChar(char c) {
+    return isInitialChar(c) || isDigit(c);
+  }
+
+  private double parseLong(int start, int end) {
+    if (end - start > 18) {
+      return Long.parseLong(csq.subSequence(start, end).toString());
+    }
+    long value = 0;
+    for (int i = start; i < end; i++) {
+      value = value * 10 + (csq.charAt(i) - '0');
+    }
+    return value;
+  }
+
+  private int parseInt(int start, int end) {
+    if (end - start > 9) {
+      return Integer.parseInt(csq.subSequence(start, end).toString());
+    }
+    int value = 0;
+    for (int i = start; i < end; i++) {
+      value = value * 10 + (csq.charAt(i) - '0');
+    }
+    return value;
+  }
+}
@@ -0,0 +1,283 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.internal.format;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.measure.BinaryPrefix;
+import javax.measure.MetricPrefix;
+import javax.measure.Prefix;
+import javax.measure.Unit;
+
+import org.apiguardian.api.API;
+
+/**
+ * An immutable character trie of unit symbols, which can be queried with a range of any {@link CharSequence}, so parsers can resolve
+ * identifiers without creating a {@link String} for each of them.
+ * <p>
+ * Symbols made up by a prefix symbol and another symbol of the trie, whose unit is that unit with the prefix applied, such as {@code km} or
+ * {@code µmol}, are not stored as symbols of their own. Instead, the node of the unprefixed symbol holds the units for its prefixes, and a
+ * lookup failing to match a whole symbol resolves the longest matching prefix followed by an unprefixed symbol. The trie of prefix symbols
+ * is shared by all instances.
+ * <p>
+ * This trie does not reduce the footprint of a format: the symbol maps it is built from still hold every prefixed symbol, since
+ * formatting and the lookup of names as {@link String}s use them, so the trie is held in addition to them. Neither does it resolve an
+ * identifier while scanning it: a lookup is given the range of an identifier already delimited by the parser, so the characters of a
+ * symbol are read once to delimit it and once more to walk the trie. What it saves is creating a {@link String} and hashing it for each
+ * identifier parsed.
+ *
+ * @since 2.2
+ */
+@API(status=INTERNAL)
+public final class UnitSymbolTrie {
+
+    private static final Prefix[] PREFIXES;
+    private static final String[] PREFIX_SYMBOLS;
+    private static final Trie PREFIX_TRIE;
+
+    static {
+        final List<Prefix> prefixes = new ArrayList<>();
+        final List<String> symbols = new ArrayList<>();
+        for (Prefix prefix : MetricPrefix.values()) {
+            prefixes.add(prefix);
+            symbols.add(prefix.getSymbol());
+        }
+        for (Prefix prefix : BinaryPrefix.values()) {
+            prefixes.add(prefix);
+            symbols.add(prefix.getSymbol());
+        }
+        // the Greek letter mu, and the ASCII spelling of micro
+        prefixes.add(MetricPrefix.MICRO);
+        symbols.add("\u03bc");
+        prefixes.add(MetricPrefix.MICRO);
+        symbols.add("micro");
+        PREFIXES = prefixes.toArray(new Prefix[0]);
+        PREFIX_SYMBOLS = symbols.toArray(new String[0]);
+        final TreeMap<String, Integer> slots = new TreeMap<>();
+        for (int i = 0; i < PREFIX_SYMBOLS.length; i++) {
+            slots.put(PREFIX_SYMBOLS[i], i);
+        }
+        PREFIX_TRIE = Trie.of(slots);
+    }
+
+    private final Trie symbols;
+    /** The units of prefixed symbols by node of their unprefixed symbol, and by prefix slot. */
+    private final Unit<?>[][] prefixed;
+
+    private UnitSymbolTrie(Trie symbols, Unit<?>[][] prefixed) {
+        this.symbols = symbols;
+        this.prefixed = prefixed;
+    }
+
+    /**
+     * Returns a trie of the given symbols; later maps take precedence over earlier ones for symbols contained in both.
+     *
+     * @param maps the symbol mappings.
+     * @return the trie.
+     */
+    @SafeVarargs
+    public static UnitSymbolTrie of(Map<String, ? extends Unit<?>>... maps) {
+        final Map<String, Unit<?>> all = new HashMap<>();
+        for (Map<String, ? extends Unit<?>> map : maps) {
+            all.putAll(map);
+        }
+        // shorter symbols first, so the unprefixed symbols are known when decomposing the longer ones
+        final String[] names = all.keySet().toArray(new String[0]);
+        Arrays.sort(names, Comparator.comparingInt(String::length));
+        final TreeMap<String, Unit<?>> unprefixed = new TreeMap<>();
+        final Map<String, Unit<?>[]> prefixedByName = new HashMap<>();
+        for (String name : names) {
+            final Unit<?> unit = all.get(name);
+            if (!addPrefixed(name, unit, unprefixed, prefixedByName)) {
+                unprefixed.put(name, unit);
+            }
+        }
+        final Trie trie = Trie.of(unprefixed);
+        final Unit<?>[][] prefixed = new Unit<?>[trie.size()][];
+        for (Map.Entry<String, Unit<?>[]> entry : prefixedByName.entrySet()) {
+            final String name = entry.getKey();
+            prefixed[trie.find(name, 0, name.length())] = entry.getValue();
+        }
+        return new UnitSymbolTrie(trie, prefixed);
+    }
+
+    private static boolean addPrefixed(String name, Unit<?> unit, Map<String, Unit<?>> unprefixed, Map<String, Unit<?>[]> prefixedByName) {
+        for (int slot = 0; slot < PREFIX_SYMBOLS.length; slot++) {
+            final String prefixSymbol = PREFIX_SYMBOLS[slot];
+            if (name.length() > prefixSymbol.length() && name.startsWith(prefixSymbol)) {
+                final String base = name.substring(prefixSymbol.length());
+                final Unit<?> baseUnit = unprefixed.get(base);
+                if (baseUnit != null && baseUnit.prefix(PREFIXES[slot]).equals(unit)) {
+                    prefixedByName.computeIfAbsent(base, k -> new Unit<?>[PREFIX_SYMBOLS.length])[slot] = unit;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the unit of the symbol made up by the characters {@code start} (inclusive) to {@code end} (exclusive) of the given sequence.
+     *
+     * @param csq the characters.
+     * @param start the index of the first character of the symbol.
+     * @param end the index after the last character of the symbol.
+     * @return the unit or {@code null} if the symbol is unknown.
+     */
+    public Unit<?> get(CharSequence csq, int start, int end) {
+        final int node = symbols.find(csq, start, end);
+        if (node >= 0 && symbols.values[node] != null) {
+            return (Unit<?>) symbols.values[node];
+        }
+        return getPrefixed(csq, Trie.ROOT, start, end);
+    }
+
+    // Matches the prefix symbols continuing at the given node and index, and returns the unit of the longest one followed by a known symbol.
+    private Unit<?> getPrefixed(CharSequence csq, int prefixNode, int index, int end) {
+        if (index >= end - 1) {
+            return null;
+        }
+        final int next = PREFIX_TRIE.child(prefixNode, csq.charAt(index));
+        if (next < 0) {
+            return null;
+        }
+        final Unit<?> unit = getPrefixed(csq, next, index + 1, end);
+        if (unit != null || PREFIX_TRIE.values[next] == null) {
+            return unit;
+        }
+        final int node = symbols.find(csq, index + 1, end);
+        if (node < 0 || prefixed[node] == null) {
+            return null;
+        }
+        return prefixed[node][(Integer) PREFIX_TRIE.values[next]];
+    }
+
+    /**
+     * A character trie stored in arrays, with the children of each node in consecutive nodes sorted by their character.
+     */
+    private static final class Trie {
+        static final int ROOT = 0;
+
+        private final char[] chars;
+        private final int[] firstChild;
+        private final int[] childCount;
+        final Object[] values;
+
+        private Trie(char[] chars, int[] firstChild, int[] childCount, Object[] values) {
+            this.chars = chars;
+            this.firstChild = firstChild;
+            this.childCount = childCount;
+            this.values = values;
+        }
+
+        static Trie of(TreeMap<String, ?> entries) {
+            final String[] keys = entries.keySet().toArray(new String[0]);
+            int capacity = 1;
+            for (String key : keys) {
+                capacity += key.length();
+            }
+            final char[] chars = new char[capacity];
+            final int[] firstChild = new int[capacity];
+            final int[] childCount = new int[capacity];
+            final Object[] values = new Object[capacity];
+            // the range of keys below each node, and the depth of the node
+            final int[] from = new int[capacity];
+            final int[] to = new int[capacity];
+            final int[] depth = new int[capacity];
+            to[ROOT] = keys.length;
+            int size = 1;
+            for (int node = 0; node < size; node++) {
+                int i = from[node];
+                final int d = depth[node];
+                // a key ending at this node sorts before the keys it is a prefix of
+                if (i < to[node] && keys[i].length() == d) {
+                    values[node] = entries.get(keys[i]);
+                    i++;
+                }
+                firstChild[node] = size;
+                while (i < to[node]) {
+                    final char c = keys[i].charAt(d);
+                    int j = i + 1;
+                    while (j < to[node] && keys[j].charAt(d) == c) {
+                        j++;
+                    }
+                    chars[size] = c;
+                    from[size] = i;
+                    to[size] = j;
+                    depth[size] = d + 1;
+                    size++;
+                    i = j;
+                }
+                childCount[node] = size - firstChild[node];
+            }
+            return new Trie(Arrays.copyOf(chars, size), Arrays.copyOf(firstChild, size), Arrays.copyOf(childCount, size),
+                    Arrays.copyOf(values, size));
+        }
+
+        int size() {
+            return values.length;
+        }
+
+        // Returns the child of the node for the given character, or -1 if none.
+        int child(int node, char c) {
+            int low = firstChild[node];
+            int high = low + childCount[node] - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                final char midChar = chars[mid];
+                if (midChar < c) {
+                    low = mid + 1;
+                } else if (midChar > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        // Returns the node reached by the given characters, or -1 if none.
+        int find(CharSequence csq, int start, int end) {
+            int node = ROOT;
+            for (int i = start; i < end && node >= 0; i++) {
+                node = child(node, csq.charAt(i));
+            }
+            return node;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.internal.function;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
+
+import javax.measure.Quantity;
+import javax.measure.Quantity.Scale;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import org.apiguardian.api.API;
+
+import tech.units.indriya.function.AbstractConverter;
+
+/**
+ * Converters from any source unit to a fixed target unit, each resolved only once.
+ * <p>
+ * Meant for accumulators that normalize a stream of quantities to a common unit, where the
+ * source units typically repeat. Besides the converters, their {@link AbstractConverter#compileToDouble()
+ * compiled} {@code double} operators are cached, which convert without boxing. Not thread-safe.
+ * </p>
+ *
+ * @since 2.2
+ */
+@API(status=INTERNAL)
+public final class CachedConverters<Q extends Quantity<Q>> {
+
+  private final Unit<Q> target;
+
+  private final Map<Unit<Q>, UnitConverter> converters = new HashMap<>(4);
+
+  private Unit<Q> lastUnit;
+
+  private UnitConverter lastConverter;
+
+  private final Map<Unit<Q>, DoubleUnaryOperator> operators = new HashMap<>(4);
+
+  private Unit<Q> lastOperatorUnit;
+
+  private DoubleUnaryOperator lastOperator;
+
+  public CachedConverters(Unit<Q> target) {
+    this.target = Objects.requireNonNull(target);
+  }
+
+  public Unit<Q> getTarget() {
+    return target;
+  }
+
+  /**
+   * @return the converter from the given unit to the target unit
+   */
+  public UnitConverter from(Unit<Q> source) {
+    if (source == lastUnit) {
+      return lastConverter;
+    }
+    UnitConverter converter = converters.get(source);
+    if (converter == null) {
+      converter = source.getConverterTo(target);
+      converters.put(source, converter);
+    }
+    lastUnit = source;
+    return lastConverter = converter;
+  }
+
+  /**
+   * @return the primitive {@code double} operator converting from the given unit to the target unit
+   */
+  public DoubleUnaryOperator operatorFrom(Unit<Q> source) {
+    if (source == lastOperatorUnit) {
+      return lastOperator;
+    }
+    DoubleUnaryOperator operator = operators.get(source);
+    if (operator == null) {
+      operator = toOperator(from(source));
+      operators.put(source, operator);
+    }
+    lastOperatorUnit = source;
+    return lastOperator = operator;
+  }
+
+  /**
+   * Converts the value of the given quantity to the target unit, honoring its scale: the value of a
+   * {@link Scale#RELATIVE relative} quantity, such as a temperature difference, is only multiplied by
+   * the linear factor of the conversion, like {@link Quantity#to(Unit)} does.
+   *
+   * @return the value of the quantity in the target unit
+   */
+  public double toDouble(Quantity<Q> quantity) {
+    if (ScaleHelper.isRelative(quantity)) {
+      return ScaleHelper.convertTo(quantity, target).getValue().doubleValue();
+    }
+    return operatorFrom(quantity.getUnit()).applyAsDouble(quantity.getValue().doubleValue());
+  }
+
+  /**
+   * Same as {@link #toDouble(Quantity)}, keeping the number type of the conversion.
+   *
+   * @return the value of the quantity in the target unit
+   */
+  public Number toNumber(Quantity<Q> quantity) {
+    if (ScaleHelper.isRelative(quantity)) {
+      return ScaleHelper.convertTo(quantity, target).getValue();
+    }
+    return from(quantity.getUnit()).convert(quantity.getValue());
+  }
+
+  /**
+   * @return the {@link AbstractConverter#compileToDouble() compiled} operator of the given converter, or
+   *         {@link UnitConverter#convert(double)} for foreign converters
+   */
+  public static DoubleUnaryOperator toOperator(UnitConverter converter) {
+    if (converter instanceof AbstractConverter) {
+      return ((AbstractConverter) converter).compileToDouble();
+    }
+    return converter::convert;
+  }
+}
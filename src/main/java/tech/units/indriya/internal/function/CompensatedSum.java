@@ -0,0 +1,92 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.internal.function;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import org.apiguardian.api.API;
+
+/**
+ * Running sum of {@code double} values with Kahan compensation, which keeps the rounding error
+ * independent of the number of values added.
+ * <p>
+ * Infinite values break the compensation (their sum is NaN), so a plain sum is kept alongside to
+ * report the correct infinity. Not thread-safe.
+ * </p>
+ *
+ * @since 2.2
+ */
+@API(status=INTERNAL)
+public final class CompensatedSum {
+
+  private double sum;
+
+  /** low order bits lost in the sum */
+  private double compensation;
+
+  /** used to propagate infinities, which break the compensated summation */
+  private double simpleSum;
+
+  public void add(double value) {
+    addCompensated(value);
+    simpleSum += value;
+  }
+
+  /**
+   * Adds the sum of another instance, including its compensation.
+   */
+  public void add(CompensatedSum other) {
+    addCompensated(other.sum);
+    addCompensated(-other.compensation);
+    simpleSum += other.simpleSum;
+  }
+
+  public void reset() {
+    sum = 0;
+    compensation = 0;
+    simpleSum = 0;
+  }
+
+  public double getSum() {
+    final double result = sum - compensation;
+    if (Double.isNaN(result) && Double.isInfinite(simpleSum)) {
+      // the compensated sum is NaN if mixing positive and negative infinities
+      return simpleSum;
+    }
+    return result;
+  }
+
+  private void addCompensated(double value) {
+    final double y = value - compensation;
+    final double t = sum + y;
+    compensation = (t - sum) - y;
+    sum = t;
+  }
+}
@@ -32,6 +32,7 @@ package tech.units.indriya.internal.function;
 import static org.apiguardian.api.API.Status.INTERNAL;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Supplier;
 
 import org.apiguardian.api.API;
@@ -39,6 +40,9 @@ import org.apiguardian.api.API;
 /**
  * Holder of an instance of type T, supporting the <em>compute-if-absent</em> idiom in a thread-safe manner.
  * <p>
+ * Lock-free: concurrent first calls to {@link #get()} may each invoke the supplier, but only the first value to
+ * be published is memoized and returned to all callers. Hence the supplier should be free of side effects.
+ * <p>
  * Not serializable!     
  * 
  * @author Andi Huber
@@ -46,45 +50,51 @@ import org.apiguardian.api.API;
  */
 @API(status=INTERNAL)
 public class Lazy<T> {
+    
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Lazy, Holder> HOLDER =
+            AtomicReferenceFieldUpdater.newUpdater(Lazy.class, Holder.class, "holder");
+    
     private final Supplier<? extends T> supplier;
-    private T value;
-    private boolean memorized;
+    private volatile Holder<T> holder; // null until memoized, allows to memoize null values
 
     public Lazy(Supplier<? extends T> supplier) {
         this.supplier = Objects.requireNonNull(supplier, "supplier is required");
     }
 
     public boolean isMemorized() {
-        synchronized (this) {
-            return memorized;    
-        }
+        return holder != null;
     }
 
     public void clear() {
-        synchronized (this) {
-            this.memorized = false;
-            this.value = null;
-        }
+        holder = null;
     }
 
     public T get() {
-        synchronized (this) {
-            if(memorized) {
-                return value;
-            }
-            memorized = true;
-            return value = supplier.get();    
+        final Holder<T> current = holder;
+        if (current != null) {
+            return current.value;
         }
+        final Holder<T> computed = new Holder<>(supplier.get());
+        if (HOLDER.compareAndSet(this, null, computed)) {
+            return computed.value;
+        }
+        final Holder<T> winner = holder; // another thread won the race (or a clear() intervened)
+        return winner != null ? winner.value : computed.value;
     }
     
     public void set(T value) {
-        synchronized (this) {
-            if(memorized) {
-                throw new IllegalStateException(
-                        String.format("cannot set value '%s' on Lazy that has already memoized a value", ""+value));
-            }
-            memorized = true;
+        if (!HOLDER.compareAndSet(this, null, new Holder<>(value))) {
+            throw new IllegalStateException(
+                    String.format("cannot set value '%s' on Lazy that has already memoized a value", ""+value));
+        }
+    }
+    
+    private static final class Holder<T> {
+        private final T value;
+        
+        private Holder(T value) {
             this.value = value;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,169 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.internal.function;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apiguardian.api.API;
+
+/**
+ * A bounded, concurrent map for caches, evicting with the <em>second chance</em> (clock) policy.
+ * <p>
+ * Each entry has a reference bit, set when the entry is read. When the map is full, a clock hand
+ * cycles over the entries: those with the bit set have it cleared and are kept for another round,
+ * the first one without it is evicted. Hence entries in use survive a stream of entries read only
+ * once. Reads never block, evictions are serialized.
+ * </p>
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ * @since 2.2
+ */
+@API(status=INTERNAL)
+public final class SecondChanceCache<K, V> {
+
+  private final ConcurrentHashMap<K, Entry<V>> entries;
+
+  private final int maxSize;
+
+  /** the clock hand, guarded by this */
+  private Iterator<Map.Entry<K, Entry<V>>> hand;
+
+  /**
+   * @param maxSize
+   *          the maximum number of entries, not negative.
+   */
+  public SecondChanceCache(int maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("Invalid cache size: " + maxSize);
+    }
+    this.maxSize = maxSize;
+    this.entries = new ConcurrentHashMap<>(Math.min(maxSize, 256));
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * @return the value of the key, or <code>null</code> if absent
+   */
+  public V get(K key) {
+    final Entry<V> entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (!entry.referenced) {
+      entry.referenced = true;
+    }
+    return entry.value;
+  }
+
+  /**
+   * Associates the value with the key, then evicts entries beyond the maximum size.
+   */
+  public void put(K key, V value) {
+    entries.put(key, new Entry<>(value));
+    evictIfFull();
+  }
+
+  /**
+   * Associates the value with the key unless it is already present, then evicts entries beyond the
+   * maximum size.
+   */
+  public void putIfAbsent(K key, V value) {
+    if (entries.putIfAbsent(key, new Entry<>(value)) == null) {
+      evictIfFull();
+    }
+  }
+
+  public void remove(K key) {
+    entries.remove(key);
+  }
+
+  /**
+   * Removes the key only if it is associated with the given value.
+   */
+  public void remove(K key, V value) {
+    final Entry<V> entry = entries.get(key);
+    if (entry != null && entry.value.equals(value)) {
+      entries.remove(key, entry);
+    }
+  }
+
+  public void clear() {
+    entries.clear();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  private void evictIfFull() {
+    if (entries.size() > maxSize) {
+      evict();
+    }
+  }
+
+  private synchronized void evict() {
+    // one full cycle clears all reference bits, beyond that evict regardless of concurrent reads
+    long remainingChances = 2L * entries.size();
+    while (entries.size() > maxSize) {
+      if (hand == null || !hand.hasNext()) {
+        hand = entries.entrySet().iterator();
+        if (!hand.hasNext()) {
+          return;
+        }
+      }
+      final Map.Entry<K, Entry<V>> candidate = hand.next();
+      final Entry<V> entry = candidate.getValue();
+      if (entry.referenced && remainingChances-- > 0) {
+        entry.referenced = false;
+      } else {
+        entries.remove(candidate.getKey(), entry);
+      }
+    }
+  }
+
+  private static final class Entry<V> {
+
+    final V value;
+
+    volatile boolean referenced;
+
+    Entry(V value) {
+      this.value = value;
+    }
+  }
+}
@@ -0,0 +1,325 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.io;
+
+import static tech.units.indriya.io.WireFormat.*;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import javax.measure.Quantity;
+import javax.measure.Quantity.Scale;
+import javax.measure.Unit;
+import javax.measure.format.MeasurementParseException;
+import javax.measure.format.UnitFormat;
+
+import tech.units.indriya.ComparableQuantity;
+import tech.units.indriya.format.SimpleUnitFormat;
+import tech.units.indriya.function.RationalNumber;
+import tech.units.indriya.quantity.Quantities;
+import tech.units.indriya.quantity.QuantityArray;
+
+/**
+ * Reads quantities and quantity arrays written by a {@link QuantityEncoder}, in the same order.
+ * <p>
+ * Values are restored with their original number type, except for atomic numbers, which are
+ * restored as {@link Integer} or {@link Long}. Unit symbols are parsed only once per stream.
+ * </p>
+ * <p>
+ * Input is buffered, so the decoder may read ahead of the data it returns. This class is not
+ * thread-safe.
+ * </p>
+ *
+ * @since 2.2
+ */
+public class QuantityDecoder implements Closeable {
+
+  /** the most elements allocated before they are read, as sizes come from the stream */
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private final DataInputStream in;
+
+  private final UnitFormat unitFormat;
+
+  /** dictionary of units, by id - 1 */
+  private final List<Unit<?>> units = new ArrayList<>();
+
+  private boolean headerRead;
+
+  /**
+   * Creates a decoder reading from the given stream, with units parsed by {@link SimpleUnitFormat}.
+   *
+   * @param in the input stream, not null.
+   */
+  public QuantityDecoder(InputStream in) {
+    this(in, SimpleUnitFormat.getInstance());
+  }
+
+  /**
+   * Creates a decoder reading from the given stream, with units parsed by the given format.
+   *
+   * @param in the input stream, not null.
+   * @param unitFormat the format of unit symbols, not null, the same as used for encoding.
+   */
+  public QuantityDecoder(InputStream in, UnitFormat unitFormat) {
+    this.in = new DataInputStream(new BufferedInputStream(Objects.requireNonNull(in)));
+    this.unitFormat = Objects.requireNonNull(unitFormat);
+  }
+
+  /**
+   * Reads a quantity.
+   *
+   * @return the quantity.
+   * @throws java.io.EOFException if the end of the stream is reached.
+   * @throws IOException if reading fails, or the data is malformed.
+   */
+  public ComparableQuantity<?> readQuantity() throws IOException {
+    checkHeader();
+    return readQuantity(readUnit());
+  }
+
+  /**
+   * Reads all quantities written by {@link QuantityEncoder#writeQuantities(List)}.
+   *
+   * @return the quantities.
+   * @throws java.io.EOFException if the end of the stream is reached.
+   * @throws IOException if reading fails, or the data is malformed.
+   */
+  public List<ComparableQuantity<?>> readQuantities() throws IOException {
+    checkHeader();
+    final int size = readSize();
+    final List<ComparableQuantity<?>> quantities = new ArrayList<>(Math.min(size, INITIAL_CAPACITY));
+    for (int i = 0; i < size; i++) {
+      quantities.add(readQuantity());
+    }
+    return quantities;
+  }
+
+  /**
+   * Reads a quantity array.
+   *
+   * @return the quantity array; its type can be narrowed with {@link QuantityArray#getUnit()}.
+   * @throws java.io.EOFException if the end of the stream is reached.
+   * @throws IOException if reading fails, or the data is malformed.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public QuantityArray<?> readArray() throws IOException {
+    checkHeader();
+    final Unit unit = readUnit();
+    final int tag = in.readUnsignedByte();
+    final Scale scale = scaleOf(tag);
+    switch (tag >>> 1) {
+    case LONG_ARRAY: {
+      final int size = readSize();
+      long[] values = new long[Math.min(size, INITIAL_CAPACITY)];
+      for (int i = 0; i < size; i++) {
+        if (i == values.length) {
+          values = Arrays.copyOf(values, grow(i, size));
+        }
+        values[i] = unZigZag(readVarLong());
+      }
+      return QuantityArray.of(values, unit, scale);
+    }
+    case DOUBLE_ARRAY: {
+      final int size = readSize();
+      double[] values = new double[Math.min(size, INITIAL_CAPACITY)];
+      for (int i = 0; i < size; i++) {
+        if (i == values.length) {
+          values = Arrays.copyOf(values, grow(i, size));
+        }
+        values[i] = in.readDouble();
+      }
+      return QuantityArray.of(values, unit, scale);
+    }
+    case DECIMAL_ARRAY: {
+      final int size = readSize();
+      BigDecimal[] values = new BigDecimal[Math.min(size, INITIAL_CAPACITY)];
+      for (int i = 0; i < size; i++) {
+        if (i == values.length) {
+          values = Arrays.copyOf(values, grow(i, size));
+        }
+        values[i] = readBigDecimal();
+      }
+      return QuantityArray.of(values, unit, scale);
+    }
+    default:
+      throw new StreamCorruptedException("Unknown array type " + (tag >>> 1));
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  // -- HELPER
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private ComparableQuantity<?> readQuantity(Unit unit) throws IOException {
+    final int tag = in.readUnsignedByte();
+    return Quantities.getQuantity(readNumber(tag >>> 1), unit, scaleOf(tag));
+  }
+
+  private Number readNumber(int type) throws IOException {
+    switch (type) {
+    case INTEGER:
+      return (int) unZigZag(readVarLong());
+    case LONG:
+      return unZigZag(readVarLong());
+    case SHORT:
+      return (short) unZigZag(readVarLong());
+    case BYTE:
+      return in.readByte();
+    case DOUBLE:
+      return in.readDouble();
+    case FLOAT:
+      return in.readFloat();
+    case BIG_INTEGER:
+      return readBigInteger();
+    case BIG_DECIMAL:
+      return readBigDecimal();
+    case RATIONAL:
+      return RationalNumber.of(readBigInteger(), readBigInteger());
+    default:
+      throw new StreamCorruptedException("Unknown number type " + type);
+    }
+  }
+
+  private Unit<?> readUnit() throws IOException {
+    final long id = readVarLong();
+    if (id != NEW_UNIT) {
+      if (id < 0 || id > units.size()) {
+        throw new StreamCorruptedException("Undefined unit id " + id);
+      }
+      return units.get((int) id - 1);
+    }
+    final byte[] symbol = readBytes(readSize());
+    final Unit<?> unit;
+    try {
+      unit = unitFormat.parse(new String(symbol, StandardCharsets.UTF_8));
+    } catch (MeasurementParseException e) {
+      throw new StreamCorruptedException("Invalid unit symbol: " + e.getMessage());
+    }
+    units.add(unit);
+    return unit;
+  }
+
+  private void checkHeader() throws IOException {
+    if (headerRead) {
+      return;
+    }
+    final byte[] magic = new byte[MAGIC.length];
+    in.readFully(magic);
+    for (int i = 0; i < magic.length; i++) {
+      if (magic[i] != MAGIC[i]) {
+        throw new StreamCorruptedException("Not a quantity stream");
+      }
+    }
+    final byte version = in.readByte();
+    if (version != VERSION) {
+      throw new StreamCorruptedException("Unsupported version " + version);
+    }
+    headerRead = true;
+  }
+
+  private static Scale scaleOf(int tag) {
+    return (tag & RELATIVE) != 0 ? Scale.RELATIVE : Scale.ABSOLUTE;
+  }
+
+  private static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private long readVarLong() throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      final int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new StreamCorruptedException("Malformed varint");
+  }
+
+  private int readSize() throws IOException {
+    final long size = readVarLong();
+    if (size < 0 || size > Integer.MAX_VALUE) {
+      throw new StreamCorruptedException("Invalid size " + size);
+    }
+    return (int) size;
+  }
+
+  private BigInteger readBigInteger() throws IOException {
+    final int encoding = in.readUnsignedByte();
+    if (encoding == 0) {
+      return BigInteger.valueOf(unZigZag(readVarLong()));
+    }
+    return new BigInteger(readBytes(readSize()));
+  }
+
+  /**
+   * Reads the given number of bytes, allocating them as they arrive, so that a corrupt size fails with an
+   * {@link java.io.EOFException} rather than an {@link OutOfMemoryError}.
+   */
+  private byte[] readBytes(int size) throws IOException {
+    byte[] bytes = new byte[Math.min(size, INITIAL_CAPACITY)];
+    int read = 0;
+    while (read < size) {
+      if (read == bytes.length) {
+        bytes = Arrays.copyOf(bytes, grow(read, size));
+      }
+      in.readFully(bytes, read, bytes.length - read);
+      read = bytes.length;
+    }
+    return bytes;
+  }
+
+  /** the capacity of a growing array holding {@code length} of {@code size} elements */
+  private static int grow(int length, int size) {
+    return (int) Math.min(size, 2L * length);
+  }
+
+  private BigDecimal readBigDecimal() throws IOException {
+    final int scale = (int) unZigZag(readVarLong());
+    return new BigDecimal(readBigInteger(), scale);
+  }
+}
@@ -0,0 +1,255 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.io;
+
+import static tech.units.indriya.io.WireFormat.*;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.measure.Quantity;
+import javax.measure.Quantity.Scale;
+import javax.measure.Unit;
+import javax.measure.format.UnitFormat;
+
+import tech.units.indriya.format.SimpleUnitFormat;
+import tech.units.indriya.function.RationalNumber;
+import tech.units.indriya.quantity.QuantityArray;
+
+/**
+ * Writes quantities and quantity arrays to a stream in a compact binary format, to be read by a
+ * {@link QuantityDecoder}.
+ * <p>
+ * Each quantity is written as a unit reference (varint), a tag byte (number type and scale) and
+ * the value. The first occurrence of a unit in the stream defines it by its symbol, as formatted
+ * by the given {@link UnitFormat} ({@link SimpleUnitFormat} by default); later occurrences only
+ * refer to it by id. Integers are written as zig-zag varints, so small values take a single byte.
+ * </p>
+ * <p>
+ * Output is buffered, call {@link #flush()} to pass it on to the underlying stream. This class is
+ * not thread-safe.
+ * </p>
+ *
+ * @since 2.2
+ */
+public class QuantityEncoder implements Flushable, Closeable {
+
+  private final DataOutputStream out;
+
+  private final UnitFormat unitFormat;
+
+  private final Map<Unit<?>, Integer> unitIds = new HashMap<>();
+
+  /**
+   * Creates an encoder writing to the given stream, with units formatted by {@link SimpleUnitFormat}.
+   *
+   * @param out the output stream, not null.
+   * @throws IOException if the stream header cannot be written.
+   */
+  public QuantityEncoder(OutputStream out) throws IOException {
+    this(out, SimpleUnitFormat.getInstance());
+  }
+
+  /**
+   * Creates an encoder writing to the given stream, with units formatted by the given format.
+   *
+   * @param out the output stream, not null.
+   * @param unitFormat the format of unit symbols, not null, must be able to parse its own output.
+   * @throws IOException if the stream header cannot be written.
+   */
+  public QuantityEncoder(OutputStream out, UnitFormat unitFormat) throws IOException {
+    this.out = new DataOutputStream(new BufferedOutputStream(Objects.requireNonNull(out)));
+    this.unitFormat = Objects.requireNonNull(unitFormat);
+    this.out.write(MAGIC);
+    this.out.writeByte(VERSION);
+  }
+
+  /**
+   * Writes a quantity.
+   *
+   * @param quantity the quantity, not null.
+   * @throws IOException if writing fails.
+   * @throws IllegalArgumentException if the number type of the value is not supported.
+   */
+  public void writeQuantity(Quantity<?> quantity) throws IOException {
+    writeUnit(quantity.getUnit());
+    final Number value = quantity.getValue();
+    final int scaleBit = scaleBit(quantity.getScale());
+    if (value instanceof Integer || value instanceof AtomicInteger) {
+      out.writeByte(INTEGER << 1 | scaleBit);
+      writeVarLong(zigZag(value.intValue()));
+    } else if (value instanceof Long || value instanceof AtomicLong) {
+      out.writeByte(LONG << 1 | scaleBit);
+      writeVarLong(zigZag(value.longValue()));
+    } else if (value instanceof Double) {
+      out.writeByte(DOUBLE << 1 | scaleBit);
+      out.writeDouble(value.doubleValue());
+    } else if (value instanceof BigDecimal) {
+      out.writeByte(BIG_DECIMAL << 1 | scaleBit);
+      writeBigDecimal((BigDecimal) value);
+    } else if (value instanceof BigInteger) {
+      out.writeByte(BIG_INTEGER << 1 | scaleBit);
+      writeBigInteger((BigInteger) value);
+    } else if (value instanceof RationalNumber) {
+      out.writeByte(RATIONAL << 1 | scaleBit);
+      writeBigInteger(((RationalNumber) value).getDividend());
+      writeBigInteger(((RationalNumber) value).getDivisor());
+    } else if (value instanceof Float) {
+      out.writeByte(FLOAT << 1 | scaleBit);
+      out.writeFloat(value.floatValue());
+    } else if (value instanceof Short) {
+      out.writeByte(SHORT << 1 | scaleBit);
+      writeVarLong(zigZag(value.shortValue()));
+    } else if (value instanceof Byte) {
+      out.writeByte(BYTE << 1 | scaleBit);
+      out.writeByte(value.byteValue());
+    } else {
+      throw new IllegalArgumentException(String.format("Unsupported number type '%s'", value.getClass().getName()));
+    }
+  }
+
+  /**
+   * Writes all given quantities.
+   *
+   * @param quantities the quantities, not null.
+   * @throws IOException if writing fails.
+   * @throws IllegalArgumentException if the number type of a value is not supported.
+   */
+  public void writeQuantities(List<? extends Quantity<?>> quantities) throws IOException {
+    writeVarLong(quantities.size());
+    for (Quantity<?> quantity : quantities) {
+      writeQuantity(quantity);
+    }
+  }
+
+  /**
+   * Writes a quantity array, with its unit and scale written only once.
+   *
+   * @param array the quantity array, not null.
+   * @throws IOException if writing fails.
+   */
+  public void writeArray(QuantityArray<?> array) throws IOException {
+    writeUnit(array.getUnit());
+    final int scaleBit = scaleBit(array.getScale());
+    final int size = array.size();
+    final Class<? extends Number> valueType = array.getValueType();
+    if (valueType == Long.class) {
+      out.writeByte(LONG_ARRAY << 1 | scaleBit);
+      writeVarLong(size);
+      for (int i = 0; i < size; i++) {
+        writeVarLong(zigZag(array.getValue(i).longValue()));
+      }
+    } else if (valueType == Double.class) {
+      out.writeByte(DOUBLE_ARRAY << 1 | scaleBit);
+      writeVarLong(size);
+      for (int i = 0; i < size; i++) {
+        out.writeDouble(array.doubleValue(i));
+      }
+    } else {
+      out.writeByte(DECIMAL_ARRAY << 1 | scaleBit);
+      writeVarLong(size);
+      for (int i = 0; i < size; i++) {
+        writeBigDecimal((BigDecimal) array.getValue(i));
+      }
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  // -- HELPER
+
+  private void writeUnit(Unit<?> unit) throws IOException {
+    final Integer id = unitIds.get(unit);
+    if (id != null) {
+      writeVarLong(id);
+      return;
+    }
+    final byte[] symbol = unitFormat.format(unit).getBytes(StandardCharsets.UTF_8);
+    writeVarLong(NEW_UNIT);
+    writeVarLong(symbol.length);
+    out.write(symbol);
+    unitIds.put(unit, unitIds.size() + 1);
+  }
+
+  private static int scaleBit(Scale scale) {
+    return scale == Scale.RELATIVE ? RELATIVE : 0;
+  }
+
+  private static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private void writeVarLong(long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) (value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  private void writeBigInteger(BigInteger value) throws IOException {
+    if (value.bitLength() < 64) {
+      // common case, avoids the byte array
+      out.writeByte(0);
+      writeVarLong(zigZag(value.longValue()));
+      return;
+    }
+    final byte[] bytes = value.toByteArray();
+    out.writeByte(1);
+    writeVarLong(bytes.length);
+    out.write(bytes);
+  }
+
+  private void writeBigDecimal(BigDecimal value) throws IOException {
+    writeVarLong(zigZag(value.scale()));
+    writeBigInteger(value.unscaledValue());
+  }
+}
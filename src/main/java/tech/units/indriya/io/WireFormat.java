@@ -0,0 +1,74 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.io;
+
+/**
+ * Constants of the binary format shared by {@link QuantityEncoder} and {@link QuantityDecoder}.
+ * <p>
+ * A stream starts with the {@link #MAGIC} bytes and the {@link #VERSION}. Each record then starts
+ * with a unit reference (a varint, either {@link #NEW_UNIT} followed by the length-prefixed UTF-8 unit
+ * symbol, or the id of a unit defined before), followed by a tag byte holding the number type in
+ * the upper bits and the scale in the lowest bit.
+ * </p>
+ *
+ * @since 2.2
+ */
+final class WireFormat {
+
+  static final byte[] MAGIC = { 'Q', 'U' };
+  static final byte VERSION = 1;
+
+  /** unit reference introducing a new dictionary entry */
+  static final int NEW_UNIT = 0;
+
+  /** scale bit of the tag byte */
+  static final int RELATIVE = 1;
+
+  // number types of single values, zig-zag varint or fixed size
+
+  static final int INTEGER = 0;
+  static final int LONG = 1;
+  static final int SHORT = 2;
+  static final int BYTE = 3;
+  static final int DOUBLE = 4;
+  static final int FLOAT = 5;
+  static final int BIG_INTEGER = 6;
+  static final int BIG_DECIMAL = 7;
+  static final int RATIONAL = 8;
+
+  // column types of arrays
+
+  static final int LONG_ARRAY = 16;
+  static final int DOUBLE_ARRAY = 17;
+  static final int DECIMAL_ARRAY = 18;
+
+  private WireFormat() {
+  }
+}
@@ -0,0 +1,1027 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.quantity;
+
+import static javax.measure.Quantity.Scale.ABSOLUTE;
+import static javax.measure.Quantity.Scale.RELATIVE;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.measure.Quantity;
+import javax.measure.Quantity.Scale;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tech.units.indriya.AbstractQuantity;
+import tech.units.indriya.ComparableQuantity;
+import tech.units.indriya.function.AbstractConverter;
+import tech.units.indriya.function.Calculus;
+import tech.units.indriya.function.RationalNumber;
+import tech.units.indriya.internal.function.CompensatedSum;
+import tech.units.indriya.internal.function.ScaleHelper;
+
+/**
+ * An immutable, fixed-size sequence of quantities sharing the same {@link Unit} and {@link Scale},
+ * with their values stored in a single primitive column.
+ * <p>
+ * Compared to a collection of {@link NumberQuantity} instances, this avoids an object header,
+ * a unit and a scale reference and a boxed {@link Number} per element. Three kinds of column are
+ * supported, in order of increasing 'widening':
+ * </p>
+ * <ul>
+ * <li>{@code long}, for exact integer values,</li>
+ * <li>{@code double}, for approximate values, processed with {@code double} arithmetic,</li>
+ * <li>decimal, for exact decimal values, processed with {@link BigDecimal} arithmetic.</li>
+ * </ul>
+ * <p>
+ * Bulk operations process whole columns in tight loops, widening the column kind where needed
+ * (e.g. on {@code long} overflow, or when multiplying a {@code long} column by a {@code double}).
+ * Unit conversion of {@code long} columns is exact for integer conversion factors, and done with
+ * {@code double} precision otherwise. Where a bulk operation is subject to scale semantics not
+ * covered by plain value arithmetic (e.g. adding absolute temperatures in Celsius), it falls back
+ * to the corresponding operation on each element.
+ * </p>
+ * <p>
+ * Elements are accessed as {@link ComparableQuantity} views, which do not copy the value.
+ * </p>
+ *
+ * @param <Q>
+ *          The type of the quantity.
+ * @since 2.2
+ */
+public final class QuantityArray<Q extends Quantity<Q>> implements Iterable<ComparableQuantity<Q>> {
+
+  private final Column column;
+
+  private final Unit<Q> unit;
+
+  private final Scale scale;
+
+  private QuantityArray(Column column, Unit<Q> unit, Scale scale) {
+    this.column = column;
+    this.unit = Objects.requireNonNull(unit);
+    this.scale = Objects.requireNonNull(scale);
+  }
+
+  /**
+   * Returns a quantity array holding a copy of the given {@code double} values, with absolute scale.
+   *
+   * @param values the values, not null.
+   * @param unit the unit of all values, not null.
+   * @return the corresponding quantity array.
+   */
+  public static <Q extends Quantity<Q>> QuantityArray<Q> of(double[] values, Unit<Q> unit) {
+    return of(values, unit, ABSOLUTE);
+  }
+
+  /**
+   * Returns a quantity array holding a copy of the given {@code double} values.
+   *
+   * @param values the values, not null.
+   * @param unit the unit of all values, not null.
+   * @param scale the scale of all values, not null.
+   * @return the corresponding quantity array.
+   */
+  public static <Q extends Quantity<Q>> QuantityArray<Q> of(double[] values, Unit<Q> unit, Scale scale) {
+    return new QuantityArray<>(new DoubleColumn(values.clone()), unit, scale);
+  }
+
+  /**
+   * Returns a quantity array holding a copy of the given {@code long} values, with absolute scale.
+   *
+   * @param values the values, not null.
+   * @param unit the unit of all values, not null.
+   * @return the corresponding quantity array.
+   */
+  public static <Q extends Quantity<Q>> QuantityArray<Q> of(long[] values, Unit<Q> unit) {
+    return of(values, unit, ABSOLUTE);
+  }
+
+  /**
+   * Returns a quantity array holding a copy of the given {@code long} values.
+   *
+   * @param values the values, not null.
+   * @param unit the unit of all values, not null.
+   * @param scale the scale of all values, not null.
+   * @return the corresponding quantity array.
+   */
+  public static <Q extends Quantity<Q>> QuantityArray<Q> of(long[] values, Unit<Q> unit, Scale scale) {
+    return new QuantityArray<>(new LongColumn(values.clone()), unit, scale);
+  }
+
+  /**
+   * Returns a quantity array holding a copy of the given decimal values, with absolute scale.
+   *
+   * @param values the values, not null, without null elements.
+   * @param unit the unit of all values, not null.
+   * @return the corresponding quantity array.
+   */
+  public static <Q extends Quantity<Q>> QuantityArray<Q> of(BigDecimal[] values, Unit<Q> unit) {
+    return of(values, unit, ABSOLUTE);
+  }
+
+  /**
+   * Returns a quantity array holding a copy of the given decimal values.
+   *
+   * @param values the values, not null, without null elements.
+   * @param unit the unit of all values, not null.
+   * @param scale the scale of all values, not null.
+   * @return the corresponding quantity array.
+   */
+  public static <Q extends Quantity<Q>> QuantityArray<Q> of(BigDecimal[] values, Unit<Q> unit, Scale scale) {
+    final BigDecimal[] copy = values.clone();
+    for (BigDecimal value : copy) {
+      Objects.requireNonNull(value);
+    }
+    return new QuantityArray<>(new DecimalColumn(copy), unit, scale);
+  }
+
+  /**
+   * Returns a quantity array holding the given quantities, converted to the given unit.
+   * <p>
+   * The scale of the array is the common scale of all quantities, {@code ABSOLUTE} if empty;
+   * quantities of {@code RELATIVE} scale are only converted by the linear factor of their unit,
+   * as {@link #to(Unit)} does.
+   * </p>
+   * <p>
+   * The column kind is {@code long} if all converted values are integers of primitive type,
+   * decimal if any of them is neither of primitive type nor a {@link Double} or {@link Float},
+   * and {@code double} otherwise.
+   * </p>
+   *
+   * @param quantities the quantities, not null, without null elements.
+   * @param unit the unit to convert all quantities to, not null.
+   * @return the corresponding quantity array.
+   * @throws IllegalArgumentException if the quantities are of mixed scales.
+   * @throws UnsupportedOperationException if a quantity of {@code RELATIVE} scale is not linearly
+   *         convertible to the given unit.
+   */
+  public static <Q extends Quantity<Q>> QuantityArray<Q> copyOf(List<? extends Quantity<Q>> quantities, Unit<Q> unit) {
+    final Number[] values = new Number[quantities.size()];
+    Unit<Q> lastUnit = null;
+    UnitConverter lastConverter = null;
+    final Scale scale = quantities.isEmpty() ? ABSOLUTE : quantities.get(0).getScale();
+    int kind = LongColumn.KIND;
+    for (int i = 0; i < values.length; i++) {
+      final Quantity<Q> quantity = quantities.get(i);
+      if (quantity.getScale() != scale) {
+        throw new IllegalArgumentException(
+            String.format("Quantity %s at index %d is not of scale %s like the preceding ones", quantity, i, scale));
+      }
+      if (scale == RELATIVE) {
+        values[i] = ScaleHelper.convertTo(quantity, unit).getValue();
+      } else {
+        if (quantity.getUnit() != lastUnit) {
+          lastUnit = quantity.getUnit();
+          lastConverter = lastUnit.getConverterTo(unit);
+        }
+        values[i] = lastConverter.convert(quantity.getValue());
+      }
+      kind = Math.max(kind, kindOf(values[i]));
+    }
+    return new QuantityArray<>(Column.of(kind, values), unit, scale);
+  }
+
+  /**
+   * @return the number of elements
+   */
+  public int size() {
+    return column.length();
+  }
+
+  /**
+   * @return the unit of all elements
+   */
+  public Unit<Q> getUnit() {
+    return unit;
+  }
+
+  /**
+   * @return the scale of all elements
+   */
+  public Scale getScale() {
+    return scale;
+  }
+
+  /**
+   * @return the type of the values of this array, either {@link Long}, {@link Double} or {@link BigDecimal}
+   */
+  public Class<? extends Number> getValueType() {
+    return column.valueType();
+  }
+
+  /**
+   * Returns a view of the element at the given index.
+   *
+   * @param index the index of the element.
+   * @return the element.
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   */
+  public ComparableQuantity<Q> get(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", index, size()));
+    }
+    return new Element<>(this, index);
+  }
+
+  /**
+   * @param index the index of the element.
+   * @return the value of the element at the given index.
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   */
+  public Number getValue(int index) {
+    return column.get(index);
+  }
+
+  /**
+   * @param index the index of the element.
+   * @return the value of the element at the given index, as {@code double}.
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   */
+  public double doubleValue(int index) {
+    return column.doubleValue(index);
+  }
+
+  /**
+   * @return a new array holding all values as {@code double}.
+   */
+  public double[] toDoubleArray() {
+    final double[] values = new double[size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = column.doubleValue(i);
+    }
+    return values;
+  }
+
+  /**
+   * Returns this quantity array after conversion to the specified unit.
+   *
+   * @param anotherUnit the unit of the returned quantity array.
+   * @return this quantity array, if the unit is the same, or a converted quantity array otherwise.
+   * @throws UnsupportedOperationException if the scale is relative and the conversion is not linear.
+   */
+  public QuantityArray<Q> to(Unit<Q> anotherUnit) {
+    if (anotherUnit.equals(unit)) {
+      return this;
+    }
+    final UnitConverter converter = unit.getConverterTo(anotherUnit);
+    if (scale == RELATIVE) {
+      final Number linearFactor = linearFactorOf(converter).orElseThrow(() -> new UnsupportedOperationException(
+          String.format("Conversion of %s to Unit %s is not supported for relative scale.", this, anotherUnit)));
+      return new QuantityArray<>(column.multiply(Calculus.currentNumberSystem().narrow(linearFactor)), anotherUnit, RELATIVE);
+    }
+    return new QuantityArray<>(column.convert(converter), anotherUnit, ABSOLUTE);
+  }
+
+  /**
+   * Returns the element-wise sum of this and the given quantity array, in the unit of this array.
+   *
+   * @param that the quantity array to add, of the same size.
+   * @return the element-wise sum.
+   * @throws IllegalArgumentException if the sizes differ.
+   */
+  public QuantityArray<Q> add(QuantityArray<Q> that) {
+    if (that.size() != size()) {
+      throw new IllegalArgumentException(String.format("Size mismatch: %d and %d", size(), that.size()));
+    }
+    if (scale == that.scale && isLinearToSystemUnit()) {
+      return new QuantityArray<>(column.add(that.to(unit).column), unit, scale);
+    }
+    // honor the scale semantics of each pair of elements
+    final Number[] values = new Number[size()];
+    Scale resultScale = scale;
+    for (int i = 0; i < values.length; i++) {
+      final ComparableQuantity<Q> sum = get(i).add(that.get(i));
+      values[i] = sum.getValue();
+      resultScale = sum.getScale();
+    }
+    return ofValues(values, resultScale);
+  }
+
+  /**
+   * Returns the product of each element and the given factor.
+   *
+   * @param factor the factor, not null.
+   * @return the scaled quantity array.
+   */
+  public QuantityArray<Q> multiply(Number factor) {
+    Objects.requireNonNull(factor);
+    if (scale == RELATIVE || isLinearToSystemUnit()) {
+      return new QuantityArray<>(column.multiply(factor), unit, scale);
+    }
+    // honor the scale semantics of each element
+    final Number[] values = new Number[size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = get(i).multiply(factor).getValue();
+    }
+    return ofValues(values, scale);
+  }
+
+  /**
+   * @return the sum of all elements, zero if empty
+   */
+  public ComparableQuantity<Q> sum() {
+    if (isLinearToSystemUnit() || size() == 0) {
+      return Quantities.getQuantity(column.sum(), unit, scale);
+    }
+    // honor the scale semantics of each element
+    ComparableQuantity<Q> sum = get(0);
+    for (int i = 1; i < size(); i++) {
+      sum = sum.add(get(i));
+    }
+    return sum;
+  }
+
+  /**
+   * @return the minimal element
+   * @throws NoSuchElementException if empty
+   */
+  public ComparableQuantity<Q> min() {
+    if (size() == 0) {
+      throw new NoSuchElementException("empty");
+    }
+    return Quantities.getQuantity(column.get(column.indexOfMin()), unit, scale);
+  }
+
+  /**
+   * @return the maximal element
+   * @throws NoSuchElementException if empty
+   */
+  public ComparableQuantity<Q> max() {
+    if (size() == 0) {
+      throw new NoSuchElementException("empty");
+    }
+    return Quantities.getQuantity(column.get(column.indexOfMax()), unit, scale);
+  }
+
+  /**
+   * @return a sequential stream of element views
+   */
+  public Stream<ComparableQuantity<Q>> stream() {
+    return IntStream.range(0, size()).mapToObj(this::get);
+  }
+
+  @Override
+  public Iterator<ComparableQuantity<Q>> iterator() {
+    return stream().iterator();
+  }
+
+  /**
+   * Compares this quantity array against the specified object for strict equality (same unit,
+   * same scale, same column kind and same values).
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof QuantityArray<?>) {
+      final QuantityArray<?> that = (QuantityArray<?>) obj;
+      return unit.equals(that.unit) && scale == that.scale && column.equals(that.column);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(unit, scale, column);
+  }
+
+  @Override
+  public String toString() {
+    return IntStream.range(0, size()).mapToObj(i -> String.valueOf(column.get(i)))
+        .collect(Collectors.joining(", ", "[", "] ")) + unit;
+  }
+
+  // -- HELPER
+
+  private boolean isLinearToSystemUnit() {
+    return unit.getConverterTo(unit.getSystemUnit()).isLinear();
+  }
+
+  private QuantityArray<Q> ofValues(Number[] values, Scale scale) {
+    int kind = LongColumn.KIND;
+    for (Number value : values) {
+      kind = Math.max(kind, kindOf(value));
+    }
+    return new QuantityArray<>(Column.of(kind, values), unit, scale);
+  }
+
+  private static Optional<Number> linearFactorOf(UnitConverter converter) {
+    return (converter instanceof AbstractConverter) ? ((AbstractConverter) converter).linearFactor() : Optional.empty();
+  }
+
+  private static boolean isLongValued(Number number) {
+    final Class<?> type = number.getClass();
+    return type == Long.class || type == Integer.class || type == Short.class || type == Byte.class;
+  }
+
+  private static int kindOf(Number number) {
+    if (isLongValued(number)) {
+      return LongColumn.KIND;
+    }
+    if (number instanceof Double || number instanceof Float) {
+      return DoubleColumn.KIND;
+    }
+    return DecimalColumn.KIND;
+  }
+
+  /**
+   * Unlike {@link #kindOf(Number)}, only a {@link BigDecimal} or {@link BigInteger} factor widens
+   * to decimal; an exact ratio such as a linear conversion factor yields {@code double}, as
+   * {@link Column#convert(UnitConverter)} does.
+   */
+  private static int kindOfFactor(Number factor) {
+    if (isLongValued(factor)) {
+      return LongColumn.KIND;
+    }
+    if (factor instanceof BigDecimal || factor instanceof BigInteger) {
+      return DecimalColumn.KIND;
+    }
+    return DoubleColumn.KIND;
+  }
+
+  private static BigDecimal toBigDecimal(Number number) {
+    if (number instanceof BigDecimal) {
+      return (BigDecimal) number;
+    }
+    if (number instanceof BigInteger) {
+      return new BigDecimal((BigInteger) number);
+    }
+    if (number instanceof RationalNumber) {
+      return ((RationalNumber) number).bigDecimalValue();
+    }
+    if (isLongValued(number)) {
+      return BigDecimal.valueOf(number.longValue());
+    }
+    return BigDecimal.valueOf(number.doubleValue());
+  }
+
+  /**
+   * A view of an element, reading its value from the column of the array.
+   */
+  private static final class Element<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient QuantityArray<Q> array;
+
+    private final int index;
+
+    private Element(QuantityArray<Q> array, int index) {
+      super(array.unit, array.scale);
+      this.array = array;
+      this.index = index;
+    }
+
+    @Override
+    public Number getValue() {
+      return array.column.get(index);
+    }
+
+    private ComparableQuantity<Q> toQuantity() {
+      return Quantities.getQuantity(getValue(), getUnit(), getScale());
+    }
+
+    @Override
+    public ComparableQuantity<Q> add(Quantity<Q> that) {
+      return toQuantity().add(that);
+    }
+
+    @Override
+    public ComparableQuantity<Q> subtract(Quantity<Q> that) {
+      return toQuantity().subtract(that);
+    }
+
+    @Override
+    public ComparableQuantity<?> divide(Quantity<?> that) {
+      return toQuantity().divide(that);
+    }
+
+    @Override
+    public ComparableQuantity<Q> divide(Number divisor) {
+      return toQuantity().divide(divisor);
+    }
+
+    @Override
+    public ComparableQuantity<?> multiply(Quantity<?> that) {
+      return toQuantity().multiply(that);
+    }
+
+    @Override
+    public ComparableQuantity<Q> multiply(Number factor) {
+      return toQuantity().multiply(factor);
+    }
+
+    @Override
+    public ComparableQuantity<?> inverse() {
+      return toQuantity().inverse();
+    }
+
+    @Override
+    public Quantity<Q> negate() {
+      return toQuantity().negate();
+    }
+
+    // serialized as a detached quantity, rather than with the whole array
+    private Object writeReplace() {
+      return toQuantity();
+    }
+  }
+
+  // -- COLUMNS
+
+  private abstract static class Column {
+
+    static Column of(int kind, Number[] values) {
+      switch (kind) {
+      case LongColumn.KIND: {
+        final long[] longs = new long[values.length];
+        for (int i = 0; i < longs.length; i++) {
+          longs[i] = values[i].longValue();
+        }
+        return new LongColumn(longs);
+      }
+      case DoubleColumn.KIND: {
+        final double[] doubles = new double[values.length];
+        for (int i = 0; i < doubles.length; i++) {
+          doubles[i] = values[i].doubleValue();
+        }
+        return new DoubleColumn(doubles);
+      }
+      default: {
+        final BigDecimal[] decimals = new BigDecimal[values.length];
+        for (int i = 0; i < decimals.length; i++) {
+          decimals[i] = toBigDecimal(values[i]);
+        }
+        return new DecimalColumn(decimals);
+      }
+      }
+    }
+
+    abstract int kind();
+
+    abstract Class<? extends Number> valueType();
+
+    abstract int length();
+
+    abstract Number get(int index);
+
+    abstract double doubleValue(int index);
+
+    abstract Column widenTo(int kind);
+
+    abstract Column convert(UnitConverter converter);
+
+    abstract Column multiply(Number factor);
+
+    /** @param other of the same kind and length */
+    abstract Column addSameKind(Column other);
+
+    abstract Number sum();
+
+    abstract int indexOfMin();
+
+    abstract int indexOfMax();
+
+    final Column add(Column other) {
+      final int kind = Math.max(kind(), other.kind());
+      return widenTo(kind).addSameKind(other.widenTo(kind));
+    }
+  }
+
+  private static final class LongColumn extends Column {
+
+    static final int KIND = 0;
+
+    private final long[] values;
+
+    LongColumn(long[] values) {
+      this.values = values;
+    }
+
+    @Override
+    int kind() {
+      return KIND;
+    }
+
+    @Override
+    Class<? extends Number> valueType() {
+      return Long.class;
+    }
+
+    @Override
+    int length() {
+      return values.length;
+    }
+
+    @Override
+    Number get(int index) {
+      return values[index];
+    }
+
+    @Override
+    double doubleValue(int index) {
+      return values[index];
+    }
+
+    @Override
+    Column widenTo(int kind) {
+      switch (kind) {
+      case KIND:
+        return this;
+      case DoubleColumn.KIND: {
+        final double[] doubles = new double[values.length];
+        for (int i = 0; i < doubles.length; i++) {
+          doubles[i] = values[i];
+        }
+        return new DoubleColumn(doubles);
+      }
+      default: {
+        final BigDecimal[] decimals = new BigDecimal[values.length];
+        for (int i = 0; i < decimals.length; i++) {
+          decimals[i] = BigDecimal.valueOf(values[i]);
+        }
+        return new DecimalColumn(decimals);
+      }
+      }
+    }
+
+    @Override
+    Column convert(UnitConverter converter) {
+      if (converter.isIdentity()) {
+        return this;
+      }
+      if (converter.isLinear()) {
+        final Number factor = Calculus.currentNumberSystem().narrow(converter.convert(1));
+        if (isLongValued(factor)) {
+          return multiply(factor);
+        }
+      }
+      final double[] converted = new double[values.length];
+      if (converter instanceof AbstractConverter) {
+        ((AbstractConverter) converter).convert(values, 0, converted, 0, values.length);
+      } else {
+        for (int i = 0; i < converted.length; i++) {
+          converted[i] = converter.convert((double) values[i]);
+        }
+      }
+      return new DoubleColumn(converted);
+    }
+
+    @Override
+    Column multiply(Number factor) {
+      if (!isLongValued(factor)) {
+        return widenTo(kindOfFactor(factor)).multiply(factor);
+      }
+      final long longFactor = factor.longValue();
+      final long[] products = new long[values.length];
+      try {
+        for (int i = 0; i < products.length; i++) {
+          products[i] = Math.multiplyExact(values[i], longFactor);
+        }
+      } catch (ArithmeticException overflow) {
+        return widenTo(DecimalColumn.KIND).multiply(factor);
+      }
+      return new LongColumn(products);
+    }
+
+    @Override
+    Column addSameKind(Column other) {
+      final long[] others = ((LongColumn) other).values;
+      final long[] sums = new long[values.length];
+      try {
+        for (int i = 0; i < sums.length; i++) {
+          sums[i] = Math.addExact(values[i], others[i]);
+        }
+      } catch (ArithmeticException overflow) {
+        return widenTo(DecimalColumn.KIND).add(other);
+      }
+      return new LongColumn(sums);
+    }
+
+    @Override
+    Number sum() {
+      long sum = 0;
+      try {
+        for (long value : values) {
+          sum = Math.addExact(sum, value);
+        }
+      } catch (ArithmeticException overflow) {
+        return widenTo(DecimalColumn.KIND).sum();
+      }
+      return sum;
+    }
+
+    @Override
+    int indexOfMin() {
+      int index = 0;
+      for (int i = 1; i < values.length; i++) {
+        if (values[i] < values[index]) {
+          index = i;
+        }
+      }
+      return index;
+    }
+
+    @Override
+    int indexOfMax() {
+      int index = 0;
+      for (int i = 1; i < values.length; i++) {
+        if (values[i] > values[index]) {
+          index = i;
+        }
+      }
+      return index;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof LongColumn && Arrays.equals(values, ((LongColumn) obj).values);
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(values);
+    }
+  }
+
+  private static final class DoubleColumn extends Column {
+
+    static final int KIND = 1;
+
+    private final double[] values;
+
+    DoubleColumn(double[] values) {
+      this.values = values;
+    }
+
+    @Override
+    int kind() {
+      return KIND;
+    }
+
+    @Override
+    Class<? extends Number> valueType() {
+      return Double.class;
+    }
+
+    @Override
+    int length() {
+      return values.length;
+    }
+
+    @Override
+    Number get(int index) {
+      return values[index];
+    }
+
+    @Override
+    double doubleValue(int index) {
+      return values[index];
+    }
+
+    @Override
+    Column widenTo(int kind) {
+      if (kind <= KIND) {
+        return this;
+      }
+      final BigDecimal[] decimals = new BigDecimal[values.length];
+      for (int i = 0; i < decimals.length; i++) {
+        decimals[i] = BigDecimal.valueOf(values[i]);
+      }
+      return new DecimalColumn(decimals);
+    }
+
+    @Override
+    Column convert(UnitConverter converter) {
+      if (converter.isIdentity()) {
+        return this;
+      }
+      final double[] converted = new double[values.length];
+      if (converter instanceof AbstractConverter) {
+        ((AbstractConverter) converter).convert(values, 0, converted, 0, values.length);
+      } else {
+        for (int i = 0; i < converted.length; i++) {
+          converted[i] = converter.convert(values[i]);
+        }
+      }
+      return new DoubleColumn(converted);
+    }
+
+    @Override
+    Column multiply(Number factor) {
+      if (kindOfFactor(factor) > KIND) {
+        return widenTo(kindOfFactor(factor)).multiply(factor);
+      }
+      final double doubleFactor = factor.doubleValue();
+      final double[] products = new double[values.length];
+      for (int i = 0; i < products.length; i++) {
+        products[i] = values[i] * doubleFactor;
+      }
+      return new DoubleColumn(products);
+    }
+
+    @Override
+    Column addSameKind(Column other) {
+      final double[] others = ((DoubleColumn) other).values;
+      final double[] sums = new double[values.length];
+      for (int i = 0; i < sums.length; i++) {
+        sums[i] = values[i] + others[i];
+      }
+      return new DoubleColumn(sums);
+    }
+
+    @Override
+    Number sum() {
+      final CompensatedSum sum = new CompensatedSum();
+      for (double value : values) {
+        sum.add(value);
+      }
+      return sum.getSum();
+    }
+
+    @Override
+    int indexOfMin() {
+      int index = 0;
+      for (int i = 1; i < values.length; i++) {
+        if (values[i] < values[index]) {
+          index = i;
+        }
+      }
+      return index;
+    }
+
+    @Override
+    int indexOfMax() {
+      int index = 0;
+      for (int i = 1; i < values.length; i++) {
+        if (values[i] > values[index]) {
+          index = i;
+        }
+      }
+      return index;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof DoubleColumn && Arrays.equals(values, ((DoubleColumn) obj).values);
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(values);
+    }
+  }
+
+  private static final class DecimalColumn extends Column {
+
+    static final int KIND = 2;
+
+    private final BigDecimal[] values;
+
+    DecimalColumn(BigDecimal[] values) {
+      this.values = values;
+    }
+
+    @Override
+    int kind() {
+      return KIND;
+    }
+
+    @Override
+    Class<? extends Number> valueType() {
+      return BigDecimal.class;
+    }
+
+    @Override
+    int length() {
+      return values.length;
+    }
+
+    @Override
+    Number get(int index) {
+      return values[index];
+    }
+
+    @Override
+    double doubleValue(int index) {
+      return values[index].doubleValue();
+    }
+
+    @Override
+    Column widenTo(int kind) {
+      return this;
+    }
+
+    @Override
+    Column convert(UnitConverter converter) {
+      if (converter.isIdentity()) {
+        return this;
+      }
+      final BigDecimal[] converted = new BigDecimal[values.length];
+      for (int i = 0; i < converted.length; i++) {
+        converted[i] = toBigDecimal(converter.convert(values[i]));
+      }
+      return new DecimalColumn(converted);
+    }
+
+    @Override
+    Column multiply(Number factor) {
+      final BigDecimal decimalFactor = toBigDecimal(factor);
+      final BigDecimal[] products = new BigDecimal[values.length];
+      for (int i = 0; i < products.length; i++) {
+        products[i] = values[i].multiply(decimalFactor, Calculus.MATH_CONTEXT);
+      }
+      return new DecimalColumn(products);
+    }
+
+    @Override
+    Column addSameKind(Column other) {
+      final BigDecimal[] others = ((DecimalColumn) other).values;
+      final BigDecimal[] sums = new BigDecimal[values.length];
+      for (int i = 0; i < sums.length; i++) {
+        sums[i] = values[i].add(others[i]);
+      }
+      return new DecimalColumn(sums);
+    }
+
+    @Override
+    Number sum() {
+      BigDecimal sum = BigDecimal.ZERO;
+      for (BigDecimal value : values) {
+        sum = sum.add(value);
+      }
+      return sum;
+    }
+
+    @Override
+    int indexOfMin() {
+      int index = 0;
+      for (int i = 1; i < values.length; i++) {
+        if (values[i].compareTo(values[index]) < 0) {
+          index = i;
+        }
+      }
+      return index;
+    }
+
+    @Override
+    int indexOfMax() {
+      int index = 0;
+      for (int i = 1; i < values.length; i++) {
+        if (values[i].compareTo(values[index]) > 0) {
+          index = i;
+        }
+      }
+      return index;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof DecimalColumn && Arrays.equals(values, ((DecimalColumn) obj).values);
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(values);
+    }
+  }
+}
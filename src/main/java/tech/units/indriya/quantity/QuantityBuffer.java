@@ -0,0 +1,458 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.quantity;
+
+import static javax.measure.Quantity.Scale.ABSOLUTE;
+import static javax.measure.Quantity.Scale.RELATIVE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+import javax.measure.Quantity;
+import javax.measure.Quantity.Scale;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tech.units.indriya.ComparableQuantity;
+import tech.units.indriya.format.SimpleUnitFormat;
+import tech.units.indriya.function.AbstractConverter;
+import tech.units.indriya.function.MultiplyConverter;
+
+/**
+ * A fixed-size column of {@code double} quantity values sharing the same {@link Unit} and
+ * {@link Scale}, stored outside of the Java heap in a {@link ByteBuffer}, either
+ * {@link #allocateDirect direct} or {@link #create(Path, int, Unit) memory-mapped} from a file.
+ * <p>
+ * The buffer starts with a header of {@value #HEADER_SIZE} bytes, holding the number of values,
+ * the byte order and scale of the values, and the unit symbol as formatted by
+ * {@link SimpleUnitFormat}. The values follow the header. This makes a buffer self-describing, so
+ * that a file written by one process can be {@link #map mapped} by another.
+ * </p>
+ * <p>
+ * Values are read and written in place: {@link #convertTo(Unit)} converts all values in chunks,
+ * without creating any {@link Quantity} objects, and updates the unit in the header.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @param <Q>
+ *          The type of the quantity.
+ * @since 2.2
+ */
+public final class QuantityBuffer<Q extends Quantity<Q>> {
+
+  /**
+   * The size of the header, in bytes.
+   */
+  public static final int HEADER_SIZE = 128;
+
+  private static final byte[] MAGIC = { 'Q', 'B', 'U', 'F' };
+  private static final byte VERSION = 1;
+
+  private static final int VERSION_OFFSET = 4;
+  private static final int BYTE_ORDER_OFFSET = 5;
+  private static final int SCALE_OFFSET = 6;
+  private static final int SIZE_OFFSET = 8;
+  private static final int SYMBOL_LENGTH_OFFSET = 12;
+  private static final int SYMBOL_OFFSET = 14;
+  private static final int MAX_SYMBOL_LENGTH = HEADER_SIZE - SYMBOL_OFFSET;
+
+  /** the number of values converted at once */
+  private static final int CHUNK_SIZE = 1024;
+
+  private final ByteBuffer buffer;
+
+  /**
+   * the mapped buffer this buffer is a slice of, or null; slices of a mapped buffer are not mapped
+   * buffers themselves before Java 13, so {@link #force()} needs the original
+   */
+  private final MappedByteBuffer mapped;
+
+  private final DoubleBuffer values;
+
+  private Unit<Q> unit;
+
+  private final Scale scale;
+
+  private QuantityBuffer(ByteBuffer buffer, MappedByteBuffer mapped, Unit<Q> unit, Scale scale) {
+    this.buffer = buffer;
+    this.mapped = mapped;
+    this.unit = unit;
+    this.scale = scale;
+    final ByteBuffer duplicate = buffer.duplicate().order(buffer.order());
+    duplicate.position(HEADER_SIZE);
+    this.values = duplicate.slice().order(buffer.order()).asDoubleBuffer();
+  }
+
+  /**
+   * Allocates a new direct buffer for the given number of values, in native byte order, with
+   * absolute scale. All values are initially zero.
+   *
+   * @param size the number of values.
+   * @param unit the unit of all values, not null.
+   * @return a new quantity buffer.
+   * @throws IllegalArgumentException if the size is negative, or the unit symbol too long.
+   */
+  public static <Q extends Quantity<Q>> QuantityBuffer<Q> allocateDirect(int size, Unit<Q> unit) {
+    return allocateDirect(size, unit, ABSOLUTE);
+  }
+
+  /**
+   * Allocates a new direct buffer for the given number of values, in native byte order. All
+   * values are initially zero.
+   *
+   * @param size the number of values.
+   * @param unit the unit of all values, not null.
+   * @param scale the scale of all values, not null.
+   * @return a new quantity buffer.
+   * @throws IllegalArgumentException if the size is negative, or the unit symbol too long.
+   */
+  public static <Q extends Quantity<Q>> QuantityBuffer<Q> allocateDirect(int size, Unit<Q> unit, Scale scale) {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(byteSize(size)).order(ByteOrder.nativeOrder());
+    return initialize(buffer, null, size, unit, scale);
+  }
+
+  /**
+   * Creates (or replaces) the given file with room for the given number of values, and maps it
+   * into memory, in native byte order, with absolute scale. All values are initially zero.
+   *
+   * @param path the file, not null.
+   * @param size the number of values.
+   * @param unit the unit of all values, not null.
+   * @return a new quantity buffer, backed by the file.
+   * @throws IOException if the file cannot be created or mapped.
+   * @throws IllegalArgumentException if the size is negative, or the unit symbol too long.
+   */
+  public static <Q extends Quantity<Q>> QuantityBuffer<Q> create(Path path, int size, Unit<Q> unit) throws IOException {
+    return create(path, size, unit, ABSOLUTE);
+  }
+
+  /**
+   * Creates (or replaces) the given file with room for the given number of values, and maps it
+   * into memory, in native byte order. All values are initially zero.
+   *
+   * @param path the file, not null.
+   * @param size the number of values.
+   * @param unit the unit of all values, not null.
+   * @param scale the scale of all values, not null.
+   * @return a new quantity buffer, backed by the file.
+   * @throws IOException if the file cannot be created or mapped.
+   * @throws IllegalArgumentException if the size is negative, or the unit symbol too long.
+   */
+  public static <Q extends Quantity<Q>> QuantityBuffer<Q> create(Path path, int size, Unit<Q> unit, Scale scale)
+      throws IOException {
+    final int byteSize = byteSize(size);
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, byteSize);
+      buffer.order(ByteOrder.nativeOrder());
+      return initialize(buffer, buffer, size, unit, scale);
+    }
+  }
+
+  /**
+   * Maps the given file, as written by a quantity buffer, into memory for reading and writing.
+   *
+   * @param path the file, not null.
+   * @return the quantity buffer, backed by the file; its type can be narrowed with {@link #asType(Class)}.
+   * @throws IOException if the file cannot be mapped.
+   * @throws IllegalArgumentException if the file does not start with a valid header.
+   */
+  public static QuantityBuffer<?> map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+      return wrap(buffer, buffer);
+    }
+  }
+
+  /**
+   * Wraps the given buffer, which must start with a valid header at its position. The values are
+   * shared, not copied.
+   *
+   * @param buffer the buffer, not null.
+   * @return the quantity buffer; its type can be narrowed with {@link #asType(Class)}.
+   * @throws IllegalArgumentException if the buffer does not start with a valid header.
+   */
+  public static QuantityBuffer<?> wrap(ByteBuffer buffer) {
+    return wrap(buffer, buffer instanceof MappedByteBuffer ? (MappedByteBuffer) buffer : null);
+  }
+
+  private static QuantityBuffer<?> wrap(ByteBuffer buffer, MappedByteBuffer mapped) {
+    final ByteBuffer header = buffer.slice();
+    if (header.remaining() < HEADER_SIZE) {
+      throw new IllegalArgumentException("Buffer too small for header: " + header.remaining());
+    }
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (header.get(i) != MAGIC[i]) {
+        throw new IllegalArgumentException("Not a quantity buffer");
+      }
+    }
+    if (header.get(VERSION_OFFSET) != VERSION) {
+      throw new IllegalArgumentException("Unsupported version: " + header.get(VERSION_OFFSET));
+    }
+    header.order(header.get(BYTE_ORDER_OFFSET) == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+    final Scale scale = header.get(SCALE_OFFSET) == 0 ? ABSOLUTE : RELATIVE;
+    final int size = header.getInt(SIZE_OFFSET);
+    final int symbolLength = header.getShort(SYMBOL_LENGTH_OFFSET);
+    if (size < 0 || symbolLength < 0 || symbolLength > MAX_SYMBOL_LENGTH || header.remaining() < byteSize(size)) {
+      throw new IllegalArgumentException("Corrupt header");
+    }
+    final byte[] symbol = new byte[symbolLength];
+    for (int i = 0; i < symbolLength; i++) {
+      symbol[i] = header.get(SYMBOL_OFFSET + i);
+    }
+    final Unit<?> unit = SimpleUnitFormat.getInstance().parse(new String(symbol, StandardCharsets.UTF_8));
+    header.limit(byteSize(size));
+    return of(header.slice().order(header.order()), mapped, unit, scale);
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private static QuantityBuffer<?> of(ByteBuffer buffer, MappedByteBuffer mapped, Unit unit, Scale scale) {
+    return new QuantityBuffer(buffer, mapped, unit, scale);
+  }
+
+  private static <Q extends Quantity<Q>> QuantityBuffer<Q> initialize(ByteBuffer buffer, MappedByteBuffer mapped,
+      int size, Unit<Q> unit, Scale scale) {
+    Objects.requireNonNull(unit);
+    Objects.requireNonNull(scale);
+    buffer.put(0, MAGIC[0]).put(1, MAGIC[1]).put(2, MAGIC[2]).put(3, MAGIC[3]);
+    buffer.put(VERSION_OFFSET, VERSION);
+    buffer.put(BYTE_ORDER_OFFSET, (byte) (buffer.order() == ByteOrder.BIG_ENDIAN ? 0 : 1));
+    buffer.put(SCALE_OFFSET, (byte) (scale == ABSOLUTE ? 0 : 1));
+    buffer.putInt(SIZE_OFFSET, size);
+    writeSymbol(buffer, unit);
+    return new QuantityBuffer<>(buffer, mapped, unit, scale);
+  }
+
+  private static void writeSymbol(ByteBuffer buffer, Unit<?> unit) {
+    final byte[] symbol = SimpleUnitFormat.getInstance().format(unit).getBytes(StandardCharsets.UTF_8);
+    if (symbol.length > MAX_SYMBOL_LENGTH) {
+      throw new IllegalArgumentException(String.format("Unit symbol of %d bytes exceeds maximum of %d bytes: %s",
+          symbol.length, MAX_SYMBOL_LENGTH, unit));
+    }
+    buffer.putShort(SYMBOL_LENGTH_OFFSET, (short) symbol.length);
+    for (int i = 0; i < symbol.length; i++) {
+      buffer.put(SYMBOL_OFFSET + i, symbol[i]);
+    }
+  }
+
+  private static int byteSize(int size) {
+    if (size < 0 || size > (Integer.MAX_VALUE - HEADER_SIZE) / Double.BYTES) {
+      throw new IllegalArgumentException("Invalid size: " + size);
+    }
+    return HEADER_SIZE + size * Double.BYTES;
+  }
+
+  /**
+   * Narrows the type of this quantity buffer.
+   *
+   * @param type the quantity type, not null.
+   * @return this quantity buffer, typed.
+   * @throws ClassCastException if the unit of this buffer is not of the given type.
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends Quantity<T>> QuantityBuffer<T> asType(Class<T> type) {
+    unit.asType(type); // checks the dimension
+    return (QuantityBuffer<T>) this;
+  }
+
+  /**
+   * @return the number of values
+   */
+  public int size() {
+    return values.capacity();
+  }
+
+  /**
+   * @return the unit of all values
+   */
+  public Unit<Q> getUnit() {
+    return unit;
+  }
+
+  /**
+   * @return the scale of all values
+   */
+  public Scale getScale() {
+    return scale;
+  }
+
+  /**
+   * @return the underlying buffer, including the header
+   */
+  public ByteBuffer getBuffer() {
+    return buffer.duplicate().order(buffer.order());
+  }
+
+  /**
+   * @param index the index of the value.
+   * @return the value at the given index.
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   */
+  public double getDouble(int index) {
+    return values.get(index);
+  }
+
+  /**
+   * @param index the index of the value.
+   * @param value the new value, in the unit of this buffer.
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   */
+  public void setDouble(int index, double value) {
+    values.put(index, value);
+  }
+
+  /**
+   * @param index the index of the value.
+   * @return the quantity at the given index.
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   */
+  public ComparableQuantity<Q> get(int index) {
+    return Quantities.getQuantity(values.get(index), unit, scale);
+  }
+
+  /**
+   * Copies values out of this buffer.
+   *
+   * @param index the index of the first value to copy.
+   * @param dst the array to copy the values to.
+   * @param offset the index in {@code dst} of the first value.
+   * @param length the number of values to copy.
+   * @throws IndexOutOfBoundsException if a range is not within the bounds of its array or buffer.
+   */
+  public void get(int index, double[] dst, int offset, int length) {
+    checkRange(index, length);
+    final DoubleBuffer source = values.duplicate();
+    source.position(index);
+    source.get(dst, offset, length);
+  }
+
+  /**
+   * Copies values into this buffer.
+   *
+   * @param index the index of the first value to overwrite.
+   * @param src the array to copy the values from, in the unit of this buffer.
+   * @param offset the index in {@code src} of the first value.
+   * @param length the number of values to copy.
+   * @throws IndexOutOfBoundsException if a range is not within the bounds of its array or buffer.
+   */
+  public void put(int index, double[] src, int offset, int length) {
+    checkRange(index, length);
+    final DoubleBuffer target = values.duplicate();
+    target.position(index);
+    target.put(src, offset, length);
+  }
+
+  /**
+   * Converts all values to the given unit in place, and records the unit in the header.
+   *
+   * @param anotherUnit the new unit.
+   * @return this quantity buffer, typed.
+   * @throws UnsupportedOperationException if the scale is relative and the conversion is not linear.
+   * @throws IllegalArgumentException if the unit symbol is too long for the header.
+   */
+  public QuantityBuffer<Q> convertTo(Unit<Q> anotherUnit) {
+    if (anotherUnit.equals(unit)) {
+      return this;
+    }
+    final UnitConverter converter = linearIfRelative(unit.getConverterTo(anotherUnit), anotherUnit);
+    writeSymbol(buffer, anotherUnit);
+    final double[] chunk = new double[Math.min(CHUNK_SIZE, size())];
+    final DoubleBuffer source = values.duplicate();
+    final DoubleBuffer target = values.duplicate();
+    while (source.hasRemaining()) {
+      final int length = Math.min(chunk.length, source.remaining());
+      source.get(chunk, 0, length);
+      if (converter instanceof AbstractConverter) {
+        ((AbstractConverter) converter).convert(chunk, 0, chunk, 0, length);
+      } else {
+        for (int i = 0; i < length; i++) {
+          chunk[i] = converter.convert(chunk[i]);
+        }
+      }
+      target.put(chunk, 0, length);
+    }
+    unit = anotherUnit;
+    return this;
+  }
+
+  /**
+   * @return a copy of all values as quantity array on the heap
+   */
+  public QuantityArray<Q> toQuantityArray() {
+    final double[] copy = new double[size()];
+    get(0, copy, 0, copy.length);
+    return QuantityArray.of(copy, unit, scale);
+  }
+
+  /**
+   * Forces any changes to be written to the file, if this buffer is memory-mapped.
+   */
+  public void force() {
+    if (mapped != null) {
+      mapped.force();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("QuantityBuffer[size=%d, unit=%s, scale=%s]", size(), unit, scale);
+  }
+
+  private UnitConverter linearIfRelative(UnitConverter converter, Unit<Q> anotherUnit) {
+    if (scale == ABSOLUTE || converter.isLinear()) {
+      return converter;
+    }
+    final Number linearFactor = (converter instanceof AbstractConverter)
+        ? ((AbstractConverter) converter).linearFactor().orElse(null)
+        : null;
+    if (linearFactor == null) {
+      throw new UnsupportedOperationException(
+          String.format("Conversion of %s to Unit %s is not supported for relative scale.", this, anotherUnit));
+    }
+    return MultiplyConverter.of(linearFactor);
+  }
+
+  private void checkRange(int index, int length) {
+    if (index < 0 || length < 0 || index > size() - length) {
+      throw new IndexOutOfBoundsException(
+          String.format("Range [%d, %d + %d) out of bounds for length %d", index, index, length, size()));
+    }
+  }
+}
@@ -67,11 +67,9 @@ public final class TemporalQuantity extends AbstractQuantity<Time> {
   
   private static final long serialVersionUID = -707159906206272775L;
   
-  private final Object $lock1 = new Object[0]; // serializable lock for 'amount'
-  
   private final TemporalUnit timeUnit;
   private final Number value;
-  private transient TemporalAmount amount;
+  private transient volatile TemporalAmount amount; // lazily computed, racy single-check
 
   /**
    * creates the {@link TemporalQuantity} using {@link TemporalUnit} and {@link Number}
@@ -118,26 +116,25 @@ public final class TemporalQuantity extends AbstractQuantity<Time> {
    * @throws ArithmeticException when the {@code value} of this {@code TemporalQuantity} cannot be converted to long
    */
   public TemporalAmount getTemporalAmount() {
-    synchronized ($lock1) {
-        if(amount==null) {
-            
-            long longValue = value.longValue();
-            
-            Number error = Calculator.of(value)
-            .subtract(longValue)
-            .abs()
-            .peek();
+    TemporalAmount result = amount;
+    if(result==null) {
+        
+        long longValue = value.longValue();
+        
+        Number error = Calculator.of(value)
+        .subtract(longValue)
+        .abs()
+        .peek();
 
-            //TODO[220] we should try to switch to smaller units to minimize the error
-            if(Calculus.currentNumberSystem().compare(error, 1)>0) {
-                String msg = String.format("cannot round number %s to long", "" + value);
-                throw new ArithmeticException(msg);
-            }
-            amount = Duration.of(longValue, timeUnit);
-            
+        //TODO[220] we should try to switch to smaller units to minimize the error
+        if(Calculus.currentNumberSystem().compare(error, 1)>0) {
+            String msg = String.format("cannot round number %s to long", "" + value);
+            throw new ArithmeticException(msg);
         }
+        amount = result = Duration.of(longValue, timeUnit);
+        
     }
-    return amount;
+    return result;
   }
 
   /**
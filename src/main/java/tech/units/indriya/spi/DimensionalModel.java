@@ -34,6 +34,7 @@ import java.util.Map;
 import javax.measure.Dimension;
 
 import tech.units.indriya.function.AbstractConverter;
+import tech.units.indriya.function.ConverterCache;
 import tech.units.indriya.unit.UnitDimension;
 
 /**
@@ -102,6 +103,7 @@ public abstract class DimensionalModel {
    */
   protected static void setCurrent(DimensionalModel model) {
     currentModel = model;
+    ConverterCache.current().clear(); // cached converters depend on the model
   }
 
   /**
@@ -35,7 +35,10 @@ import javax.measure.Unit;
 import javax.measure.UnitConverter;
 
 import tech.units.indriya.AbstractUnit;
+import tech.units.indriya.internal.function.Lazy;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.Map;
 import java.util.Objects;
 
@@ -72,6 +75,11 @@ public final class AlternateUnit<Q extends Quantity<Q>> extends AbstractUnit<Q>
 	 */
 	private final Unit<?> parentUnit;
 
+	/**
+	 * Caches the converter to the system unit.
+	 */
+	private transient Lazy<UnitConverter> systemConverter = new Lazy<>(this::calculateSystemConverter);
+
 	/**
 	 * Creates an alternate unit for the specified system unit identified by the
 	 * specified name and symbol.
@@ -125,9 +133,13 @@ public final class AlternateUnit<Q extends Quantity<Q>> extends AbstractUnit<Q>
 		return parentUnit.getDimension();
 	}
 
-	@SuppressWarnings("rawtypes")
 	@Override
 	public UnitConverter getSystemConverter() {
+		return systemConverter.get();
+	}
+
+	@SuppressWarnings("rawtypes")
+	private UnitConverter calculateSystemConverter() {
 		return ((AbstractUnit) parentUnit).getSystemConverter();
 	}
 
@@ -192,4 +204,9 @@ public final class AlternateUnit<Q extends Quantity<Q>> extends AbstractUnit<Q>
     public static <Q extends Quantity<Q>> AlternateUnit<Q> of(Unit<?> parent, String symbol, String name) {
         return new AlternateUnit<>(parent, symbol, name);
     }
+
+	private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+		stream.defaultReadObject();
+		systemConverter = new Lazy<>(this::calculateSystemConverter);
+	}
 }
@@ -35,7 +35,10 @@ import javax.measure.Unit;
 import javax.measure.UnitConverter;
 
 import tech.units.indriya.AbstractUnit;
+import tech.units.indriya.internal.function.Lazy;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.Map;
 import java.util.Objects;
 
@@ -73,6 +76,16 @@ public final class AnnotatedUnit<Q extends Quantity<Q>> extends AbstractUnit<Q>
    */
   private final String annotation;
 
+  /**
+   * Caches the system unit.
+   */
+  private transient Lazy<Unit<Q>> systemUnit = new Lazy<>(this::calculateSystemUnit);
+
+  /**
+   * Caches the converter to the system unit.
+   */
+  private transient Lazy<UnitConverter> systemConverter = new Lazy<>(this::calculateSystemConverter);
+
   /**
    * Creates an annotated unit equivalent to the specified unit.
    *
@@ -117,6 +130,10 @@ public final class AnnotatedUnit<Q extends Quantity<Q>> extends AbstractUnit<Q>
 
   @Override
   public Unit<Q> toSystemUnit() {
+    return systemUnit.get();
+  }
+
+  private Unit<Q> calculateSystemUnit() {
     return actualUnit.getSystemUnit();
   }
 
@@ -127,6 +144,10 @@ public final class AnnotatedUnit<Q extends Quantity<Q>> extends AbstractUnit<Q>
 
   @Override
   public UnitConverter getSystemConverter() {
+    return systemConverter.get();
+  }
+
+  private UnitConverter calculateSystemConverter() {
     return ((AbstractUnit<Q>)actualUnit).getSystemConverter();
   }
 
@@ -159,4 +180,10 @@ public final class AnnotatedUnit<Q extends Quantity<Q>> extends AbstractUnit<Q>
   public static <Q extends Quantity<Q>> AnnotatedUnit<Q> of(Unit<Q> actualUnit, String annotation) {
       return new AnnotatedUnit<>(actualUnit, annotation);
   }
+
+  private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+    stream.defaultReadObject();
+    systemUnit = new Lazy<>(this::calculateSystemUnit);
+    systemConverter = new Lazy<>(this::calculateSystemConverter);
+  }
 }
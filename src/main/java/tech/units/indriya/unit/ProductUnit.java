@@ -81,6 +81,16 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
      */
     private final Element[] elements;
 
+    /**
+     * Caches the system unit.
+     */
+    private transient Lazy<Unit<Q>> systemUnit = new Lazy<>(this::calculateSystemUnit);
+
+    /**
+     * Caches the converter to the system unit.
+     */
+    private transient Lazy<UnitConverter> systemConverter = new Lazy<>(this::calculateSystemConverter);
+
     /**
      * DefaultQuantityFactory constructor (used solely to create <code>ONE</code> instance).
      */
@@ -298,9 +308,13 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
         return hashCode.get(); // lazy and thread-safe
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public Unit<Q> toSystemUnit() {
+        return systemUnit.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Unit<Q> calculateSystemUnit() {
         Unit<?> systemUnit = AbstractUnit.ONE;
         for (Element element : elements) {
             Unit<?> unit = element.unit.getSystemUnit();
@@ -313,6 +327,10 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
 
     @Override
     public UnitConverter getSystemConverter() {
+        return systemConverter.get();
+    }
+
+    private UnitConverter calculateSystemConverter() {
         UnitConverter converter = AbstractConverter.IDENTITY;
         for (Element e : elements) {
             if (e.unit instanceof AbstractUnit) {
@@ -29,6 +29,8 @@
  */
 package tech.units.indriya.unit;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.Map;
 import java.util.Objects;
 
@@ -38,6 +40,7 @@ import javax.measure.Unit;
 import javax.measure.UnitConverter;
 
 import tech.units.indriya.AbstractUnit;
+import tech.units.indriya.internal.function.Lazy;
 import tech.uom.lib.common.function.UnitConverterSupplier;
 
 /**
@@ -92,6 +95,16 @@ public final class TransformedUnit<Q extends Quantity<Q>> extends AbstractUnit<Q
    */
   private final UnitConverter converter;
 
+  /**
+   * Caches the converter to the system unit.
+   */
+  private transient Lazy<UnitConverter> systemConverter = new Lazy<>(this::calculateSystemConverter);
+
+  /**
+   * Caches the system unit of the parent unit, when no system unit is held.
+   */
+  private transient Lazy<Unit<Q>> parentSystemUnit = new Lazy<>(this::calculateParentSystemUnit);
+
   /**
    * Creates a transformed unit from the specified system unit. using the parent as symbol
    * 
@@ -192,6 +205,10 @@ public final class TransformedUnit<Q extends Quantity<Q>> extends AbstractUnit<Q
 
   @Override
   public UnitConverter getSystemConverter() {
+    return systemConverter.get();
+  }
+
+  private UnitConverter calculateSystemConverter() {
     return parentUnit.getSystemConverter().concatenate(converter);
   }
 
@@ -207,7 +224,14 @@ public final class TransformedUnit<Q extends Quantity<Q>> extends AbstractUnit<Q
 
   @Override
   protected Unit<Q> toSystemUnit() {
-    return (systemUnit != null ? systemUnit : parentUnit.getSystemUnit());
+    if (systemUnit != null) {
+      return systemUnit;
+    }
+    return parentSystemUnit.get();
+  }
+
+  private Unit<Q> calculateParentSystemUnit() {
+    return parentUnit.getSystemUnit();
   }
 
   @Override
@@ -241,4 +265,10 @@ public final class TransformedUnit<Q extends Quantity<Q>> extends AbstractUnit<Q
   public Unit<Q> getParentUnit() {
     return parentUnit;
   }
+
+  private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+    stream.defaultReadObject();
+    systemConverter = new Lazy<>(this::calculateSystemConverter);
+    parentSystemUnit = new Lazy<>(this::calculateParentSystemUnit);
+  }
 }
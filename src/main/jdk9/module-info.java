@@ -40,6 +40,7 @@ module tech.units.indriya {
     exports tech.units.indriya;
     exports tech.units.indriya.format;
     exports tech.units.indriya.function;
+    exports tech.units.indriya.io;
     exports tech.units.indriya.quantity;
     exports tech.units.indriya.quantity.time;
     exports tech.units.indriya.spi;
@@ -52,7 +53,8 @@ module tech.units.indriya {
     provides javax.measure.spi.SystemOfUnitsService with
     	tech.units.indriya.unit.DefaultSystemOfUnitsService;    
     provides tech.units.indriya.spi.NumberSystem with
-    	tech.units.indriya.function.DefaultNumberSystem;
+    	tech.units.indriya.function.DefaultNumberSystem,
+    	tech.units.indriya.function.DoubleNumberSystem;
     
     uses javax.measure.format.QuantityFormat;
     uses javax.measure.format.UnitFormat;
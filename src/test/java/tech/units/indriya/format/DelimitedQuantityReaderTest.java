@@ -0,0 +1,148 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.format;
+
+import static javax.measure.MetricPrefix.KILO;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.measure.UnconvertibleException;
+import javax.measure.format.MeasurementParseException;
+
+import org.junit.jupiter.api.Test;
+
+import tech.units.indriya.quantity.QuantityArray;
+import tech.units.indriya.unit.Units;
+
+public class DelimitedQuantityReaderTest {
+
+  private static final String CSV = "id,speed,distance\n" //
+      + "1,36 km/h,1.5 km\r\n" //
+      + "2,\"10 m/s\", 250 m\n" //
+      + "\n" //
+      + "3,72km/h,2e3 m\n";
+
+  @Test
+  public void readInBatches() throws IOException {
+    final DelimitedQuantityReader reader = DelimitedQuantityReader.builder().setSkipHeader(true)
+        .addColumn(2, Units.METRE).addColumn(1, Units.METRE_PER_SECOND).setBatchSize(2).build();
+    final List<DelimitedQuantityReader.Batch> batches = new ArrayList<>();
+    reader.read(new StringReader(CSV), batches::add);
+
+    assertEquals(2, batches.size());
+    assertEquals(2, batches.get(0).size());
+    assertEquals(1, batches.get(1).size());
+    assertArrayEquals(new double[] { 1500, 250 }, batches.get(0).getValues(0), 1E-9);
+    assertArrayEquals(new double[] { 10, 10 }, batches.get(0).getValues(1), 1E-9);
+    assertArrayEquals(new double[] { 2000 }, batches.get(1).getValues(0), 1E-9);
+    assertArrayEquals(new double[] { 20 }, batches.get(1).getValues(1), 1E-9);
+    final QuantityArray<?> speeds = batches.get(1).getQuantities(1);
+    assertEquals(Units.METRE_PER_SECOND, speeds.getUnit());
+    assertEquals(20, speeds.doubleValue(0), 1E-9);
+  }
+
+  @Test
+  public void readChunksInParallel() throws IOException {
+    final Path file = Files.createTempFile("quantities", ".tsv");
+    try {
+      final int lines = 5000;
+      try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+        for (int i = 0; i < lines; i++) {
+          writer.write(i + "\t" + i + (i % 2 == 0 ? " m" : " km") + "\t" + i + " µg\n");
+        }
+      }
+      final DelimitedQuantityReader reader = DelimitedQuantityReader.builder().setDelimiter('\t')
+          .addColumn(1, Units.METRE.prefix(KILO)).addColumn(2, Units.GRAM).setChunkSize(1000).build();
+      final DelimitedQuantityReader.Batch batch = reader.read(file);
+      assertEquals(lines, batch.size());
+      final double[] distances = batch.getValues(0);
+      final double[] masses = batch.getValues(1);
+      for (int i = 0; i < lines; i++) {
+        assertEquals(i % 2 == 0 ? i / 1000d : i, distances[i], 1E-9);
+        assertEquals(i * 1E-6, masses[i], 1E-15);
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void readWithQuantityFormat() throws IOException {
+    final DelimitedQuantityReader reader = DelimitedQuantityReader.builder().setDelimiter(';')
+        .setQuantityFormat(SimpleQuantityFormat.getInstance()).addColumn(0, Units.HOUR).build();
+    final List<DelimitedQuantityReader.Batch> batches = new ArrayList<>();
+    reader.read(new StringReader("30 min;x\n2 h;y"), batches::add);
+    assertArrayEquals(new double[] { 0.5, 2 }, batches.get(0).getValues(0), 1E-12);
+  }
+
+  @Test
+  public void reportInvalidLines() {
+    final DelimitedQuantityReader reader = DelimitedQuantityReader.builder().addColumn(1, Units.METRE).build();
+    final MeasurementParseException missing = assertThrows(MeasurementParseException.class,
+        () -> reader.read(new StringReader("1,2 m\n3\n"), batch -> { }));
+    assertTrue(missing.getMessage().startsWith("Line 2"));
+    final MeasurementParseException invalid = assertThrows(MeasurementParseException.class,
+        () -> reader.read(new StringReader("1,m\n"), batch -> { }));
+    assertTrue(invalid.getMessage().startsWith("Line 1, field 1"));
+    assertThrows(UnconvertibleException.class, () -> reader.read(new StringReader("1,2 s\n"), batch -> { }));
+    assertThrows(IllegalStateException.class, () -> DelimitedQuantityReader.builder().build());
+  }
+
+  @Test
+  public void readTabSeparatedFieldsWithoutSkippingDelimiters() throws IOException {
+    final DelimitedQuantityReader reader = DelimitedQuantityReader.builder().setDelimiter('\t')
+        .addColumn(2, Units.METRE).build();
+    final List<DelimitedQuantityReader.Batch> batches = new ArrayList<>();
+    reader.read(new StringReader("x\t \t 5 m\nx\t\t\"7 m\"\n"), batches::add);
+    assertArrayEquals(new double[] { 5, 7 }, batches.get(0).getValues(0), 1E-12);
+  }
+
+  @Test
+  public void reportEmptyTabSeparatedFields() {
+    final DelimitedQuantityReader reader = DelimitedQuantityReader.builder().setDelimiter('\t')
+        .addColumn(1, Units.METRE).build();
+    for (String line : new String[] { "x\t\t5 m\n", "x\t \t5 m\n", "x\t\t\"5 m\"\n" }) {
+      final MeasurementParseException empty = assertThrows(MeasurementParseException.class,
+          () -> reader.read(new StringReader(line), batch -> { }), line);
+      assertTrue(empty.getMessage().startsWith("Line 1, field 1"), line);
+    }
+  }
+}
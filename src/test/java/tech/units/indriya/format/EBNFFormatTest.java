@@ -35,10 +35,13 @@ import static javax.measure.MetricPrefix.GIGA;
 import static javax.measure.MetricPrefix.NANO;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static tech.units.indriya.unit.Units.*;
 
 import java.math.BigInteger;
+import java.util.Locale;
+import java.util.ResourceBundle;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -189,4 +192,20 @@ public class EBNFFormatTest {
 		final Unit<?> gms = format.parse("m/s·10^9");
 		assertEquals("m·[one*9?]/s", gms.toString()); 
 	}
+
+    @Test
+    public void testParseCacheFollowsSymbolMap() {
+        final SymbolMap symbols = SymbolMap.of(ResourceBundle.getBundle("tech.units.indriya.format.messages", Locale.ROOT));
+        final EBNFUnitFormat cached = EBNFUnitFormat.getInstance(symbols);
+        cached.setParseCacheSize(16);
+        assertEquals(16, cached.getParseCacheSize());
+        final Unit<?> speed = cached.parse("km/h");
+        assertSame(speed, cached.parse("km/h"));
+        assertThrows(MeasurementParseException.class, () -> cached.parse("furlong"));
+        symbols.alias(METRE.multiply(201.168), "furlong");
+        assertEquals(METRE.multiply(201.168), cached.parse("furlong"));
+        cached.setParseCacheSize(0);
+        assertEquals(0, cached.getParseCacheSize());
+        assertEquals(speed, cached.parse("km/h"));
+    }
 }
@@ -43,6 +43,9 @@ import static tech.units.indriya.unit.Units.KILOGRAM;
 import static tech.units.indriya.unit.Units.METRE;
 
 import java.math.BigDecimal;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.NumberFormat;
 import java.text.DecimalFormat;
 import java.text.ParsePosition;
 import java.util.Locale;
@@ -281,4 +284,70 @@ public class QuantityFormatTest {
         assertNumberEquals(2L, parsed1.getValue(), 1E-12);
         assertEquals(METRE, parsed1.getUnit());
     }
+
+    @Test
+    public void testParseSlices() {
+        final String line = "42;1.5 km;-3 m/s";
+        final Quantity<?> simple = format.parse(line, 3, 9);
+        assertNumberEquals(1.5, simple.getValue(), 1E-12);
+        assertEquals(KILO(METRE), simple.getUnit());
+
+        final AbstractQuantityFormat delimited = NumberDelimiterQuantityFormat.getInstance();
+        final byte[] ascii = line.getBytes(StandardCharsets.US_ASCII);
+        final Quantity<?> speed = delimited.parse(ascii, 10, 6);
+        assertNumberEquals(-3, speed.getValue(), 1E-12);
+        assertEquals(Units.METRE_PER_SECOND, speed.getUnit());
+
+        final CharBuffer buffer = CharBuffer.wrap(line);
+        buffer.position(3).limit(9);
+        assertEquals(simple, format.parse(buffer));
+        assertThrows(IndexOutOfBoundsException.class, () -> delimited.parse(line, 10, 17));
+    }
+
+    @Test
+    public void testParsePlainNumbersLikeNumberFormat() throws Exception {
+        final NumberFormat numberFormat = NumberFormat.getInstance(Locale.ROOT);
+        final AbstractQuantityFormat delimited = NumberDelimiterQuantityFormat.getInstance();
+        for (String literal : new String[] { "0", "-0", "0.0", "-0.0", "007", "1.0", "1.50", "-2.25", "0.1", "123456789.123456",
+                "999999999999999999", "1234567890123456789", "1,5", "1E3", "4.35", "0.000000001" }) {
+            final Quantity<?> parsed = delimited.parse(literal + " m");
+            final Number expected = Quantities.getQuantity(numberFormat.parse(literal), METRE).getValue();
+            assertEquals(literal, expected.getClass(), parsed.getValue().getClass());
+            assertEquals(literal, expected, parsed.getValue());
+            assertEquals(METRE, parsed.getUnit());
+        }
+    }
+
+    @Test
+    public void testFormatLocaleNeutralNumbers() {
+        final NumberDelimiterQuantityFormat neutral = NumberDelimiterQuantityFormat.builder().setUnitFormat(SimpleUnitFormat.getInstance())
+                .setNumberBehavior(FormatBehavior.LOCALE_NEUTRAL).build();
+        assertEquals("1234567.25 m", neutral.format(Quantities.getQuantity(1234567.25, METRE)));
+        assertEquals("0.30000000000000004 m", neutral.format(Quantities.getQuantity(0.1 + 0.2, METRE)));
+        assertEquals("1.0E-5 kg", neutral.format(Quantities.getQuantity(0.00001, KILOGRAM)));
+        assertEquals("42 Hz", neutral.format(Quantities.getQuantity(42, HERTZ)));
+        assertEquals("0.75 m", neutral.format(Quantities.getQuantity(RationalNumber.of(3, 4), METRE)));
+        for (double value : new double[] { 1234567.25, 0.1 + 0.2, 0.00001, -2.5E21 }) {
+            final Quantity<?> parsed = neutral.parse(neutral.format(Quantities.getQuantity(value, METRE)));
+            assertEquals(value, parsed.getValue().doubleValue(), 0);
+            assertEquals(METRE, parsed.getUnit());
+        }
+    }
+
+    @Test
+    public void testFormatBytes() {
+        final NumberDelimiterQuantityFormat neutral = NumberDelimiterQuantityFormat.builder().setUnitFormat(SimpleUnitFormat.getInstance())
+                .setNumberBehavior(FormatBehavior.LOCALE_NEUTRAL).build();
+        final Quantity<?>[] quantities = { Quantities.getQuantity(1.5, KILO(METRE)), Quantities.getQuantity(-3, Units.METRE_PER_SECOND),
+                Quantities.getQuantity(0.5, KILO(Units.OHM)), Quantities.getQuantity(1234.5, METRE), Quantities.getQuantity(7, Units.PERCENT) };
+        final byte[] dest = new byte[64];
+        for (AbstractQuantityFormat quantityFormat : new AbstractQuantityFormat[] { format, neutral, NumberDelimiterQuantityFormat.getInstance() }) {
+            for (Quantity<?> quantity : quantities) {
+                final int end = quantityFormat.format(quantity, dest, 3);
+                assertEquals(quantityFormat.format(quantity), new String(dest, 3, end - 3, StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals("0.5 k\u03a9", new String(dest, 3, neutral.format(quantities[2], dest, 3) - 3, StandardCharsets.UTF_8));
+        assertThrows(IndexOutOfBoundsException.class, () -> format.format(quantities[0], new byte[4], 0));
+    }
 }
@@ -38,7 +38,9 @@ import static javax.measure.MetricPrefix.MICRO;
 import static javax.measure.MetricPrefix.MILLI;
 import static javax.measure.MetricPrefix.NANO;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static tech.units.indriya.format.SimpleUnitFormat.Flavor.ASCII;
 import static tech.units.indriya.unit.Units.CANDELA;
 import static tech.units.indriya.unit.Units.GRAM;
@@ -48,14 +50,18 @@ import static tech.units.indriya.unit.Units.METRE;
 import static tech.units.indriya.unit.Units.METRE_PER_SECOND;
 import static tech.units.indriya.unit.Units.NEWTON;
 import static tech.units.indriya.unit.Units.OHM;
+import static tech.units.indriya.unit.Units.SECOND;
 import static tech.units.indriya.unit.Units.DAY;
 import static tech.units.indriya.unit.Units.WEEK;
 import static tech.units.indriya.unit.Units.MONTH;
 
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.measure.MetricPrefix;
 import javax.measure.Unit;
 import javax.measure.format.MeasurementParseException;
 import javax.measure.format.UnitFormat;
@@ -357,4 +363,122 @@ public class SimpleUnitFormatTest {
 		// Only the new format got the label
 		assertEquals("kd", newFormat.format(CANDELA));
 	}	
+
+	@Test
+	public void testParseSlices() {
+		final SimpleUnitFormat simple = SimpleUnitFormat.getInstance();
+		final String line = "speed=km/h;mass=µg";
+		assertEquals(Units.KILOMETRE_PER_HOUR, simple.parse(line, 6, 10));
+		// µ is in ISO-8859-1, so a single byte
+		final byte[] latin1 = line.getBytes(StandardCharsets.ISO_8859_1);
+		assertEquals(MICRO(GRAM), simple.parse(latin1, 16, 2));
+		assertEquals(METRE.divide(Units.SECOND), simple.parse("m/s;".getBytes(StandardCharsets.US_ASCII), 0, 3));
+		final MeasurementParseException e = assertThrows(MeasurementParseException.class, () -> simple.parse(line, 0, 5));
+		assertEquals(0, e.getPosition());
+	}
+
+	@Test
+	public void testParseAfterLabelAndRemove() {
+		final SimpleUnitFormat newFormat = SimpleUnitFormat.getNewInstance();
+		assertEquals(CANDELA, newFormat.parse("cd"));
+		newFormat.alias(CANDELA, "kd");
+		assertEquals(CANDELA.multiply(2), newFormat.parse("kd*2"));
+		newFormat.removeAlias(CANDELA);
+		assertThrows(MeasurementParseException.class, () -> newFormat.parse("kd*2"));
+		newFormat.removeLabel(CANDELA);
+		assertThrows(MeasurementParseException.class, () -> newFormat.parse("cd*2"));
+	}
+
+	@Test
+	public void testParseCache() {
+		final SimpleUnitFormat newFormat = SimpleUnitFormat.getNewInstance();
+		newFormat.setParseCacheSize(2);
+		final Unit<?> momentum = newFormat.parse("kg·m/s");
+		assertSame(momentum, newFormat.parse("kg·m/s"));
+		assertEquals(KILOGRAM.multiply(METRE_PER_SECOND), momentum);
+
+		// invalidated by labels, aliases and their removal
+		newFormat.alias(CANDELA, "kd");
+		assertEquals(CANDELA.divide(Units.SECOND), newFormat.parse("kd/s"));
+		newFormat.removeAlias(CANDELA);
+		assertThrows(MeasurementParseException.class, () -> newFormat.parse("kd/s"));
+		newFormat.label(CANDELA, "kd");
+		assertEquals(CANDELA.divide(Units.SECOND), newFormat.parse("kd/s"));
+		newFormat.removeLabel(CANDELA);
+		assertThrows(MeasurementParseException.class, () -> newFormat.parse("kd/s"));
+
+		// bounded
+		newFormat.parse("m");
+		newFormat.parse("s");
+		newFormat.parse("g");
+		assertEquals(GRAM, newFormat.parse("g"));
+		assertTrue(newFormat.getParseCache().size() <= 2);
+
+		// units in use are kept
+		final Unit<?> inUse = newFormat.parse("kg·m/s");
+		for (String symbol : new String[] { "N", "Pa", "J", "W", "C", "V", "F", "Hz" }) {
+			assertSame(inUse, newFormat.parse("kg·m/s"));
+			newFormat.parse(symbol);
+			assertTrue(newFormat.getParseCache().size() <= 2);
+		}
+		assertThrows(IllegalArgumentException.class, () -> newFormat.setParseCacheSize(-1));
+	}
+
+	@Test
+	public void testParsePrefixedSymbols() {
+		final SimpleUnitFormat simple = SimpleUnitFormat.getInstance();
+		assertEquals(MICRO(Units.MOLE).divide(Units.LITRE), simple.parse("µmol/l"));
+		assertEquals(MICRO(Units.MOLE).divide(Units.LITRE), simple.parse("\u03bcmol/l"));
+		assertEquals(MetricPrefix.DECA(METRE), simple.parse("dam"));
+		assertEquals(KILO(OHM), simple.parse("kΩ"));
+		assertEquals(MICRO(GRAM), SimpleUnitFormat.getInstance(ASCII).parse("microg"));
+		// prefixes only resolve where the prefixed symbol is known
+		assertThrows(MeasurementParseException.class, () -> simple.parse("kmin"));
+	}
+
+	@Test
+	public void testAllNamesResolve() {
+		for (SimpleUnitFormat.DefaultFormat format : new SimpleUnitFormat.DefaultFormat[] {
+				(SimpleUnitFormat.DefaultFormat) SimpleUnitFormat.getInstance(),
+				(SimpleUnitFormat.DefaultFormat) SimpleUnitFormat.getInstance(ASCII) }) {
+			for (Map.Entry<String, Unit<?>> entry : format.nameToUnit.entrySet()) {
+				final String name = entry.getKey();
+				assertSame(entry.getValue(), format.unitFor(name, 0, name.length()), name);
+			}
+		}
+	}
+
+	@Test
+	public void testFormatCache() {
+		final SimpleUnitFormat format = SimpleUnitFormat.getNewInstance();
+		assertEquals(256, format.getFormatCacheSize());
+		assertEquals("cd", format.format(CANDELA));
+		assertEquals("cd", format.format(CANDELA));
+		format.label(CANDELA, "kd");
+		assertEquals("kd", format.format(CANDELA));
+		assertEquals("cd", SimpleUnitFormat.getInstance().format(CANDELA));
+	}
+
+	@Test
+	public void testFormatCacheEqualProducts() {
+		final SimpleUnitFormat format = SimpleUnitFormat.getNewInstance();
+		final Unit<?> metreSecond = METRE.multiply(SECOND);
+		final Unit<?> secondMetre = SECOND.multiply(METRE);
+		assertEquals(metreSecond, secondMetre);
+		assertEquals("m\u00b7s", format.format(metreSecond));
+		assertEquals("s\u00b7m", format.format(secondMetre));
+		assertEquals("m\u00b7s", format.format(metreSecond));
+	}
+
+	@Test
+	public void testFormatCacheSize() {
+		final SimpleUnitFormat format = SimpleUnitFormat.getNewInstance();
+		format.setFormatCacheSize(0);
+		assertEquals(0, format.getFormatCacheSize());
+		assertEquals("cd", format.format(CANDELA));
+		format.setFormatCacheSize(16);
+		assertEquals(16, format.getFormatCacheSize());
+		assertEquals("m/s", format.format(METRE_PER_SECOND));
+		assertThrows(IllegalArgumentException.class, () -> format.setFormatCacheSize(-1));
+	}
 }
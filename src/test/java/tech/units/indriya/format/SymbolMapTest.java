@@ -31,6 +31,7 @@ package tech.units.indriya.format;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ListResourceBundle;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
@@ -40,6 +41,7 @@ import javax.measure.Unit;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import tech.units.indriya.AbstractUnit;
 import tech.units.indriya.unit.Units;
 
 public class SymbolMapTest {
@@ -86,4 +88,23 @@ public class SymbolMapTest {
     
     assertEquals(MetricPrefix.DEKA(Units.GRAM), u2);
   }
+
+  /**
+   * Test a custom bundle mixing fields from the precompiled table with other fields.
+   */
+  @Test
+  public void testCustomBundle() {
+    SymbolMap symbols = SymbolMap.of(new ListResourceBundle() {
+      @Override
+      protected Object[][] getContents() {
+        return new Object[][] { { "tech.units.indriya.unit.Units.METRE", "meter" }, { "tech.units.indriya.unit.Units.METRE.1", "metre" },
+            { "tech.units.indriya.AbstractUnit.ONE", "one" }, { "javax.measure.MetricPrefix.KILO", "k" } };
+      }
+    });
+    assertEquals(Units.METRE, symbols.getUnit("meter"));
+    assertEquals(Units.METRE, symbols.getUnit("metre"));
+    assertEquals("meter", symbols.getSymbol(Units.METRE));
+    assertEquals(AbstractUnit.ONE, symbols.getUnit("one"));
+    assertEquals(MetricPrefix.KILO, symbols.getPrefix("km"));
+  }
 }
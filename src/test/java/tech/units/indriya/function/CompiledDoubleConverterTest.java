@@ -0,0 +1,135 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.function;
+
+import static javax.measure.MetricPrefix.KILO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tech.units.indriya.unit.Units.CELSIUS;
+import static tech.units.indriya.unit.Units.KELVIN;
+import static tech.units.indriya.unit.Units.KILOMETRE_PER_HOUR;
+import static tech.units.indriya.unit.Units.METRE;
+import static tech.units.indriya.unit.Units.METRE_PER_SECOND;
+
+import java.util.function.DoubleUnaryOperator;
+
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+import javax.measure.quantity.Temperature;
+
+import org.junit.jupiter.api.Test;
+
+import tech.units.indriya.spi.NumberSystem;
+
+public class CompiledDoubleConverterTest {
+
+  private static final Unit<Temperature> FAHRENHEIT = KELVIN.multiply(RationalNumber.of(5, 9)).shift(459.67);
+
+  @Test
+  public void testIdentity() {
+    DoubleUnaryOperator op = ((AbstractConverter) METRE.getConverterTo(METRE)).compileToDouble();
+    assertSame(CompiledDoubleConverter.IDENTITY, op);
+    assertEquals(-0., op.applyAsDouble(-0.));
+  }
+
+  @Test
+  public void testMultiply() {
+    AbstractConverter converter = (AbstractConverter) KILOMETRE_PER_HOUR.getConverterTo(METRE_PER_SECOND);
+    CompiledDoubleConverter op = (CompiledDoubleConverter) converter.compileToDouble();
+    assertTrue(op.isAffine());
+    assertEquals(0., op.offset().getAsDouble());
+    assertEquals(converter.convert(36.), op.applyAsDouble(36.), 1E-12);
+    assertEquals(converter.convert(-7.5), op.applyAsDouble(-7.5), 1E-12);
+  }
+
+  @Test
+  public void testAffineIsFused() {
+    AbstractConverter converter = (AbstractConverter) CELSIUS.getConverterTo(FAHRENHEIT);
+    CompiledDoubleConverter op = (CompiledDoubleConverter) converter.compileToDouble();
+    assertTrue(converter.getConversionSteps().size() > 1);
+    assertTrue(op.isAffine());
+    assertEquals(1.8, op.factor().getAsDouble(), 1E-15);
+    assertEquals(32., op.offset().getAsDouble(), 1E-12);
+    assertEquals(212., op.applyAsDouble(100.), 1E-12);
+    assertEquals(converter.convert(-40.), op.applyAsDouble(-40.), 1E-12);
+  }
+
+  @Test
+  public void testInverse() {
+    AbstractConverter converter = (AbstractConverter) FAHRENHEIT.getConverterTo(CELSIUS);
+    assertEquals(100., converter.compileToDouble().applyAsDouble(212.), 1E-12);
+  }
+
+  @Test
+  public void testNonLinear() {
+    UnitConverter log = new LogConverter(10.);
+    AbstractConverter converter = (AbstractConverter) 
+        MultiplyConverter.ofRational(1, 1000).concatenate(log).concatenate(new AddConverter(5));
+    DoubleUnaryOperator op = converter.compileToDouble();
+    assertEquals(converter.convert(995.), op.applyAsDouble(995.), 1E-12);
+    assertEquals(1E-3, op.applyAsDouble(5.), 1E-12);
+    assertFalse(((CompiledDoubleConverter) op).factor().isPresent());
+    assertFalse(((CompiledDoubleConverter) op).offset().isPresent());
+
+    AbstractConverter exp = (AbstractConverter) new ExpConverter(10.).concatenate(MultiplyConverter.of(2));
+    assertEquals(exp.convert(1.5), exp.compileToDouble().applyAsDouble(1.5), 1E-9);
+  }
+
+  @Test
+  public void testPrefix() {
+    AbstractConverter converter = (AbstractConverter) KILO(METRE).getConverterTo(METRE);
+    assertEquals(1500., converter.compileToDouble().applyAsDouble(1.5));
+  }
+
+  @Test
+  public void testMemoized() {
+    AbstractConverter converter = (AbstractConverter) CELSIUS.getConverterTo(FAHRENHEIT);
+    assertSame(converter.compileToDouble(), converter.compileToDouble());
+  }
+
+  @Test
+  public void testRecompiledWithOtherNumberSystem() {
+    AbstractConverter converter = (AbstractConverter) CELSIUS.getConverterTo(FAHRENHEIT);
+    DoubleUnaryOperator op = converter.compileToDouble();
+    final NumberSystem previous = Calculus.currentNumberSystem();
+    try {
+      Calculus.setCurrentNumberSystem(new DoubleNumberSystem());
+      DoubleUnaryOperator recompiled = converter.compileToDouble();
+      assertNotSame(op, recompiled);
+      assertSame(recompiled, converter.compileToDouble());
+      assertEquals(212., recompiled.applyAsDouble(100.), 1E-12);
+    } finally {
+      Calculus.setCurrentNumberSystem(previous);
+    }
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.function;
+
+import static javax.measure.MetricPrefix.KILO;
+import static javax.measure.MetricPrefix.MILLI;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tech.units.indriya.unit.Units.HOUR;
+import static tech.units.indriya.unit.Units.JOULE;
+import static tech.units.indriya.unit.Units.METRE;
+import static tech.units.indriya.unit.Units.SECOND;
+
+import javax.measure.IncommensurableException;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ConverterCacheTest {
+
+  private ConverterCache previous;
+
+  @BeforeEach
+  public void setUp() {
+    previous = ConverterCache.current();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    ConverterCache.setCurrent(previous);
+  }
+
+  @Test
+  public void testGetConverterToIsCached() {
+    ConverterCache cache = new ConverterCache(16, false);
+    ConverterCache.setCurrent(cache);
+    UnitConverter first = KILO(METRE).getConverterTo(MILLI(METRE));
+    assertEquals(0, cache.getHitCount());
+    UnitConverter second = KILO(METRE).getConverterTo(MILLI(METRE));
+    assertSame(first, second);
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1_000_000., second.convert(1.));
+  }
+
+  @Test
+  public void testGetConverterToAnyIsCached() throws IncommensurableException {
+    ConverterCache cache = new ConverterCache(16, false);
+    ConverterCache.setCurrent(cache);
+    Unit<?> kmh = KILO(METRE).divide(HOUR);
+    Unit<?> ms = METRE.divide(SECOND);
+    UnitConverter first = kmh.getConverterToAny(ms);
+    long misses = cache.getMissCount();
+    UnitConverter second = KILO(METRE).divide(HOUR).getConverterToAny(METRE.divide(SECOND));
+    assertSame(first, second);
+    assertEquals(misses, cache.getMissCount());
+    assertEquals(1, cache.getHitCount());
+  }
+
+  @Test
+  public void testIncommensurableNotCached() {
+    ConverterCache cache = new ConverterCache(16, false);
+    ConverterCache.setCurrent(cache);
+    assertThrows(IncommensurableException.class, () -> METRE.getConverterToAny(JOULE));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testIdentityBypassesCache() {
+    ConverterCache cache = new ConverterCache(16, false);
+    ConverterCache.setCurrent(cache);
+    assertTrue(METRE.getConverterTo(METRE).isIdentity());
+    assertEquals(0, cache.getHitCount() + cache.getMissCount());
+  }
+
+  @Test
+  public void testBounded() {
+    ConverterCache cache = new ConverterCache(2, false);
+    cache.put(METRE, KILO(METRE), AbstractConverter.IDENTITY);
+    cache.put(METRE, MILLI(METRE), AbstractConverter.IDENTITY);
+    cache.put(SECOND, HOUR, AbstractConverter.IDENTITY);
+    assertEquals(2, cache.size());
+
+    // converters in use are kept
+    cache.put(METRE, KILO(METRE), AbstractConverter.IDENTITY);
+    for (int i = 1; i <= 10; i++) {
+      assertSame(AbstractConverter.IDENTITY, cache.get(METRE, KILO(METRE)));
+      cache.put(SECOND, METRE.multiply(i), AbstractConverter.IDENTITY);
+      assertTrue(cache.size() <= 2);
+    }
+  }
+
+  @Test
+  public void testDisabled() {
+    ConverterCache cache = new ConverterCache(0, false);
+    cache.put(METRE, KILO(METRE), AbstractConverter.IDENTITY);
+    assertNull(cache.get(METRE, KILO(METRE)));
+    assertEquals(0, cache.size());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  @Test
+  public void testWeakKeys() {
+    ConverterCache cache = new ConverterCache(16, true);
+    assertTrue(cache.isWeakKeys());
+    UnitConverter converter = KILO(METRE).getConverterTo(METRE);
+    cache.put(KILO(METRE), METRE, converter);
+    assertSame(converter, cache.get(KILO(METRE), METRE));
+    assertFalse(new ConverterCache(16, false).isWeakKeys());
+  }
+
+  @Test
+  public void testClearedOnNumberSystemChange() {
+    ConverterCache cache = new ConverterCache(16, false);
+    ConverterCache.setCurrent(cache);
+    KILO(METRE).getConverterTo(METRE);
+    assertEquals(1, cache.size());
+    Calculus.setCurrentNumberSystem(Calculus.currentNumberSystem());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testNegativeSize() {
+    assertThrows(IllegalArgumentException.class, () -> new ConverterCache(-1, false));
+  }
+}
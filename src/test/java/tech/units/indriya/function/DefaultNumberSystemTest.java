@@ -30,7 +30,10 @@
 package tech.units.indriya.function;
 
 import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import tech.units.indriya.AbstractUnit;
 import tech.units.indriya.ComparableQuantity;
@@ -38,13 +41,16 @@ import tech.units.indriya.quantity.Quantities;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.measure.quantity.Dimensionless;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -71,6 +77,16 @@ class DefaultNumberSystemTest {
         assertTrue(ns.isZero(x));
     }
     
+    @ParameterizedTest
+    @MethodSource("provideZeroSamples")
+    void adding_zero_returns_other_argument(Number x) {
+        // https://github.com/unitsofmeasurement/indriya/issues/384
+        for (Number y : new Number[] { 3, 1.5, new BigDecimal("1.5"), BigInteger.TEN, RationalNumber.of(1, 3) }) {
+            assertSame(y, ns.add(x, y));
+            assertSame(y, ns.add(y, x));
+        }
+    }
+    
     @ParameterizedTest
     @MethodSource("provideZeroSamples")
     void not_one(Number x) {
@@ -199,6 +215,65 @@ class DefaultNumberSystemTest {
         assertTrue(isLargeDecimalGreaterThanOne);
     }
     
+    // -- DISPATCH TESTS
+    
+    @Test
+    void binary_operations_are_symmetric_for_all_type_pairs() {
+        final List<Number> ones = provideOneSamples().collect(Collectors.toList());
+        final Number two = 2;
+        for (Number x : ones) {
+            for (Number y : ones) {
+                final String pair = x.getClass().getSimpleName() + ", " + y.getClass().getSimpleName();
+                assertEquals(0, ns.compare(two, ns.add(x, y)), pair);
+                assertEquals(0, ns.compare(ns.add(x, y), ns.add(y, x)), pair);
+                assertTrue(ns.isOne(ns.multiply(x, y)));
+                assertEquals(0, ns.compare(x, y), pair);
+            }
+        }
+    }
+    
+    @Test
+    void comparison_is_antisymmetric() {
+        assertTrue(ns.compare(1, BigDecimal.valueOf(2.5)) < 0);
+        assertTrue(ns.compare(BigDecimal.valueOf(2.5), 1) > 0);
+        assertTrue(ns.compare(RationalNumber.of(1, 3), 0.5) < 0);
+        assertTrue(ns.compare(0.5, RationalNumber.of(1, 3)) > 0);
+    }
+    
+    @Test
+    void decimal_plus_large_integer_does_not_truncate() {
+        final BigInteger large = BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(8);
+        final Number sum = ns.add(BigDecimal.ONE, large);
+        assertEquals(0, ns.compare(sum, large.add(BigInteger.ONE)));
+        assertEquals(0, ns.compare(ns.add(large, BigDecimal.ONE), sum));
+    }
+    
+    @Test
+    void abs_of_short_and_byte() {
+        assertEquals(5, ns.abs((short) -5).intValue());
+        assertEquals(5, ns.abs((byte) -5).intValue());
+        assertEquals(-(int) Short.MIN_VALUE, ns.abs(Short.MIN_VALUE).intValue());
+    }
+    
+    @Test
+    void power_of_rational() {
+        assertEquals(RationalNumber.of(4, 9), ns.power(RationalNumber.of(2, 3), 2));
+        assertEquals(RationalNumber.of(9, 4), ns.power(RationalNumber.of(2, 3), -2));
+    }
+    
+    @Test
+    void unsupported_number_type() {
+        final Number unsupported = new Number() {
+            private static final long serialVersionUID = 1L;
+            @Override public int intValue() { return 0; }
+            @Override public long longValue() { return 0; }
+            @Override public float floatValue() { return 0; }
+            @Override public double doubleValue() { return 0; }
+        };
+        assertThrows(IllegalArgumentException.class, () -> ns.signum(unsupported));
+        assertThrows(IllegalArgumentException.class, () -> ns.multiply(1, unsupported));
+    }
+    
     // -- SAMPLER
     
     static Stream<Number> provideOneSamples() {
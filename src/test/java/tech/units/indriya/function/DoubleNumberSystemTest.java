@@ -0,0 +1,152 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import javax.measure.MetricPrefix;
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import tech.units.indriya.quantity.Quantities;
+import tech.units.indriya.spi.NumberSystem;
+import tech.units.indriya.unit.Units;
+
+class DoubleNumberSystemTest {
+
+    private DoubleNumberSystem ns;
+    private NumberSystem previous;
+
+    @BeforeEach
+    void setUp() {
+        ns = new DoubleNumberSystem();
+        previous = Calculus.currentNumberSystem();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Calculus.setCurrentNumberSystem(previous);
+    }
+
+    @Test
+    void lookupByName() {
+        NumberSystem system = Calculus.getNumberSystem(DoubleNumberSystem.class.getName());
+        assertTrue(system instanceof DoubleNumberSystem);
+    }
+
+    @Test
+    void primitiveArithmeticStaysPrimitive() {
+        assertEquals(10.2, ns.add(5, 5.2));
+        assertEquals(-0.2, (double) ns.subtract(5, 5.2), 1E-12);
+        assertEquals(26., ns.multiply(5.2, 5));
+        assertEquals(2.5, ns.divide(5, 2));
+        assertEquals(0.25, ns.reciprocal(4));
+        assertEquals(0.25, ns.reciprocal(4.f));
+        assertEquals(-5.2, ns.negate(5.2));
+        assertEquals(5.2, ns.abs(-5.2));
+    }
+
+    @Test
+    void integerArithmeticStaysInteger() {
+        assertEquals(10L, ns.add(5, 5L));
+        assertEquals(-1L, ns.subtract((short) 4, (byte) 5));
+        assertEquals(25L, ns.multiply(5, 5));
+        assertEquals(3L, ns.divide(6, 2));
+        assertEquals(1024L, ns.power(2, 10));
+        assertEquals(-1L, ns.power(-1, 3));
+        assertEquals(-5L, ns.negate(5));
+    }
+
+    @Test
+    void longOverflowWidensToBigInteger() {
+        final BigInteger max = BigInteger.valueOf(Long.MAX_VALUE);
+        assertEquals(max.add(BigInteger.ONE), ns.add(Long.MAX_VALUE, 1));
+        assertEquals(BigInteger.valueOf(Long.MIN_VALUE).subtract(BigInteger.ONE), ns.subtract(Long.MIN_VALUE, 1));
+        assertEquals(max.multiply(BigInteger.valueOf(2)), ns.multiply(Long.MAX_VALUE, 2));
+        assertEquals(BigInteger.valueOf(2).pow(64), ns.power(2L, 64));
+        assertEquals(max.add(BigInteger.ONE), ns.negate(Long.MIN_VALUE));
+    }
+
+    @Test
+    void exactTypesAreHandledLikeDefault() {
+        final DefaultNumberSystem defaultNs = new DefaultNumberSystem();
+        final Number half = RationalNumber.of(1, 2);
+        assertEquals(defaultNs.add(half, 1), ns.add(half, 1));
+        assertEquals(defaultNs.multiply(new BigDecimal("5.2"), 5), ns.multiply(new BigDecimal("5.2"), 5));
+        assertEquals(defaultNs.add(BigInteger.TEN, 1), ns.add(BigInteger.TEN, 1));
+    }
+
+    @Test
+    void divisionByZero() {
+        assertThrows(ArithmeticException.class, () -> ns.divide(1, 0));
+        assertThrows(ArithmeticException.class, () -> ns.divide(1., 0.));
+        assertThrows(ArithmeticException.class, () -> ns.reciprocal(0));
+    }
+
+    @Test
+    void narrowKeepsType() {
+        assertEquals(5., ns.narrow(5.));
+        assertEquals(5L, ns.narrow(5L));
+        assertThrows(IllegalArgumentException.class, () -> ns.narrow(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void comparison() {
+        assertTrue(ns.compare(1, 1.5) < 0);
+        assertTrue(ns.compare(2L, 1.5) > 0);
+        assertEquals(0, ns.compare(2, 2L));
+        assertTrue(ns.isZero(0.));
+        assertTrue(ns.isOne(1L));
+        assertTrue(ns.isLessThanOne(0.5f));
+        assertFalse(ns.isLessThanOne(1));
+        assertTrue(ns.isInteger(3));
+    }
+
+    @Test
+    void quantityArithmetic() {
+        Calculus.setCurrentNumberSystem(ns);
+        final Quantity<Length> q1 = Quantities.getQuantity(5, Units.METRE);
+        final Quantity<Length> q2 = Quantities.getQuantity(5.2, Units.METRE);
+        assertEquals(10.2, q1.add(q2).getValue());
+        assertEquals(26., q2.multiply(5).getValue());
+        assertEquals(Quantities.getQuantity(2.5, Units.METRE), q1.divide(2));
+        assertEquals(0.5, Quantities.getQuantity(500., Units.METRE).to(Units.METRE.prefix(MetricPrefix.KILO)).getValue());
+    }
+}
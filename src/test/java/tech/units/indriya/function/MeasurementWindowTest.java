@@ -0,0 +1,181 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.function;
+
+import static javax.measure.MetricPrefix.MILLI;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Temperature;
+import javax.measure.quantity.Volume;
+
+import org.junit.jupiter.api.Test;
+
+import tech.units.indriya.quantity.Quantities;
+import tech.units.indriya.spi.Measurement;
+import tech.units.indriya.unit.Units;
+
+public class MeasurementWindowTest {
+
+  private static final Instant T0 = Instant.parse("2026-10-18T12:00:00Z");
+
+  private static Measurement<Length> metres(double value, long second) {
+    return Measurement.of(Quantities.getQuantity(value, Units.METRE), T0.plusSeconds(second));
+  }
+
+  @Test
+  public void slidingWindowEvictsOldMeasurements() {
+    final MeasurementWindow<Length> window = MeasurementWindow.sliding(Units.METRE, Duration.ofSeconds(10));
+    window.accept(metres(5, 0));
+    window.accept(metres(1, 3));
+    window.accept(Measurement.of(Quantities.getQuantity(9000, MILLI(Units.METRE)), T0.plusSeconds(6)));
+    window.accept(metres(3, 9));
+
+    MeasurementWindow.Snapshot<Length> snapshot = window.snapshot();
+    assertEquals(4L, snapshot.getCount());
+    assertEquals(18., snapshot.getSum().getValue().doubleValue(), 1E-12);
+    assertEquals(1., snapshot.getMin().getValue().doubleValue(), 0);
+    assertEquals(9., snapshot.getMax().getValue().doubleValue(), 0);
+    assertEquals(4.5, snapshot.getMean().getValue().doubleValue(), 1E-12);
+    assertEquals(Units.METRE, snapshot.getMean().getUnit());
+
+    // evicts 5 m @ 0s and 1 m @ 3s
+    window.accept(metres(2, 13));
+    snapshot = window.snapshot();
+    assertEquals(3L, snapshot.getCount());
+    assertEquals(14., snapshot.getSum().getValue().doubleValue(), 1E-12);
+    assertEquals(2., snapshot.getMin().getValue().doubleValue(), 0);
+    assertEquals(9., snapshot.getMax().getValue().doubleValue(), 0);
+    assertEquals(T0.plusSeconds(3), snapshot.getStart());
+    assertEquals(T0.plusSeconds(13), snapshot.getEnd());
+
+    window.advanceTo(T0.plusSeconds(30));
+    assertEquals(0L, window.getCount());
+    assertNull(window.snapshot().getMin());
+    assertEquals(0., window.snapshot().getSum().getValue().doubleValue(), 0);
+  }
+
+  @Test
+  public void slidingWindowMatchesRecomputation() {
+    final MeasurementWindow<Length> window = MeasurementWindow.sliding(Units.METRE, Duration.ofSeconds(100));
+    final List<Double> values = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      final double value = (i * 7919) % 101;
+      values.add(value);
+      window.accept(metres(value, i));
+      final List<Double> expected = values.subList(Math.max(0, i - 99), i + 1);
+      final MeasurementWindow.Snapshot<Length> snapshot = window.snapshot();
+      assertEquals(expected.size(), snapshot.getCount());
+      assertEquals(expected.stream().mapToDouble(Double::doubleValue).min().getAsDouble(), snapshot.getMin().getValue().doubleValue(), 0);
+      assertEquals(expected.stream().mapToDouble(Double::doubleValue).max().getAsDouble(), snapshot.getMax().getValue().doubleValue(), 0);
+      assertEquals(expected.stream().mapToDouble(Double::doubleValue).sum(), snapshot.getSum().getValue().doubleValue(), 1E-9);
+    }
+  }
+
+  @Test
+  public void rates() {
+    final MeasurementWindow<Volume> window = MeasurementWindow.sliding(Units.LITRE, Duration.ofMinutes(1));
+    for (int i = 1; i <= 60; i++) {
+      window.accept(Measurement.of(Quantities.getQuantity(2, Units.LITRE), T0.plusSeconds(i)));
+    }
+    final MeasurementWindow.Snapshot<Volume> snapshot = window.snapshot();
+    assertEquals(2., snapshot.getRate(Units.SECOND).getValue().doubleValue(), 1E-12);
+    assertEquals(120., snapshot.getRate(Units.MINUTE).getValue().doubleValue(), 1E-12);
+    assertEquals(Units.LITRE.divide(Units.SECOND), snapshot.getRate(Units.SECOND).getUnit());
+    assertEquals(1., snapshot.getEventRate(Units.SECOND).getValue().doubleValue(), 1E-12);
+  }
+
+  @Test
+  public void tumblingWindowEmitsCompletedIntervals() {
+    final List<MeasurementWindow.Snapshot<Length>> completed = new ArrayList<>();
+    final MeasurementWindow<Length> window = MeasurementWindow.tumbling(Units.METRE, Duration.ofSeconds(10), completed::add);
+    window.accept(metres(1, 1));
+    window.accept(metres(3, 10));
+    window.accept(metres(4, 11));
+    window.accept(metres(6, 19));
+    window.accept(metres(7, 45));
+    assertEquals(2, completed.size());
+
+    assertEquals(2L, completed.get(0).getCount());
+    assertEquals(4., completed.get(0).getSum().getValue().doubleValue(), 0);
+    assertEquals(T0, completed.get(0).getStart());
+    assertEquals(T0.plusSeconds(10), completed.get(0).getEnd());
+
+    assertEquals(2L, completed.get(1).getCount());
+    assertEquals(5., completed.get(1).getMean().getValue().doubleValue(), 0);
+    assertEquals(4., completed.get(1).getMin().getValue().doubleValue(), 0);
+
+    assertEquals(1L, window.getCount());
+    window.advanceTo(T0.plusSeconds(51));
+    assertEquals(3, completed.size());
+    assertEquals(0L, window.getCount());
+  }
+
+  @Test
+  public void emptySnapshots() {
+    final MeasurementWindow<Length> sliding = MeasurementWindow.sliding(Units.METRE, Duration.ofSeconds(10));
+    final MeasurementWindow<Length> tumbling = MeasurementWindow.tumbling(Units.METRE, Duration.ofSeconds(10), s -> {
+    });
+    for (MeasurementWindow<Length> window : Arrays.asList(sliding, tumbling)) {
+      final MeasurementWindow.Snapshot<Length> snapshot = window.snapshot();
+      assertEquals(0L, snapshot.getCount());
+      assertNull(snapshot.getMin());
+      assertNull(snapshot.getMean());
+      assertEquals(0., snapshot.getSum().getValue().doubleValue(), 0);
+      assertEquals(Duration.ofSeconds(10), Duration.between(snapshot.getStart(), snapshot.getEnd()));
+      assertEquals(0., snapshot.getEventRate(Units.SECOND).getValue().doubleValue(), 0);
+    }
+  }
+
+  @Test
+  public void relativeScale() {
+    final MeasurementWindow<Temperature> window = MeasurementWindow.sliding(Units.KELVIN, Duration.ofSeconds(10));
+    window.accept(Measurement.of(Quantities.getQuantity(5, Units.CELSIUS, Quantity.Scale.RELATIVE), T0));
+    assertEquals(5., window.snapshot().getSum().getValue().doubleValue(), 1E-12);
+  }
+
+  @Test
+  public void invalidUsage() {
+    final MeasurementWindow<Length> window = MeasurementWindow.sliding(Units.METRE, Duration.ofSeconds(10));
+    window.accept(metres(1, 5));
+    assertThrows(IllegalArgumentException.class, () -> window.accept(metres(1, 4)));
+    assertThrows(IllegalArgumentException.class, () -> window.accept(metres(Double.NaN, 6)));
+    assertThrows(IllegalArgumentException.class, () -> MeasurementWindow.sliding(Units.METRE, Duration.ZERO));
+  }
+}
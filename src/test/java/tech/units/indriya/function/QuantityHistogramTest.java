@@ -0,0 +1,155 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.function;
+
+import static javax.measure.MetricPrefix.MILLI;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Temperature;
+import javax.measure.quantity.Time;
+
+import org.junit.jupiter.api.Test;
+
+import tech.units.indriya.quantity.Quantities;
+import tech.units.indriya.unit.Units;
+
+public class QuantityHistogramTest {
+
+  private static final double ACCURACY = QuantityHistogram.DEFAULT_RELATIVE_ACCURACY;
+
+  /** 1 ms, 2 ms, ... 10 s, every other one in seconds */
+  private static List<Quantity<Time>> createLatencies() {
+    return IntStream.rangeClosed(1, 10_000)
+        .mapToObj(i -> i % 2 == 0 ? Quantities.getQuantity(i, MILLI(Units.SECOND))
+            : Quantities.getQuantity(i / 1000., Units.SECOND))
+        .collect(Collectors.toList());
+  }
+
+  private static void assertWithinAccuracy(double expected, Quantity<Time> actual) {
+    assertEquals(expected, actual.getValue().doubleValue(), expected * ACCURACY);
+  }
+
+  @Test
+  public void percentiles() {
+    final QuantityHistogram<Time> histogram = createLatencies().stream()
+        .collect(QuantityStreams.histogram(MILLI(Units.SECOND)));
+    assertEquals(10_000L, histogram.getCount());
+    assertEquals(MILLI(Units.SECOND), histogram.getUnit());
+    assertWithinAccuracy(5_000, histogram.getPercentile(50));
+    assertWithinAccuracy(9_500, histogram.getPercentile(95));
+    assertWithinAccuracy(9_900, histogram.getPercentile(99));
+    assertWithinAccuracy(9_900, histogram.getQuantile(0.99));
+    assertEquals(1., histogram.getPercentile(0).getValue().doubleValue(), 1E-9);
+    assertEquals(10_000., histogram.getPercentile(100).getValue().doubleValue(), 1E-9);
+  }
+
+  @Test
+  public void parallelPercentiles() {
+    final Optional<Quantity<Time>> p99 = createLatencies().parallelStream()
+        .collect(QuantityStreams.percentile(Units.SECOND, 99));
+    assertWithinAccuracy(9.9, p99.get());
+    assertEquals(Units.SECOND, p99.get().getUnit());
+  }
+
+  @Test
+  public void combineDifferentUnits() {
+    final QuantityHistogram<Time> millis = new QuantityHistogram<>(MILLI(Units.SECOND), ACCURACY);
+    final QuantityHistogram<Time> seconds = new QuantityHistogram<>(Units.SECOND, ACCURACY);
+    createLatencies().subList(0, 5_000).forEach(millis::accept);
+    createLatencies().subList(5_000, 10_000).forEach(seconds::accept);
+
+    millis.combine(seconds);
+    assertEquals(10_000L, millis.getCount());
+    assertEquals(10_000., millis.getMax().getValue().doubleValue(), 1E-9);
+    // the error of the other histogram adds up
+    assertEquals(9_900, millis.getPercentile(99).getValue().doubleValue(), 9_900 * 2 * ACCURACY);
+  }
+
+  @Test
+  public void bucketsCoverAllValues() {
+    final QuantityHistogram<Time> histogram = new QuantityHistogram<>(Units.SECOND, 0.1);
+    histogram.accept(Quantities.getQuantity(-2, Units.SECOND));
+    histogram.accept(Quantities.getQuantity(0, Units.SECOND));
+    histogram.accept(Quantities.getQuantity(1, Units.SECOND));
+    histogram.accept(Quantities.getQuantity(1000, MILLI(Units.SECOND)));
+    histogram.accept(Quantities.getQuantity(100, Units.SECOND));
+
+    final List<QuantityHistogram.Bucket<Time>> buckets = histogram.getBuckets();
+    assertEquals(4, buckets.size());
+    assertEquals(5L, buckets.stream().mapToLong(QuantityHistogram.Bucket::getCount).sum());
+    assertEquals(2L, buckets.get(2).getCount());
+    for (QuantityHistogram.Bucket<Time> bucket : buckets) {
+      assertEquals(true, bucket.getLowerBound().getValue().doubleValue() < bucket.getUpperBound().getValue().doubleValue());
+    }
+    assertEquals(-2., histogram.getPercentile(0).getValue().doubleValue(), 0);
+    assertEquals(0., histogram.getQuantile(0.25).getValue().doubleValue(), 0);
+    assertEquals(1., histogram.getPercentile(50).getValue().doubleValue(), 0.1 + 1E-9);
+  }
+
+  @Test
+  public void emptyAndInvalid() {
+    final QuantityHistogram<Time> histogram = new QuantityHistogram<>(Units.SECOND, ACCURACY);
+    assertNull(histogram.getPercentile(50));
+    assertNull(histogram.getMin());
+    assertEquals(Optional.empty(), createLatencies().subList(0, 0).stream()
+        .collect(QuantityStreams.percentile(Units.SECOND, 50)));
+    assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(101));
+    assertThrows(IllegalArgumentException.class, () -> QuantityStreams.histogram(Units.SECOND, 1));
+    assertThrows(IllegalArgumentException.class, () -> histogram.accept(Quantities.getQuantity(Double.NaN, Units.SECOND)));
+  }
+
+  @Test
+  public void rejectInfinite() {
+    final QuantityHistogram<Time> histogram = new QuantityHistogram<>(Units.SECOND, ACCURACY);
+    histogram.accept(Quantities.getQuantity(2, Units.SECOND));
+    assertThrows(IllegalArgumentException.class,
+        () -> histogram.accept(Quantities.getQuantity(Double.POSITIVE_INFINITY, Units.SECOND)));
+    assertThrows(IllegalArgumentException.class,
+        () -> histogram.accept(Quantities.getQuantity(Double.NEGATIVE_INFINITY, Units.SECOND)));
+    histogram.accept(Quantities.getQuantity(3, Units.SECOND));
+    assertEquals(2, histogram.getCount());
+    assertEquals(3., histogram.getMax().getValue().doubleValue(), 1E-9);
+  }
+
+  @Test
+  public void relativeScale() {
+    final QuantityHistogram<Temperature> histogram = new QuantityHistogram<>(Units.KELVIN, ACCURACY);
+    histogram.accept(Quantities.getQuantity(5, Units.CELSIUS, Quantity.Scale.RELATIVE));
+    assertEquals(5., histogram.getMax().getValue().doubleValue(), 5 * ACCURACY);
+  }
+}
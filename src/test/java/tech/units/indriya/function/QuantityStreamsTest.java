@@ -0,0 +1,162 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tech.units.indriya.NumberAssertions.assertNumberEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.measure.Dimension;
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Temperature;
+
+import org.junit.jupiter.api.Test;
+
+import tech.units.indriya.quantity.Quantities;
+import tech.units.indriya.quantity.QuantityRange;
+import tech.units.indriya.unit.Units;
+
+import static javax.measure.MetricPrefix.KILO;
+import static javax.measure.MetricPrefix.CENTI;
+
+public class QuantityStreamsTest {
+
+  private static final double PRECISION_GOAL = 1E-30;
+
+  private static List<Quantity<Length>> createLengths() {
+    // 1 + 2 + ... + 1000 metres, in alternating units
+    return IntStream.rangeClosed(1, 1000)
+        .mapToObj(i -> i % 3 == 0 ? Quantities.getQuantity(i * 100, Units.METRE.prefix(CENTI))
+            : i % 3 == 1 ? Quantities.getQuantity(i, Units.METRE)
+            : Quantities.getQuantity(i / 1000., Units.METRE.prefix(KILO)))
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  public void summingRelativeQuantities() {
+    final List<Quantity<Temperature>> deltas = Arrays.asList(
+        Quantities.getQuantity(5, Units.CELSIUS, Quantity.Scale.RELATIVE),
+        Quantities.getQuantity(2, Units.KELVIN, Quantity.Scale.RELATIVE));
+    assertNumberEquals(7, deltas.stream().collect(QuantityStreams.summing(Units.KELVIN)).getValue(), 1E-12);
+    assertNumberEquals(3.5, deltas.stream().collect(QuantityStreams.averaging(Units.KELVIN)).getValue(), 1E-12);
+  }
+
+  @Test
+  public void sequentialAndParallelSumAgree() {
+    final List<Quantity<Length>> lengths = createLengths();
+    final Quantity<Length> sequential = lengths.stream().collect(QuantityStreams.summing(Units.METRE));
+    final Quantity<Length> parallel = lengths.parallelStream().collect(QuantityStreams.summing(Units.METRE));
+    assertNumberEquals(500_500, sequential.getValue(), 1E-9);
+    assertNumberEquals(500_500, parallel.getValue(), 1E-9);
+    assertEquals(Units.METRE, parallel.getUnit());
+  }
+
+  @Test
+  public void averageMinMaxAndCount() {
+    final List<Quantity<Length>> lengths = createLengths();
+    assertNumberEquals(500.5, lengths.parallelStream().collect(QuantityStreams.averaging(Units.METRE)).getValue(), 1E-9);
+    assertNumberEquals(1, lengths.parallelStream().collect(QuantityStreams.minimum(Units.METRE)).get().getValue(), 1E-9);
+    assertNumberEquals(1, lengths.parallelStream().collect(QuantityStreams.maximum(Units.METRE.prefix(KILO))).get().getValue(), 1E-9);
+    assertEquals(1000L, lengths.parallelStream().collect(QuantityStreams.counting()).longValue());
+  }
+
+  @Test
+  public void emptyStream() {
+    final List<Quantity<Length>> empty = createLengths().subList(0, 0);
+    assertEquals(Optional.empty(), empty.parallelStream().collect(QuantityStreams.minimum(Units.METRE)));
+    assertEquals(Optional.empty(), empty.stream().collect(QuantityStreams.maximum(Units.METRE)));
+    assertNumberEquals(0, empty.stream().collect(QuantityStreams.summing(Units.METRE)).getValue(), PRECISION_GOAL);
+  }
+
+  @Test
+  public void summariesOfDifferentUnitsCombine() {
+    final QuantitySummaryStatistics<Length> metres = new QuantitySummaryStatistics<>(Units.METRE);
+    metres.accept(Quantities.getQuantity(1, Units.METRE));
+    final QuantitySummaryStatistics<Length> kilometres = new QuantitySummaryStatistics<>(Units.METRE.prefix(KILO));
+    kilometres.accept(Quantities.getQuantity(2, Units.METRE.prefix(KILO)));
+    final QuantitySummaryStatistics<Length> empty = new QuantitySummaryStatistics<>(Units.METRE.prefix(CENTI));
+
+    final QuantitySummaryStatistics<Length> combined = metres.combine(empty).combine(kilometres);
+    assertEquals(2L, combined.getCount());
+    assertNumberEquals(2001, combined.getSum().getValue(), PRECISION_GOAL);
+    assertNumberEquals(2000, combined.getMax().getValue(), PRECISION_GOAL);
+    assertNumberEquals(1, combined.getMin().getValue(), PRECISION_GOAL);
+  }
+
+  @Test
+  public void groupingByUnit() {
+    final Map<?, Long> counts = createLengths().parallelStream()
+        .collect(QuantityStreams.groupingByUnit(QuantityStreams.counting()));
+    assertEquals(3, counts.size());
+    assertEquals(334L, counts.get(Units.METRE).longValue());
+    assertEquals(333L, counts.get(Units.METRE.prefix(CENTI)).longValue());
+    assertEquals(333L, counts.get(Units.METRE.prefix(KILO)).longValue());
+  }
+
+  @Test
+  public void groupingByDimension() {
+    final List<Quantity<?>> quantities = createLengths().stream().collect(Collectors.toList());
+    quantities.add(Quantities.getQuantity(1, Units.SECOND));
+    final Map<Dimension, List<Quantity<?>>> groups = quantities.parallelStream()
+        .collect(QuantityStreams.groupingByDimension());
+    assertEquals(2, groups.size());
+    assertEquals(1000, groups.get(Units.METRE.getDimension()).size());
+    assertEquals(1, groups.get(Units.SECOND.getDimension()).size());
+  }
+
+  @Test
+  public void partitioningByRange() {
+    @SuppressWarnings("unchecked")
+    final QuantityRange<Length> range = QuantityRange.of(Quantities.getQuantity(100, Units.METRE),
+        Quantities.getQuantity(199, Units.METRE));
+    final Map<Boolean, Long> partitions = createLengths().parallelStream()
+        .collect(QuantityStreams.partitioningBy(range, QuantityStreams.counting()));
+    assertEquals(100L, partitions.get(true).longValue());
+    assertEquals(900L, partitions.get(false).longValue());
+  }
+
+  @Test
+  public void characteristics() {
+    final Collector<Quantity<Length>, ?, ?> grouping = QuantityStreams.groupingByUnit();
+    assertTrue(grouping.characteristics().contains(Collector.Characteristics.CONCURRENT));
+    assertTrue(QuantityStreams.summing(Units.METRE).characteristics().contains(Collector.Characteristics.UNORDERED));
+    assertFalse(QuantityStreams.summing(Units.METRE).characteristics().contains(Collector.Characteristics.CONCURRENT));
+  }
+}
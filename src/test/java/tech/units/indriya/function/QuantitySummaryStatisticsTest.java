@@ -31,15 +31,18 @@ package tech.units.indriya.function;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static tech.units.indriya.NumberAssertions.assertNumberEquals;
 import static tech.units.indriya.function.QuantityStreams.summarizeQuantity;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 
 import javax.measure.Quantity;
+import javax.measure.quantity.Temperature;
 import javax.measure.quantity.Time;
 import javax.measure.spi.QuantityFactory;
 import javax.measure.spi.ServiceProvider;
@@ -47,6 +50,7 @@ import javax.measure.spi.ServiceProvider;
 import org.junit.jupiter.api.Test;
 
 import tech.units.indriya.quantity.Quantities;
+import tech.units.indriya.spi.NumberSystem;
 import tech.units.indriya.unit.Units;
 
 public class QuantitySummaryStatisticsTest {
@@ -178,6 +182,88 @@ public class QuantitySummaryStatisticsTest {
     assertNotNull(summary.getSum());
   }
 
+  @Test
+  public void longSumShouldNotOverflow() {
+    QuantitySummaryStatistics<Time> summary = new QuantitySummaryStatistics<>(Units.SECOND);
+    summary.accept(Quantities.getQuantity(Long.MAX_VALUE, Units.SECOND));
+    summary.accept(Quantities.getQuantity(Long.MAX_VALUE, Units.SECOND));
+    summary.accept(Quantities.getQuantity(2, Units.SECOND));
+
+    assertNumberEquals(BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(1).add(BigInteger.valueOf(2)), 
+        summary.getSum().getValue(), PRECISION_GOAL);
+    assertNumberEquals(2, summary.getMin().getValue(), PRECISION_GOAL);
+    assertNumberEquals(Long.MAX_VALUE, summary.getMax().getValue(), PRECISION_GOAL);
+  }
+
+  @Test
+  public void averageShouldBeMemoizedUntilNextAccept() {
+    QuantitySummaryStatistics<Time> summary = createSummaryTime();
+    Quantity<Time> average = summary.getAverage();
+    assertSame(average, summary.getAverage());
+
+    summary.accept(Quantities.getQuantity(8, Units.DAY));
+    assertNumberEquals(5, summary.getAverage().getValue(), PRECISION_GOAL);
+  }
+
+  @Test
+  public void convertSummaryWithOffset() {
+    QuantitySummaryStatistics<Temperature> summary = new QuantitySummaryStatistics<>(Units.CELSIUS);
+    summary.accept(Quantities.getQuantity(10, Units.CELSIUS));
+    summary.accept(Quantities.getQuantity(20, Units.CELSIUS));
+    QuantitySummaryStatistics<Temperature> summaryKelvin = summary.to(Units.KELVIN);
+
+    assertNumberEquals(283.15, summaryKelvin.getMin().getValue(), 1E-12);
+    assertNumberEquals(293.15, summaryKelvin.getMax().getValue(), 1E-12);
+    assertNumberEquals(288.15, summaryKelvin.getAverage().getValue(), 1E-12);
+    assertNumberEquals(576.3, summaryKelvin.getSum().getValue(), 1E-12);
+  }
+
+  @Test
+  public void relativeScaleShouldOnlyBeScaled() {
+    final Quantity<Temperature> delta = Quantities.getQuantity(5, Units.CELSIUS, Quantity.Scale.RELATIVE);
+    QuantitySummaryStatistics<Temperature> summary = new QuantitySummaryStatistics<>(Units.KELVIN);
+    summary.accept(delta);
+    summary.accept(Quantities.getQuantity(3, Units.KELVIN, Quantity.Scale.RELATIVE));
+    assertNumberEquals(delta.to(Units.KELVIN).getValue(), summary.getMax().getValue(), 1E-12);
+    assertNumberEquals(8, summary.getSum().getValue(), 1E-12);
+
+    final NumberSystem previous = Calculus.currentNumberSystem();
+    try {
+      Calculus.setCurrentNumberSystem(new DoubleNumberSystem());
+      QuantitySummaryStatistics<Temperature> doubles = new QuantitySummaryStatistics<>(Units.KELVIN);
+      doubles.accept(delta);
+      assertEquals(5., doubles.getSum().getValue().doubleValue(), 1E-12);
+    } finally {
+      Calculus.setCurrentNumberSystem(previous);
+    }
+  }
+
+  @Test
+  public void doubleSumShouldBeCompensated() {
+    final NumberSystem previous = Calculus.currentNumberSystem();
+    try {
+      Calculus.setCurrentNumberSystem(new DoubleNumberSystem());
+      QuantitySummaryStatistics<Time> summary = new QuantitySummaryStatistics<>(Units.SECOND);
+      for (int i = 0; i < 10_000; i++) {
+        summary.accept(Quantities.getQuantity(0.1, Units.SECOND));
+      }
+      summary.accept(Quantities.getQuantity(1, Units.MINUTE));
+
+      assertEquals(10_001L, summary.getCount());
+      assertEquals(1060., summary.getSum().getValue().doubleValue(), 1E-12);
+      assertEquals(0.1, summary.getMin().getValue().doubleValue(), 0);
+      assertEquals(60., summary.getMax().getValue().doubleValue(), 0);
+      assertEquals(1060. / 10_001, summary.getAverage().getValue().doubleValue(), 1E-15);
+
+      QuantitySummaryStatistics<Time> combined = summary.combine(createSummaryTime().to(Units.SECOND));
+      assertEquals(10_004L, combined.getCount());
+      assertEquals(1060. + 12 * 86_400, combined.getSum().getValue().doubleValue(), 1E-9);
+      assertEquals(9 * 86_400., combined.getMax().getValue().doubleValue(), 0);
+    } finally {
+      Calculus.setCurrentNumberSystem(previous);
+    }
+  }
+
   // -- HELPER
   
   private static QuantitySummaryStatistics<Time> createSummaryTime() {
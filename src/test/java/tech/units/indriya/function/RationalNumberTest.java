@@ -30,9 +30,14 @@
 package tech.units.indriya.function;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static tech.units.indriya.NumberAssertions.assertNumberEquals;
 
+import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.MathContext;
 
 import org.junit.jupiter.api.Test;
 
@@ -99,5 +104,90 @@ public class RationalNumberTest {
         
     }
     
+    @Test
+    public void longOverflowFallsBackToBigInteger() {
+        
+        RationalNumber large = RationalNumber.ofInteger(Long.MAX_VALUE);
+        
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.valueOf(2)), 
+                large.add(large).getDividend());
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).pow(2), 
+                large.multiply(large).getDividend());
+        assertEquals(RationalNumber.ONE, large.multiply(large).divide(large).divide(large));
+        assertEquals(BigInteger.valueOf(Long.MIN_VALUE).negate(), 
+                RationalNumber.ofInteger(Long.MIN_VALUE).abs().getDividend());
+        assertEquals(BigInteger.valueOf(Long.MIN_VALUE), 
+                RationalNumber.of(Long.MIN_VALUE, 1).getDividend());
+    }
+    
+    @Test
+    public void cancelDown() {
+        
+        RationalNumber rational = RationalNumber.of(-6, -4).multiply(RationalNumber.of(2, 9));
+        
+        assertEquals(BigInteger.ONE, rational.getDividend());
+        assertEquals(BigInteger.valueOf(3), rational.getDivisor());
+        assertEquals(RationalNumber.of(11, 12), RationalNumber.of(3, 4).add(RationalNumber.of(1, 6)));
+        assertEquals(RationalNumber.of(-7, 12), RationalNumber.of(-3, 4).subtract(RationalNumber.of(-1, 6)));
+    }
+    
+    @Test
+    public void compareAndPow() {
+        
+        assertEquals(-1, RationalNumber.of(1, 3).compareTo(RationalNumber.of(1, 2)));
+        assertEquals(1, RationalNumber.of(-1, 3).compareTo(RationalNumber.of(-1, 2)));
+        assertEquals(1, RationalNumber.of(Long.MAX_VALUE, 3).compareTo(RationalNumber.of(Long.MAX_VALUE - 1, 3)));
+        assertEquals(RationalNumber.of(-8, 27), RationalNumber.of(-2, 3).pow(3));
+        assertEquals(RationalNumber.of(9, 4), RationalNumber.of(-2, 3).pow(-2));
+        assertEquals(BigInteger.TEN.pow(40), RationalNumber.ofInteger(10).pow(40).getDividend());
+    }
+    
+    @Test
+    public void bigDecimalValueFollowsMathContext() {
+        
+        final RationalNumber third = RationalNumber.of(1, 3);
+        assertEquals(34, third.bigDecimalValue().precision());
+        final MathContext context = Calculus.MATH_CONTEXT;
+        try {
+            Calculus.MATH_CONTEXT = new MathContext(5);
+            assertEquals(new BigDecimal("0.33333"), RationalNumber.of(1, 3).bigDecimalValue());
+        } finally {
+            Calculus.MATH_CONTEXT = context;
+        }
+        assertEquals(34, third.bigDecimalValue().precision());
+    }
+    
+    @Test
+    public void powLargeExponents() {
+        
+        assertEquals(BigInteger.valueOf(3).pow(39), RationalNumber.ofInteger(3).pow(39).getDividend());
+        assertEquals(BigInteger.valueOf(3).pow(40), RationalNumber.ofInteger(3).pow(40).getDividend());
+        assertEquals(RationalNumber.of(1, 1L << 62), RationalNumber.of(1, 2).pow(62));
+        assertEquals(RationalNumber.ONE, RationalNumber.ONE.pow(Integer.MAX_VALUE));
+        assertEquals(RationalNumber.ofInteger(-1), RationalNumber.ofInteger(-1).pow(Integer.MAX_VALUE));
+        assertEquals(1_000_001, RationalNumber.of(1, 2).pow(1_000_000).getDivisor().bitLength());
+        assertThrows(ArithmeticException.class, () -> RationalNumber.of(1, 2).pow(Integer.MIN_VALUE));
+        assertThrows(ArithmeticException.class, () -> RationalNumber.ONE.pow(Integer.MIN_VALUE));
+    }
+    
+    @Test
+    public void longAndDoubleValue() {
+        
+        assertEquals(-2L, RationalNumber.of(-7, 3).longValue());
+        assertEquals(2L, RationalNumber.of(7, 3).longValue());
+        assertEquals(0.1, RationalNumber.of(1, 10).doubleValue());
+        assertEquals(-2.5, RationalNumber.of(-5, 2).doubleValue());
+    }
+    
+    @Test
+    public void smallValuesAreInterned() {
+        
+        assertSame(RationalNumber.ZERO, RationalNumber.of(0, 7));
+        assertSame(RationalNumber.ONE, RationalNumber.of(3, 3));
+        assertSame(RationalNumber.ofInteger(1000), RationalNumber.of(2000, 2));
+        assertSame(RationalNumber.of(-2, 3), RationalNumber.of(4, -6));
+        assertSame(RationalNumber.of(1, 2), RationalNumber.of(1, 4).add(RationalNumber.of(1, 4)));
+        assertNotSame(RationalNumber.ofInteger(1_000_000), RationalNumber.ofInteger(1_000_000));
+    }
     
 }
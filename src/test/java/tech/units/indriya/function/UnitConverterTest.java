@@ -32,8 +32,11 @@ package tech.units.indriya.function;
 import static javax.measure.MetricPrefix.CENTI;
 import static javax.measure.MetricPrefix.KILO;
 import static javax.measure.MetricPrefix.MICRO;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static tech.units.indriya.NumberAssertions.assertNumberEquals;
 import static tech.units.indriya.unit.Units.CELSIUS;
 import static tech.units.indriya.unit.Units.GRAM;
@@ -41,6 +44,7 @@ import static tech.units.indriya.unit.Units.KELVIN;
 import static tech.units.indriya.unit.Units.KILOGRAM;
 import static tech.units.indriya.unit.Units.METRE;
 
+import javax.measure.BinaryPrefix;
 import javax.measure.Quantity;
 import javax.measure.Unit;
 import javax.measure.UnitConverter;
@@ -95,4 +99,62 @@ public class UnitConverterTest {
   public void testChainedOps() {
     assertEquals(MICRO(GRAM).getConverterTo(GRAM.divide(1000).divide(1000)), GRAM.divide(1000).divide(1000).getConverterTo(MICRO(GRAM)));
   }
+
+  @Test
+  public void testDoubleArray() {
+    AbstractConverter converter = (AbstractConverter) sourceUnit.getConverterTo(targetUnit);
+    double[] values = { 1., 4., 6., -2.5 };
+    double[] results = new double[6];
+    converter.convert(values, 1, results, 2, 3);
+    assertArrayEquals(new double[] { 0., 0., 400., 600., -250., 0. }, results, 1E-12);
+  }
+
+  @Test
+  public void testDoubleArrayInPlace() {
+    AbstractConverter converter = (AbstractConverter) KELVIN.getConverterTo(CELSIUS);
+    double[] values = { 273.15, 373.15, 0. };
+    converter.convert(values, 0, values, 0, values.length);
+    assertArrayEquals(new double[] { 0., 100., -273.15 }, values, 1E-12);
+  }
+
+  @Test
+  public void testDoubleArrayOverlapping() {
+    AbstractConverter converter = (AbstractConverter) sourceUnit.getConverterTo(targetUnit);
+    double[] values = { 1., 2., 3., 0. };
+    converter.convert(values, 0, values, 1, 3);
+    assertArrayEquals(new double[] { 1., 100., 200., 300. }, values, 1E-12);
+  }
+
+  @Test
+  public void testLongArray() {
+    AbstractConverter converter = (AbstractConverter) sourceUnit.getConverterTo(targetUnit);
+    double[] results = new double[2];
+    converter.convert(new long[] { 4L, 6L }, 0, results, 0, 2);
+    assertArrayEquals(new double[] { 400., 600. }, results, 1E-12);
+  }
+
+  @Test
+  public void testNumberArray() {
+    AbstractConverter converter = (AbstractConverter) sourceUnit.getConverterTo(targetUnit);
+    Number[] results = new Number[2];
+    converter.convert(new Number[] { 4, 0.5 }, 0, results, 0, 2);
+    assertNumberEquals(400, results[0], 1E-12);
+    assertNumberEquals(50, results[1], 1E-12);
+    assertThrows(IllegalArgumentException.class, () -> converter.convert(new Number[] { null }, 0, results, 0, 1));
+  }
+
+  @Test
+  public void testArrayBounds() {
+    AbstractConverter converter = (AbstractConverter) sourceUnit.getConverterTo(targetUnit);
+    assertThrows(IndexOutOfBoundsException.class, () -> converter.convert(new double[2], 1, new double[2], 0, 2));
+    assertThrows(IndexOutOfBoundsException.class, () -> converter.convert(new double[2], 0, new double[2], -1, 1));
+  }
+
+  @Test
+  public void testPrefixConvertersAreInterned() {
+    assertSame(MultiplyConverter.ofPrefix(KILO), MultiplyConverter.ofPrefix(KILO));
+    assertSame(MultiplyConverter.ofPrefix(BinaryPrefix.KIBI), MultiplyConverter.ofPrefix(BinaryPrefix.KIBI));
+    assertSame(MultiplyConverter.ofRational(1, 2), MultiplyConverter.ofRational(2, 4));
+    assertEquals(MultiplyConverter.ofPrefix(KILO), MultiplyConverter.ofTenExponent(3));
+  }
 }
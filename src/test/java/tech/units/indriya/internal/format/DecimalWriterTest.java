@@ -0,0 +1,128 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.internal.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import tech.units.indriya.function.RationalNumber;
+
+public class DecimalWriterTest {
+
+    private static String append(Number number) {
+        return DecimalWriter.append(new StringBuilder("x"), number).substring(1);
+    }
+
+    private static String write(Number number) {
+        final byte[] dest = new byte[64];
+        final int end = DecimalWriter.write(dest, 2, number);
+        return new String(dest, 2, end - 2, StandardCharsets.US_ASCII);
+    }
+
+    private static int significantDigits(String s) {
+        final int exponent = s.indexOf('E');
+        return new BigDecimal(exponent < 0 ? s : s.substring(0, exponent)).stripTrailingZeros().precision();
+    }
+
+    @Test
+    public void testDoubles() {
+        final String[] expected = { "0.0", "-0.0", "1.0", "-1.0", "0.1", "0.30000000000000004", "100.0", "123.456", "0.001", "1.0E-4",
+                "9999999.0", "1.0E7", "1.2345678E7", "0.002", "1.0E23", "4.9E-324", "1.7976931348623157E308", "2.2250738585072014E-308",
+                "9.223372036854776E18", "NaN", "Infinity", "-Infinity" };
+        final double[] values = { 0.0, -0.0, 1.0, -1.0, 0.1, 0.1 + 0.2, 100.0, 123.456, 0.001, 0.0001, 9999999.0, 1e7, 12345678.0, 0.002,
+                1e23, Double.MIN_VALUE, Double.MAX_VALUE, Double.MIN_NORMAL, Long.MAX_VALUE, Double.NaN, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY };
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(expected[i], append(values[i]));
+            assertEquals(expected[i], write(values[i]));
+        }
+    }
+
+    @Test
+    public void testShortestRoundTrip() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            final double value = i % 2 == 0 ? Double.longBitsToDouble(random.nextLong()) : random.nextInt(1_000_000) / Math.pow(10, i % 9);
+            if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) < 1e-300) {
+                continue;
+            }
+            final String text = append(value);
+            assertEquals(text, write(value));
+            assertEquals(value, Double.parseDouble(text), 0);
+            final int digits = significantDigits(text);
+            assertTrue(digits <= significantDigits(Double.toString(value)), text);
+            if (digits > 1) {
+                // no decimal with fewer digits parses back to the value
+                final BigDecimal exact = new BigDecimal(value);
+                for (RoundingMode mode : new RoundingMode[] { RoundingMode.FLOOR, RoundingMode.CEILING }) {
+                    assertTrue(exact.round(new MathContext(digits - 1, mode)).doubleValue() != value, text);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLongs() {
+        for (long value : new long[] { 0, 7, -7, 10, 100_000_000, 4_294_967_296L, -1_234_567_890_123L, Long.MAX_VALUE, Long.MIN_VALUE }) {
+            assertEquals(Long.toString(value), append(value));
+            assertEquals(Long.toString(value), write(value));
+        }
+        assertEquals("42", write(42));
+        assertEquals("-5", write((short) -5));
+    }
+
+    @Test
+    public void testOtherNumbersLikeToString() {
+        final Number[] numbers = { 1.5f, new BigDecimal("1.50"), new BigDecimal("1E+3"), BigInteger.TEN.pow(30), BigInteger.valueOf(-12),
+                RationalNumber.of(3, 4), RationalNumber.ofInteger(-17), RationalNumber.ofInteger(BigInteger.TEN.pow(25)) };
+        for (Number number : numbers) {
+            assertEquals(number.toString(), append(number));
+            assertEquals(number.toString(), write(number));
+        }
+    }
+
+    @Test
+    public void testText() {
+        final byte[] dest = new byte[16];
+        final int end = DecimalWriter.write(dest, 0, "kΩ·m");
+        assertEquals("kΩ·m", new String(dest, 0, end, StandardCharsets.UTF_8));
+        assertThrows(IndexOutOfBoundsException.class, () -> DecimalWriter.write(new byte[4], 0, 0.125));
+    }
+}
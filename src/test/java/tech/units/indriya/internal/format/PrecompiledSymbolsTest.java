@@ -0,0 +1,90 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.internal.format;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import javax.measure.Unit;
+
+import org.junit.jupiter.api.Test;
+
+import tech.units.indriya.unit.Units;
+
+public class PrecompiledSymbolsTest {
+
+    private static final String BUNDLE_NAME = "tech.units.indriya.format.messages";
+
+    @Test
+    public void testSameValuesAsReflection() throws ReflectiveOperationException {
+        for (Locale locale : new Locale[] { Locale.ROOT, Locale.GERMAN, Locale.FRENCH, Locale.CANADA_FRENCH, Locale.JAPANESE, Locale.CHINESE,
+                new Locale("ar"), new Locale("ru"), new Locale("sv"), new Locale("th"), new Locale("en", "IN") }) {
+            ResourceBundle bundle = ResourceBundle.getBundle(BUNDLE_NAME, locale);
+            for (Enumeration<String> keys = bundle.getKeys(); keys.hasMoreElements();) {
+                String key = keys.nextElement();
+                String field = key.replaceFirst("\\.\\d+$", "");
+                int lastDot = field.lastIndexOf('.');
+                String className = field.substring(0, lastDot);
+                String fieldName = field.substring(lastDot + 1);
+                Object expected;
+                try {
+                    expected = Class.forName(className).getField(fieldName).get(null);
+                } catch (NoSuchFieldException e) {
+                    // e.g. MetricPrefix.DEKA, which is a method only
+                    expected = null;
+                }
+                assertSame(expected, PrecompiledSymbols.resolve(className, fieldName), key);
+            }
+        }
+    }
+
+    @Test
+    public void testAllUnitsFields() throws ReflectiveOperationException {
+        for (Field field : Units.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && Unit.class.isAssignableFrom(field.getType())) {
+                assertSame(field.get(null), PrecompiledSymbols.resolve(Units.class.getName(), field.getName()), field.getName());
+            }
+        }
+    }
+
+    @Test
+    public void testUnknownFields() {
+        assertNull(PrecompiledSymbols.resolve("tech.units.indriya.AbstractUnit", "ONE"));
+        assertNull(PrecompiledSymbols.resolve("tech.units.indriya.unit.Units", "INSTANCE"));
+        assertNull(PrecompiledSymbols.resolve("javax.measure.MetricPrefix", "FOO"));
+        assertNull(PrecompiledSymbols.resolve("javax.measure.MetricPrefix", "DEKA"));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.internal.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import javax.measure.Unit;
+
+import org.junit.jupiter.api.Test;
+
+import tech.units.indriya.format.SymbolMap;
+import tech.units.indriya.format.TokenException;
+import tech.units.indriya.format.TokenMgrError;
+import tech.units.indriya.unit.Units;
+
+public class UnitExpressionParserTest {
+
+    private static final SymbolMap SYMBOLS = SymbolMap.of(ResourceBundle.getBundle("tech.units.indriya.format.messages", Locale.ROOT));
+
+    private static final String[] EXPRESSIONS = { "m", "km", "m/s", "m·s", "m*s^2", "m^-2", "m^+2", "m^(1/2)", "m^(-3/-2)", "m²", "m¹⁰",
+            "kg·m²/s³", "(m/s)^2", "2*m", "1.5·m", "1e3·m", "2.5E-2*m", "1.e3*m", ".5*m", "K+273.15", "K-273.15", "273.15+K", "1-K", "log(m)",
+            "log2(m)", "ln(m)", "10^m", "e^m", "e", "m:", "m::", "m:s", "m)", "(m", "m/", "*m", "foo", "m s", "m.", "1.", ".", "m^", "m^x",
+            "m^(2", "m^(2/)", "°C", "µm", "mm^3", "K-", "m+s", "3", "3^2", "3^", "log", "log(", "log10(m", "ln(m)²", "m*(s", "Hz·log(m)",
+            "m/s/s", "kg·m·s⁻²", "N·m", "m\u0000", "²", "m⁰", "(((m)))", "m^(2/3)^2", "m**s" };
+
+    private final UnitExpressionParser parser = new UnitExpressionParser(SYMBOLS);
+
+    @Test
+    public void testSameResultsAsGeneratedParser() throws Exception {
+        for (String expression : EXPRESSIONS) {
+            Object expected = parseGenerated(expression);
+            Object actual = parseHandWritten(expression);
+            if (expected instanceof Unit) {
+                assertEquals(expected, actual, expression);
+            } else {
+                assertEquals(String.valueOf(expected), String.valueOf(actual), expression);
+            }
+        }
+    }
+
+    @Test
+    public void testRange() throws TokenException {
+        assertEquals(Units.METRE.divide(Units.SECOND), parser.parse("[ m/s ]", 1, 6));
+        assertEquals(Units.METRE.divide(Units.SECOND), parser.parse(new StringBuilder("x\tm/s\n"), 1, 6));
+        assertTrue(UnitExpressionParser.isBlank(" x \t", 2, 4));
+        assertFalse(UnitExpressionParser.isBlank(" x \t", 0, 4));
+    }
+
+    @Test
+    public void testErrorColumns() {
+        TokenException e = assertThrows(TokenException.class, () -> parser.parse("  m/s)", 0, 6));
+        assertEquals(3, e.currentToken.endColumn);
+        e = assertThrows(TokenException.class, () -> parser.parse("*m", 0, 2));
+        assertEquals(0, e.currentToken.endColumn);
+        e = assertThrows(TokenException.class, () -> parser.parse("m/foo", 0, 5));
+        assertNull(e.currentToken);
+        assertThrows(TokenMgrError.class, () -> parser.parse("m s", 0, 3));
+    }
+
+    @Test
+    public void testReuse() throws TokenException {
+        assertThrows(TokenException.class, () -> parser.parse("m/(s", 0, 4));
+        assertSame(Units.METRE, parser.parse("m", 0, 1));
+        assertEquals(Units.SQUARE_METRE, parser.parse("m²", 0, 2));
+    }
+
+    /**
+     * Returns the parsed unit, or a description of the error.
+     */
+    private static Object parseGenerated(String expression) {
+        try {
+            return new UnitFormatParser(SYMBOLS, new StringReader(expression.trim())).parseUnit();
+        } catch (TokenException e) {
+            return describe(e);
+        } catch (TokenMgrError e) {
+            return TokenMgrError.class.getSimpleName();
+        } catch (RuntimeException e) {
+            return e.getClass().getSimpleName();
+        }
+    }
+
+    private Object parseHandWritten(String expression) {
+        try {
+            return parser.parse(expression, 0, expression.length());
+        } catch (TokenException e) {
+            return describe(e);
+        } catch (TokenMgrError e) {
+            return TokenMgrError.class.getSimpleName();
+        } catch (RuntimeException e) {
+            return e.getClass().getSimpleName();
+        }
+    }
+
+    private static String describe(TokenException e) {
+        return e.currentToken == null ? "TokenException" : "TokenException at " + e.currentToken.endColumn;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.internal.function;
+
+import static javax.measure.MetricPrefix.KILO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.util.function.DoubleUnaryOperator;
+
+import javax.measure.UnitConverter;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Temperature;
+
+import org.junit.jupiter.api.Test;
+
+import tech.units.indriya.function.AbstractConverter;
+import tech.units.indriya.unit.Units;
+
+public class CachedConvertersTest {
+
+  @Test
+  public void testCompiledOperators() {
+    CachedConverters<Length> converters = new CachedConverters<>(Units.METRE);
+    DoubleUnaryOperator operator = converters.operatorFrom(KILO(Units.METRE));
+    assertSame(((AbstractConverter) KILO(Units.METRE).getConverterTo(Units.METRE)).compileToDouble(), operator);
+    assertSame(operator, converters.operatorFrom(KILO(Units.METRE)));
+    assertEquals(1500, operator.applyAsDouble(1.5), 1E-12);
+
+    CachedConverters<Temperature> temperatures = new CachedConverters<>(Units.KELVIN);
+    assertEquals(274.15, temperatures.operatorFrom(Units.CELSIUS).applyAsDouble(1), 1E-12);
+  }
+
+  @Test
+  public void testForeignConverters() {
+    UnitConverter converter = Units.CELSIUS.getConverterTo(Units.KELVIN);
+    UnitConverter foreign = (UnitConverter) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class<?>[] { UnitConverter.class }, (proxy, method, args) -> method.invoke(converter, args));
+    assertEquals(274.15, CachedConverters.toOperator(foreign).applyAsDouble(1), 1E-12);
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.internal.function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class CompensatedSumTest {
+
+  @Test
+  public void testCompensation() {
+    CompensatedSum sum = new CompensatedSum();
+    double naive = 0;
+    for (int i = 0; i < 1000; i++) {
+      sum.add(0.1);
+      naive += 0.1;
+    }
+    assertEquals(100, sum.getSum(), 0);
+    assertEquals(false, naive == 100);
+
+    sum.add(-0.1);
+    assertEquals(99.9, sum.getSum(), 1E-13);
+    sum.reset();
+    assertEquals(0, sum.getSum(), 0);
+  }
+
+  @Test
+  public void testCombine() {
+    CompensatedSum first = new CompensatedSum();
+    CompensatedSum second = new CompensatedSum();
+    for (int i = 0; i < 500; i++) {
+      first.add(0.1);
+      second.add(0.1);
+    }
+    first.add(second);
+    assertEquals(100, first.getSum(), 0);
+  }
+
+  @Test
+  public void testInfinities() {
+    CompensatedSum sum = new CompensatedSum();
+    sum.add(1);
+    sum.add(Double.POSITIVE_INFINITY);
+    assertEquals(Double.POSITIVE_INFINITY, sum.getSum(), 0);
+    sum.add(Double.NEGATIVE_INFINITY);
+    assertEquals(Double.NaN, sum.getSum(), 0);
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.internal.function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class LazyTest {
+
+  @Test
+  public void testMemoizes() {
+    AtomicInteger calls = new AtomicInteger();
+    Lazy<Integer> lazy = new Lazy<>(calls::incrementAndGet);
+    assertFalse(lazy.isMemorized());
+    assertEquals(1, lazy.get().intValue());
+    assertEquals(1, lazy.get().intValue());
+    assertTrue(lazy.isMemorized());
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void testMemoizesNull() {
+    AtomicInteger calls = new AtomicInteger();
+    Lazy<Object> lazy = new Lazy<>(() -> {
+      calls.incrementAndGet();
+      return null;
+    });
+    assertNull(lazy.get());
+    assertNull(lazy.get());
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void testClear() {
+    AtomicInteger calls = new AtomicInteger();
+    Lazy<Integer> lazy = new Lazy<>(calls::incrementAndGet);
+    lazy.get();
+    lazy.clear();
+    assertFalse(lazy.isMemorized());
+    assertEquals(2, lazy.get().intValue());
+  }
+
+  @Test
+  public void testSet() {
+    Lazy<String> lazy = new Lazy<>(() -> "supplied");
+    lazy.set("set");
+    assertEquals("set", lazy.get());
+    assertThrows(IllegalStateException.class, () -> lazy.set("again"));
+  }
+
+  @Test
+  public void testConcurrentCallersSeeSameInstance() {
+    Lazy<Object> lazy = new Lazy<>(Object::new);
+    Object first = lazy.get();
+    IntStream.range(0, 1000).parallel().forEach(i -> assertSame(first, lazy.get()));
+  }
+}
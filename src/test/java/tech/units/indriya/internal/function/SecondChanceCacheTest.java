@@ -0,0 +1,78 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.internal.function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class SecondChanceCacheTest {
+
+  @Test
+  public void testBounded() {
+    SecondChanceCache<Integer, String> cache = new SecondChanceCache<>(8);
+    for (int i = 0; i < 100; i++) {
+      cache.put(i, Integer.toString(i));
+      assertTrue(cache.size() <= 8);
+    }
+    assertEquals(8, cache.size());
+    assertEquals("99", cache.get(99));
+  }
+
+  @Test
+  public void testEntriesInUseAreKept() {
+    SecondChanceCache<Integer, String> cache = new SecondChanceCache<>(4);
+    cache.put(-1, "hot");
+    for (int i = 0; i < 1000; i++) {
+      assertEquals("hot", cache.get(-1));
+      cache.put(i, Integer.toString(i));
+      assertTrue(cache.size() <= 4);
+    }
+  }
+
+  @Test
+  public void testRemove() {
+    SecondChanceCache<Integer, String> cache = new SecondChanceCache<>(4);
+    cache.put(1, "one");
+    cache.remove(1, "two");
+    assertEquals("one", cache.get(1));
+    cache.remove(1, "one");
+    assertNull(cache.get(1));
+    cache.putIfAbsent(2, "two");
+    cache.putIfAbsent(2, "deux");
+    assertEquals("two", cache.get(2));
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertThrows(IllegalArgumentException.class, () -> new SecondChanceCache<>(-1));
+  }
+}
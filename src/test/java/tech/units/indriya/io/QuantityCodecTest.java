@@ -0,0 +1,192 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.io;
+
+import static javax.measure.MetricPrefix.KILO;
+import static javax.measure.Quantity.Scale.RELATIVE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.measure.Quantity;
+
+import org.junit.jupiter.api.Test;
+
+import tech.units.indriya.function.RationalNumber;
+import tech.units.indriya.quantity.Quantities;
+import tech.units.indriya.quantity.QuantityArray;
+import tech.units.indriya.unit.Units;
+
+public class QuantityCodecTest {
+
+  @Test
+  public void roundTripKeepsNumberTypes() throws IOException {
+    final List<Quantity<?>> quantities = Arrays.asList(
+        Quantities.getQuantity(-3, Units.METRE),
+        Quantities.getQuantity(Long.MIN_VALUE, Units.SECOND),
+        Quantities.getQuantity((short) 7, Units.METRE),
+        Quantities.getQuantity((byte) -1, Units.METRE),
+        Quantities.getQuantity(1.5, Units.KILOMETRE_PER_HOUR),
+        Quantities.getQuantity(2.5f, Units.KILOGRAM),
+        Quantities.getQuantity(BigInteger.TEN.pow(30).negate(), Units.METRE),
+        Quantities.getQuantity(new BigDecimal("-12.345"), Units.METRE.prefix(KILO)),
+        Quantities.getQuantity(RationalNumber.of(1, 3), Units.LITRE),
+        Quantities.getQuantity(5, Units.CELSIUS, RELATIVE));
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (QuantityEncoder encoder = new QuantityEncoder(bytes)) {
+      for (Quantity<?> quantity : quantities) {
+        encoder.writeQuantity(quantity);
+      }
+    }
+    try (QuantityDecoder decoder = new QuantityDecoder(new ByteArrayInputStream(bytes.toByteArray()))) {
+      for (Quantity<?> expected : quantities) {
+        final Quantity<?> actual = decoder.readQuantity();
+        assertEquals(expected.getValue(), actual.getValue());
+        assertEquals(expected.getUnit(), actual.getUnit());
+        assertEquals(expected.getScale(), actual.getScale());
+      }
+      assertThrows(EOFException.class, decoder::readQuantity);
+    }
+  }
+
+  @Test
+  public void unitsAreDefinedOncePerStream() throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (QuantityEncoder encoder = new QuantityEncoder(bytes)) {
+      encoder.writeQuantity(Quantities.getQuantity(1, Units.METRE));
+      encoder.flush();
+      final int first = bytes.size();
+      encoder.writeQuantity(Quantities.getQuantity(2, Units.METRE));
+      encoder.flush();
+      // unit id, tag and a single byte varint
+      assertEquals(3, bytes.size() - first);
+    }
+    final List<Quantity<?>> quantities = Arrays.asList(Quantities.getQuantity(1, Units.METRE),
+        Quantities.getQuantity(2, Units.SECOND), Quantities.getQuantity(3, Units.METRE));
+    bytes.reset();
+    try (QuantityEncoder encoder = new QuantityEncoder(bytes)) {
+      encoder.writeQuantities(quantities);
+    }
+    try (QuantityDecoder decoder = new QuantityDecoder(new ByteArrayInputStream(bytes.toByteArray()))) {
+      assertEquals(quantities, decoder.readQuantities());
+    }
+  }
+
+  @Test
+  public void arrays() throws IOException {
+    final QuantityArray<?> longs = QuantityArray.of(new long[] { 0, -1, 1L << 40 }, Units.METRE);
+    final QuantityArray<?> doubles = QuantityArray.of(new double[] { 0.5, Double.NaN }, Units.CELSIUS, RELATIVE);
+    final QuantityArray<?> decimals = QuantityArray.of(new BigDecimal[] { new BigDecimal("1.25"), BigDecimal.ONE },
+        Units.SECOND);
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (QuantityEncoder encoder = new QuantityEncoder(bytes)) {
+      encoder.writeArray(longs);
+      encoder.writeArray(doubles);
+      encoder.writeArray(decimals);
+    }
+    try (QuantityDecoder decoder = new QuantityDecoder(new ByteArrayInputStream(bytes.toByteArray()))) {
+      final QuantityArray<?> readLongs = decoder.readArray();
+      assertEquals(longs, readLongs);
+      assertEquals(Long.class, readLongs.getValueType());
+      final QuantityArray<?> readDoubles = decoder.readArray();
+      assertArrayEquals(doubles.toDoubleArray(), readDoubles.toDoubleArray());
+      assertEquals(RELATIVE, readDoubles.getScale());
+      assertEquals(decimals, decoder.readArray());
+    }
+  }
+
+  @Test
+  public void malformedInput() {
+    assertThrows(StreamCorruptedException.class,
+        () -> new QuantityDecoder(new ByteArrayInputStream(new byte[] { 'X', 'Y', 1, 0 })).readQuantity());
+    // references unit id 5, which was never defined
+    final StreamCorruptedException e = assertThrows(StreamCorruptedException.class,
+        () -> new QuantityDecoder(new ByteArrayInputStream(new byte[] { 'Q', 'U', 1, 5, 0, 0 })).readQuantity());
+    assertTrue(e.getMessage().contains("5"));
+    assertThrows(IllegalArgumentException.class, () -> new QuantityEncoder(new ByteArrayOutputStream())
+        .writeQuantity(Quantities.getQuantity(new java.util.concurrent.atomic.DoubleAdder(), Units.METRE)));
+  }
+
+  @Test
+  public void negativeUnitId() {
+    // references unit id -1, as a varint of ten bytes
+    final byte[] bytes = { 'Q', 'U', 1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 1, 0, 0 };
+    assertThrows(StreamCorruptedException.class, () -> new QuantityDecoder(new ByteArrayInputStream(bytes)).readQuantity());
+  }
+
+  @Test
+  public void corruptSizesDoNotAllocateUpfront() {
+    // a size of Integer.MAX_VALUE, followed by the end of the stream
+    final byte[] maxSize = { -1, -1, -1, -1, 7 };
+    final byte[] array = concat(new byte[] { 'Q', 'U', 1, 0, 1, 'm', 17 << 1 }, maxSize);
+    assertThrows(EOFException.class, () -> new QuantityDecoder(new ByteArrayInputStream(array)).readArray());
+    final byte[] bigInteger = concat(new byte[] { 'Q', 'U', 1, 0, 1, 'm', 6 << 1, 1 }, maxSize);
+    assertThrows(EOFException.class, () -> new QuantityDecoder(new ByteArrayInputStream(bigInteger)).readQuantity());
+    final byte[] symbol = concat(new byte[] { 'Q', 'U', 1, 0 }, maxSize);
+    assertThrows(EOFException.class, () -> new QuantityDecoder(new ByteArrayInputStream(symbol)).readQuantity());
+  }
+
+  @Test
+  public void largeArrays() throws IOException {
+    final long[] values = new long[5000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i * 31L;
+    }
+    final QuantityArray<?> longs = QuantityArray.of(values, Units.METRE);
+    final Quantity<?> big = Quantities.getQuantity(BigInteger.ONE.shiftLeft(20000).negate(), Units.METRE);
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (QuantityEncoder encoder = new QuantityEncoder(bytes)) {
+      encoder.writeArray(longs);
+      encoder.writeQuantity(big);
+    }
+    try (QuantityDecoder decoder = new QuantityDecoder(new ByteArrayInputStream(bytes.toByteArray()))) {
+      assertEquals(longs, decoder.readArray());
+      assertEquals(big.getValue(), decoder.readQuantity().getValue());
+    }
+  }
+
+  private static byte[] concat(byte[] a, byte[] b) {
+    final byte[] result = Arrays.copyOf(a, a.length + b.length);
+    System.arraycopy(b, 0, result, a.length, b.length);
+    return result;
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.quantity;
+
+import static javax.measure.MetricPrefix.KILO;
+import static javax.measure.Quantity.Scale.RELATIVE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tech.units.indriya.NumberAssertions.assertNumberEquals;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Temperature;
+
+import org.junit.jupiter.api.Test;
+
+import tech.units.indriya.ComparableQuantity;
+import tech.units.indriya.unit.Units;
+
+public class QuantityArrayTest {
+
+  @Test
+  public void elementViews() {
+    final QuantityArray<Length> array = QuantityArray.of(new double[] { 1.5, 2.5, 3.5 }, Units.METRE);
+    assertEquals(3, array.size());
+    final ComparableQuantity<Length> second = array.get(1);
+    assertEquals(Quantities.getQuantity(2.5, Units.METRE), second);
+    assertTrue(second.isGreaterThan(Quantities.getQuantity(2, Units.METRE)));
+    assertNumberEquals(5, second.multiply(2).getValue(), 1E-12);
+    assertNumberEquals(4, second.add(array.get(0)).getValue(), 1E-12);
+    assertNumberEquals(2500, second.to(Units.METRE.prefix(KILO).getSystemUnit().divide(1000)).getValue(), 1E-9);
+    assertThrows(IndexOutOfBoundsException.class, () -> array.get(3));
+  }
+
+  @Test
+  public void longColumnStaysExact() {
+    final QuantityArray<Length> kilometres = QuantityArray.of(new long[] { 1, 2, Long.MAX_VALUE / 1000 }, Units.METRE.prefix(KILO));
+    final QuantityArray<Length> metres = kilometres.to(Units.METRE);
+    assertEquals(Long.class, metres.getValue(0).getClass());
+    assertEquals(2000L, metres.getValue(1));
+    // overflows a long
+    assertNumberEquals(new BigDecimal(Long.MAX_VALUE / 1000).add(BigDecimal.valueOf(3)).multiply(BigDecimal.valueOf(1000)),
+        metres.sum().getValue(), 1E-30);
+
+    final QuantityArray<Length> doubled = kilometres.multiply(2);
+    assertEquals(4L, doubled.getValue(1));
+    assertEquals(BigDecimal.class, kilometres.multiply(2000).getValue(2).getClass());
+    assertNumberEquals(1.5, kilometres.multiply(1.5).getValue(0), 1E-30);
+  }
+
+  @Test
+  public void bulkConversionOfDoubles() {
+    final QuantityArray<Length> metres = QuantityArray.of(new double[] { 1, 20, 300 }, Units.METRE);
+    final QuantityArray<Length> kilometres = metres.to(Units.METRE.prefix(KILO));
+    assertArrayEquals(new double[] { 0.001, 0.02, 0.3 }, kilometres.toDoubleArray(), 1E-15);
+    assertSame(metres, metres.to(Units.METRE));
+  }
+
+  @Test
+  public void elementWiseAddition() {
+    final QuantityArray<Length> metres = QuantityArray.of(new long[] { 1, 2, 3 }, Units.METRE);
+    final QuantityArray<Length> kilometres = QuantityArray.of(new double[] { 0.5, 1, 1.5 }, Units.METRE.prefix(KILO));
+    final QuantityArray<Length> sum = metres.add(kilometres);
+    assertEquals(Units.METRE, sum.getUnit());
+    assertArrayEquals(new double[] { 501, 1002, 1503 }, sum.toDoubleArray(), 1E-9);
+    assertThrows(IllegalArgumentException.class, () -> metres.add(QuantityArray.of(new long[] { 1 }, Units.METRE)));
+  }
+
+  @Test
+  public void decimalColumn() {
+    final QuantityArray<Length> array = QuantityArray.of(
+        new BigDecimal[] { new BigDecimal("0.1"), new BigDecimal("0.2"), new BigDecimal("-0.3") }, Units.METRE);
+    assertNumberEquals(0, array.sum().getValue(), 1E-30);
+    assertEquals(new BigDecimal("-0.3"), array.min().getValue());
+    assertEquals(new BigDecimal("0.2"), array.max().getValue());
+    assertEquals(0, new BigDecimal("0.0002").compareTo((BigDecimal) array.to(Units.METRE.prefix(KILO)).getValue(1)));
+  }
+
+  @Test
+  public void copyOfQuantities() {
+    final QuantityArray<Length> array = QuantityArray.copyOf(Arrays.<Quantity<Length>>asList(
+        Quantities.getQuantity(1, Units.METRE), Quantities.getQuantity(2, Units.METRE.prefix(KILO))), Units.METRE);
+    assertEquals(Long.class, array.getValue(1).getClass());
+    assertEquals(2000L, array.getValue(1));
+    assertEquals(Quantities.getQuantity(2000L, Units.METRE), array.max());
+    assertEquals(Quantities.getQuantity(1L, Units.METRE), array.min());
+  }
+
+  @Test
+  public void scaleSemantics() {
+    final QuantityArray<Temperature> deltas = QuantityArray.of(new double[] { 1, 2 }, Units.CELSIUS, RELATIVE);
+    assertArrayEquals(new double[] { 1, 2 }, deltas.to(Units.KELVIN).toDoubleArray(), 1E-12);
+    assertEquals(RELATIVE, deltas.to(Units.KELVIN).getScale());
+
+    final QuantityArray<Temperature> absolute = QuantityArray.of(new double[] { 1, 2 }, Units.CELSIUS);
+    assertArrayEquals(new double[] { 274.15, 275.15 }, absolute.to(Units.KELVIN).toDoubleArray(), 1E-12);
+    // falls back to element-wise semantics
+    assertEquals(absolute.get(0).add(absolute.get(1)).getValue().doubleValue(), absolute.sum().getValue().doubleValue(), 1E-12);
+    assertEquals(absolute.get(1).multiply(2).getValue().doubleValue(), absolute.multiply(2).doubleValue(1), 1E-12);
+  }
+
+  @Test
+  public void relativeScaleKeepsColumnKind() {
+    final QuantityArray<Length> doubles = QuantityArray.of(new double[] { 1.5, Double.NaN }, Units.METRE.prefix(KILO), RELATIVE)
+        .to(Units.METRE);
+    assertEquals(Double.class, doubles.getValue(0).getClass());
+    assertArrayEquals(new double[] { 1500, Double.NaN }, doubles.toDoubleArray(), 0);
+
+    final QuantityArray<Length> longs = QuantityArray.of(new long[] { 1, 2 }, Units.METRE.prefix(KILO), RELATIVE).to(Units.METRE);
+    assertEquals(Long.class, longs.getValue(1).getClass());
+    assertEquals(2000L, longs.getValue(1));
+    assertEquals(RELATIVE, longs.getScale());
+  }
+
+  @Test
+  public void copyOfRelativeQuantities() {
+    final QuantityArray<Temperature> deltas = QuantityArray.copyOf(Arrays.<Quantity<Temperature>>asList(
+        Quantities.getQuantity(5, Units.CELSIUS, RELATIVE), Quantities.getQuantity(2, Units.KELVIN, RELATIVE)), Units.KELVIN);
+    assertEquals(RELATIVE, deltas.getScale());
+    assertArrayEquals(new double[] { 5, 2 }, deltas.toDoubleArray(), 1E-12);
+
+    assertThrows(IllegalArgumentException.class, () -> QuantityArray.copyOf(Arrays.<Quantity<Temperature>>asList(
+        Quantities.getQuantity(5, Units.CELSIUS, RELATIVE), Quantities.getQuantity(2, Units.KELVIN)), Units.KELVIN));
+  }
+
+  @Test
+  public void emptyArray() {
+    final QuantityArray<Length> empty = QuantityArray.of(new double[0], Units.METRE);
+    assertNumberEquals(0, empty.sum().getValue(), 1E-30);
+    assertThrows(NoSuchElementException.class, empty::min);
+    assertEquals(0L, empty.stream().count());
+  }
+
+  @Test
+  public void equalsAndToString() {
+    assertEquals(QuantityArray.of(new long[] { 1, 2 }, Units.METRE), QuantityArray.of(new long[] { 1, 2 }, Units.METRE));
+    assertEquals(QuantityArray.of(new long[] { 1, 2 }, Units.METRE).hashCode(),
+        QuantityArray.of(new long[] { 1, 2 }, Units.METRE).hashCode());
+    assertEquals("[1, 2] m", QuantityArray.of(new long[] { 1, 2 }, Units.METRE).toString());
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2023, Jean-Marie Dautelle, Werner Keil, Otavio Santana.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-385, Indriya nor the names of their contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tech.units.indriya.quantity;
+
+import static javax.measure.MetricPrefix.KILO;
+import static javax.measure.Quantity.Scale.RELATIVE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Speed;
+import javax.measure.quantity.Temperature;
+
+import org.junit.jupiter.api.Test;
+
+import tech.units.indriya.unit.Units;
+
+public class QuantityBufferTest {
+
+  @Test
+  public void convertInPlace() {
+    final QuantityBuffer<Length> buffer = QuantityBuffer.allocateDirect(3000, Units.METRE);
+    final double[] values = new double[3000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i;
+    }
+    buffer.put(0, values, 0, values.length);
+    buffer.convertTo(Units.METRE.prefix(KILO));
+
+    assertEquals(Units.METRE.prefix(KILO), buffer.getUnit());
+    assertEquals(2.999, buffer.getDouble(2999), 1E-15);
+    assertEquals(Quantities.getQuantity(0.5, Units.METRE.prefix(KILO)), buffer.get(500));
+
+    // the header records the new unit
+    final QuantityBuffer<Length> wrapped = QuantityBuffer.wrap(buffer.getBuffer()).asType(Length.class);
+    assertEquals(Units.METRE.prefix(KILO), wrapped.getUnit());
+    assertEquals(3000, wrapped.size());
+    assertEquals(2.999, wrapped.getDouble(2999), 1E-15);
+  }
+
+  @Test
+  public void relativeScale() {
+    final QuantityBuffer<Temperature> deltas = QuantityBuffer.allocateDirect(2, Units.CELSIUS, RELATIVE);
+    deltas.setDouble(0, 1);
+    deltas.setDouble(1, 2);
+    deltas.convertTo(Units.KELVIN);
+    assertArrayEquals(new double[] { 1, 2 }, deltas.toQuantityArray().toDoubleArray(), 1E-12);
+    assertEquals(RELATIVE, deltas.toQuantityArray().getScale());
+  }
+
+  @Test
+  public void memoryMappedFile() throws IOException {
+    final Path file = Files.createTempFile("quantities", ".bin");
+    try {
+      final QuantityBuffer<Speed> created = QuantityBuffer.create(file, 4, Units.KILOMETRE_PER_HOUR);
+      created.put(0, new double[] { 36, 72, 108, 144 }, 0, 4);
+      created.force();
+      assertEquals(QuantityBuffer.HEADER_SIZE + 4 * Double.BYTES, Files.size(file));
+
+      final QuantityBuffer<Speed> mapped = QuantityBuffer.map(file).asType(Speed.class);
+      assertEquals(Units.KILOMETRE_PER_HOUR, mapped.getUnit());
+      mapped.convertTo(Units.METRE_PER_SECOND);
+      mapped.force();
+
+      final double[] values = new double[4];
+      QuantityBuffer.map(file).get(0, values, 0, 4);
+      assertArrayEquals(new double[] { 10, 20, 30, 40 }, values, 1E-12);
+      assertEquals(Units.METRE_PER_SECOND, QuantityBuffer.map(file).getUnit());
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void invalidBuffers() {
+    assertThrows(IllegalArgumentException.class, () -> QuantityBuffer.wrap(ByteBuffer.allocate(16)));
+    assertThrows(IllegalArgumentException.class, () -> QuantityBuffer.wrap(ByteBuffer.allocate(QuantityBuffer.HEADER_SIZE)));
+    assertThrows(IllegalArgumentException.class, () -> QuantityBuffer.allocateDirect(-1, Units.METRE));
+    final QuantityBuffer<Length> buffer = QuantityBuffer.allocateDirect(2, Units.METRE);
+    assertThrows(IndexOutOfBoundsException.class, () -> buffer.getDouble(2));
+    assertThrows(IndexOutOfBoundsException.class, () -> buffer.put(1, new double[2], 0, 2));
+    assertThrows(ClassCastException.class, () -> QuantityBuffer.wrap(buffer.getBuffer()).asType(Speed.class));
+  }
+}
@@ -46,6 +46,8 @@ import javax.measure.quantity.Length;
 
 import org.junit.jupiter.api.Test;
 
+import tech.units.indriya.SerializationRoundTrip;
+
 /**
  * Test for alternate units 
  * @author Werner
@@ -372,4 +374,13 @@ class AlternateUnitTest {
 	public void actualUnitIsNotEqualToShift() {
 		assertNotEquals(ALTERNATE_UNIT.getParentUnit().shift(10), ALTERNATE_UNIT.shift(10));
 	}
+
+	/**
+	 * Verifies that the memoized system converter is restored after deserialization.
+	 */
+	@Test
+	public void systemConverterAfterSerialization() throws Exception {
+		AlternateUnit<ElectricCurrent> unit = SerializationRoundTrip.serializationRoundTrip(ALTERNATE_UNIT);
+		assertEquals(ALTERNATE_UNIT.getSystemConverter(), unit.getSystemConverter());
+	}
 }
@@ -36,6 +36,7 @@ import static javax.measure.MetricPrefix.MEGA;
 import static javax.measure.MetricPrefix.MILLI;
 
 import tech.units.indriya.AbstractUnit;
+import tech.units.indriya.SerializationRoundTrip;
 
 public class AnnotatedUnitTest {
 
@@ -228,4 +229,26 @@ public class AnnotatedUnitTest {
   public void actualUnitIsNotEqualToMega() {
     assertNotEquals(MEGA(Units.AMPERE), MEGA(ANNOTATED_AMPERE).toString());
   }
+
+  /**
+   * Verifies that the system unit and the system converter are memoized.
+   */
+  @Test
+  public void systemUnitAndConverterAreMemoized() {
+    AnnotatedUnit<ElectricCurrent> annotated = new AnnotatedUnit<>(MILLI(Units.AMPERE), "Annotation");
+    assertSame(annotated.getSystemUnit(), annotated.getSystemUnit());
+    assertSame(annotated.getSystemConverter(), annotated.getSystemConverter());
+    assertEquals(Units.AMPERE, annotated.getSystemUnit());
+  }
+
+  /**
+   * Verifies that the memoized system unit and converter are restored after deserialization.
+   */
+  @Test
+  public void systemUnitAndConverterAfterSerialization() throws Exception {
+    AnnotatedUnit<ElectricCurrent> annotated = SerializationRoundTrip.serializationRoundTrip(
+        new AnnotatedUnit<>(MILLI(Units.AMPERE), "Annotation"));
+    assertEquals(Units.AMPERE, annotated.getSystemUnit());
+    assertEquals(0.001, annotated.getSystemConverter().convert(1.), 1E-15);
+  }
 }
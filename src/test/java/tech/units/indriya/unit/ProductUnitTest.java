@@ -31,6 +31,7 @@ package tech.units.indriya.unit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import javax.measure.MetricPrefix;
 import javax.measure.Unit;
 
 import org.junit.jupiter.api.Test;
@@ -268,4 +269,15 @@ public class ProductUnitTest {
   public void productUnitDoesNotHaveTheSameHashCodeAsAnotherProductUnitWithADifferentPowerForAUnit() {
     assertNotEquals(KILOGRAM_METRE.hashCode(), KILOGRAM_PER_METRE.hashCode());
   }
+
+  /**
+   * Verifies that the system unit and the system converter are memoized.
+   */
+  @Test
+  public void systemUnitAndConverterAreMemoized() {
+    ProductUnit<?> product = (ProductUnit<?>) ProductUnit.ofProduct(MetricPrefix.KILO(Units.METRE), Units.SECOND);
+    assertSame(product.getSystemUnit(), product.getSystemUnit());
+    assertSame(product.getSystemConverter(), product.getSystemConverter());
+    assertEquals(Units.METRE.multiply(Units.SECOND), product.getSystemUnit());
+  }
 }